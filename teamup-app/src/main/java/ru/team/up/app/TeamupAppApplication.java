@@ -3,6 +3,7 @@ package ru.team.up.app;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -20,7 +21,12 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 @EnableWebMvc
 public class TeamupAppApplication {
     public static void main(String[] args) {
-        SpringApplication.run(TeamupAppApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(TeamupAppApplication.class, args);
+
+        // Тренировочный запуск для архива CDS и замера времени старта: завершение сразу после старта
+        if (context.getEnvironment().getProperty("teamup.startup.exit-after-start", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
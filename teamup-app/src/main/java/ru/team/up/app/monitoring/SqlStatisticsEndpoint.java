@@ -0,0 +1,32 @@
+package ru.team.up.app.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import ru.team.up.core.monitoring.SqlStatistics;
+
+/**
+ * Actuator-эндпоинт /actuator/sql: SQL-запросы по HTTP-обработчикам и самые затратные тексты запросов
+ */
+@Component
+@Endpoint(id = "sql")
+public class SqlStatisticsEndpoint {
+    private final SqlStatistics sqlStatistics;
+
+    @Autowired
+    public SqlStatisticsEndpoint(SqlStatistics sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @ReadOperation
+    public SqlStatistics.Summary summary() {
+        return sqlStatistics.summary();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatistics.reset();
+    }
+}
@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Замер времени старта teamup-app в вариантах:
+#   default - без профиля
+#   startup - профиль startup (ленивая инициализация бинов)
+#   cds     - профиль startup и архив AppCDS
+# Первый запуск варианта считается холодным (классы и jar еще не в кэше ОС), остальные - теплыми.
+# С DROP_CACHES=1 перед холодным запуском сбрасывается страничный кэш ОС (нужны права root).
+#
+# Подготовка: БД из README и сборка mvn -pl teamup-app -am package -Pcds -DskipTests
+# Использование: teamup-app/startup/startup-benchmark.sh [число запусков] [вариант ...]
+# Дополнительные аргументы приложения передаются через APP_ARGS, опции JVM - через JAVA_OPTS
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+TARGET="$(pwd)/target"
+RUNS="${1:-5}"
+shift || true
+VARIANTS=("${@:-default startup cds}")
+VARIANTS=(${VARIANTS[*]})
+
+JAR="$(ls "$TARGET"/teamup-app-*.jar | grep -v -- '-sources' | head -1)"
+CLASSPATH="$JAR:$TARGET/lib/*"
+ARCHIVE="$TARGET/teamup-app.jsa"
+OUTPUT="$TARGET/startup"
+mkdir -p "$OUTPUT"
+
+if [ ! -d "$TARGET/lib" ]; then
+    echo "Нет $TARGET/lib: соберите приложение командой mvn -pl teamup-app -am package -Pcds -DskipTests" >&2
+    exit 1
+fi
+
+run() {
+    local variant=$1 log=$2
+    local jvm=() app=(--teamup.startup.exit-after-start=true --server.port=0)
+    case "$variant" in
+        default) ;;
+        startup) app+=(--spring.profiles.active=startup) ;;
+        cds)
+            [ -f "$ARCHIVE" ] || { echo "Нет архива $ARCHIVE, соберите с -Pcds" >&2; exit 1; }
+            jvm+=(-XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto)
+            app+=(--spring.profiles.active=startup) ;;
+        *) echo "Неизвестный вариант $variant" >&2; exit 1 ;;
+    esac
+
+    local started finished
+    started=$(date +%s%N)
+    java ${JAVA_OPTS:-} "${jvm[@]}" -cp "$CLASSPATH" ru.team.up.app.TeamupAppApplication "${app[@]}" ${APP_ARGS:-} > "$log" 2>&1
+    finished=$(date +%s%N)
+
+    # "Started TeamupAppApplication in 8.1 seconds (JVM running for 9.0)": время от запуска JVM до готовности
+    local ready
+    ready=$(sed -n 's/.*Started TeamupAppApplication in .* (JVM running for \([0-9.]*\)).*/\1/p' "$log")
+    [ -n "$ready" ] || { echo "Приложение не стартовало, журнал: $log" >&2; exit 1; }
+    echo "$ready $(( (finished - started) / 1000000 ))"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+echo "variant,run,kind,ready_s,process_ms" > "$OUTPUT/startup.csv"
+printf "%-8s %12s %12s %14s\n" "variant" "cold ready s" "warm ready s" "warm process ms"
+for variant in "${VARIANTS[@]}"; do
+    if [ "${DROP_CACHES:-0}" = "1" ]; then
+        sync && echo 3 > /proc/sys/vm/drop_caches
+    fi
+    cold=""
+    warm_ready=()
+    warm_process=()
+    for i in $(seq 1 "$RUNS"); do
+        read -r ready process < <(run "$variant" "$OUTPUT/$variant-$i.log")
+        kind=warm
+        if [ "$i" -eq 1 ]; then
+            kind=cold
+            cold=$ready
+        else
+            warm_ready+=("$ready")
+            warm_process+=("$process")
+        fi
+        echo "$variant,$i,$kind,$ready,$process" >> "$OUTPUT/startup.csv"
+    done
+    printf "%-8s %12s %12s %14s\n" "$variant" "$cold" \
+        "$(printf '%s\n' "${warm_ready[@]:-}" | grep . | median)" \
+        "$(printf '%s\n' "${warm_process[@]:-}" | grep . | median)"
+done
+echo "Результаты и журналы запусков: $OUTPUT"
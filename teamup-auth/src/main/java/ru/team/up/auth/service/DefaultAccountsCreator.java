@@ -1,7 +1,10 @@
 package ru.team.up.auth.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Component;
 import ru.team.up.core.entity.Admin;
@@ -15,62 +18,99 @@ import ru.team.up.core.repositories.UserRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+/**
+ * Создает учетные записи пользователя, администратора и модератора по умолчанию.
+ * Записи создаются после готовности приложения в отдельном потоке, поэтому хеширование паролей BCrypt
+ * не задерживает старт. Схема БД больше не пересоздается при запуске, поэтому существующие записи
+ * не изменяются
+ */
+@Slf4j
 @Component
 public class DefaultAccountsCreator {
+    private static final String USER_EMAIL = "user@mail.ru";
+    private static final String ADMIN_EMAIL = "kagaminobasket@gmail.com";
+    private static final String MODERATOR_EMAIL = "ckillast@gmail.com";
+
     private final UserRepository userRepository;
     private final AdminRepository adminRepository;
     private final ModeratorRepository moderatorRepository;
+    private final boolean enabled;
 
     @Autowired
-    public DefaultAccountsCreator(UserRepository userRepository,  AdminRepository adminRepository, ModeratorRepository moderatorRepository) {
+    public DefaultAccountsCreator(UserRepository userRepository, AdminRepository adminRepository,
+                                  ModeratorRepository moderatorRepository,
+                                  @Value("${teamup.default-accounts.enabled:true}") boolean enabled) {
         this.userRepository = userRepository;
         this.adminRepository = adminRepository;
         this.moderatorRepository = moderatorRepository;
+        this.enabled = enabled;
     }
 
-    @Bean("usercr")
-    public void userCreator() {
-        userRepository.save(User.builder()
-                .id(1L)
-                .name("Andrey")
-                .lastName("Tikhonov")
-                .middleName("Vladimirovich")
-                .login("atata256")
-                .password(BCrypt.hashpw("1234", BCrypt.gensalt(10)))
-                .accountCreatedTime(LocalDate.now())
-                .lastAccountActivity(LocalDateTime.now())
-                .email("user@mail.ru")
-                .age(12)
-                .role(Role.ROLE_USER)
-                .build());
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::createDefaultAccounts, "default-accounts");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-        adminRepository.save(Admin.builder()
-                .id(2L)
-                .name("admin")
-                .lastName("admin")
-                .middleName("admin")
-                .login("admin")
-                .password(BCrypt.hashpw("admin", BCrypt.gensalt(10)))
-                .accountCreatedTime(LocalDate.now())
-                .lastAccountActivity(LocalDateTime.now())
-                .email("kagaminobasket@gmail.com").role(Role.ROLE_ADMIN)
-                .build());
+    /**
+     * Создает отсутствующие учетные записи по умолчанию
+     */
+    void createDefaultAccounts() {
+        try {
+            if (userRepository.findByEmail(USER_EMAIL) == null) {
+                userRepository.save(User.builder()
+                        .id(1L)
+                        .name("Andrey")
+                        .lastName("Tikhonov")
+                        .middleName("Vladimirovich")
+                        .login("atata256")
+                        .password(BCrypt.hashpw("1234", BCrypt.gensalt(10)))
+                        .accountCreatedTime(LocalDate.now())
+                        .lastAccountActivity(LocalDateTime.now())
+                        .email(USER_EMAIL)
+                        .age(12)
+                        .role(Role.ROLE_USER)
+                        .build());
+            }
 
+            if (adminRepository.findByEmail(ADMIN_EMAIL) == null) {
+                adminRepository.save(Admin.builder()
+                        .id(2L)
+                        .name("admin")
+                        .lastName("admin")
+                        .middleName("admin")
+                        .login("admin")
+                        .password(BCrypt.hashpw("admin", BCrypt.gensalt(10)))
+                        .accountCreatedTime(LocalDate.now())
+                        .lastAccountActivity(LocalDateTime.now())
+                        .email(ADMIN_EMAIL).role(Role.ROLE_ADMIN)
+                        .build());
+            }
 
-        moderatorRepository.save(Moderator.builder()
-                .id(3L)
-                .name("moderator")
-                .lastName("moderator")
-                .middleName("moderator")
-                .login("moderator")
-                .password(BCrypt.hashpw("moderator", BCrypt.gensalt(10)))
-                .accountCreatedTime(LocalDate.now())
-                .lastAccountActivity(LocalDateTime.now())
-                .email("ckillast@gmail.com")
-                .role(Role.ROLE_MODERATOR)
-                .amountOfCheckedEvents(2L)
-                .amountOfClosedRequests(2L)
-                .amountOfDeletedEvents(3L)
-                .build());
+            if (moderatorRepository.findByEmail(MODERATOR_EMAIL) == null) {
+                moderatorRepository.save(Moderator.builder()
+                        .id(3L)
+                        .name("moderator")
+                        .lastName("moderator")
+                        .middleName("moderator")
+                        .login("moderator")
+                        .password(BCrypt.hashpw("moderator", BCrypt.gensalt(10)))
+                        .accountCreatedTime(LocalDate.now())
+                        .lastAccountActivity(LocalDateTime.now())
+                        .email(MODERATOR_EMAIL)
+                        .role(Role.ROLE_MODERATOR)
+                        .amountOfCheckedEvents(2L)
+                        .amountOfClosedRequests(2L)
+                        .amountOfDeletedEvents(3L)
+                        .build());
+            }
+            log.debug("Учетные записи по умолчанию созданы");
+        } catch (RuntimeException e) {
+            log.warn("Не удалось создать учетные записи по умолчанию: {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,86 @@
+package ru.team.up.benchmarks;
+
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.EventType;
+import ru.team.up.core.entity.Interests;
+import ru.team.up.core.entity.Role;
+import ru.team.up.core.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Тестовые данные для бенчмарков
+ */
+public final class BenchmarkData {
+
+    public static final String CLEAN_NAME = "JOKER 2021";
+
+    public static final String CLEAN_DESCRIPTION = "Конференция для опытных Java-разработчиков. " +
+            "Доклады о производительности JVM, сборщиках мусора, конкурентности и инструментах профилирования. " +
+            "В программе два дня докладов, воркшопы, дискуссионные зоны и вечеринка для участников. " +
+            "Спикеры расскажут, как они находят и устраняют узкие места в больших системах, " +
+            "какие метрики собирают в продакшене и как проверяют гипотезы с помощью бенчмарков.";
+
+    public static final String FLAGGED_DESCRIPTION = CLEAN_DESCRIPTION + " Ну мля, будет жарко!";
+
+    private BenchmarkData() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Имя" + id)
+                .lastName("Фамилия" + id)
+                .middleName("Отчество" + id)
+                .login("login" + id)
+                .email("user" + id + "@mail.ru")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z/iWmPk.xLPeWYoe9oGwCX6K")
+                .role(Role.ROLE_USER)
+                .accountCreatedTime(LocalDate.of(2021, 10, 1))
+                .lastAccountActivity(LocalDateTime.of(2021, 11, 1, 12, 0))
+                .city("Москва")
+                .age(30)
+                .aboutUser("Люблю конференции и настольные игры")
+                .build();
+    }
+
+    /**
+     * @param participants Количество участников мероприятия
+     * @return Мероприятие с автором, подписчиками автора, участниками и интересами
+     */
+    public static Event event(long id, int participants) {
+        User author = user(1);
+        Set<User> subscribers = new HashSet<>();
+        for (long i = 0; i < 10; i++) {
+            subscribers.add(user(1000 + i));
+        }
+        author.setSubscribers(subscribers);
+
+        List<User> participantList = new ArrayList<>(participants);
+        for (long i = 0; i < participants; i++) {
+            participantList.add(user(10 + i));
+        }
+
+        Set<Interests> interests = new HashSet<>();
+        interests.add(Interests.builder().id(1L).title("Java").shortDescription("Язык программирования").build());
+        interests.add(Interests.builder().id(2L).title("JVM").shortDescription("Виртуальная машина").build());
+
+        return Event.builder()
+                .id(id)
+                .eventName(CLEAN_NAME)
+                .descriptionEvent(CLEAN_DESCRIPTION)
+                .placeEvent("Санкт-Петербург, Экспофорум")
+                .timeEvent(LocalDateTime.of(2021, 10, 20, 10, 0))
+                .eventUpdateDate(LocalDate.of(2021, 10, 1))
+                .eventType(EventType.builder().id(1L).type("Конференция").build())
+                .authorId(author)
+                .participantsEvent(participantList)
+                .eventInterests(interests)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.team.up.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Точка входа для запуска бенчмарков: java -jar teamup-benchmarks/target/benchmarks.jar [опции JMH].
+ * Если формат и файл результатов не заданы опциями -rf/-rff, результаты сохраняются в JSON
+ * в файл target/jmh-results/jmh-&lt;commit&gt;.json. Идентификатор коммита берется из системного свойства
+ * teamup.commit или переменной окружения GIT_COMMIT, чтобы результаты разных коммитов можно было сравнивать
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            String commit = System.getProperty("teamup.commit", System.getenv().getOrDefault("GIT_COMMIT", "local"));
+            Path directory = Paths.get("target", "jmh-results");
+            Files.createDirectories(directory);
+            options.resultFormat(ResultFormatType.JSON)
+                    .result(directory.resolve("jmh-" + commit + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
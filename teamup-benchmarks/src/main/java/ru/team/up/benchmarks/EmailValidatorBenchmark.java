@@ -0,0 +1,47 @@
+package ru.team.up.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.team.up.input.service.impl.EmailValidatorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка адреса электронной почты, по одному адресу и пачкой при импорте
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailValidatorBenchmark {
+    private static final int BULK_SIZE = 100;
+
+    @Param({"user@mail.ru", "first.last+tag@sub.example.com", "not-an-email", "user@@mail.ru"})
+    private String email;
+
+    private EmailValidatorService validator;
+    private List<String> emails;
+
+    @Setup
+    public void setUp() {
+        validator = new EmailValidatorService();
+        emails = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            emails.add(email);
+        }
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return validator.validate(email);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<Boolean> validateBulk() {
+        return validator.validate(emails);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.team.up.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.team.up.core.entity.Event;
+import ru.team.up.input.json.JacksonTuning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность сериализации страницы мероприятий в JSON. Сравниваются ObjectMapper с настройками
+ * Spring по умолчанию и с настройками приложения ({@link JacksonTuning}, модуль Afterburner при сборке
+ * с профилем fast-json), а также writer, который создается на каждый ответ как в конвертере Spring MVC,
+ * и заранее созданный writer из ObjectWriters
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPageSerializationBenchmark {
+
+    @Param({"default", "tuned"})
+    private String mapper;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private ObjectWriter pageWriter;
+    private List<Event> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = mapperBuilder(mapper).build();
+        pageType = objectMapper.constructType(new TypeReference<List<Event>>() {
+        }.getType());
+        pageWriter = objectMapper.writerFor(pageType);
+        page = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            page.add(BenchmarkData.event(i, 10));
+        }
+    }
+
+    @Benchmark
+    public byte[] writerPerResponse() throws JsonProcessingException {
+        return objectMapper.writer().forType(pageType).writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedWriter() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder(String mapper) {
+        switch (mapper) {
+            case "default":
+                return Jackson2ObjectMapperBuilder.json();
+            case "tuned":
+                Jackson2ObjectMapperBuilder builder = JacksonTuning.tune(Jackson2ObjectMapperBuilder.json());
+                Module bytecodeModule = JacksonTuning.bytecodeModule();
+                if (bytecodeModule != null) {
+                    builder.modulesToInstall(bytecodeModule);
+                }
+                return builder;
+            default:
+                throw new IllegalArgumentException("Неизвестный ObjectMapper " + mapper);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.team.up.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация и десериализация графов Event/User тем же ObjectMapper, что строит Spring Boot
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    @Param({"10", "100"})
+    private int participants;
+
+    private ObjectMapper objectMapper;
+    private Event event;
+    private List<Event> events;
+    private User user;
+    private byte[] eventJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        event = BenchmarkData.event(1, participants);
+        events = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            events.add(BenchmarkData.event(i, participants));
+        }
+        user = event.getAuthorId();
+        eventJson = objectMapper.writeValueAsBytes(withoutAuthorities(objectMapper.valueToTree(event)));
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serializeEventList() throws IOException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws IOException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public Event deserializeEvent() throws IOException {
+        return objectMapper.readValue(eventJson, Event.class);
+    }
+
+    /**
+     * Удаляет вычисляемое поле authorities аккаунтов: клиенты его не передают, а прочитать его Jackson не может
+     */
+    private static JsonNode withoutAuthorities(JsonNode node) {
+        if (node.isObject()) {
+            ((ObjectNode) node).remove("authorities");
+        }
+        node.forEach(JacksonBenchmark::withoutAuthorities);
+        return node;
+    }
+}
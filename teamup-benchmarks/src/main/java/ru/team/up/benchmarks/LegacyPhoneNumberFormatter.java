@@ -0,0 +1,37 @@
+package ru.team.up.benchmarks;
+
+import javax.swing.text.MaskFormatter;
+import java.text.ParseException;
+
+/**
+ * Прежняя реализация PhoneNumberValidatorService.uniformFormat (MaskFormatter и регулярные выражения),
+ * оставлена для сравнения в {@link PhoneNumberFormatBenchmark}
+ */
+final class LegacyPhoneNumberFormatter {
+
+    private LegacyPhoneNumberFormatter() {
+    }
+
+    static String uniformFormat(String number) {
+        String codeMoscow = "495";
+        number = number.replaceAll("[^0-9]", "");
+        Character firstChar = number.charAt(0);
+        if (number.length() < 8) {
+            number = codeMoscow + number;
+        }
+        if (firstChar.equals('8')) {
+            number = number.replaceFirst("[8]", "7");
+        }
+        if (!firstChar.equals('8') && !firstChar.equals('7')) {
+            number = "7" + number;
+        }
+        try {
+            MaskFormatter format = new MaskFormatter("+#(###)###-##-##");
+            format.setValueContainsLiteralCharacters(false);
+            number = format.valueToString(number);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+        return number;
+    }
+}
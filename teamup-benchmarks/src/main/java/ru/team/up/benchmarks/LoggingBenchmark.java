@@ -0,0 +1,75 @@
+package ru.team.up.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.logging.LogArgs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запись в журнал ответа контроллера со списком мероприятий: прежний способ (ResponseEntity целиком)
+ * и LogArgs (статус, размер и первые id). Сообщение форматируется appender'ом, как при записи в файл.
+ * Выделение памяти на операцию показывает запуск с профилировщиком -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"10", "1000"})
+    private int events;
+
+    @Param({"DEBUG", "INFO"})
+    private String level;
+
+    private Logger log;
+    private ResponseEntity<List<Event>> response;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        log = context.getLogger(LoggingBenchmark.class);
+        log.setLevel(Level.toLevel(level));
+        log.setAdditive(false);
+        log.detachAndStopAllAppenders();
+
+        AppenderBase<ILoggingEvent> appender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                blackhole.consume(event.getFormattedMessage());
+            }
+        };
+        appender.setContext(context);
+        appender.start();
+        log.addAppender(appender);
+
+        List<Event> list = new ArrayList<>(events);
+        for (long i = 0; i < events; i++) {
+            list.add(BenchmarkData.event(i, 0));
+        }
+        response = ResponseEntity.ok(list);
+    }
+
+    @Benchmark
+    public void responseEntity() {
+        log.debug("Получили ответ {}", response);
+    }
+
+    @Benchmark
+    public void logArgs() {
+        log.debug("Получили ответ {}", LogArgs.response(response));
+    }
+}
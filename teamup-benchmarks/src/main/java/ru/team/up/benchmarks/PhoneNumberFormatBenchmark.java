@@ -0,0 +1,54 @@
+package ru.team.up.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.team.up.input.service.impl.PhoneNumberValidatorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Приведение номера телефона к единому формату: прежняя реализация на MaskFormatter
+ * и однопроходная реализация PhoneNumberValidatorService.
+ * Выделение памяти на операцию показывает запуск с профилировщиком -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhoneNumberFormatBenchmark {
+    private static final int BULK_SIZE = 100;
+
+    @Param({"8 (916) 123-45-67", "+79161234567", "123-45-67"})
+    private String number;
+
+    private PhoneNumberValidatorService validator;
+    private List<String> numbers;
+
+    @Setup
+    public void setUp() {
+        validator = new PhoneNumberValidatorService();
+        numbers = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            numbers.add(number);
+        }
+    }
+
+    @Benchmark
+    public String legacyUniformFormat() {
+        return LegacyPhoneNumberFormatter.uniformFormat(number);
+    }
+
+    @Benchmark
+    public String uniformFormat() {
+        return validator.uniformFormat(number);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<String> uniformFormatBulk() {
+        return validator.uniformFormat(numbers);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.team.up.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.team.up.core.entity.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Размер ответа со списком мероприятий и время его сериализации по форматам (JSON, Smile, CBOR)
+ * со сжатием gzip и без. Размер ответа в байтах - вспомогательный счетчик payloadBytes в результатах JMH.
+ * Форматы smile и cbor требуют сборки с профилем binary-formats
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"20"})
+    private int events;
+
+    private ObjectMapper objectMapper;
+    private List<Event> eventList;
+
+    /**
+     * Размер последнего сериализованного ответа
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = mapperBuilder(format).build();
+        eventList = new ArrayList<>(events);
+        for (long i = 0; i < events; i++) {
+            eventList.add(BenchmarkData.event(i, 10));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEventList(Payload payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, eventList);
+        }
+        payload.payloadBytes = bytes.size();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Построитель с настройками Spring по умолчанию, как у конвертеров сообщений Spring MVC
+     */
+    private static Jackson2ObjectMapperBuilder mapperBuilder(String format) {
+        switch (format) {
+            case "json":
+                return Jackson2ObjectMapperBuilder.json();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor();
+            default:
+                throw new IllegalArgumentException("Неизвестный формат " + format);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.team.up.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import ru.team.up.auth.service.impl.UserDetailsImpl;
+import ru.team.up.core.entity.Admin;
+import ru.team.up.core.entity.Moderator;
+import ru.team.up.core.entity.Role;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.repositories.AdminRepository;
+import ru.team.up.core.repositories.ModeratorRepository;
+import ru.team.up.core.repositories.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск аккаунта при аутентификации (UserDetailsImpl) во встроенной H2 в режиме совместимости с PostgreSQL.
+ * Пользователь находится первым запросом, модератор - после поиска среди пользователей и админов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsLookupBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserDetailsService userDetailsService;
+    private String userEmail;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LookupConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<User> accounts = new ArrayList<>(users);
+        for (long i = 0; i < users; i++) {
+            User user = BenchmarkData.user(i);
+            user.setId(null);
+            accounts.add(user);
+        }
+        userRepository.saveAll(accounts);
+        userEmail = accounts.get(users / 2).getEmail();
+
+        context.getBean(AdminRepository.class).save(Admin.builder()
+                .name("Админ").lastName("Админов").login("admin").email("admin@mail.ru").password("admin")
+                .role(Role.ROLE_ADMIN).accountCreatedTime(LocalDate.now()).lastAccountActivity(LocalDateTime.now())
+                .build());
+        context.getBean(ModeratorRepository.class).save(Moderator.builder()
+                .name("Модератор").lastName("Модераторов").login("moderator").email("moderator@mail.ru")
+                .password("moderator").role(Role.ROLE_MODERATOR).accountCreatedTime(LocalDate.now())
+                .lastAccountActivity(LocalDateTime.now()).amountOfCheckedEvents(0L).amountOfDeletedEvents(0L)
+                .amountOfClosedRequests(0L).build());
+
+        userDetailsService = context.getBean(UserDetailsService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUser() {
+        return userDetailsService.loadUserByUsername(userEmail);
+    }
+
+    @Benchmark
+    public UserDetails loadModerator() {
+        return userDetailsService.loadUserByUsername("moderator@mail.ru");
+    }
+
+    @Benchmark
+    public boolean loadMissing() {
+        try {
+            userDetailsService.loadUserByUsername("missing@mail.ru");
+            return true;
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    @Import(UserDetailsImpl.class)
+    static class LookupConfiguration {
+    }
+}
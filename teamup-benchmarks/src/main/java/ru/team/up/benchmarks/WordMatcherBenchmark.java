@@ -0,0 +1,49 @@
+package ru.team.up.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.team.up.input.wordmatcher.WordMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка текста мероприятия на запрещенные и нежелательные слова
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordMatcherBenchmark {
+
+    @Param({"name", "description", "flagged"})
+    private String text;
+
+    private String value;
+    private WordMatcher wordMatcher;
+
+    @Setup
+    public void setUp() {
+        wordMatcher = new WordMatcher();
+        switch (text) {
+            case "name":
+                value = BenchmarkData.CLEAN_NAME;
+                break;
+            case "description":
+                value = BenchmarkData.CLEAN_DESCRIPTION;
+                break;
+            default:
+                value = BenchmarkData.FLAGGED_DESCRIPTION;
+        }
+    }
+
+    @Benchmark
+    public boolean detectBadWords() {
+        return wordMatcher.detectBadWords(value);
+    }
+
+    @Benchmark
+    public boolean detectUnnecessaryWords() {
+        return wordMatcher.detectUnnecessaryWords(value);
+    }
+}
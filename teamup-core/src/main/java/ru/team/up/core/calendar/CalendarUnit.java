@@ -0,0 +1,31 @@
+package ru.team.up.core.calendar;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Интервал группировки календаря мероприятий. Неделя начинается с понедельника
+ */
+public enum CalendarUnit {
+    DAY("day", ChronoUnit.DAYS),
+    WEEK("week", ChronoUnit.WEEKS),
+    MONTH("month", ChronoUnit.MONTHS);
+
+    private final String sqlName;
+    private final ChronoUnit chronoUnit;
+
+    CalendarUnit(String sqlName, ChronoUnit chronoUnit) {
+        this.sqlName = sqlName;
+        this.chronoUnit = chronoUnit;
+    }
+
+    /**
+     * @return Первый аргумент DATE_TRUNC
+     */
+    public String getSqlName() {
+        return sqlName;
+    }
+
+    public ChronoUnit getChronoUnit() {
+        return chronoUnit;
+    }
+}
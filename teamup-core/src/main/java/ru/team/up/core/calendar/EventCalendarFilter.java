@@ -0,0 +1,50 @@
+package ru.team.up.core.calendar;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Условия выборки мероприятий календаря. Время проведения - полуинтервал [from, to),
+ * незаданные фильтры не ограничивают выборку
+ */
+@Value
+@Builder
+public class EventCalendarFilter {
+
+    /**
+     * Начало периода, включительно
+     */
+    LocalDateTime from;
+
+    /**
+     * Конец периода, не включительно
+     */
+    LocalDateTime to;
+
+    /**
+     * Идентификатор типа мероприятия
+     */
+    Long eventTypeId;
+
+    /**
+     * Идентификатор статуса мероприятия
+     */
+    Long statusId;
+
+    /**
+     * Идентификаторы интересов: мероприятие подходит, если у него есть хотя бы один из них
+     */
+    Set<Long> interestIds;
+
+    /**
+     * Выбирать также мероприятия из архива (EVENT_ARCHIVE)
+     */
+    boolean includeArchived;
+
+    public boolean hasInterests() {
+        return interestIds != null && !interestIds.isEmpty();
+    }
+}
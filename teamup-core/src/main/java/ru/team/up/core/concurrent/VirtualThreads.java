@@ -0,0 +1,100 @@
+package ru.team.up.core.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Виртуальные потоки (JDK 21+). Проект собирается для Java 11, поэтому API вызывается через reflection.
+ * На JDK без виртуальных потоков {@link #isSupported()} возвращает false
+ */
+@Slf4j
+public final class VirtualThreads {
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = method(className("java.lang.Thread$Builder"), "name",
+            String.class, long.class);
+    private static final Method BUILDER_FACTORY = method(className("java.lang.Thread$Builder"), "factory");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = method(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+    private static final boolean SUPPORTED = checkSupported();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true, если JDK поддерживает виртуальные потоки (на JDK 19-20 - только с --enable-preview)
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * @param namePrefix Префикс имени потока, к нему добавляется номер: prefix0, prefix1, ...
+     * @return Фабрика виртуальных потоков
+     * @throws IllegalStateException если JDK не поддерживает виртуальные потоки
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("Виртуальные потоки не поддерживаются JDK " +
+                    System.getProperty("java.version"));
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось создать фабрику виртуальных потоков", e);
+        }
+    }
+
+    /**
+     * @param namePrefix Префикс имени потока
+     * @return Исполнитель, запускающий каждую задачу в новом виртуальном потоке
+     * @throws IllegalStateException если JDK не поддерживает виртуальные потоки
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = threadFactory(namePrefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+        }
+    }
+
+    private static boolean checkSupported() {
+        if (OF_VIRTUAL == null || BUILDER_NAME == null || BUILDER_FACTORY == null
+                || NEW_THREAD_PER_TASK_EXECUTOR == null) {
+            return false;
+        }
+        try {
+            // На JDK 19-20 без --enable-preview метод есть, но бросает UnsupportedOperationException
+            OF_VIRTUAL.invoke(null);
+            return true;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            log.debug("Виртуальные потоки недоступны: {}", e.getCause() == null ? e : e.getCause());
+            return false;
+        }
+    }
+
+    private static Class<?> className(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
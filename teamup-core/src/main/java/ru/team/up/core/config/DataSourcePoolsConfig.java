@@ -0,0 +1,113 @@
+package ru.team.up.core.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import ru.team.up.core.datasource.JobsPoolProperties;
+import ru.team.up.core.datasource.PoolRoutingDataSource;
+import ru.team.up.core.datasource.ReadYourWritesTracker;
+import ru.team.up.core.datasource.ReplicaLagMonitor;
+import ru.team.up.core.datasource.ReplicaRoutingProperties;
+import ru.team.up.core.datasource.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Несколько пулов соединений за одним DataSource: пул HTTP-запросов, пул фоновых задач
+ * (teamup.datasource.jobs.enabled=true) и реплика для транзакций readOnly (teamup.datasource.replica.enabled=true).
+ * Пулы не регистрируются бинами, чтобы в контексте оставался один DataSource и SQL-запросы
+ * учитывались один раз ({@link SqlMonitoringConfig}). Метрики пулов - hikaricp.* с тегом pool
+ */
+@Configuration
+@ConditionalOnExpression("${teamup.datasource.replica.enabled:false} or ${teamup.datasource.jobs.enabled:false}")
+@EnableConfigurationProperties({ReplicaRoutingProperties.class, JobsPoolProperties.class, DataSourceProperties.class})
+public class DataSourcePoolsConfig {
+    private static final String PRIMARY_POOL = "teamup-primary";
+    private static final String REPLICA_POOL = "teamup-replica";
+    private static final String JOBS_POOL = "teamup-jobs";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "teamup.datasource.replica", name = "enabled", havingValue = "true")
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickinessMs(), Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "teamup.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingProperties properties,
+                                               DataSourceProperties dataSourceProperties,
+                                               Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaLagMonitor(replicaPool(properties, dataSourceProperties, environment, meterRegistry),
+                properties.getMaxLagMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, JobsPoolProperties jobsProperties,
+                                 Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+                                 ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        HikariDataSource primary = startPool(primaryConfig(dataSourceProperties), PRIMARY_POOL,
+                "spring.datasource.hikari", environment, meterRegistry);
+        HikariDataSource jobs = jobsProperties.isEnabled()
+                ? startPool(primaryConfig(dataSourceProperties), JOBS_POOL, "teamup.datasource.jobs.hikari",
+                environment, meterRegistry)
+                : null;
+
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        return new RoutingDataSource(new PoolRoutingDataSource(primary,
+                lagMonitor == null ? null : lagMonitor.getReplica(), jobs,
+                lagMonitor, readYourWritesTracker.getIfAvailable()));
+    }
+
+    private static HikariDataSource replicaPool(ReplicaRoutingProperties properties,
+                                                DataSourceProperties dataSourceProperties,
+                                                Environment environment,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(properties.getUrl())
+                .username(properties.getUsername() != null
+                        ? properties.getUsername() : dataSourceProperties.determineUsername())
+                .password(properties.getPassword() != null
+                        ? properties.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        replica.setReadOnly(true);
+        replica.setInitializationFailTimeout(-1);
+        return startPool(replica, REPLICA_POOL, "teamup.datasource.replica.hikari", environment, meterRegistry);
+    }
+
+    private static HikariConfig primaryConfig(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Создает пул по настройкам из config и свойств prefix.
+     * Пул открывает соединения сразу, а не при первом запросе. Реплика не препятствует запуску
+     * (initializationFailTimeout=-1), ее доступность отслеживает {@link ReplicaLagMonitor}
+     */
+    private static HikariDataSource startPool(HikariConfig config, String poolName, String prefix,
+                                              Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        config.setPoolName(poolName);
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(config));
+        meterRegistry.ifAvailable(config::setMetricRegistry);
+        return new HikariDataSource(config);
+    }
+}
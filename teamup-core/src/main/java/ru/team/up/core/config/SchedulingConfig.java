@@ -0,0 +1,35 @@
+package ru.team.up.core.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Включает выполнение фоновых задач по расписанию (@Scheduled).
+ * Задачи выполняет планировщик Spring Boot с spring.task.scheduling.pool.size потоками: при одном потоке
+ * долгая задача, например архивирование, задерживает все остальные
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Задачи по расписанию регистрируются только при создании бина, поэтому при
+     * spring.main.lazy-initialization=true бины с методами @Scheduled создаются сразу
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(beanType, method -> scheduled.set(true),
+                    method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+            return scheduled.get();
+        };
+    }
+}
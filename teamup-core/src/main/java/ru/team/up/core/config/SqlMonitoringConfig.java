@@ -0,0 +1,43 @@
+package ru.team.up.core.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.team.up.core.monitoring.SqlMonitoringProperties;
+import ru.team.up.core.monitoring.SqlQueryListener;
+import ru.team.up.core.monitoring.SqlStatistics;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает DataSource прокси, который учитывает каждый SQL-запрос в {@link SqlStatistics}.
+ * Заменяет spring.jpa.show-sql: вместо печати всех запросов - счетчики по HTTP-обработчикам,
+ * журнал медленных запросов и бюджет запросов на обработчик
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(
+            ObjectProvider<SqlMonitoringProperties> properties, ObjectProvider<SqlStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource
+                        || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(new SqlQueryListener(statistics.getObject(),
+                                properties.getObject().getSlowQueryMs()))
+                        .build();
+            }
+        };
+    }
+}
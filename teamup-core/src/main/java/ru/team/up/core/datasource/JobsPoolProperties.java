@@ -0,0 +1,19 @@
+package ru.team.up.core.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки отдельного пула соединений фоновых задач (teamup.datasource.jobs.*).
+ * Пул подключается к основной БД, его параметры задаются в teamup.datasource.jobs.hikari.*
+ * так же, как spring.datasource.hikari.*
+ */
+@Data
+@ConfigurationProperties(prefix = "teamup.datasource.jobs")
+public class JobsPoolProperties {
+    /**
+     * Выполнять запросы потоков вне HTTP-запроса (задачи по расписанию, асинхронная обработка)
+     * через отдельный пул
+     */
+    private boolean enabled = false;
+}
@@ -0,0 +1,111 @@
+package ru.team.up.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Выбирает пул для нового соединения.
+ * Фоновые задачи (потоки вне HTTP-запроса) используют отдельный пул jobs, чтобы не занимать соединения
+ * обработчиков запросов. В HTTP-запросе транзакции readOnly выполняются на реплике, остальные - на основной БД.
+ * Чтение идет с основной БД, если реплика отстает ({@link ReplicaLagMonitor}) или сессия недавно записывала
+ * данные ({@link ReadYourWritesTracker}). Признак readOnly известен только после начала транзакции,
+ * поэтому используется за {@link RoutingDataSource}, который откладывает получение соединения
+ */
+@Slf4j
+public class PoolRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    enum Target {
+        PRIMARY,
+        REPLICA,
+        JOBS
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final DataSource jobs;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    /**
+     * @param primary        Пул основной БД для HTTP-запросов
+     * @param replica        Пул реплики или null, если реплика не используется
+     * @param jobs           Пул фоновых задач или null, если фоновые задачи используют пул основной БД
+     * @param lagMonitor     Проверка отставания реплики, null без реплики
+     * @param readYourWrites Привязка сессий к основной БД после записи, null без реплики
+     */
+    public PoolRoutingDataSource(DataSource primary, DataSource replica, DataSource jobs,
+                                 ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replica = replica;
+        this.jobs = jobs;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        if (replica != null) {
+            targets.put(Target.REPLICA, replica);
+        }
+        if (jobs != null) {
+            targets.put(Target.JOBS, jobs);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (jobs != null && RequestContextHolder.getRequestAttributes() == null) {
+            return Target.JOBS;
+        }
+        if (replica == null) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isAvailable() || readYourWrites.isPrimaryRequired()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    /**
+     * После фиксации пишущей транзакции сессия читает с основной БД, пока реплика не получит изменения
+     */
+    private void trackWrite() {
+        if (!readYourWrites.isTracking() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.writeCommitted();
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        closePool(jobs);
+        closePool(replica);
+        closePool(primary);
+    }
+
+    private static void closePool(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+}
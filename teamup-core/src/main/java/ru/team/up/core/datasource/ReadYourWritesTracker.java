@@ -0,0 +1,61 @@
+package ru.team.up.core.datasource;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Привязка сессии к основной БД после записи (read-your-writes).
+ * Для HTTP-запроса в текущем потоке регистрируется время сессии, до которого чтение идет с основной БД.
+ * Запись продлевает это время на stickinessMs, поэтому пользователь сразу видит свои изменения,
+ * даже если реплика их еще не получила. Потоки без сессии (фоновые задачи) не привязываются
+ */
+public class ReadYourWritesTracker {
+    private static final ThreadLocal<AtomicLong> CURRENT = new ThreadLocal<>();
+
+    private final long stickinessMs;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(long stickinessMs, Clock clock) {
+        this.stickinessMs = stickinessMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Начинает учет записи для сессии в текущем потоке
+     *
+     * @param primaryUntil Время (мс), до которого сессия читает с основной БД. Обновляется при записи
+     */
+    public void begin(AtomicLong primaryUntil) {
+        CURRENT.set(primaryUntil);
+    }
+
+    public void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return true, если сессия текущего потока недавно записывала данные и должна читать с основной БД
+     */
+    public boolean isPrimaryRequired() {
+        AtomicLong primaryUntil = CURRENT.get();
+        return primaryUntil != null && primaryUntil.get() > clock.millis();
+    }
+
+    /**
+     * @return true, если в текущем потоке зарегистрирована сессия
+     */
+    boolean isTracking() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Отмечает запись в сессии текущего потока
+     */
+    void writeCommitted() {
+        AtomicLong primaryUntil = CURRENT.get();
+        if (primaryUntil != null) {
+            long until = clock.millis() + stickinessMs;
+            primaryUntil.accumulateAndGet(until, Math::max);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.team.up.core.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Проверяет отставание реплики PostgreSQL. Реплика используется для чтения, только пока последняя проверка
+ * прошла успешно и отставание не больше maxLagMs. До первой проверки и при ошибке чтение идет с основной БД.
+ * Реплика, догнавшая основную БД, имеет нулевое отставание, даже если на основной давно не было записи
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+    static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource replica;
+    private final long maxLagMs;
+
+    private volatile long lagMs = -1;
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMs) {
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return true, если реплику можно использовать для чтения
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @return Отставание реплики по последней проверке в мс, -1 - неизвестно
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${teamup.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        long lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lag = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                lag = -1;
+            }
+        } catch (SQLException e) {
+            log.warn("Не удалось проверить отставание реплики: {}", e.getMessage());
+            lag = -1;
+        }
+        update(lag);
+    }
+
+    private void update(long lag) {
+        boolean nowAvailable = lag >= 0 && lag <= maxLagMs;
+        lagMs = lag;
+        if (nowAvailable != available) {
+            if (nowAvailable) {
+                log.info("Реплика доступна для чтения, отставание {} мс", lag);
+            } else {
+                log.warn("Чтение переключено на основную БД, отставание реплики {} мс (допустимо {} мс)",
+                        lag, maxLagMs);
+            }
+        }
+        available = nowAvailable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("teamup.datasource.replica.lag", this, ReplicaLagMonitor::getLagMs)
+                .description("Отставание реплики по последней проверке, -1 - неизвестно")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("teamup.datasource.replica.available", this, monitor -> monitor.isAvailable() ? 1 : 0)
+                .description("1 - читающие транзакции выполняются на реплике, 0 - на основной БД")
+                .register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.team.up.core.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки реплики для читающих транзакций (teamup.datasource.replica.*).
+ * Параметры пула реплики задаются в teamup.datasource.replica.hikari.* так же, как spring.datasource.hikari.*
+ */
+@Data
+@ConfigurationProperties(prefix = "teamup.datasource.replica")
+public class ReplicaRoutingProperties {
+    /**
+     * Направлять транзакции readOnly на реплику
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    /**
+     * Пользователь реплики, по умолчанию spring.datasource.username
+     */
+    private String username;
+
+    /**
+     * Пароль реплики, по умолчанию spring.datasource.password
+     */
+    private String password;
+
+    /**
+     * При большем отставании реплики читающие транзакции выполняются на основной БД
+     */
+    private long maxLagMs = 5000;
+
+    /**
+     * Период проверки отставания реплики
+     */
+    private long lagCheckIntervalMs = 1000;
+
+    /**
+     * Сколько после записи в сессии ее читающие транзакции выполняются на основной БД
+     */
+    private long stickinessMs = 5000;
+}
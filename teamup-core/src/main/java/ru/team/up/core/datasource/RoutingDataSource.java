@@ -0,0 +1,24 @@
+package ru.team.up.core.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * DataSource приложения при нескольких пулах. Соединение берется из пула только при первом запросе,
+ * когда транзакция уже начата и известен ее признак readOnly. Закрывает все пулы при остановке контекста
+ */
+public class RoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final PoolRoutingDataSource routingDataSource;
+
+    public RoutingDataSource(PoolRoutingDataSource routingDataSource) {
+        super(routingDataSource);
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+        routingDataSource.close();
+    }
+}
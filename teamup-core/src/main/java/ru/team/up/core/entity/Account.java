@@ -81,6 +81,13 @@ public class Account implements UserDetails {
     @Column(name = "LAST_ACCOUNT_ACTIVITY", nullable = false)
     private LocalDateTime lastAccountActivity;
 
+    /**
+     * Версия учетной записи, увеличивается при каждом изменении
+     */
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singleton(role);
@@ -3,6 +3,7 @@ package ru.team.up.core.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
@@ -10,6 +11,7 @@ import javax.persistence.*;
  * Сущность администратор
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @SuperBuilder
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import java.util.Set;
  * Сущность Мероприятий
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @Builder
@@ -63,7 +65,7 @@ public class Event {
     private LocalDateTime timeEvent;
 
     /**
-     * Время обновления мероприятия
+     * Дата обновления мероприятия, устанавливается при каждом изменении
      */
     @ApiModelProperty(value = "Время обновления мероприятия", required = true, example = "29.11.2021 21:00")
     @Column(name = "EVENT_UPDATE_DATE")
@@ -113,4 +115,17 @@ public class Event {
     @ManyToOne(cascade = CascadeType.MERGE)
     @JoinColumn(name = "STATUS_ID")
     private Status status;
+
+    /**
+     * Версия мероприятия, увеличивается при каждом изменении
+     */
+    @ApiModelProperty(value = "Версия мероприятия", example = "0")
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
+    @PreUpdate
+    void updateEventUpdateDate() {
+        eventUpdateDate = LocalDate.now();
+    }
 }
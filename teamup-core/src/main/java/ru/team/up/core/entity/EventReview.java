@@ -13,6 +13,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -31,7 +32,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "EVENT_REVIEW")
+@Table(name = "EVENT_REVIEW", indexes = {
+        @Index(name = "IDX_EVENT_REVIEW_EVENT_TIME", columnList = "EVENT_ID, REVIEW_TIME, REVIEW_ID")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 public class EventReview {
 
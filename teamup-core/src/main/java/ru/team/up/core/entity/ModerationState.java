@@ -0,0 +1,21 @@
+package ru.team.up.core.entity;
+
+/**
+ * Состояние задачи в очереди модерации
+ */
+public enum ModerationState {
+    /**
+     * Ожидает модератора
+     */
+    NEW,
+
+    /**
+     * Взята модератором в работу до истечения аренды
+     */
+    LEASED,
+
+    /**
+     * Проверка завершена
+     */
+    DONE
+}
@@ -0,0 +1,100 @@
+package ru.team.up.core.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Задача очереди модерации мероприятий.
+ * Чем меньше значение PRIORITY, тем раньше задача выдается модератору
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "MODERATION_TASK", indexes = {
+        @Index(name = "IDX_MODERATION_TASK_STATE_PRIORITY", columnList = "STATE, PRIORITY"),
+        @Index(name = "IDX_MODERATION_TASK_EVENT", columnList = "EVENT_ID")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer"})
+public class ModerationTask {
+
+    /**
+     * Уникальный идентификатор
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Идентификатор проверяемого мероприятия
+     */
+    @Column(name = "EVENT_ID", nullable = false)
+    private Long eventId;
+
+    /**
+     * Время начала мероприятия на момент постановки в очередь
+     */
+    @Column(name = "EVENT_START_TIME", nullable = false)
+    private LocalDateTime eventStartTime;
+
+    /**
+     * Причина отправки на проверку
+     */
+    @Column(name = "REASON")
+    private String reason;
+
+    /**
+     * Количество пользователей, пожаловавшихся на мероприятие
+     */
+    @Column(name = "REPORTER_COUNT", nullable = false)
+    private Integer reporterCount;
+
+    /**
+     * Приоритет: время начала мероприятия в секундах, уменьшенное с учетом количества жалоб
+     */
+    @Column(name = "PRIORITY", nullable = false)
+    private Long priority;
+
+    /**
+     * Состояние задачи
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATE", nullable = false, length = 16)
+    private ModerationState state;
+
+    /**
+     * Модератор, взявший задачу в работу
+     */
+    @Column(name = "MODERATOR_ID")
+    private Long moderatorId;
+
+    /**
+     * Время, до которого задача закреплена за модератором
+     */
+    @Column(name = "LEASE_UNTIL")
+    private LocalDateTime leaseUntil;
+
+    /**
+     * Время постановки в очередь
+     */
+    @Column(name = "CREATED_TIME", nullable = false)
+    private LocalDateTime createdTime;
+
+    /**
+     * Время завершения проверки
+     */
+    @Column(name = "CLOSED_TIME")
+    private LocalDateTime closedTime;
+
+    /**
+     * Решение модератора: true - мероприятие одобрено, false - удалено
+     */
+    @Column(name = "APPROVED")
+    private Boolean approved;
+}
@@ -3,6 +3,7 @@ package ru.team.up.core.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
@@ -10,6 +11,7 @@ import javax.persistence.*;
  * Сущность модератор
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @SuperBuilder
@@ -26,14 +28,14 @@ public class Moderator extends Account {
     private Long amountOfClosedRequests;
 
     /**
-     * количество проверенных мероприятий
+     * количество проверенных мероприятий, изменяется только атомарным обновлением в ModeratorRepository
      */
-    @Column(name = "AMOUNT_OF_CHECKED_EVENTS")
+    @Column(name = "AMOUNT_OF_CHECKED_EVENTS", updatable = false)
     private Long amountOfCheckedEvents;
 
     /**
-     * количество удалённых мероприятий
+     * количество удалённых мероприятий, изменяется только атомарным обновлением в ModeratorRepository
      */
-    @Column(name = "AMOUNT_OF_DELETED_EVENTS")
+    @Column(name = "AMOUNT_OF_DELETED_EVENTS", updatable = false)
     private Long amountOfDeletedEvents;
 }
@@ -0,0 +1,35 @@
+package ru.team.up.core.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Корзина токенов ограничения частоты запросов, общая для всех узлов приложения.
+ * Изменяется только запросами {@link ru.team.up.core.repositories.RateLimitBucketRepository}
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "RATE_LIMIT_BUCKET")
+public class RateLimitBucket {
+
+    /**
+     * Ограничение и клиент, например event-search|account:USER:1
+     */
+    @Id
+    @Column(name = "BUCKET_KEY")
+    private String bucketKey;
+
+    /**
+     * Время в микросекундах от начала эпохи, когда корзина снова заполнится
+     */
+    @Column(name = "FULL_AT_US", nullable = false)
+    private Long fullAtUs;
+}
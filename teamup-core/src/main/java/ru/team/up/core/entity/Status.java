@@ -17,6 +17,26 @@ import javax.persistence.*;
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 public class Status {
 
+    /**
+     * Мероприятие сохранено и ожидает автоматической проверки
+     */
+    public static final String PENDING = "pending";
+
+    /**
+     * Мероприятие прошло автоматическую проверку
+     */
+    public static final String PUBLISHED = "published";
+
+    /**
+     * Мероприятие отправлено на проверку модератору
+     */
+    public static final String TO_REVIEW = "to-review";
+
+    /**
+     * Мероприятие отклонено модератором, но не удалено, так как на него ссылаются отзывы
+     */
+    public static final String REJECTED = "rejected";
+
     /**
      * Уникальный идентификатор
      */
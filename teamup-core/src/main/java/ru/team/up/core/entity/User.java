@@ -1,8 +1,10 @@
 package ru.team.up.core.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.util.Set;
@@ -11,6 +13,7 @@ import java.util.Set;
  * Сущность пользователь
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @SuperBuilder
@@ -70,7 +73,18 @@ public class User extends Account {
      */
     @ManyToMany(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
     @JoinTable(name = "USER_ACCOUNT_MESSAGES", joinColumns = @JoinColumn(name = "USER_ID"),
-            inverseJoinColumns = @JoinColumn(name = "MESSAGE_ID"))
+            inverseJoinColumns = {@JoinColumn(name = "MESSAGE_ID", referencedColumnName = "ID"),
+                    @JoinColumn(name = "MESSAGE_CREATION_TIME", referencedColumnName = "MESSAGE_CREATION_TIME")})
     @Column(name = "USER_MESSAGES")
     private Set<UserMessage> userMessages;
+
+    /**
+     * Количество непрочитанных сообщений пользователя.
+     * Изменяется только запросами счетчика в UserRepository, поэтому не пишется при сохранении сущности
+     * и не меняет версию пользователя. По этой же причине не входит в JSON пользователя, ETag которого -
+     * версия: счетчик отдает отдельный запрос /message/unread
+     */
+    @JsonIgnore
+    @Column(name = "UNREAD_MESSAGES", insertable = false, updatable = false)
+    private Long unreadMessages;
 }
@@ -4,13 +4,15 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 
 import javax.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 /**
  * @author Alexey Tkachenko
  *
- * Сущность сообщения для пользователя
+ * Сущность сообщения для пользователя. Получатели ссылаются на сообщение по (ID, MESSAGE_CREATION_TIME),
+ * такой ключ коллекции Hibernate хранит как саму сущность, поэтому она Serializable
  */
 
 @Entity
@@ -22,7 +24,16 @@ import java.util.Set;
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 @ToString
-public class UserMessage {
+public class UserMessage implements Serializable {
+    /**
+     * Статус нового сообщения
+     */
+    public static final String STATUS_NEW = "new";
+
+    /**
+     * Статус прочитанного сообщения
+     */
+    public static final String STATUS_READ = "read";
 
     /**
      * Уникальный идентификатор
@@ -45,7 +56,7 @@ public class UserMessage {
     private String message;
 
     /**
-     * Статус сообщения
+     * Статус сообщения при создании. Статус и время прочтения у получателя - в {@link UserMessageRecipient}
      */
     @Column(name = "STATUS")
     private String status;
@@ -53,21 +64,24 @@ public class UserMessage {
     /**
      * Время создания сообщения
      */
-    @Column(name = "MESSAGE_CREATION_TIME")
+    @Column(name = "MESSAGE_CREATION_TIME", nullable = false)
     private LocalDateTime messageCreationTime;
 
     /**
-     * Время прочтения сообщения
+     * Время прочтения до хранения прочтений по получателям, новые прочтения записываются
+     * в {@link UserMessageRecipient}
      */
     @Column(name = "MESSAGE_READ_TIME")
     private LocalDateTime messageReadTime;
 
     /**
-     * Пользователи получившие сообщение
+     * Пользователи получившие сообщение. Строка получателя ссылается на первичный ключ
+     * секционированной USER_MESSAGE вместе со временем создания сообщения
      */
     @ManyToMany
     @JoinTable(name = "USER_ACCOUNT_MESSAGES",
-            joinColumns = @JoinColumn(name = "MESSAGE_ID"),
+            joinColumns = {@JoinColumn(name = "MESSAGE_ID", referencedColumnName = "ID"),
+                    @JoinColumn(name = "MESSAGE_CREATION_TIME", referencedColumnName = "MESSAGE_CREATION_TIME")},
             inverseJoinColumns = @JoinColumn(name = "USER_ID"))
     @ToString.Exclude
     private Set<User> users;
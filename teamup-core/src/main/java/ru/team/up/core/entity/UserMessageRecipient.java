@@ -0,0 +1,71 @@
+package ru.team.up.core.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Получатель сообщения со своим временем прочтения. Строки создаются вместе с сообщением
+ * через {@link UserMessage#getUsers()}, время прочтения изменяется только запросами
+ * {@link ru.team.up.core.repositories.UserMessageRepository}
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@IdClass(UserMessageRecipient.Key.class)
+@Table(name = "USER_ACCOUNT_MESSAGES")
+public class UserMessageRecipient {
+
+    /**
+     * Идентификатор получателя
+     */
+    @Id
+    @Column(name = "USER_ID")
+    private Long userId;
+
+    /**
+     * Идентификатор сообщения
+     */
+    @Id
+    @Column(name = "MESSAGE_ID")
+    private Long messageId;
+
+    /**
+     * Время создания сообщения, ключ секции USER_MESSAGE
+     */
+    @Column(name = "MESSAGE_CREATION_TIME", insertable = false, updatable = false)
+    private LocalDateTime messageCreationTime;
+
+    /**
+     * Сообщение. Соединение по идентификатору и времени создания читает только секцию сообщения
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "MESSAGE_ID", referencedColumnName = "ID", insertable = false, updatable = false),
+            @JoinColumn(name = "MESSAGE_CREATION_TIME", referencedColumnName = "MESSAGE_CREATION_TIME",
+                    insertable = false, updatable = false)})
+    @ToString.Exclude
+    private UserMessage message;
+
+    /**
+     * Время прочтения сообщения получателем, null для непрочитанного
+     */
+    @Column(name = "READ_TIME")
+    private LocalDateTime readTime;
+
+    /**
+     * Составной ключ получателя сообщения
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long messageId;
+    }
+}
@@ -1,6 +1,10 @@
 package ru.team.up.core.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -25,4 +29,15 @@ public class ApiExceptionHandler {
     public String handleNoContent(@NotNull Exception e) {
         return e.getMessage();
     }
+
+    /**
+     * Соединение с БД не получено, например за spring.datasource.hikari.connection-timeout при занятом пуле:
+     * запрос можно повторить позже
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> handleCannotCreateTransaction(@NotNull Exception e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Сервис перегружен, повторите запрос позже");
+    }
 }
@@ -0,0 +1,13 @@
+package ru.team.up.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Некорректный период календаря мероприятий
+ */
+public class InvalidCalendarRangeException extends ResponseStatusException {
+    public InvalidCalendarRangeException(String reason) {
+        super(HttpStatus.BAD_REQUEST, "Некорректный период календаря: " + reason);
+    }
+}
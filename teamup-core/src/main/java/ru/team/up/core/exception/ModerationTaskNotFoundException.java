@@ -0,0 +1,15 @@
+package ru.team.up.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Задача модерации не найдена или не закреплена за модератором
+ */
+
+public class ModerationTaskNotFoundException extends ResponseStatusException {
+
+    public ModerationTaskNotFoundException(Long id) {
+        super(HttpStatus.CONFLICT, "Задача модерации не найдена или не закреплена за модератором. ID = " + id);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.team.up.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Обработчик HTTP-запроса выполнил больше SQL-запросов, чем разрешено бюджетом
+ */
+public class SqlBudgetExceededException extends ResponseStatusException {
+    public SqlBudgetExceededException(String endpoint, int budget) {
+        super(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Превышен бюджет SQL-запросов для " + endpoint + ": разрешено " + budget);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.team.up.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Сущность изменена другим запросом: версия клиента не совпадает с текущей версией в БД
+ */
+public class VersionConflictException extends ResponseStatusException {
+
+    public VersionConflictException(String entityName, Long id, Long expectedVersion, Long currentVersion) {
+        super(HttpStatus.CONFLICT, "Конфликт версий, данные изменены другим запросом: " + entityName + " ID = " + id
+                + ", ожидалась версия " + expectedVersion + ", текущая " + currentVersion);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.team.up.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Полная замена сущности без версии: клиент не передал ни If-Match, ни поле version,
+ * и замена могла бы перезаписать изменения другого запроса
+ */
+public class VersionRequiredException extends ResponseStatusException {
+
+    public VersionRequiredException(String entityName, Long id) {
+        super(HttpStatus.PRECONDITION_REQUIRED, "Изменение без версии: " + entityName + " ID = " + id
+                + ", передайте ETag версии в If-Match или поле version");
+    }
+}
@@ -0,0 +1,99 @@
+package ru.team.up.core.logging;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.http.ResponseEntity;
+import ru.team.up.core.entity.Account;
+import ru.team.up.core.entity.Event;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Аргументы для журнала, которые превращаются в строку только при записи сообщения.
+ * Вместо графа сущностей записываются тип и id, вместо коллекций - размер и первые id,
+ * поэтому запись в журнал не загружает ленивые связи и не строит большие строки
+ */
+public final class LogArgs {
+    static final int MAX_LOGGED_ITEMS = 10;
+
+    private LogArgs() {
+    }
+
+    /**
+     * @return Сущность в виде Тип#id
+     */
+    public static Object entity(Object entity) {
+        return new Lazy(() -> describe(entity));
+    }
+
+    /**
+     * @return Размер коллекции и id первых {@value #MAX_LOGGED_ITEMS} элементов
+     */
+    public static Object entities(Collection<?> entities) {
+        return new Lazy(() -> describe(entities));
+    }
+
+    /**
+     * @return Статус ответа и краткое описание тела
+     */
+    public static Object response(ResponseEntity<?> response) {
+        return new Lazy(() -> response == null ? "null" : response.getStatusCode() + " " + describe(response.getBody()));
+    }
+
+    /**
+     * @return Значение, которое будет вычислено только при записи сообщения
+     */
+    public static Object lazy(Supplier<?> supplier) {
+        return new Lazy(supplier);
+    }
+
+    static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            StringBuilder builder = new StringBuilder().append(collection.size()).append(" шт. [");
+            Iterator<?> iterator = collection.iterator();
+            for (int i = 0; i < MAX_LOGGED_ITEMS && iterator.hasNext(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(describe(iterator.next()));
+            }
+            if (collection.size() > MAX_LOGGED_ITEMS) {
+                builder.append(", ...");
+            }
+            return builder.append(']').toString();
+        }
+        if (value instanceof HibernateProxy) {
+            LazyInitializer initializer = ((HibernateProxy) value).getHibernateLazyInitializer();
+            return initializer.getPersistentClass().getSimpleName() + "#" + initializer.getIdentifier();
+        }
+        if (value instanceof Event) {
+            return "Event#" + ((Event) value).getId();
+        }
+        if (value instanceof Account) {
+            return value.getClass().getSimpleName() + "#" + ((Account) value).getId();
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static final class Lazy {
+        private final Supplier<?> supplier;
+
+        private Lazy(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(supplier.get());
+        }
+    }
+}
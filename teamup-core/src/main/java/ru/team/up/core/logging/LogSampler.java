@@ -0,0 +1,31 @@
+package ru.team.up.core.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускает в журнал одно сообщение из rate для частых сообщений.
+ * Проверять уровень журнала нужно до вызова {@link #sample()}, чтобы при выключенном уровне не трогать счетчик:
+ * {@code if (log.isDebugEnabled() && SAMPLER.sample())}
+ */
+public final class LogSampler {
+    private final int rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate должен быть положительным");
+        }
+        this.rate = rate;
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % rate == 0;
+    }
+
+    /**
+     * @return Сколько раз вызывался {@link #sample()}
+     */
+    public long count() {
+        return counter.get();
+    }
+}
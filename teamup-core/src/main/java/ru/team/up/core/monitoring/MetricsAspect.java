@@ -0,0 +1,151 @@
+package ru.team.up.core.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Метрики вызовов сервисов и репозиториев.
+ * Для каждого вызова записывается таймер, количество вызовов берется из таймера.
+ * Для методов, возвращающих коллекцию или страницу, дополнительно записывается размер результата.
+ * Теги: type - сервис или репозиторий, operation - метод, outcome - success/client_error/error, exception - класс ошибки.
+ * <p>
+ * Метры создаются один раз для каждого сочетания тегов и хранятся в аспекте. Гистограммы по умолчанию
+ * не публикуются: их включают свойствами management.metrics.distribution.* только для нужных метрик,
+ * процентили считаются по гистограмме на стороне Prometheus и складываются между узлами
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+    static final String SERVICE_METRIC = "teamup.service";
+    static final String REPOSITORY_METRIC = "teamup.repository";
+    static final String RESULT_SIZE_SUFFIX = ".result.size";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final ConcurrentMap<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricsAspect(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Around("execution(public * ru.team.up.core.service.EventService+.*(..)) || " +
+            "execution(public * ru.team.up.core.service.UserService+.*(..)) || " +
+            "execution(public * ru.team.up.core.service.AdminService+.*(..)) || " +
+            "execution(public * ru.team.up.core.service.ModeratorService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(SERVICE_METRIC, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(REPOSITORY_METRIC, joinPoint);
+    }
+
+    private Object record(String metric, ProceedingJoinPoint joinPoint) throws Throwable {
+        MeterRegistry registry = registry();
+        String type = typeName(joinPoint.getTarget());
+        String operation = joinPoint.getSignature().getName();
+        String outcome = "success";
+        String exception = "none";
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object result = joinPoint.proceed();
+
+            int size = resultSize(result);
+            if (size >= 0) {
+                resultSizes.computeIfAbsent(new MeterKey(metric, type, operation, null, null), key ->
+                        DistributionSummary.builder(metric + RESULT_SIZE_SUFFIX)
+                                .tag("type", type)
+                                .tag("operation", operation)
+                                .register(registry))
+                        .record(size);
+            }
+
+            return result;
+        } catch (Throwable e) {
+            outcome = e instanceof ResponseStatusException
+                    && ((ResponseStatusException) e).getStatus().is4xxClientError() ? "client_error" : "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer(registry, new MeterKey(metric, type, operation, outcome, exception)));
+        }
+    }
+
+    private Timer timer(MeterRegistry registry, MeterKey key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(k.metric)
+                .tag("type", k.type)
+                .tag("operation", k.operation)
+                .tag("outcome", k.outcome)
+                .tag("exception", k.exception)
+                .register(registry));
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    /**
+     * Для репозиториев возвращает имя интерфейса приложения, а не класса прокси Spring Data
+     */
+    private String typeName(Object target) {
+        return typeNames.computeIfAbsent(target.getClass(), targetClass -> {
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("ru.team.up.")) {
+                    return type.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(targetClass).getSimpleName();
+        });
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        return -1;
+    }
+
+    /**
+     * Имя и теги метра
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class MeterKey {
+        private final String metric;
+        private final String type;
+        private final String operation;
+        private final String outcome;
+        private final String exception;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.team.up.core.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки учета SQL-запросов (teamup.sql.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "teamup.sql")
+public class SqlMonitoringProperties {
+    /**
+     * Оборачивать DataSource прокси, считающим запросы
+     */
+    private boolean enabled = true;
+
+    /**
+     * Запросы дольше этого времени записываются в журнал медленных запросов
+     */
+    private long slowQueryMs = 200;
+
+    /**
+     * Сколько различных текстов запросов хранить в статистике
+     */
+    private int maxTrackedStatements = 500;
+
+    private Budget budget = new Budget();
+
+    public enum BudgetMode {
+        /**
+         * Превышение бюджета записывается в журнал по завершении запроса
+         */
+        LOG,
+        /**
+         * Запрос, превысивший бюджет, завершается ошибкой
+         */
+        FAIL
+    }
+
+    @Data
+    public static class Budget {
+        private BudgetMode mode = BudgetMode.LOG;
+
+        /**
+         * Бюджет для запросов, не указанных в endpoints. 0 - без ограничения
+         */
+        private int defaultQueries = 0;
+
+        /**
+         * Бюджет по обработчикам, ключ - метод и шаблон пути, например GET:/api/public/event/{id}
+         */
+        private Map<String, Integer> endpoints = new HashMap<>();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.team.up.core.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Учитывает выполненные через DataSource запросы в {@link SqlStatistics} и записывает в журнал медленные запросы.
+ * В журнал попадают только типы и размеры параметров, но не их значения
+ */
+@Slf4j
+public class SqlQueryListener implements QueryExecutionListener {
+    private final SqlStatistics statistics;
+    private final long slowQueryMillis;
+
+    public SqlQueryListener(SqlStatistics statistics, long slowQueryMillis) {
+        this.statistics = statistics;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        boolean slow = elapsed >= slowQueryMillis;
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (slow) {
+                log.warn("Медленный SQL-запрос {} мс, пакет {}: {} параметры {}", elapsed,
+                        execInfo.isBatch() ? execInfo.getBatchSize() : 0, queryInfo.getQuery(),
+                        parameterShapes(queryInfo));
+            }
+            statistics.record(queryInfo.getQuery(), elapsed, slow);
+        }
+    }
+
+    /**
+     * @return Типы параметров первого набора, например [1:Long, 2:String(12), 3:null]
+     */
+    static String parameterShapes(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parametersList.isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder shapes = new StringBuilder("[");
+        for (ParameterSetOperation operation : parametersList.get(0)) {
+            Object[] args = operation.getArgs();
+            if (shapes.length() > 1) {
+                shapes.append(", ");
+            }
+            shapes.append(args[0]).append(':');
+            Object value = args.length > 1 && !ParameterSetOperation.isSetNullParameterOperation(operation)
+                    ? args[1] : null;
+            if (value == null) {
+                shapes.append("null");
+            } else if (value instanceof CharSequence) {
+                shapes.append("String(").append(((CharSequence) value).length()).append(')');
+            } else if (value instanceof Collection) {
+                shapes.append("Collection(").append(((Collection<?>) value).size()).append(')');
+            } else {
+                shapes.append(value.getClass().getSimpleName());
+            }
+        }
+        return shapes.append(']').toString();
+    }
+}
@@ -0,0 +1,64 @@
+package ru.team.up.core.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL-запросы одного HTTP-запроса
+ */
+public class SqlRequestContext {
+    private final Supplier<String> endpointSupplier;
+    private String endpoint;
+    private int queries;
+    private long elapsedMillis;
+    private int slowQueries;
+    private int exceededBudget;
+
+    SqlRequestContext(Supplier<String> endpointSupplier) {
+        this.endpointSupplier = endpointSupplier;
+    }
+
+    void record(long elapsedMillis, boolean slow) {
+        this.queries++;
+        this.elapsedMillis += elapsedMillis;
+        if (slow) {
+            this.slowQueries++;
+        }
+    }
+
+    void budgetExceeded(int budget) {
+        this.exceededBudget = budget;
+    }
+
+    /**
+     * @return Метод и шаблон пути обработчика или null, пока обработчик не выбран
+     */
+    public String getEndpoint() {
+        if (endpoint == null) {
+            endpoint = endpointSupplier.get();
+        }
+        return endpoint;
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getSlowQueries() {
+        return slowQueries;
+    }
+
+    public boolean isBudgetExceeded() {
+        return exceededBudget > 0;
+    }
+
+    /**
+     * @return Бюджет, который был превышен, или 0
+     */
+    public int getExceededBudget() {
+        return exceededBudget;
+    }
+}
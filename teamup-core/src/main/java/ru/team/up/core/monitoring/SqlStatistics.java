@@ -0,0 +1,192 @@
+package ru.team.up.core.monitoring;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.team.up.core.exception.SqlBudgetExceededException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Статистика SQL-запросов: по HTTP-обработчикам (количество запросов к БД и время на один HTTP-запрос)
+ * и по текстам запросов. Запросы учитываются в контексте HTTP-запроса текущего потока,
+ * запросы фоновых задач попадают только в статистику по текстам
+ */
+@Slf4j
+@Component
+public class SqlStatistics {
+    static final String UNMAPPED = "unmapped";
+    private static final int TOP_STATEMENTS = 20;
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final SqlMonitoringProperties properties;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final LongAdder untrackedStatements = new LongAdder();
+
+    @Autowired
+    public SqlStatistics(SqlMonitoringProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Начинает учет SQL-запросов HTTP-запроса в текущем потоке
+     *
+     * @param endpoint Возвращает метод и шаблон пути обработчика или null, пока обработчик не выбран
+     */
+    public void begin(Supplier<String> endpoint) {
+        CURRENT.set(new SqlRequestContext(endpoint));
+    }
+
+    /**
+     * Завершает учет SQL-запросов HTTP-запроса в текущем потоке и добавляет его в статистику обработчика
+     *
+     * @return Итоги HTTP-запроса или null, если учет не начинался
+     */
+    public SqlRequestContext end() {
+        SqlRequestContext context = CURRENT.get();
+        if (context == null) {
+            return null;
+        }
+        CURRENT.remove();
+
+        String endpoint = context.getEndpoint();
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint == null ? UNMAPPED : endpoint,
+                key -> new EndpointStats());
+        stats.requests.increment();
+        stats.queries.add(context.getQueries());
+        stats.maxQueries.accumulate(context.getQueries());
+        stats.elapsedMillis.add(context.getElapsedMillis());
+        stats.slowQueries.add(context.getSlowQueries());
+        if (context.isBudgetExceeded()) {
+            stats.budgetExceeded.increment();
+        }
+        return context;
+    }
+
+    /**
+     * Учитывает выполненный SQL-запрос. В режиме бюджета FAIL бросает исключение,
+     * если HTTP-запрос превысил бюджет своего обработчика
+     *
+     * @param sql           Текст запроса
+     * @param elapsedMillis Время выполнения
+     * @param slow          Запрос медленнее teamup.sql.slow-query-ms
+     */
+    void record(String sql, long elapsedMillis, boolean slow) {
+        StatementStats statementStats = statements.get(sql);
+        if (statementStats == null && statements.size() < properties.getMaxTrackedStatements()) {
+            statementStats = statements.computeIfAbsent(sql, key -> new StatementStats());
+        }
+        if (statementStats != null) {
+            statementStats.count.increment();
+            statementStats.elapsedMillis.add(elapsedMillis);
+            statementStats.maxMillis.accumulate(elapsedMillis);
+        } else {
+            untrackedStatements.increment();
+        }
+
+        SqlRequestContext context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        context.record(elapsedMillis, slow);
+
+        int budget = budget(context.getEndpoint());
+        if (budget > 0 && context.getQueries() > budget && !context.isBudgetExceeded()) {
+            context.budgetExceeded(budget);
+            if (properties.getBudget().getMode() == SqlMonitoringProperties.BudgetMode.FAIL) {
+                throw new SqlBudgetExceededException(context.getEndpoint(), budget);
+            }
+        }
+    }
+
+    /**
+     * @return Бюджет SQL-запросов обработчика, 0 - без ограничения или обработчик еще не выбран
+     */
+    int budget(String endpoint) {
+        if (endpoint == null) {
+            return 0;
+        }
+        SqlMonitoringProperties.Budget budget = properties.getBudget();
+        return budget.getEndpoints().getOrDefault(endpoint, budget.getDefaultQueries());
+    }
+
+    public Summary summary() {
+        Map<String, EndpointSummary> endpointSummaries = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            long requests = stats.requests.sum();
+            endpointSummaries.put(endpoint, new EndpointSummary(requests, stats.queries.sum(),
+                    requests == 0 ? 0 : (double) stats.queries.sum() / requests, stats.maxQueries.get(),
+                    stats.elapsedMillis.sum(), stats.slowQueries.sum(), budget(endpoint),
+                    stats.budgetExceeded.sum()));
+        });
+
+        List<StatementSummary> top = statements.entrySet().stream()
+                .map(entry -> new StatementSummary(entry.getKey(), entry.getValue().count.sum(),
+                        entry.getValue().elapsedMillis.sum(), entry.getValue().maxMillis.get()))
+                .sorted(Comparator.comparingLong(StatementSummary::getTotalMillis).reversed())
+                .limit(TOP_STATEMENTS)
+                .collect(Collectors.toList());
+
+        return new Summary(endpointSummaries, top, untrackedStatements.sum());
+    }
+
+    public void reset() {
+        endpoints.clear();
+        statements.clear();
+        untrackedStatements.reset();
+    }
+
+    private static class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder queries = new LongAdder();
+        final LongAccumulator maxQueries = new LongAccumulator(Long::max, 0);
+        final LongAdder elapsedMillis = new LongAdder();
+        final LongAdder slowQueries = new LongAdder();
+        final LongAdder budgetExceeded = new LongAdder();
+    }
+
+    private static class StatementStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder elapsedMillis = new LongAdder();
+        final LongAccumulator maxMillis = new LongAccumulator(Long::max, 0);
+    }
+
+    @Value
+    public static class Summary {
+        Map<String, EndpointSummary> endpoints;
+        List<StatementSummary> topStatements;
+        long untrackedStatements;
+    }
+
+    @Value
+    public static class EndpointSummary {
+        long requests;
+        long queries;
+        double queriesPerRequest;
+        long maxQueriesPerRequest;
+        long totalMillis;
+        long slowQueries;
+        int budget;
+        long budgetExceeded;
+    }
+
+    @Value
+    public static class StatementSummary {
+        String sql;
+        long count;
+        long totalMillis;
+        long maxMillis;
+    }
+}
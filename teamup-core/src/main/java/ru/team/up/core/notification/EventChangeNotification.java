@@ -0,0 +1,48 @@
+package ru.team.up.core.notification;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Уведомление участникам об изменении мероприятия.
+ * Публикуется через ApplicationEventPublisher при изменении участников, статуса или данных мероприятия
+ */
+@Value
+public class EventChangeNotification {
+
+    /**
+     * Идентификатор мероприятия
+     */
+    Long eventId;
+
+    /**
+     * Тип изменения
+     */
+    ChangeType changeType;
+
+    /**
+     * Идентификатор пользователя, к которому относится изменение (участник), или null
+     */
+    Long userId;
+
+    /**
+     * Статус мероприятия после изменения
+     */
+    String status;
+
+    /**
+     * Время изменения
+     */
+    LocalDateTime changeTime;
+
+    /**
+     * Идентификаторы пользователей, которым отправляется уведомление
+     */
+    Set<Long> recipientIds;
+
+    public enum ChangeType {
+        PARTICIPANT_JOINED, PARTICIPANT_LEFT, STATUS_CHANGED, UPDATED
+    }
+}
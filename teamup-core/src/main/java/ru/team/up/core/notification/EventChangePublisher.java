@@ -0,0 +1,56 @@
+package ru.team.up.core.notification;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.notification.EventChangeNotification.ChangeType;
+import ru.team.up.core.repositories.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Публикует уведомления об изменении мероприятия его участникам и автору.
+ * Слушатели получают уведомление после фиксации транзакции, в которой оно опубликовано
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventChangePublisher {
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param event      Измененное мероприятие
+     * @param changeType Тип изменения
+     * @param userId     Участник, к которому относится изменение, или null
+     */
+    public void publish(Event event, ChangeType changeType, Long userId) {
+        publish(event, changeType, userId, event.getStatus() == null ? null : event.getStatus().getStatus());
+    }
+
+    /**
+     * Уведомляет о переходе мероприятия в новый статус
+     *
+     * @param event  Мероприятие
+     * @param status Статус после изменения
+     */
+    public void publishStatusChange(Event event, String status) {
+        publish(event, ChangeType.STATUS_CHANGED, null, status);
+    }
+
+    private void publish(Event event, ChangeType changeType, Long userId, String status) {
+        Set<Long> recipients = new HashSet<>(userRepository.findParticipantIds(event.getId()));
+        if (event.getAuthorId() != null) {
+            recipients.add(event.getAuthorId().getId());
+        }
+        if (userId != null) {
+            recipients.add(userId);
+        }
+
+        eventPublisher.publishEvent(new EventChangeNotification(event.getId(), changeType, userId, status,
+                LocalDateTime.now(), recipients));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.team.up.core.notification;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Уведомление о новом сообщении пользователям.
+ * Публикуется через ApplicationEventPublisher после сохранения ru.team.up.core.entity.UserMessage
+ */
+@Value
+public class MessageNotification {
+
+    /**
+     * Идентификатор сообщения
+     */
+    Long messageId;
+
+    /**
+     * Идентификатор владельца сообщения
+     */
+    Long ownerId;
+
+    /**
+     * Сообщение
+     */
+    String message;
+
+    /**
+     * Время создания сообщения
+     */
+    LocalDateTime messageCreationTime;
+
+    /**
+     * Идентификаторы получателей сообщения
+     */
+    Set<Long> recipientIds;
+}
@@ -0,0 +1,29 @@
+package ru.team.up.core.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Версия сущности без загрузки самой сущности: для условных GET-запросов (ETag, Last-Modified)
+ * и для переноса версии в обновляемую сущность
+ */
+@Value
+@AllArgsConstructor
+public class EntityVersion {
+
+    /**
+     * Значение колонки VERSION
+     */
+    Long version;
+
+    /**
+     * Дата последнего изменения, если сущность ее хранит
+     */
+    LocalDate lastModifiedDate;
+
+    public EntityVersion(Long version) {
+        this(version, null);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.team.up.core.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Число мероприятий за день, неделю или месяц календаря
+ */
+@Value
+@AllArgsConstructor
+public class EventCalendarBucket {
+
+    /**
+     * Начало дня, недели или месяца
+     */
+    LocalDateTime start;
+
+    /**
+     * Число мероприятий
+     */
+    long events;
+}
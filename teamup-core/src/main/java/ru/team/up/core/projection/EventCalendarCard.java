@@ -0,0 +1,50 @@
+package ru.team.up.core.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Мероприятие в календаре. Содержит только поля для отображения в календаре
+ * и не загружает граф сущностей Event -> User/Interests
+ */
+@Value
+@AllArgsConstructor
+public class EventCalendarCard {
+
+    /**
+     * Идентификатор мероприятия
+     */
+    Long id;
+
+    /**
+     * Название мероприятия
+     */
+    String eventName;
+
+    /**
+     * Место проведения мероприятия
+     */
+    String placeEvent;
+
+    /**
+     * Время проведения мероприятия
+     */
+    LocalDateTime timeEvent;
+
+    /**
+     * Идентификатор типа мероприятия
+     */
+    Long eventTypeId;
+
+    /**
+     * Тип мероприятия
+     */
+    String eventType;
+
+    /**
+     * Статус мероприятия
+     */
+    String status;
+}
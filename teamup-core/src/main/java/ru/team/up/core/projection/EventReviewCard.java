@@ -0,0 +1,50 @@
+package ru.team.up.core.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Карточка отзыва на мероприятие. Содержит только поля, необходимые для отображения отзыва,
+ * и не загружает граф сущностей EventReview -> User/Event
+ */
+@Value
+@AllArgsConstructor
+public class EventReviewCard {
+
+    /**
+     * Идентификатор отзыва
+     */
+    Long reviewId;
+
+    /**
+     * Идентификатор пользователя, оставившего отзыв
+     */
+    Long reviewerId;
+
+    /**
+     * Имя пользователя, оставившего отзыв
+     */
+    String reviewerName;
+
+    /**
+     * Фамилия пользователя, оставившего отзыв
+     */
+    String reviewerLastName;
+
+    /**
+     * Отзыв
+     */
+    String reviewMessage;
+
+    /**
+     * Оценка мероприятия
+     */
+    Integer eventGrade;
+
+    /**
+     * Время составления отзыва
+     */
+    LocalDateTime reviewTime;
+}
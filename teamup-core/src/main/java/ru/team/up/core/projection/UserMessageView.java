@@ -0,0 +1,49 @@
+package ru.team.up.core.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сообщение во входящих пользователя без загрузки получателей и владельца сообщения
+ */
+@Value
+@AllArgsConstructor
+public class UserMessageView {
+
+    /**
+     * Идентификатор сообщения
+     */
+    Long id;
+
+    /**
+     * Идентификатор владельца сообщения
+     */
+    Long ownerId;
+
+    /**
+     * Имя владельца сообщения
+     */
+    String ownerName;
+
+    /**
+     * Сообщение
+     */
+    String message;
+
+    /**
+     * Статус сообщения у получателя
+     */
+    String status;
+
+    /**
+     * Время создания сообщения
+     */
+    LocalDateTime messageCreationTime;
+
+    /**
+     * Время прочтения сообщения получателем
+     */
+    LocalDateTime messageReadTime;
+}
@@ -1,11 +1,22 @@
 package ru.team.up.core.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.Account;
 import ru.team.up.core.entity.Admin;
+import ru.team.up.core.projection.EntityVersion;
+
+import java.util.Optional;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     Account findByEmail(String email);
+
+    /**
+     * @return Версия админа без загрузки админа
+     */
+    @Query("select new ru.team.up.core.projection.EntityVersion(a.version) from Admin a where a.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,33 @@
+package ru.team.up.core.repositories;
+
+import ru.team.up.core.entity.Event;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Перенос прошедших мероприятий в архив (EVENT_ARCHIVE, USER_ACCOUNT_EVENT_ARCHIVE, INTERESTS_EVENT_ARCHIVE)
+ * и чтение архивных мероприятий
+ */
+public interface EventArchiveRepository {
+
+    /**
+     * Переносит в архив пачку мероприятий, проведенных раньше указанного времени, вместе со связями
+     * с участниками и интересами. Перенос выполняется одним запросом в отдельной транзакции,
+     * мероприятия, заблокированные другими транзакциями, пропускаются до следующего запуска
+     *
+     * @param before Мероприятия, проведенные раньше этого времени, переносятся в архив
+     * @param limit  Размер пачки
+     * @return Количество перенесенных мероприятий
+     */
+    int archiveEventsBefore(LocalDateTime before, int limit);
+
+    /**
+     * Архивное мероприятие с участниками и интересами. Возвращаемый объект не связан с контекстом
+     * персистентности: архивное мероприятие только читается
+     *
+     * @param id Идентификатор мероприятия
+     * @return Мероприятие из архива
+     */
+    Optional<Event> findArchivedById(Long id);
+}
@@ -0,0 +1,91 @@
+package ru.team.up.core.repositories;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Interests;
+import ru.team.up.core.entity.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Реализация архива мероприятий на SQL: перенос - один запрос с изменяющими CTE (DELETE ... RETURNING
+ * и INSERT), архивное мероприятие отображается на сущность Event запросом к EVENT_ARCHIVE
+ */
+public class EventArchiveRepositoryImpl implements EventArchiveRepository {
+
+    /**
+     * Пачка выбирается по индексу IDX_EVENT_TIME_ID. Внешние ключи и ссылки отзывов проверяются в конце запроса,
+     * поэтому связи и мероприятие удаляются и вставляются в архив в любом порядке.
+     * Открытые задачи модерации мероприятий пачки закрываются без решения тем же запросом
+     */
+    private static final String ARCHIVE_EVENTS = "WITH BATCH AS (" +
+            "SELECT ID FROM EVENT WHERE TIME_EVENT < :before ORDER BY TIME_EVENT, ID LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED), " +
+            "PARTICIPANTS AS (DELETE FROM USER_ACCOUNT_EVENT WHERE EVENT_ID IN (SELECT ID FROM BATCH) " +
+            "RETURNING USER_ID, EVENT_ID), " +
+            "INTERESTS AS (DELETE FROM INTERESTS_EVENT WHERE EVENT_ID IN (SELECT ID FROM BATCH) " +
+            "RETURNING INTERESTS_ID, EVENT_ID), " +
+            "EVENTS AS (DELETE FROM EVENT WHERE ID IN (SELECT ID FROM BATCH) " +
+            "RETURNING ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, EVENT_UPDATE_DATE, USER_ID, " +
+            "EVENT_TYPE_ID, STATUS_ID, VERSION), " +
+            "ARCHIVED AS (INSERT INTO EVENT_ARCHIVE (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, " +
+            "EVENT_UPDATE_DATE, USER_ID, EVENT_TYPE_ID, STATUS_ID, VERSION) SELECT * FROM EVENTS RETURNING ID), " +
+            "ARCHIVED_PARTICIPANTS AS (INSERT INTO USER_ACCOUNT_EVENT_ARCHIVE (USER_ID, EVENT_ID) " +
+            "SELECT USER_ID, EVENT_ID FROM PARTICIPANTS), " +
+            "ARCHIVED_INTERESTS AS (INSERT INTO INTERESTS_EVENT_ARCHIVE (INTERESTS_ID, EVENT_ID) " +
+            "SELECT INTERESTS_ID, EVENT_ID FROM INTERESTS), " +
+            "CLOSED_TASKS AS (UPDATE MODERATION_TASK SET STATE = 'DONE', CLOSED_TIME = LOCALTIMESTAMP, " +
+            "LEASE_UNTIL = NULL WHERE EVENT_ID IN (SELECT ID FROM BATCH) AND STATE <> 'DONE') " +
+            "SELECT COUNT(*) FROM ARCHIVED";
+
+    private static final String ARCHIVED_EVENT = "SELECT ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, " +
+            "TIME_EVENT, EVENT_UPDATE_DATE, USER_ID, EVENT_TYPE_ID, STATUS_ID, VERSION FROM EVENT_ARCHIVE WHERE ID = :id";
+
+    private static final String ARCHIVED_PARTICIPANTS = "SELECT U.* FROM USER_ACCOUNT U " +
+            "JOIN USER_ACCOUNT_EVENT_ARCHIVE A ON A.USER_ID = U.ID WHERE A.EVENT_ID = :id";
+
+    private static final String ARCHIVED_INTERESTS = "SELECT I.* FROM INTERESTS I " +
+            "JOIN INTERESTS_EVENT_ARCHIVE A ON A.INTERESTS_ID = I.ID WHERE A.EVENT_ID = :id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int archiveEventsBefore(LocalDateTime before, int limit) {
+        return ((Number) entityManager.createNativeQuery(ARCHIVE_EVENTS)
+                .setParameter("before", before)
+                .setParameter("limit", limit)
+                .getSingleResult()).intValue();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Optional<Event> findArchivedById(Long id) {
+        List<Event> events = entityManager.createNativeQuery(ARCHIVED_EVENT, Event.class)
+                .setParameter("id", id)
+                .getResultList();
+        if (events.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Коллекции сущности читают связи из USER_ACCOUNT_EVENT и INTERESTS_EVENT, поэтому мероприятие
+        // отсоединяется и получает участников и интересы из архивных таблиц связей
+        Event event = events.get(0);
+        entityManager.detach(event);
+        event.setParticipantsEvent(entityManager.createNativeQuery(ARCHIVED_PARTICIPANTS, User.class)
+                .setParameter("id", id)
+                .getResultList());
+        event.setEventInterests(new HashSet<Interests>(entityManager.createNativeQuery(ARCHIVED_INTERESTS,
+                        Interests.class)
+                .setParameter("id", id)
+                .getResultList()));
+        return Optional.of(event);
+    }
+}
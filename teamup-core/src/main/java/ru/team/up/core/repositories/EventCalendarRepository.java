@@ -0,0 +1,39 @@
+package ru.team.up.core.repositories;
+
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Запросы календаря мероприятий. Условия запроса составляются только из заданных фильтров,
+ * поэтому PostgreSQL выбирает план под конкретный набор фильтров.
+ * Используют индексы IDX_EVENT_TIME_ID (TIME_EVENT, ID) и IDX_EVENT_TYPE_TIME (EVENT_TYPE_ID, TIME_EVENT, ID),
+ * мероприятия архива - IDX_EVENT_ARCHIVE_TIME_ID (TIME_EVENT, ID)
+ */
+public interface EventCalendarRepository {
+
+    /**
+     * Страница мероприятий периода в порядке проведения (keyset-пагинация)
+     *
+     * @param filter    Период и фильтры
+     * @param timeEvent Время последнего мероприятия предыдущей страницы, null для первой страницы
+     * @param id        Идентификатор последнего мероприятия предыдущей страницы, null для первой страницы
+     * @param limit     Размер страницы
+     * @return Мероприятия, проводимые позже указанного
+     */
+    List<EventCalendarCard> findCalendarCards(EventCalendarFilter filter, LocalDateTime timeEvent, Long id, int limit);
+
+    /**
+     * Число мероприятий периода по дням, неделям или месяцам (DATE_TRUNC). Интервалы без мероприятий
+     * в результат не входят
+     *
+     * @param filter Период и фильтры
+     * @param unit   Интервал группировки
+     * @return Интервалы в порядке возрастания
+     */
+    List<EventCalendarBucket> countCalendarBuckets(EventCalendarFilter filter, CalendarUnit unit);
+}
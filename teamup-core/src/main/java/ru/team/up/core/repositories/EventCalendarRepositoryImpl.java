@@ -0,0 +1,139 @@
+package ru.team.up.core.repositories;
+
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация запросов календаря мероприятий на SQL: страница мероприятий - keyset-пагинация по (TIME_EVENT, ID),
+ * подсчет по интервалам - DATE_TRUNC и GROUP BY. С фильтром includeArchived запросы объединяют EVENT
+ * и EVENT_ARCHIVE (UNION ALL), и каждая таблица читается по своему индексу.
+ * Календарь публичный, поэтому мероприятия на проверке (pending, to-review) и отклоненные (rejected)
+ * в него не попадают
+ */
+public class EventCalendarRepositoryImpl implements EventCalendarRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventCalendarCard> findCalendarCards(EventCalendarFilter filter, LocalDateTime timeEvent, Long id,
+                                                     int limit) {
+        boolean after = timeEvent != null && id != null;
+        // Каждая таблица отдает не больше limit строк в порядке индекса, общий порядок - слиянием этих строк
+        String events = sources(filter).stream()
+                .map(source -> "(SELECT E.ID, E.EVENT_NAME, E.PLACE_EVENT, E.TIME_EVENT, E.EVENT_TYPE_ID, E.STATUS_ID " +
+                        "FROM " + source.events + " E WHERE " + conditions(filter, source) +
+                        (after ? " AND (E.TIME_EVENT, E.ID) > (:afterTime, :afterId)" : "") +
+                        " ORDER BY E.TIME_EVENT, E.ID LIMIT :limit)")
+                .collect(Collectors.joining(" UNION ALL "));
+        String sql = "SELECT E.ID, E.EVENT_NAME, E.PLACE_EVENT, E.TIME_EVENT, T.ID AS TYPE_ID, T.TYPE, S.STATUS " +
+                "FROM (" + events + ") E " +
+                "JOIN EVENT_TYPE T ON T.ID = E.EVENT_TYPE_ID " +
+                "LEFT JOIN STATUS S ON S.ID = E.STATUS_ID " +
+                "ORDER BY E.TIME_EVENT, E.ID LIMIT :limit";
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("from", filter.getFrom())
+                .setParameter("to", filter.getTo())
+                .setParameter("limit", limit);
+        setFilterParameters(query, filter);
+        if (after) {
+            query.setParameter("afterTime", timeEvent)
+                    .setParameter("afterId", id);
+        }
+
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new EventCalendarCard(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        ((Timestamp) row[3]).toLocalDateTime(), ((Number) row[4]).longValue(), (String) row[5],
+                        (String) row[6]))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventCalendarBucket> countCalendarBuckets(EventCalendarFilter filter, CalendarUnit unit) {
+        String events = sources(filter).stream()
+                .map(source -> "SELECT E.TIME_EVENT FROM " + source.events + " E WHERE " + conditions(filter, source))
+                .collect(Collectors.joining(" UNION ALL "));
+        String sql = "SELECT DATE_TRUNC('" + unit.getSqlName() + "', E.TIME_EVENT), COUNT(*) " +
+                "FROM (" + events + ") E GROUP BY 1 ORDER BY 1";
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("from", filter.getFrom())
+                .setParameter("to", filter.getTo());
+        setFilterParameters(query, filter);
+
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new EventCalendarBucket(((Timestamp) row[0]).toLocalDateTime(),
+                        ((Number) row[1]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Source> sources(EventCalendarFilter filter) {
+        return filter.isIncludeArchived() ? Arrays.asList(Source.EVENT, Source.ARCHIVE)
+                : Collections.singletonList(Source.EVENT);
+    }
+
+    /**
+     * Условия запроса составляются только из заданных фильтров, значения передаются параметрами
+     */
+    private static String conditions(EventCalendarFilter filter, Source source) {
+        StringBuilder sql = new StringBuilder("E.TIME_EVENT >= :from AND E.TIME_EVENT < :to")
+                .append(" AND NOT EXISTS (SELECT 1 FROM STATUS HS WHERE HS.ID = E.STATUS_ID AND HS.STATUS IN ('")
+                .append(Status.PENDING).append("', '").append(Status.TO_REVIEW).append("', '")
+                .append(Status.REJECTED).append("'))");
+        if (filter.getEventTypeId() != null) {
+            sql.append(" AND E.EVENT_TYPE_ID = :eventTypeId");
+        }
+        if (filter.getStatusId() != null) {
+            sql.append(" AND E.STATUS_ID = :statusId");
+        }
+        if (filter.hasInterests()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM ").append(source.interests)
+                    .append(" IE WHERE IE.EVENT_ID = E.ID AND IE.INTERESTS_ID IN (:interestIds))");
+        }
+        return sql.toString();
+    }
+
+    private static void setFilterParameters(Query query, EventCalendarFilter filter) {
+        if (filter.getEventTypeId() != null) {
+            query.setParameter("eventTypeId", filter.getEventTypeId());
+        }
+        if (filter.getStatusId() != null) {
+            query.setParameter("statusId", filter.getStatusId());
+        }
+        if (filter.hasInterests()) {
+            query.setParameter("interestIds", filter.getInterestIds());
+        }
+    }
+
+    /**
+     * Таблица мероприятий и таблица их связей с интересами
+     */
+    private enum Source {
+        EVENT("EVENT", "INTERESTS_EVENT"),
+        ARCHIVE("EVENT_ARCHIVE", "INTERESTS_EVENT_ARCHIVE");
+
+        private final String events;
+        private final String interests;
+
+        Source(String events, String interests) {
+            this.events = events;
+            this.interests = interests;
+        }
+    }
+}
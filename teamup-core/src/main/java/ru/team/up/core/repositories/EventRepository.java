@@ -1,19 +1,109 @@
 package ru.team.up.core.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.Event;
 import ru.team.up.core.entity.EventType;
+import ru.team.up.core.entity.Status;
 import ru.team.up.core.entity.User;
+import ru.team.up.core.projection.EntityVersion;
+import ru.team.up.core.service.EventViewer;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findAllByAuthorId(User author);
+public interface EventRepository extends JpaRepository<Event, Long>, EventCalendarRepository,
+        EventArchiveRepository {
+    /**
+     * Мероприятие видно пользователю viewer (см. {@link EventViewer}): мероприятия на проверке
+     * и отклоненные видят только их автор и модераторы
+     */
+    String VISIBLE_TO_VIEWER = "(:#{#viewer.moderator} = true or s.id is null " +
+            "or s.status not in ('" + Status.PENDING + "', '" + Status.TO_REVIEW + "', '" + Status.REJECTED + "') " +
+            "or e.authorId.id = :#{#viewer.userId})";
 
-    List<Event> findAllByEventType(EventType eventType);
+    @Query("select e from Event e left join e.status s where " + VISIBLE_TO_VIEWER)
+    List<Event> findAllVisible(@Param("viewer") EventViewer viewer);
 
-    List<Event> findByEventNameContaining(String eventName);
+    @Query("select e from Event e left join e.status s where e.id = :id and " + VISIBLE_TO_VIEWER)
+    Optional<Event> findVisibleById(@Param("id") Long id, @Param("viewer") EventViewer viewer);
+
+    @Query("select e from Event e left join e.status s where e.authorId = :author and " + VISIBLE_TO_VIEWER)
+    List<Event> findAllByAuthorId(@Param("author") User author, @Param("viewer") EventViewer viewer);
+
+    @Query("select e from Event e left join e.status s where e.eventType = :eventType and " + VISIBLE_TO_VIEWER)
+    List<Event> findAllByEventType(@Param("eventType") EventType eventType, @Param("viewer") EventViewer viewer);
+
+    @Query("select e from Event e left join e.status s where e.eventName like concat('%', :eventName, '%') and " +
+            VISIBLE_TO_VIEWER)
+    List<Event> findByEventNameContaining(@Param("eventName") String eventName, @Param("viewer") EventViewer viewer);
+
+    /**
+     * @return Версия и дата обновления мероприятия без загрузки мероприятия
+     */
+    @Query("select new ru.team.up.core.projection.EntityVersion(e.version, e.eventUpdateDate) " +
+            "from Event e where e.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * @return Версия и дата обновления мероприятия, если оно видно пользователю viewer,
+     * без загрузки мероприятия. Условный GET не должен отвечать 304 на мероприятие, которое GET не вернул бы
+     */
+    @Query("select new ru.team.up.core.projection.EntityVersion(e.version, e.eventUpdateDate) " +
+            "from Event e left join e.status s where e.id = :id and " + VISIBLE_TO_VIEWER)
+    Optional<EntityVersion> findVisibleVersionById(@Param("id") Long id, @Param("viewer") EventViewer viewer);
+
+    /**
+     * Удаляет записи участников мероприятия. Участники хранятся на стороне пользователя (USER_ACCOUNT_EVENT),
+     * поэтому при удалении мероприятия Hibernate их не удаляет
+     *
+     * @return Количество удаленных записей
+     */
+    @Modifying
+    @Query(value = "DELETE FROM USER_ACCOUNT_EVENT WHERE EVENT_ID = :eventId", nativeQuery = true)
+    int deleteParticipants(@Param("eventId") Long eventId);
+
+    /**
+     * Загружает мероприятие, версия которого увеличится при фиксации транзакции, даже если поля
+     * мероприятия не изменились: участники хранятся на стороне пользователя
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findForVersionIncrementById(@Param("id") Long id);
+
+    /**
+     * Изменяет статус мероприятия без загрузки сущности, только если мероприятие не изменилось
+     * с версии version: результат проверки устаревшей версии не записывается
+     *
+     * @return Количество обновленных мероприятий
+     */
+    @Modifying
+    @Query("update Event e set e.status = :status, e.version = e.version + 1, e.eventUpdateDate = current_date " +
+            "where e.id = :id and e.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("status") Status status);
+
+    /**
+     * @return Мероприятия, ожидающие проверки содержимого, с идентификатором больше afterId
+     * по возрастанию идентификатора (keyset-пагинация)
+     */
+    @Query("select e from Event e join e.status s where s.status = '" + Status.PENDING + "' and e.id > :afterId " +
+            "order by e.id")
+    List<Event> findPendingAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Изменяет статус мероприятия, только если у мероприятия текущий статус current
+     *
+     * @return Количество обновленных мероприятий
+     */
+    @Modifying
+    @Query("update Event e set e.status = :status, e.version = e.version + 1, e.eventUpdateDate = current_date " +
+            "where e.id = :id and e.status in (select s from Status s where s.status = :current)")
+    int updateStatus(@Param("id") Long id, @Param("current") String current, @Param("status") Status status);
 }
@@ -1,9 +1,48 @@
 package ru.team.up.core.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.EventReview;
+import ru.team.up.core.projection.EventReviewCard;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface EventReviewRepository extends JpaRepository<EventReview, Long> {
+
+    /**
+     * @return true, если у мероприятия есть отзывы
+     */
+    @Query("select count(r) > 0 from EventReview r where r.reviewForEvent.id = :eventId")
+    boolean existsByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Первая страница отзывов мероприятия, от новых к старым.
+     * Использует индекс IDX_EVENT_REVIEW_EVENT_TIME (EVENT_ID, REVIEW_TIME, REVIEW_ID)
+     */
+    @Query("select new ru.team.up.core.projection.EventReviewCard(" +
+            "r.reviewId, u.id, u.name, u.lastName, r.reviewMessage, r.eventGrade, r.reviewTime) " +
+            "from EventReview r join r.reviewer u " +
+            "where r.reviewForEvent.id = :eventId " +
+            "order by r.reviewTime desc, r.reviewId desc")
+    List<EventReviewCard> findReviewCards(@Param("eventId") Long eventId, Pageable pageable);
+
+    /**
+     * Следующая страница отзывов мероприятия (keyset-пагинация): отзывы, составленные раньше
+     * последнего отзыва предыдущей страницы
+     */
+    @Query("select new ru.team.up.core.projection.EventReviewCard(" +
+            "r.reviewId, u.id, u.name, u.lastName, r.reviewMessage, r.eventGrade, r.reviewTime) " +
+            "from EventReview r join r.reviewer u " +
+            "where r.reviewForEvent.id = :eventId " +
+            "and (r.reviewTime < :reviewTime or (r.reviewTime = :reviewTime and r.reviewId < :reviewId)) " +
+            "order by r.reviewTime desc, r.reviewId desc")
+    List<EventReviewCard> findReviewCardsBefore(@Param("eventId") Long eventId,
+                                                @Param("reviewTime") LocalDateTime reviewTime,
+                                                @Param("reviewId") Long reviewId,
+                                                Pageable pageable);
 }
@@ -0,0 +1,96 @@
+package ru.team.up.core.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.team.up.core.entity.ModerationState;
+import ru.team.up.core.entity.ModerationTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ModerationTaskRepository extends JpaRepository<ModerationTask, Long> {
+
+    List<ModerationTask> findAllByModeratorIdAndState(Long moderatorId, ModerationState state);
+
+    /**
+     * Блокирует доступные задачи с наибольшим приоритетом.
+     * Строки, заблокированные другими модераторами, пропускаются, поэтому параллельные выборки не ждут друг друга
+     */
+    @Query(value = "SELECT * FROM MODERATION_TASK " +
+            "WHERE STATE = 'NEW' OR (STATE = 'LEASED' AND LEASE_UNTIL < :now) " +
+            "ORDER BY PRIORITY, ID " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ModerationTask> lockAvailable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Создает задачу, если по мероприятию нет открытой задачи. Открытая задача по мероприятию
+     * единственная (UK_MODERATION_TASK_OPEN_EVENT), поэтому параллельные вызовы не создают дубликатов
+     *
+     * @return Количество созданных задач
+     */
+    @Modifying
+    @Query(value = "INSERT INTO MODERATION_TASK (EVENT_ID, STATE, PRIORITY, REPORTER_COUNT, EVENT_START_TIME, " +
+            "CREATED_TIME, REASON) " +
+            "VALUES (:eventId, 'NEW', :priority, 0, :eventStartTime, :now, :reason) " +
+            "ON CONFLICT (EVENT_ID) WHERE STATE <> 'DONE' DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId,
+                       @Param("eventStartTime") LocalDateTime eventStartTime,
+                       @Param("priority") long priority,
+                       @Param("reason") String reason,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Учитывает жалобу на мероприятие: повышает приоритет открытой задачи или создает задачу с одной жалобой
+     *
+     * @param priority Приоритет новой задачи
+     * @param weight   На сколько повышается приоритет открытой задачи
+     * @return Количество созданных или обновленных задач
+     */
+    @Modifying
+    @Query(value = "INSERT INTO MODERATION_TASK (EVENT_ID, STATE, PRIORITY, REPORTER_COUNT, EVENT_START_TIME, " +
+            "CREATED_TIME, REASON) " +
+            "VALUES (:eventId, 'NEW', :priority, 1, :eventStartTime, :now, :reason) " +
+            "ON CONFLICT (EVENT_ID) WHERE STATE <> 'DONE' DO UPDATE " +
+            "SET REPORTER_COUNT = MODERATION_TASK.REPORTER_COUNT + 1, PRIORITY = MODERATION_TASK.PRIORITY - :weight",
+            nativeQuery = true)
+    int addReport(@Param("eventId") Long eventId,
+                  @Param("eventStartTime") LocalDateTime eventStartTime,
+                  @Param("priority") long priority,
+                  @Param("weight") long weight,
+                  @Param("reason") String reason,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Запоминает жалобу пользователя на мероприятие
+     *
+     * @param reporter Ключ пользователя, отправившего жалобу
+     * @return 0, если пользователь уже жаловался на мероприятие
+     */
+    @Modifying
+    @Query(value = "INSERT INTO MODERATION_REPORT (EVENT_ID, REPORTER, REPORT_TIME) VALUES (:eventId, :reporter, :now) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addReporter(@Param("eventId") Long eventId,
+                    @Param("reporter") String reporter,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Завершает задачу, если она закреплена за модератором
+     *
+     * @return Количество завершенных задач
+     */
+    @Modifying
+    @Query("update ModerationTask t set t.state = :closed, t.approved = :approved, t.closedTime = :closedTime, " +
+            "t.leaseUntil = null " +
+            "where t.id = :id and t.moderatorId = :moderatorId and t.state = :leased")
+    int complete(@Param("id") Long id,
+                 @Param("moderatorId") Long moderatorId,
+                 @Param("approved") Boolean approved,
+                 @Param("closedTime") LocalDateTime closedTime,
+                 @Param("leased") ModerationState leased,
+                 @Param("closed") ModerationState closed);
+}
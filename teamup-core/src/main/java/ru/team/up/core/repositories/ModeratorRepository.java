@@ -1,11 +1,34 @@
 package ru.team.up.core.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.Account;
 import ru.team.up.core.entity.Moderator;
+import ru.team.up.core.projection.EntityVersion;
+
+import java.util.Optional;
 
 @Repository
 public interface ModeratorRepository extends JpaRepository<Moderator, Long> {
     Account findByEmail(String email);
+
+    /**
+     * @return Версия модератора без загрузки модератора
+     */
+    @Query("select new ru.team.up.core.projection.EntityVersion(m.version) from Moderator m where m.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Атомарно увеличивает счетчики проверенных и удаленных мероприятий модератора
+     */
+    @Modifying
+    @Query("update Moderator m set " +
+            "m.amountOfCheckedEvents = coalesce(m.amountOfCheckedEvents, 0) + 1, " +
+            "m.amountOfDeletedEvents = coalesce(m.amountOfDeletedEvents, 0) + :deleted, " +
+            "m.version = m.version + 1 " +
+            "where m.id = :id")
+    int incrementCheckedEvents(@Param("id") Long id, @Param("deleted") long deleted);
 }
@@ -0,0 +1,59 @@
+package ru.team.up.core.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.entity.RateLimitBucket;
+
+/**
+ * Корзины токенов в БД. Время берется из часов БД, поэтому узлы с расходящимися часами
+ * списывают токены из одной корзины согласованно. Все запросы выполняются в транзакции на запись,
+ * то есть на основной БД, даже если включена реплика
+ */
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+    String NOW_US = "CAST(EXTRACT(EPOCH FROM STATEMENT_TIMESTAMP()) * 1000000 AS BIGINT)";
+
+    /**
+     * Списывает токен одним запросом: создает корзину или сдвигает время ее заполнения на intervalUs,
+     * если после этого корзина заполнится не позже чем через burstUs
+     *
+     * @param key        Ключ корзины
+     * @param intervalUs Время пополнения одного токена в микросекундах
+     * @param burstUs    Время заполнения пустой корзины в микросекундах
+     * @return Время до заполнения корзины после списания в микросекундах или null, если токенов нет
+     */
+    @Transactional
+    @Query(value = "INSERT INTO RATE_LIMIT_BUCKET AS B (BUCKET_KEY, FULL_AT_US) " +
+            "VALUES (:key, " + NOW_US + " + :intervalUs) " +
+            "ON CONFLICT (BUCKET_KEY) DO UPDATE " +
+            "SET FULL_AT_US = GREATEST(B.FULL_AT_US, " + NOW_US + ") + :intervalUs " +
+            "WHERE GREATEST(B.FULL_AT_US, " + NOW_US + ") + :intervalUs - " + NOW_US + " <= :burstUs " +
+            "RETURNING FULL_AT_US - " + NOW_US, nativeQuery = true)
+    Long tryAcquire(@Param("key") String key, @Param("intervalUs") long intervalUs, @Param("burstUs") long burstUs);
+
+    /**
+     * @param key Ключ корзины
+     * @return Время до заполнения корзины в микросекундах или null, если корзины нет
+     */
+    @Transactional
+    @Query(value = "SELECT FULL_AT_US - " + NOW_US + " FROM RATE_LIMIT_BUCKET WHERE BUCKET_KEY = :key",
+            nativeQuery = true)
+    Long findMicrosUntilFull(@Param("key") String key);
+
+    /**
+     * Удаляет пачку заполненных корзин: для них нет разницы, есть ли строка в таблице
+     *
+     * @param limit Размер пачки
+     * @return Количество удаленных корзин
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM RATE_LIMIT_BUCKET WHERE BUCKET_KEY IN (" +
+            "SELECT BUCKET_KEY FROM RATE_LIMIT_BUCKET WHERE FULL_AT_US <= " + NOW_US + " LIMIT :limit)",
+            nativeQuery = true)
+    int deleteFull(@Param("limit") int limit);
+}
@@ -4,6 +4,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.Status;
 
+import java.util.Optional;
+
 @Repository
 public interface StatusRepository extends JpaRepository<Status, Long> {
+    Optional<Status> findFirstByStatus(String status);
 }
@@ -1,12 +1,86 @@
 package ru.team.up.core.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.team.up.core.entity.User;
 import ru.team.up.core.entity.UserMessage;
+import ru.team.up.core.projection.UserMessageView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Alexey Tkachenko
  */
 public interface UserMessageRepository extends JpaRepository<UserMessage, Long> {
     UserMessage findAllByMessageOwner(User user);
+
+    /**
+     * Первая страница входящих сообщений пользователя, от новых к старым. Порядок и keyset-условие
+     * берутся из строк получателя (индекс IDX_USER_ACCOUNT_MESSAGES_USER_TIME), сообщения читаются
+     * по идентификатору и времени создания только из своих секций
+     */
+    @Query("select new ru.team.up.core.projection.UserMessageView(" +
+            "m.id, o.id, o.name, m.message, " +
+            "case when r.readTime is null then m.status else '" + UserMessage.STATUS_READ + "' end, " +
+            "m.messageCreationTime, r.readTime) " +
+            "from UserMessageRecipient r join r.message m left join m.messageOwner o " +
+            "where r.userId = :userId " +
+            "order by r.messageCreationTime desc, r.messageId desc")
+    List<UserMessageView> findInbox(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Следующая страница входящих сообщений пользователя (keyset-пагинация)
+     */
+    @Query("select new ru.team.up.core.projection.UserMessageView(" +
+            "m.id, o.id, o.name, m.message, " +
+            "case when r.readTime is null then m.status else '" + UserMessage.STATUS_READ + "' end, " +
+            "m.messageCreationTime, r.readTime) " +
+            "from UserMessageRecipient r join r.message m left join m.messageOwner o " +
+            "where r.userId = :userId " +
+            "and (r.messageCreationTime < :creationTime " +
+            "or (r.messageCreationTime = :creationTime and r.messageId < :messageId)) " +
+            "order by r.messageCreationTime desc, r.messageId desc")
+    List<UserMessageView> findInboxBefore(@Param("userId") Long userId,
+                                          @Param("creationTime") LocalDateTime creationTime,
+                                          @Param("messageId") Long messageId,
+                                          Pageable pageable);
+
+    /**
+     * Сообщение по идентификатору и времени создания. Поиск только по идентификатору
+     * обходит все секции USER_MESSAGE, время создания выбирает секцию
+     */
+    Optional<UserMessage> findByIdAndMessageCreationTime(Long id, LocalDateTime messageCreationTime);
+
+    /**
+     * Отмечает прочитанными непрочитанные сообщения из переданных только у их получателя
+     * одним запросом. Прочтение одного получателя не меняет состояние сообщения у остальных.
+     * Запрос изменяет только строки получателя по первичному ключу (USER_ID, MESSAGE_ID)
+     * и не обращается к секциям USER_MESSAGE
+     *
+     * @return Количество сообщений, которые были отмечены прочитанными
+     */
+    @Modifying
+    @Query("update UserMessageRecipient r set r.readTime = :readTime " +
+            "where r.userId = :userId and r.messageId in :ids and r.readTime is null")
+    int markAsRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                   @Param("readTime") LocalDateTime readTime);
+
+    /**
+     * Создает недостающие месячные секции USER_MESSAGE (функция USER_MESSAGE_CREATE_PARTITIONS)
+     *
+     * @param firstMonth Первый месяц
+     * @param lastMonth  Последний месяц, включительно
+     * @return Количество созданных секций
+     */
+    @Transactional
+    @Query(value = "SELECT USER_MESSAGE_CREATE_PARTITIONS(:firstMonth, :lastMonth)", nativeQuery = true)
+    int createPartitions(@Param("firstMonth") LocalDate firstMonth, @Param("lastMonth") LocalDate lastMonth);
 }
@@ -1,9 +1,17 @@
 package ru.team.up.core.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.team.up.core.entity.Account;
 import ru.team.up.core.entity.User;
+import ru.team.up.core.projection.EntityVersion;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,4 +25,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Object findUserAndRolesByName(String s);
 
     Account findByEmail(String email);
+
+    /**
+     * @return Версия пользователя без загрузки пользователя
+     */
+    @Query("select new ru.team.up.core.projection.EntityVersion(u.version) from User u where u.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * @return Количество непрочитанных сообщений пользователя без загрузки самих сообщений
+     */
+    @Query("select coalesce(u.unreadMessages, 0) from User u where u.id = :id")
+    Long countUnreadMessages(@Param("id") Long id);
+
+    /**
+     * @return Идентификаторы участников мероприятия
+     */
+    @Query("select u.id from User u join u.userEvent e where e.id = :eventId")
+    Set<Long> findParticipantIds(@Param("eventId") Long eventId);
+
+    /**
+     * Увеличивает счетчик непрочитанных сообщений получателей нового сообщения.
+     * Счетчик не входит в версию пользователя: новое сообщение не меняет ETag пользователя
+     * и не приводит к конфликту его параллельного изменения
+     */
+    @Modifying
+    @Query("update User u set u.unreadMessages = coalesce(u.unreadMessages, 0) + 1 where u.id in :ids")
+    int incrementUnreadMessages(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Уменьшает счетчик непрочитанных сообщений пользователя, не опуская его ниже нуля. Версия пользователя
+     * не меняется, как и при увеличении счетчика
+     *
+     * @param count Количество сообщений, отмеченных пользователем прочитанными
+     */
+    @Modifying
+    @Query(value = "UPDATE USER_ACCOUNT " +
+            "SET UNREAD_MESSAGES = GREATEST(COALESCE(UNREAD_MESSAGES, 0) - :count, 0) " +
+            "WHERE ID = :id", nativeQuery = true)
+    int decrementUnreadMessages(@Param("id") Long id, @Param("count") long count);
 }
@@ -9,6 +9,7 @@ import ru.team.up.core.entity.Admin;
 import ru.team.up.core.exception.NoContentException;
 import ru.team.up.core.exception.UserNotFoundException;
 import ru.team.up.core.repositories.AdminRepository;
+import ru.team.up.core.logging.LogArgs;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +39,7 @@ public class AdminServiceImpl implements AdminService {
         if (admins.isEmpty()){
             throw new NoContentException();
         }
-        log.debug("Получили список всех админов из БД {}", admins);
+        log.debug("Получили список всех админов из БД {}", LogArgs.entities(admins));
 
         return admins;
     }
@@ -54,7 +55,7 @@ public class AdminServiceImpl implements AdminService {
         log.debug("Старт метода Admin getOneAdmin(Long id) с параметром {}", id);
 
         Admin admin = Optional.of(adminRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id))).get();
-        log.debug("Получили админа из БД {}", admin);
+        log.debug("Получили админа из БД {}", LogArgs.entity(admin));
 
         return admin;
     }
@@ -66,10 +67,15 @@ public class AdminServiceImpl implements AdminService {
     @Override
     @Transactional
     public Admin saveAdmin(Admin admin) {
-        log.debug("Старт метода Admin saveAdmin(Admin admin) с параметром {}", admin);
+        log.debug("Старт метода Admin saveAdmin(Admin admin) с параметром {}", LogArgs.entity(admin));
+
+        if (admin.getId() != null && admin.getVersion() == null) {
+            log.debug("Версия не передана, обновляем текущую версию");
+            adminRepository.findVersionById(admin.getId()).ifPresent(version -> admin.setVersion(version.getVersion()));
+        }
 
         Admin save = adminRepository.save(admin);
-        log.debug("Сохранили админа в БД {}", save);
+        log.debug("Сохранили админа в БД {}", LogArgs.entity(save));
 
         return save;
     }
@@ -0,0 +1,91 @@
+package ru.team.up.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.UserMessageRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Фоновое обслуживание растущих таблиц (teamup.archive.enabled=true): перенос прошедших мероприятий
+ * в архив пачками и создание секций сообщений на несколько месяцев вперед.
+ * Каждая пачка переносится в своей транзакции, поэтому блокировки удерживаются недолго,
+ * а за один запуск переносится не больше max-batches пачек
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "teamup.archive", name = "enabled", havingValue = "true")
+public class ArchiveJob {
+    private final EventRepository eventRepository;
+    private final UserMessageRepository userMessageRepository;
+    private final int eventAgeDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int partitionMonthsAhead;
+
+    @Autowired
+    public ArchiveJob(EventRepository eventRepository, UserMessageRepository userMessageRepository,
+                      @Value("${teamup.archive.event-age-days:180}") int eventAgeDays,
+                      @Value("${teamup.archive.batch-size:500}") int batchSize,
+                      @Value("${teamup.archive.max-batches:100}") int maxBatches,
+                      @Value("${teamup.archive.message-partitions-ahead:3}") int partitionMonthsAhead) {
+        this.eventRepository = eventRepository;
+        this.userMessageRepository = userMessageRepository;
+        this.eventAgeDays = eventAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    /**
+     * Переносит в архив мероприятия, проведенные больше event-age-days дней назад
+     *
+     * @return Количество перенесенных мероприятий
+     */
+    @Scheduled(initialDelayString = "${teamup.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${teamup.archive.interval-ms:3600000}")
+    public int archiveEvents() {
+        LocalDateTime before = LocalDateTime.now().minusDays(eventAgeDays);
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int moved = eventRepository.archiveEventsBefore(before, batchSize);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Перенос мероприятий в архив прерван, перенесено {}", archived, e);
+            return archived;
+        }
+
+        if (archived > 0) {
+            log.info("В архив перенесено {} мероприятий, проведенных до {}", archived, before);
+        }
+        return archived;
+    }
+
+    /**
+     * Создает недостающие секции сообщений с текущего месяца на message-partitions-ahead месяцев вперед
+     */
+    @Scheduled(initialDelayString = "${teamup.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${teamup.archive.partition-interval-ms:86400000}")
+    public void createMessagePartitions() {
+        LocalDate today = LocalDate.now();
+        try {
+            int created = userMessageRepository.createPartitions(today, today.plusMonths(partitionMonthsAhead));
+            if (created > 0) {
+                log.info("Создано {} секций USER_MESSAGE", created);
+            }
+        } catch (RuntimeException e) {
+            log.error("Не удалось создать секции USER_MESSAGE", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.team.up.core.service;
+
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервис календаря мероприятий
+ */
+public interface EventCalendarService {
+
+    /**
+     * @param filter    Период и фильтры
+     * @param timeEvent Время последнего мероприятия предыдущей страницы, null для первой страницы
+     * @param id        Идентификатор последнего мероприятия предыдущей страницы, null для первой страницы
+     * @param size      Размер страницы
+     * @return Страница мероприятий периода, упорядоченная по времени проведения
+     */
+    List<EventCalendarCard> getEventsPage(EventCalendarFilter filter, LocalDateTime timeEvent, Long id, int size);
+
+    /**
+     * @param filter Период и фильтры
+     * @param unit   День, неделя или месяц
+     * @return Число мероприятий по интервалам периода, интервалы без мероприятий не возвращаются
+     */
+    List<EventCalendarBucket> countEvents(EventCalendarFilter filter, CalendarUnit unit);
+}
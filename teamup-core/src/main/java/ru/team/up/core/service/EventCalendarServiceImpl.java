@@ -0,0 +1,76 @@
+package ru.team.up.core.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.exception.InvalidCalendarRangeException;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+import ru.team.up.core.repositories.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Класс сервиса календаря мероприятий ru.team.up.core.entity.Event
+ */
+@Slf4j
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventCalendarServiceImpl implements EventCalendarService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_BUCKETS = 400;
+
+    private EventRepository eventRepository;
+
+    /**
+     * @return Возвращает страницу мероприятий периода.
+     * Если передана пара timeEvent/id, возвращает мероприятия, проводимые позже указанного
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventCalendarCard> getEventsPage(EventCalendarFilter filter, LocalDateTime timeEvent, Long id,
+                                                 int size) {
+        log.debug("Старт метода List<EventCalendarCard> getEventsPage(EventCalendarFilter filter, " +
+                "LocalDateTime timeEvent, Long id, int size) с параметрами {}, {}, {}, {}", filter, timeEvent, id, size);
+        checkRange(filter);
+
+        List<EventCalendarCard> events = eventRepository.findCalendarCards(filter, timeEvent, id,
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        log.debug("Получили {} мероприятий календаря", events.size());
+
+        return events;
+    }
+
+    /**
+     * @return Возвращает число мероприятий по интервалам. Период ограничен MAX_BUCKETS интервалами
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventCalendarBucket> countEvents(EventCalendarFilter filter, CalendarUnit unit) {
+        log.debug("Старт метода List<EventCalendarBucket> countEvents(EventCalendarFilter filter, " +
+                "CalendarUnit unit) с параметрами {}, {}", filter, unit);
+        checkRange(filter);
+        if (unit.getChronoUnit().between(filter.getFrom(), filter.getTo()) > MAX_BUCKETS) {
+            throw new InvalidCalendarRangeException("не больше " + MAX_BUCKETS + " интервалов " + unit);
+        }
+
+        List<EventCalendarBucket> buckets = eventRepository.countCalendarBuckets(filter, unit);
+        log.debug("Получили {} интервалов календаря", buckets.size());
+
+        return buckets;
+    }
+
+    private static void checkRange(EventCalendarFilter filter) {
+        if (filter.getFrom() == null || filter.getTo() == null) {
+            throw new InvalidCalendarRangeException("не заданы начало и конец периода");
+        }
+        if (!filter.getFrom().isBefore(filter.getTo())) {
+            throw new InvalidCalendarRangeException("начало периода должно быть раньше конца");
+        }
+    }
+}
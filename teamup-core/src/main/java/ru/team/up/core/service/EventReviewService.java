@@ -0,0 +1,21 @@
+package ru.team.up.core.service;
+
+import ru.team.up.core.projection.EventReviewCard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервис для ленты отзывов мероприятий
+ */
+public interface EventReviewService {
+
+    /**
+     * @param eventId    Идентификатор мероприятия
+     * @param reviewTime Время последнего отзыва предыдущей страницы, null для первой страницы
+     * @param reviewId   Идентификатор последнего отзыва предыдущей страницы, null для первой страницы
+     * @param size       Размер страницы
+     * @return Страница отзывов мероприятия, упорядоченная от новых к старым
+     */
+    List<EventReviewCard> getReviewsPage(Long eventId, LocalDateTime reviewTime, Long reviewId, int size);
+}
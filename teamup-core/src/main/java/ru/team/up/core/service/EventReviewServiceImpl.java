@@ -0,0 +1,44 @@
+package ru.team.up.core.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.projection.EventReviewCard;
+import ru.team.up.core.repositories.EventReviewRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Класс сервиса для постраничного получения отзывов ru.team.up.core.entity.EventReview
+ */
+@Slf4j
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventReviewServiceImpl implements EventReviewService {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private EventReviewRepository eventReviewRepository;
+
+    /**
+     * @return Возвращает страницу карточек отзывов мероприятия.
+     * Если передана пара reviewTime/reviewId, возвращает отзывы, оставленные раньше указанного
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventReviewCard> getReviewsPage(Long eventId, LocalDateTime reviewTime, Long reviewId, int size) {
+        log.debug("Старт метода List<EventReviewCard> getReviewsPage(Long eventId, LocalDateTime reviewTime, " +
+                "Long reviewId, int size) с параметрами {}, {}, {}, {}", eventId, reviewTime, reviewId, size);
+
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<EventReviewCard> reviews = reviewTime == null || reviewId == null
+                ? eventReviewRepository.findReviewCards(eventId, page)
+                : eventReviewRepository.findReviewCardsBefore(eventId, reviewTime, reviewId, page);
+        log.debug("Получили {} отзывов мероприятия с id {}", reviews.size(), eventId);
+
+        return reviews;
+    }
+}
@@ -3,6 +3,7 @@ package ru.team.up.core.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.team.up.core.entity.Event;
@@ -10,12 +11,15 @@ import ru.team.up.core.entity.User;
 import ru.team.up.core.entity.UserMessage;
 import ru.team.up.core.exception.NoContentException;
 import ru.team.up.core.exception.UserNotFoundException;
+import ru.team.up.core.notification.MessageNotification;
 import ru.team.up.core.repositories.EventRepository;
 import ru.team.up.core.repositories.UserMessageRepository;
 import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.core.logging.LogArgs;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * @author Alexey Tkachenko
@@ -30,9 +34,10 @@ public class EventServiceImpl implements EventService {
     private EventRepository eventRepository;
     private UserRepository userRepository;
     private UserMessageRepository userMessageRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     /**
-     * @return Возвращает коллекцию Event.
+     * @return Возвращает коллекцию Event, видимых текущему пользователю (см. {@link EventViewer}).
      * Если коллекция пуста, генерирует исключение со статусом HttpStatus.NO_CONTENT
      */
     @Override
@@ -40,9 +45,9 @@ public class EventServiceImpl implements EventService {
     public List<Event> getAllEvents() {
         log.debug("Старт метода List<Event> getAllEvents()");
 
-        List<Event> events = Optional.of(eventRepository.findAll())
+        List<Event> events = Optional.of(eventRepository.findAllVisible(EventViewer.current()))
                 .orElseThrow(NoContentException::new);
-        log.debug("Получили список всех мероприятий из БД {}", events);
+        log.debug("Получили список всех мероприятий из БД {}", LogArgs.entities(events));
 
         return events;
     }
@@ -50,26 +55,29 @@ public class EventServiceImpl implements EventService {
     /**
      * @param id Уникальный ключ ID мероприятия
      * @return Находит в БД мероприятие по ID и возвращает его.
-     * Если мероприятие с переданным ID не найдено в базе, генерирует исключение со статусом HttpStatus.NOT_FOUND
+     * Если мероприятие с переданным ID не найдено в базе или не видно текущему пользователю,
+     * генерирует исключение со статусом HttpStatus.NOT_FOUND
      */
     @Override
     @Transactional(readOnly = true)
     public Event getOneEvent(Long id) {
         log.debug("Старт метода Event getOneEvent(Long id) с параметром {}", id);
 
-        Event event = Optional.of(eventRepository.getOne(id))
+        Event event = eventRepository.findVisibleById(id, EventViewer.current())
                 .orElseThrow(() -> new UserNotFoundException(id));
-        log.debug("Получили мероприятие из БД {}", event);
+        log.debug("Получили мероприятие из БД {}", LogArgs.entity(event));
 
         return event;
     }
 
     /**
      * @param event Объект класса ru.team.up.core.entity.Event
-     * @return Возвращает сохраненный в БД объект event
+     * @return Возвращает сохраненный в БД объект event.
+     * Транзакция рассылает сообщение всем подписчикам автора, поэтому ограничена по времени,
+     * чтобы не удерживать соединение пула
      */
     @Override
-    @Transactional
+    @Transactional(timeoutString = "${teamup.transaction.save-event-timeout-seconds:10}")
     public Event saveEvent(Event event) {
 
         log.debug("Получаем из БД пользователя создавшего мероприятие");
@@ -78,28 +86,35 @@ public class EventServiceImpl implements EventService {
         log.debug("Формируем сет подписчиков пользователя");
         Set<User> userSubscribers = userCreatedEventDB.getSubscribers();
 
-        log.debug("Создаем и сохраняем сообщение");
+        log.debug("Создаем и сохраняем сообщение для подписчиков");
         UserMessage message = UserMessage.builder().messageOwner(userCreatedEventDB)
                 .message("Пользователь " + userCreatedEventDB.getName() + " создал мероприятие " + event.getEventName())
-                .status("new")
-                .messageCreationTime(LocalDateTime.now()).build();
+                .status(UserMessage.STATUS_NEW)
+                .messageCreationTime(LocalDateTime.now())
+                .users(userSubscribers == null ? null : new HashSet<>(userSubscribers))
+                .build();
         userMessageRepository.save(message);
 
-        log.debug("Отправка сообщения подписчикам");
-        if (userSubscribers != null) {
-            for (User user : userSubscribers) {
-                Set<UserMessage> savedMessage = user.getUserMessages();
-                savedMessage.add(message);
-                user.setUserMessages(savedMessage);
-                userRepository.save(user);
-            }
+        if (userSubscribers != null && !userSubscribers.isEmpty()) {
+            Set<Long> subscriberIds = userSubscribers.stream().map(User::getId).collect(Collectors.toSet());
+
+            log.debug("Увеличиваем счетчики непрочитанных сообщений подписчиков");
+            userRepository.incrementUnreadMessages(subscriberIds);
+
+            log.debug("Публикуем уведомление о новом сообщении");
+            eventPublisher.publishEvent(new MessageNotification(message.getId(), userCreatedEventDB.getId(),
+                    message.getMessage(), message.getMessageCreationTime(), subscriberIds));
         }
 
+        log.debug("Старт метода Event saveEvent(Event event) с параметром {}", LogArgs.entity(event));
 
-        log.debug("Старт метода Event saveEvent(Event event) с параметром {}", event);
+        if (event.getId() != null && event.getVersion() == null) {
+            log.debug("Версия не передана, обновляем текущую версию");
+            eventRepository.findVersionById(event.getId()).ifPresent(version -> event.setVersion(version.getVersion()));
+        }
 
         Event save = eventRepository.save(event);
-        log.debug("Сохранили мероприятие в БД {}", save);
+        log.debug("Сохранили мероприятие в БД {}", LogArgs.entity(save));
 
         return save;
     }
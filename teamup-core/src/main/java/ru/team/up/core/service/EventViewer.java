@@ -0,0 +1,58 @@
+package ru.team.up.core.service;
+
+import lombok.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.team.up.core.entity.Account;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Role;
+import ru.team.up.core.entity.Status;
+
+/**
+ * Пользователь, читающий мероприятия. Мероприятия, ожидающие проверки (pending, to-review), и отклоненные (rejected)
+ * видят только их автор, модераторы и администраторы
+ */
+@Value
+public class EventViewer {
+
+    /**
+     * Видит все мероприятия
+     */
+    boolean moderator;
+
+    /**
+     * Идентификатор пользователя, который видит свои мероприятия на проверке, или null
+     */
+    Long userId;
+
+    /**
+     * @return Пользователь текущего запроса. Без аутентификации видны только опубликованные мероприятия
+     */
+    public static EventViewer current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Account)) {
+            return new EventViewer(false, null);
+        }
+
+        Account account = (Account) authentication.getPrincipal();
+        if (account.getRole() == Role.ROLE_MODERATOR || account.getRole() == Role.ROLE_ADMIN) {
+            return new EventViewer(true, null);
+        }
+        return new EventViewer(false, account.getId());
+    }
+
+    /**
+     * @param event Мероприятие
+     * @return true, если мероприятие видно этому пользователю
+     */
+    public boolean canSee(Event event) {
+        if (moderator || event.getStatus() == null || !isHidden(event.getStatus().getStatus())) {
+            return true;
+        }
+        return userId != null && event.getAuthorId() != null && userId.equals(event.getAuthorId().getId());
+    }
+
+    private static boolean isHidden(String status) {
+        return Status.PENDING.equals(status) || Status.TO_REVIEW.equals(status) || Status.REJECTED.equals(status);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.team.up.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Буфер подтверждений прочтения сообщений.
+ * Подтверждения от клиента накапливаются по пользователям и записываются в БД пачками:
+ * по достижении размера пачки или по расписанию, поэтому прокрутка входящих
+ * не порождает отдельный UPDATE на каждое сообщение
+ */
+@Slf4j
+@Component
+public class MessageReadReceiptBuffer {
+    private final UserMessageService userMessageService;
+    private final int batchSize;
+    private final ConcurrentMap<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MessageReadReceiptBuffer(UserMessageService userMessageService,
+                                    @Value("${teamup.messages.read-receipt.batch-size:200}") int batchSize) {
+        this.userMessageService = userMessageService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Добавляет подтверждения прочтения сообщений пользователем в буфер
+     *
+     * @param userId     Идентификатор получателя
+     * @param messageIds Идентификаторы прочитанных сообщений
+     */
+    public void acknowledge(Long userId, Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> buffered = pending.compute(userId, (id, ids) -> {
+            Set<Long> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            result.addAll(messageIds);
+            return result;
+        });
+
+        if (buffered.size() >= batchSize) {
+            flush(userId);
+        }
+    }
+
+    /**
+     * Записывает в БД все накопленные подтверждения прочтения
+     */
+    @Scheduled(fixedDelayString = "${teamup.messages.read-receipt.flush-interval-ms:2000}")
+    public void flushAll() {
+        for (Long userId : pending.keySet()) {
+            flush(userId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+
+    private void flush(Long userId) {
+        Set<Long> buffered = pending.remove(userId);
+        if (buffered == null || buffered.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(buffered);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                userMessageService.markAsRead(userId, batch);
+            } catch (RuntimeException e) {
+                log.error("Не удалось отметить прочитанными {} сообщений пользователя с id {}", batch.size(), userId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.team.up.core.service;
+
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.ModerationTask;
+
+import java.util.List;
+
+/**
+ * Сервис очереди модерации мероприятий
+ */
+public interface ModerationQueueService {
+
+    /**
+     * Устанавливает мероприятию статус проверки модератором перед сохранением: до решения модератора
+     * мероприятие не показывается другим пользователям
+     *
+     * @param event Мероприятие
+     */
+    void markForReview(Event event);
+
+    /**
+     * Ставит мероприятие в очередь модерации, если по нему нет открытой задачи
+     *
+     * @param event  Проверяемое мероприятие
+     * @param reason Причина отправки на проверку
+     */
+    void enqueue(Event event, String reason);
+
+    /**
+     * Учитывает жалобу пользователя на мероприятие, при необходимости ставя его в очередь.
+     * Повторная жалоба того же пользователя не учитывается
+     *
+     * @param eventId  Идентификатор мероприятия
+     * @param reporter Ключ пользователя, отправившего жалобу
+     */
+    void report(Long eventId, String reporter);
+
+    /**
+     * Закрепляет за модератором задачи с наибольшим приоритетом
+     *
+     * @param moderatorId Идентификатор модератора
+     * @param size        Максимальное количество задач
+     * @return Закрепленные задачи
+     */
+    List<ModerationTask> lease(Long moderatorId, int size);
+
+    /**
+     * @param moderatorId Идентификатор модератора
+     * @return Задачи, закрепленные за модератором
+     */
+    List<ModerationTask> getLeased(Long moderatorId);
+
+    /**
+     * Завершает проверку. Одобренное мероприятие на проверке публикуется, не одобренное удаляется
+     *
+     * @param taskId      Идентификатор задачи
+     * @param moderatorId Идентификатор модератора
+     * @param approved    Решение модератора
+     */
+    void complete(Long taskId, Long moderatorId, boolean approved);
+}
@@ -0,0 +1,192 @@
+package ru.team.up.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.ModerationState;
+import ru.team.up.core.entity.ModerationTask;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.exception.ModerationTaskNotFoundException;
+import ru.team.up.core.exception.NoContentException;
+import ru.team.up.core.notification.EventChangePublisher;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.EventReviewRepository;
+import ru.team.up.core.repositories.ModerationTaskRepository;
+import ru.team.up.core.repositories.ModeratorRepository;
+import ru.team.up.core.repositories.StatusRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Очередь модерации мероприятий.
+ * Модераторы забирают задачи через SELECT ... FOR UPDATE SKIP LOCKED и получают их в аренду на ограниченное время,
+ * незавершенные задачи с истекшей арендой снова становятся доступны. Раньше выдаются задачи по мероприятиям,
+ * которые начнутся раньше, каждая жалоба пользователя сдвигает задачу вперед на заданное количество секунд.
+ * Открытая задача по мероприятию единственная, жалоба пользователя на мероприятие учитывается один раз.
+ * Отклоненное мероприятие удаляется, а если на него ссылаются отзывы - получает статус rejected
+ */
+@Slf4j
+@Service
+public class ModerationQueueServiceImpl implements ModerationQueueService {
+    static final int MAX_LEASE_SIZE = 50;
+    static final String REPORT_REASON = "Жалоба пользователя";
+
+    private final ModerationTaskRepository moderationTaskRepository;
+    private final ModeratorRepository moderatorRepository;
+    private final EventRepository eventRepository;
+    private final EventReviewRepository eventReviewRepository;
+    private final StatusRepository statusRepository;
+    private final EventChangePublisher eventChangePublisher;
+    private final long leaseMinutes;
+    private final long reportWeightSeconds;
+
+    @Autowired
+    public ModerationQueueServiceImpl(ModerationTaskRepository moderationTaskRepository,
+                                      ModeratorRepository moderatorRepository,
+                                      EventRepository eventRepository,
+                                      EventReviewRepository eventReviewRepository,
+                                      StatusRepository statusRepository,
+                                      EventChangePublisher eventChangePublisher,
+                                      @Value("${teamup.moderation.lease-minutes:15}") long leaseMinutes,
+                                      @Value("${teamup.moderation.report-weight-seconds:3600}") long reportWeightSeconds) {
+        this.moderationTaskRepository = moderationTaskRepository;
+        this.moderatorRepository = moderatorRepository;
+        this.eventRepository = eventRepository;
+        this.eventReviewRepository = eventReviewRepository;
+        this.statusRepository = statusRepository;
+        this.eventChangePublisher = eventChangePublisher;
+        this.leaseMinutes = leaseMinutes;
+        this.reportWeightSeconds = reportWeightSeconds;
+    }
+
+    @Override
+    @Transactional
+    public void markForReview(Event event) {
+        event.setStatus(status(Status.TO_REVIEW));
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(Event event, String reason) {
+        log.debug("Старт метода void enqueue(Event event, String reason) с параметрами {}, {}", event.getId(), reason);
+
+        if (moderationTaskRepository.insertIfAbsent(event.getId(), event.getTimeEvent(), priority(event), reason,
+                LocalDateTime.now()) == 0) {
+            log.debug("Мероприятие с id {} уже в очереди модерации", event.getId());
+            return;
+        }
+        log.debug("Мероприятие с id {} поставлено в очередь модерации", event.getId());
+    }
+
+    @Override
+    @Transactional
+    public void report(Long eventId, String reporter) {
+        log.debug("Старт метода void report(Long eventId, String reporter) с параметрами {}, {}", eventId, reporter);
+
+        Event event = eventRepository.findById(eventId).orElseThrow(NoContentException::new);
+        LocalDateTime now = LocalDateTime.now();
+        if (moderationTaskRepository.addReporter(eventId, reporter, now) == 0) {
+            log.debug("Повторная жалоба {} на мероприятие с id {} не учитывается", reporter, eventId);
+            return;
+        }
+
+        moderationTaskRepository.addReport(eventId, event.getTimeEvent(), priority(event) - reportWeightSeconds,
+                reportWeightSeconds, REPORT_REASON, now);
+        log.debug("Жалоба учтена в задаче модерации мероприятия с id {}", eventId);
+    }
+
+    @Override
+    @Transactional
+    public List<ModerationTask> lease(Long moderatorId, int size) {
+        log.debug("Старт метода List<ModerationTask> lease(Long moderatorId, int size) с параметрами {}, {}",
+                moderatorId, size);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ModerationTask> tasks = moderationTaskRepository.lockAvailable(now,
+                Math.max(1, Math.min(size, MAX_LEASE_SIZE)));
+        for (ModerationTask task : tasks) {
+            task.setState(ModerationState.LEASED);
+            task.setModeratorId(moderatorId);
+            task.setLeaseUntil(now.plusMinutes(leaseMinutes));
+        }
+        log.debug("За модератором с id {} закреплено {} задач", moderatorId, tasks.size());
+
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ModerationTask> getLeased(Long moderatorId) {
+        log.debug("Старт метода List<ModerationTask> getLeased(Long moderatorId) с параметром {}", moderatorId);
+
+        return moderationTaskRepository.findAllByModeratorIdAndState(moderatorId, ModerationState.LEASED);
+    }
+
+    @Override
+    @Transactional
+    public void complete(Long taskId, Long moderatorId, boolean approved) {
+        log.debug("Старт метода void complete(Long taskId, Long moderatorId, boolean approved) с параметрами {}, {}, {}",
+                taskId, moderatorId, approved);
+
+        if (moderationTaskRepository.complete(taskId, moderatorId, approved, LocalDateTime.now(),
+                ModerationState.LEASED, ModerationState.DONE) == 0) {
+            throw new ModerationTaskNotFoundException(taskId);
+        }
+
+        Long eventId = moderationTaskRepository.getOne(taskId).getEventId();
+        if (approved) {
+            if (eventRepository.updateStatus(eventId, Status.TO_REVIEW, status(Status.PUBLISHED)) > 0) {
+                eventRepository.findById(eventId).ifPresent(event ->
+                        eventChangePublisher.publishStatusChange(event, Status.PUBLISHED));
+            }
+        } else {
+            reject(eventId);
+        }
+
+        moderatorRepository.incrementCheckedEvents(moderatorId, approved ? 0 : 1);
+        log.debug("Задача модерации с id {} завершена", taskId);
+    }
+
+    /**
+     * Удаляет отклоненное мероприятие вместе с записями его участников. Мероприятие с отзывами
+     * не удаляется, а получает статус rejected и скрывается, как мероприятия на проверке.
+     * Мероприятие, уже удаленное или перенесенное в архив, не изменяется
+     */
+    private void reject(Long eventId) {
+        Optional<Event> found = eventRepository.findById(eventId);
+        if (!found.isPresent()) {
+            log.debug("Мероприятие с id {} уже удалено или перенесено в архив", eventId);
+            return;
+        }
+
+        Event event = found.get();
+        eventChangePublisher.publishStatusChange(event, Status.REJECTED);
+        if (eventReviewRepository.existsByEventId(eventId)) {
+            log.debug("У мероприятия с id {} есть отзывы, мероприятие отклонено без удаления", eventId);
+            event.setStatus(status(Status.REJECTED));
+            return;
+        }
+
+        log.debug("Удаляем мероприятие с id {}", eventId);
+        eventRepository.deleteParticipants(eventId);
+        eventRepository.delete(event);
+    }
+
+    private long priority(Event event) {
+        return event.getTimeEvent().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Возвращает статус по названию, создавая его при первом обращении
+     */
+    private Status status(String name) {
+        return statusRepository.findFirstByStatus(name)
+                .orElseGet(() -> statusRepository.save(Status.builder().status(name).build()));
+    }
+}
@@ -9,6 +9,7 @@ import ru.team.up.core.entity.Moderator;
 import ru.team.up.core.exception.NoContentException;
 import ru.team.up.core.exception.UserNotFoundException;
 import ru.team.up.core.repositories.ModeratorRepository;
+import ru.team.up.core.logging.LogArgs;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,7 +37,7 @@ public class ModeratorServiceImpl implements ModeratorService {
 
         List<Moderator> moderators = Optional.of(moderatorRepository.findAll())
                 .orElseThrow(NoContentException::new);
-        log.debug("Получили список всех модераторов из БД {}", moderators);
+        log.debug("Получили список всех модераторов из БД {}", LogArgs.entities(moderators));
 
         return moderators;
     }
@@ -53,7 +54,7 @@ public class ModeratorServiceImpl implements ModeratorService {
 
         Moderator moderator = Optional.of(moderatorRepository.getOne(id))
                 .orElseThrow(() -> new UserNotFoundException(id));
-        log.debug("Получили модератора из БД {}", moderator);
+        log.debug("Получили модератора из БД {}", LogArgs.entity(moderator));
 
         return moderator;
     }
@@ -65,10 +66,15 @@ public class ModeratorServiceImpl implements ModeratorService {
     @Override
     @Transactional
     public Moderator saveModerator(Moderator moderator) {
-        log.debug("Старт метода Moderator saveModerator(Moderator user) с параметром {}", moderator);
+        log.debug("Старт метода Moderator saveModerator(Moderator user) с параметром {}", LogArgs.entity(moderator));
+
+        if (moderator.getId() != null && moderator.getVersion() == null) {
+            log.debug("Версия не передана, обновляем текущую версию");
+            moderatorRepository.findVersionById(moderator.getId()).ifPresent(version -> moderator.setVersion(version.getVersion()));
+        }
 
         Moderator save = moderatorRepository.save(moderator);
-        log.debug("Сохранили модератора в БД {}", save);
+        log.debug("Сохранили модератора в БД {}", LogArgs.entity(save));
 
         return save;
     }
@@ -0,0 +1,45 @@
+package ru.team.up.core.service;
+
+import ru.team.up.core.projection.UserMessageView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис входящих сообщений пользователя
+ */
+public interface UserMessageService {
+
+    /**
+     * @param userId       Идентификатор получателя
+     * @param creationTime Время создания последнего сообщения предыдущей страницы, null для первой страницы
+     * @param messageId    Идентификатор последнего сообщения предыдущей страницы, null для первой страницы
+     * @param size         Размер страницы
+     * @return Страница входящих сообщений, упорядоченная от новых к старым
+     */
+    List<UserMessageView> getInbox(Long userId, LocalDateTime creationTime, Long messageId, int size);
+
+    /**
+     * @param userId Идентификатор получателя
+     * @return Количество непрочитанных сообщений
+     */
+    long getUnreadCount(Long userId);
+
+    /**
+     * Отправляет пользователю служебное сообщение
+     *
+     * @param userId  Идентификатор получателя
+     * @param message Текст сообщения
+     */
+    void notifyUser(Long userId, String message);
+
+    /**
+     * Отмечает сообщения пользователя прочитанными
+     *
+     * @param userId     Идентификатор получателя
+     * @param messageIds Идентификаторы сообщений
+     * @return Количество сообщений, отмеченных прочитанными
+     */
+    int markAsRead(Long userId, Collection<Long> messageIds);
+}
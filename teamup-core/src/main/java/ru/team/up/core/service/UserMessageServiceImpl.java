@@ -0,0 +1,121 @@
+package ru.team.up.core.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.entity.UserMessage;
+import ru.team.up.core.notification.MessageNotification;
+import ru.team.up.core.projection.UserMessageView;
+import ru.team.up.core.repositories.UserMessageRepository;
+import ru.team.up.core.repositories.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Класс сервиса для работы с входящими сообщениями ru.team.up.core.entity.UserMessage
+ */
+@Slf4j
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class UserMessageServiceImpl implements UserMessageService {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private UserMessageRepository userMessageRepository;
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return Возвращает страницу входящих сообщений пользователя.
+     * Если передана пара creationTime/messageId, возвращает сообщения, созданные раньше указанного
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserMessageView> getInbox(Long userId, LocalDateTime creationTime, Long messageId, int size) {
+        log.debug("Старт метода List<UserMessageView> getInbox(Long userId, LocalDateTime creationTime, " +
+                "Long messageId, int size) с параметрами {}, {}, {}, {}", userId, creationTime, messageId, size);
+
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<UserMessageView> messages = creationTime == null || messageId == null
+                ? userMessageRepository.findInbox(userId, page)
+                : userMessageRepository.findInboxBefore(userId, creationTime, messageId, page);
+        log.debug("Получили {} входящих сообщений пользователя с id {}", messages.size(), userId);
+
+        return messages;
+    }
+
+    /**
+     * @return Возвращает значение счетчика непрочитанных сообщений пользователя
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        log.debug("Старт метода long getUnreadCount(Long userId) с параметром {}", userId);
+
+        Long unread = userRepository.countUnreadMessages(userId);
+        log.debug("У пользователя с id {} непрочитанных сообщений: {}", userId, unread);
+
+        return unread == null ? 0 : unread;
+    }
+
+    /**
+     * Сохраняет сообщение, владельцем и получателем которого является пользователь,
+     * увеличивает счетчик непрочитанных сообщений и публикует уведомление
+     */
+    @Override
+    @Transactional
+    public void notifyUser(Long userId, String message) {
+        log.debug("Старт метода void notifyUser(Long userId, String message) с параметрами {}, {}", userId, message);
+
+        User user = userRepository.getOne(userId);
+        UserMessage userMessage = userMessageRepository.save(UserMessage.builder()
+                .messageOwner(user)
+                .message(message)
+                .status(UserMessage.STATUS_NEW)
+                .messageCreationTime(LocalDateTime.now())
+                .users(new HashSet<>(Collections.singleton(user)))
+                .build());
+
+        Set<Long> recipientIds = Set.of(userId);
+        userRepository.incrementUnreadMessages(recipientIds);
+        eventPublisher.publishEvent(new MessageNotification(userMessage.getId(), userId, userMessage.getMessage(),
+                userMessage.getMessageCreationTime(), recipientIds));
+        log.debug("Отправили сообщение пользователю с id {}", userId);
+    }
+
+    /**
+     * Отмечает прочитанными у пользователя непрочитанные сообщения из переданных и уменьшает
+     * его счетчик непрочитанных сообщений на число действительно отмеченных.
+     * Количество запросов не зависит от числа сообщений
+     */
+    @Override
+    @Transactional
+    public int markAsRead(Long userId, Collection<Long> messageIds) {
+        log.debug("Старт метода int markAsRead(Long userId, Collection<Long> messageIds) с параметрами {}, {}",
+                userId, messageIds.size());
+
+        if (messageIds.isEmpty()) {
+            return 0;
+        }
+
+        int updated = userMessageRepository.markAsRead(userId, messageIds, LocalDateTime.now());
+        if (updated == 0) {
+            log.debug("Нет непрочитанных сообщений для пользователя с id {}", userId);
+            return 0;
+        }
+
+        userRepository.decrementUnreadMessages(userId, updated);
+        log.debug("Отметили прочитанными {} сообщений пользователя с id {}", updated, userId);
+
+        return updated;
+    }
+}
@@ -9,6 +9,7 @@ import ru.team.up.core.entity.User;
 import ru.team.up.core.exception.NoContentException;
 import ru.team.up.core.exception.UserNotFoundException;
 import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.core.logging.LogArgs;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,7 +37,7 @@ public class UserServiceImpl implements UserService {
 
         List<User> users = Optional.of(userRepository.findAll())
                 .orElseThrow(NoContentException::new);
-        log.debug("Получили список всех юзеров из БД {}", users);
+        log.debug("Получили список всех юзеров из БД {}", LogArgs.entities(users));
 
         return users;
     }
@@ -53,7 +54,7 @@ public class UserServiceImpl implements UserService {
 
         User user = Optional.of(userRepository.getOne(id))
                 .orElseThrow(() -> new UserNotFoundException(id));
-        log.debug("Получили юзера из БД {}", user);
+        log.debug("Получили юзера из БД {}", LogArgs.entity(user));
 
         return user;
     }
@@ -65,10 +66,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public User saveUser(User user) {
-        log.debug("Старт метода User saveUser(User user) с параметром {}", user);
+        log.debug("Старт метода User saveUser(User user) с параметром {}", LogArgs.entity(user));
+
+        if (user.getId() != null && user.getVersion() == null) {
+            log.debug("Версия не передана, обновляем текущую версию");
+            userRepository.findVersionById(user.getId()).ifPresent(version -> user.setVersion(version.getVersion()));
+        }
 
         User save = userRepository.save(user);
-        log.debug("Сохранили юзера в БД {}", save);
+        log.debug("Сохранили юзера в БД {}", LogArgs.entity(save));
 
         return save;
     }
@@ -0,0 +1,182 @@
+-- Исходная схема: таблицы, которые раньше создавал Hibernate (spring.jpa.hibernate.ddl-auto=create)
+
+CREATE TABLE ADMIN_ACCOUNT
+(
+    ID                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME                  VARCHAR(255) NOT NULL,
+    LAST_NAME             VARCHAR(255) NOT NULL,
+    MIDDLE_NAME           VARCHAR(255),
+    LOGIN                 VARCHAR(255) NOT NULL,
+    EMAIL                 VARCHAR(255) NOT NULL,
+    PASSWORD              VARCHAR(255) NOT NULL,
+    ACCOUNT_CREATED_TIME  DATE         NOT NULL,
+    LAST_ACCOUNT_ACTIVITY TIMESTAMP    NOT NULL,
+    ROLE                  INTEGER,
+    CONSTRAINT UK_ADMIN_ACCOUNT_EMAIL UNIQUE (EMAIL),
+    CONSTRAINT UK_ADMIN_ACCOUNT_LOGIN UNIQUE (LOGIN)
+);
+
+CREATE TABLE MODERATOR_ACCOUNT
+(
+    ID                        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME                      VARCHAR(255) NOT NULL,
+    LAST_NAME                 VARCHAR(255) NOT NULL,
+    MIDDLE_NAME               VARCHAR(255),
+    LOGIN                     VARCHAR(255) NOT NULL,
+    EMAIL                     VARCHAR(255) NOT NULL,
+    PASSWORD                  VARCHAR(255) NOT NULL,
+    ACCOUNT_CREATED_TIME      DATE         NOT NULL,
+    LAST_ACCOUNT_ACTIVITY     TIMESTAMP    NOT NULL,
+    ROLE                      INTEGER,
+    AMOUNT_OF_CHECKED_EVENTS  BIGINT,
+    AMOUNT_OF_DELETED_EVENTS  BIGINT,
+    AMOUNT_OF_CLOSED_REQUESTS BIGINT,
+    CONSTRAINT UK_MODERATOR_ACCOUNT_EMAIL UNIQUE (EMAIL),
+    CONSTRAINT UK_MODERATOR_ACCOUNT_LOGIN UNIQUE (LOGIN)
+);
+
+CREATE TABLE USER_ACCOUNT
+(
+    ID                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME                  VARCHAR(255) NOT NULL,
+    LAST_NAME             VARCHAR(255) NOT NULL,
+    MIDDLE_NAME           VARCHAR(255),
+    LOGIN                 VARCHAR(255) NOT NULL,
+    EMAIL                 VARCHAR(255) NOT NULL,
+    PASSWORD              VARCHAR(255) NOT NULL,
+    ACCOUNT_CREATED_TIME  DATE         NOT NULL,
+    LAST_ACCOUNT_ACTIVITY TIMESTAMP    NOT NULL,
+    ROLE                  INTEGER,
+    CITY                  VARCHAR(255),
+    AGE                   INTEGER      NOT NULL,
+    ABOUT_USER            VARCHAR(255),
+    UNREAD_MESSAGES       BIGINT,
+    CONSTRAINT UK_USER_ACCOUNT_EMAIL UNIQUE (EMAIL),
+    CONSTRAINT UK_USER_ACCOUNT_LOGIN UNIQUE (LOGIN)
+);
+
+CREATE TABLE INTERESTS
+(
+    ID                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    TITLE             VARCHAR(255) NOT NULL,
+    SHORT_DESCRIPTION VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE EVENT_TYPE
+(
+    ID   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    TYPE VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE STATUS
+(
+    ID     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    STATUS VARCHAR(255)
+);
+
+CREATE TABLE EVENT
+(
+    ID                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    EVENT_NAME        VARCHAR(255) NOT NULL,
+    DESCRIPTION_EVENT VARCHAR(255) NOT NULL,
+    PLACE_EVENT       VARCHAR(255) NOT NULL,
+    TIME_EVENT        TIMESTAMP    NOT NULL,
+    EVENT_UPDATE_DATE DATE,
+    USER_ID           BIGINT       NOT NULL,
+    EVENT_TYPE_ID     BIGINT       NOT NULL,
+    STATUS_ID         BIGINT,
+    CONSTRAINT FK_EVENT_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_EVENT_EVENT_TYPE FOREIGN KEY (EVENT_TYPE_ID) REFERENCES EVENT_TYPE (ID),
+    CONSTRAINT FK_EVENT_STATUS FOREIGN KEY (STATUS_ID) REFERENCES STATUS (ID)
+);
+
+CREATE TABLE EVENT_REVIEW
+(
+    REVIEW_ID      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    EVENT_ID       BIGINT NOT NULL,
+    USER_ID        BIGINT NOT NULL,
+    REVIEW_MESSAGE VARCHAR(255),
+    EVENT_GRADE    INTEGER,
+    REVIEW_TIME    TIMESTAMP,
+    CONSTRAINT FK_EVENT_REVIEW_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT (ID),
+    CONSTRAINT FK_EVENT_REVIEW_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID)
+);
+
+CREATE INDEX IDX_EVENT_REVIEW_EVENT_TIME ON EVENT_REVIEW (EVENT_ID, REVIEW_TIME, REVIEW_ID);
+
+CREATE TABLE USER_MESSAGE
+(
+    ID                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    MESSAGE               VARCHAR(255),
+    STATUS                VARCHAR(255),
+    MESSAGE_OWNER         BIGINT,
+    MESSAGE_CREATION_TIME TIMESTAMP,
+    MESSAGE_READ_TIME     TIMESTAMP,
+    CONSTRAINT FK_USER_MESSAGE_OWNER FOREIGN KEY (MESSAGE_OWNER) REFERENCES USER_ACCOUNT (ID)
+);
+
+CREATE TABLE MODERATION_TASK
+(
+    ID               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    EVENT_ID         BIGINT      NOT NULL,
+    STATE            VARCHAR(16) NOT NULL,
+    PRIORITY         BIGINT      NOT NULL,
+    REPORTER_COUNT   INTEGER     NOT NULL,
+    EVENT_START_TIME TIMESTAMP   NOT NULL,
+    CREATED_TIME     TIMESTAMP   NOT NULL,
+    MODERATOR_ID     BIGINT,
+    LEASE_UNTIL      TIMESTAMP,
+    CLOSED_TIME      TIMESTAMP,
+    APPROVED         BOOLEAN,
+    REASON           VARCHAR(255)
+);
+
+CREATE INDEX IDX_MODERATION_TASK_STATE_PRIORITY ON MODERATION_TASK (STATE, PRIORITY);
+CREATE INDEX IDX_MODERATION_TASK_EVENT ON MODERATION_TASK (EVENT_ID);
+
+-- Таблицы связей "многие ко многим"
+
+CREATE TABLE USER_ACCOUNT_INTERESTS
+(
+    USER_ID      BIGINT NOT NULL,
+    INTERESTS_ID BIGINT NOT NULL,
+    PRIMARY KEY (USER_ID, INTERESTS_ID),
+    CONSTRAINT FK_USER_ACCOUNT_INTERESTS_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_USER_ACCOUNT_INTERESTS_INTERESTS FOREIGN KEY (INTERESTS_ID) REFERENCES INTERESTS (ID)
+);
+
+CREATE TABLE USER_ACCOUNT_SUBSCRIBERS
+(
+    USER_ID       BIGINT NOT NULL,
+    SUBSCRIBER_ID BIGINT NOT NULL,
+    PRIMARY KEY (USER_ID, SUBSCRIBER_ID),
+    CONSTRAINT FK_USER_ACCOUNT_SUBSCRIBERS_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_USER_ACCOUNT_SUBSCRIBERS_SUBSCRIBER FOREIGN KEY (SUBSCRIBER_ID) REFERENCES USER_ACCOUNT (ID)
+);
+
+CREATE TABLE USER_ACCOUNT_EVENT
+(
+    USER_ID  BIGINT NOT NULL,
+    EVENT_ID BIGINT NOT NULL,
+    PRIMARY KEY (USER_ID, EVENT_ID),
+    CONSTRAINT FK_USER_ACCOUNT_EVENT_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_USER_ACCOUNT_EVENT_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT (ID)
+);
+
+CREATE TABLE USER_ACCOUNT_MESSAGES
+(
+    USER_ID    BIGINT NOT NULL,
+    MESSAGE_ID BIGINT NOT NULL,
+    PRIMARY KEY (USER_ID, MESSAGE_ID),
+    CONSTRAINT FK_USER_ACCOUNT_MESSAGES_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_USER_ACCOUNT_MESSAGES_MESSAGE FOREIGN KEY (MESSAGE_ID) REFERENCES USER_MESSAGE (ID)
+);
+
+CREATE TABLE INTERESTS_EVENT
+(
+    INTERESTS_ID BIGINT NOT NULL,
+    EVENT_ID     BIGINT NOT NULL,
+    PRIMARY KEY (INTERESTS_ID, EVENT_ID),
+    CONSTRAINT FK_INTERESTS_EVENT_INTERESTS FOREIGN KEY (INTERESTS_ID) REFERENCES INTERESTS (ID),
+    CONSTRAINT FK_INTERESTS_EVENT_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT (ID)
+);
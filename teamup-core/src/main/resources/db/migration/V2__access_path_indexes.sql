@@ -0,0 +1,30 @@
+-- Индексы под запросы репозиториев. Первичные ключи таблиц связей покрывают обход только
+-- от первой колонки, поэтому для обратного направления нужен отдельный индекс
+
+-- Мероприятия автора, мероприятия типа, выборки по времени проведения
+CREATE INDEX IDX_EVENT_USER ON EVENT (USER_ID);
+CREATE INDEX IDX_EVENT_EVENT_TYPE ON EVENT (EVENT_TYPE_ID);
+CREATE INDEX IDX_EVENT_TIME ON EVENT (TIME_EVENT);
+CREATE INDEX IDX_EVENT_STATUS ON EVENT (STATUS_ID);
+
+-- Поиск мероприятий по подстроке названия (LIKE '%...%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IDX_EVENT_NAME_TRGM ON EVENT USING GIN (EVENT_NAME gin_trgm_ops);
+
+-- Отзывы пользователя (удаление пользователя проверяет внешний ключ)
+CREATE INDEX IDX_EVENT_REVIEW_USER ON EVENT_REVIEW (USER_ID);
+
+-- Сообщения отправителя, от новых к старым
+CREATE INDEX IDX_USER_MESSAGE_OWNER_TIME ON USER_MESSAGE (MESSAGE_OWNER, MESSAGE_CREATION_TIME);
+
+CREATE INDEX IDX_STATUS_STATUS ON STATUS (STATUS);
+
+-- Задачи модератора в заданном состоянии
+CREATE INDEX IDX_MODERATION_TASK_MODERATOR_STATE ON MODERATION_TASK (MODERATOR_ID, STATE);
+
+-- Обратные направления таблиц связей
+CREATE INDEX IDX_USER_ACCOUNT_INTERESTS_INTERESTS ON USER_ACCOUNT_INTERESTS (INTERESTS_ID, USER_ID);
+CREATE INDEX IDX_USER_ACCOUNT_SUBSCRIBERS_SUBSCRIBER ON USER_ACCOUNT_SUBSCRIBERS (SUBSCRIBER_ID, USER_ID);
+CREATE INDEX IDX_USER_ACCOUNT_EVENT_EVENT ON USER_ACCOUNT_EVENT (EVENT_ID, USER_ID);
+CREATE INDEX IDX_USER_ACCOUNT_MESSAGES_MESSAGE ON USER_ACCOUNT_MESSAGES (MESSAGE_ID, USER_ID);
+CREATE INDEX IDX_INTERESTS_EVENT_EVENT ON INTERESTS_EVENT (EVENT_ID, INTERESTS_ID);
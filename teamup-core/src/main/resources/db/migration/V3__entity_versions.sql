@@ -0,0 +1,6 @@
+-- Версия строки: ETag ответов и оптимистическая блокировка. Увеличивается при каждом изменении строки,
+-- в том числе массовыми UPDATE репозиториев
+ALTER TABLE EVENT ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE USER_ACCOUNT ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ADMIN_ACCOUNT ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MODERATOR_ACCOUNT ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Общие для всех узлов корзины ограничения частоты запросов (teamup.rate-limit.store=postgres).
+-- FULL_AT_US - время в микросекундах от начала эпохи, когда корзина снова заполнится токенами.
+-- Состояние временное: таблица не пишется в WAL и очищается после сбоя, а запас места на странице
+-- и отсутствие индекса по FULL_AT_US позволяют обновлять строки без обновления индексов (HOT)
+CREATE UNLOGGED TABLE RATE_LIMIT_BUCKET
+(
+    BUCKET_KEY VARCHAR(255) NOT NULL PRIMARY KEY,
+    FULL_AT_US BIGINT       NOT NULL
+) WITH (FILLFACTOR = 70);
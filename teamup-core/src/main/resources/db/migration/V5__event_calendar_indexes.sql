@@ -0,0 +1,9 @@
+-- Календарь мероприятий: выборка по периоду TIME_EVENT с keyset-пагинацией по (TIME_EVENT, ID)
+-- и подсчет мероприятий по дням, неделям и месяцам.
+-- Составные индексы заменяют индексы по их первой колонке
+DROP INDEX IDX_EVENT_TIME;
+CREATE INDEX IDX_EVENT_TIME_ID ON EVENT (TIME_EVENT, ID);
+
+-- Календарь мероприятий одного типа, мероприятия типа
+DROP INDEX IDX_EVENT_EVENT_TYPE;
+CREATE INDEX IDX_EVENT_TYPE_TIME ON EVENT (EVENT_TYPE_ID, TIME_EVENT, ID);
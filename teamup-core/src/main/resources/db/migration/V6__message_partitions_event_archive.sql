@@ -0,0 +1,129 @@
+-- Архив мероприятий. Мероприятия, прошедшие больше teamup.archive.event-age-days назад, задача по расписанию
+-- переносит пачками вместе со связями с участниками и интересами, поэтому EVENT и ее индексы содержат
+-- только актуальные мероприятия. Идентификаторы мероприятий сохраняются
+CREATE TABLE EVENT_ARCHIVE
+(
+    ID                BIGINT PRIMARY KEY,
+    EVENT_NAME        VARCHAR(255) NOT NULL,
+    DESCRIPTION_EVENT VARCHAR(255) NOT NULL,
+    PLACE_EVENT       VARCHAR(255) NOT NULL,
+    TIME_EVENT        TIMESTAMP    NOT NULL,
+    EVENT_UPDATE_DATE DATE,
+    USER_ID           BIGINT       NOT NULL,
+    EVENT_TYPE_ID     BIGINT       NOT NULL,
+    STATUS_ID         BIGINT,
+    VERSION           BIGINT       NOT NULL,
+    ARCHIVED_TIME     TIMESTAMP    NOT NULL DEFAULT LOCALTIMESTAMP,
+    CONSTRAINT FK_EVENT_ARCHIVE_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_EVENT_ARCHIVE_EVENT_TYPE FOREIGN KEY (EVENT_TYPE_ID) REFERENCES EVENT_TYPE (ID),
+    CONSTRAINT FK_EVENT_ARCHIVE_STATUS FOREIGN KEY (STATUS_ID) REFERENCES STATUS (ID)
+);
+
+CREATE INDEX IDX_EVENT_ARCHIVE_TIME_ID ON EVENT_ARCHIVE (TIME_EVENT, ID);
+CREATE INDEX IDX_EVENT_ARCHIVE_USER ON EVENT_ARCHIVE (USER_ID);
+
+-- Связи архивных мероприятий читаются по мероприятию, поэтому первичный ключ начинается с EVENT_ID
+CREATE TABLE USER_ACCOUNT_EVENT_ARCHIVE
+(
+    USER_ID  BIGINT NOT NULL,
+    EVENT_ID BIGINT NOT NULL,
+    PRIMARY KEY (EVENT_ID, USER_ID),
+    CONSTRAINT FK_USER_ACCOUNT_EVENT_ARCHIVE_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID),
+    CONSTRAINT FK_USER_ACCOUNT_EVENT_ARCHIVE_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT_ARCHIVE (ID)
+);
+
+CREATE INDEX IDX_USER_ACCOUNT_EVENT_ARCHIVE_USER ON USER_ACCOUNT_EVENT_ARCHIVE (USER_ID, EVENT_ID);
+
+CREATE TABLE INTERESTS_EVENT_ARCHIVE
+(
+    INTERESTS_ID BIGINT NOT NULL,
+    EVENT_ID     BIGINT NOT NULL,
+    PRIMARY KEY (EVENT_ID, INTERESTS_ID),
+    CONSTRAINT FK_INTERESTS_EVENT_ARCHIVE_INTERESTS FOREIGN KEY (INTERESTS_ID) REFERENCES INTERESTS (ID),
+    CONSTRAINT FK_INTERESTS_EVENT_ARCHIVE_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT_ARCHIVE (ID)
+);
+
+-- Отзывы остаются в EVENT_REVIEW и для архивных мероприятий: мероприятие может быть в EVENT или в EVENT_ARCHIVE
+ALTER TABLE EVENT_REVIEW DROP CONSTRAINT FK_EVENT_REVIEW_EVENT;
+
+-- Сообщения секционируются по месяцам создания: индексы текущих секций небольшие, старые секции
+-- не вытесняют из кэша текущие и могут быть отсоединены (DETACH PARTITION) без DELETE.
+-- Первичный ключ секционированной таблицы содержит ключ секционирования, поэтому внешний ключ
+-- USER_ACCOUNT_MESSAGES -> USER_MESSAGE (ID) удаляется
+ALTER TABLE USER_ACCOUNT_MESSAGES DROP CONSTRAINT FK_USER_ACCOUNT_MESSAGES_MESSAGE;
+DROP INDEX IDX_USER_MESSAGE_OWNER_TIME;
+ALTER TABLE USER_MESSAGE RENAME TO USER_MESSAGE_LEGACY;
+ALTER TABLE USER_MESSAGE_LEGACY ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE USER_MESSAGE_LEGACY DROP CONSTRAINT USER_MESSAGE_PKEY;
+ALTER TABLE USER_MESSAGE_LEGACY DROP CONSTRAINT FK_USER_MESSAGE_OWNER;
+
+CREATE TABLE USER_MESSAGE
+(
+    ID                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    MESSAGE               VARCHAR(255),
+    STATUS                VARCHAR(255),
+    MESSAGE_OWNER         BIGINT,
+    MESSAGE_CREATION_TIME TIMESTAMP NOT NULL,
+    MESSAGE_READ_TIME     TIMESTAMP,
+    PRIMARY KEY (ID, MESSAGE_CREATION_TIME),
+    CONSTRAINT FK_USER_MESSAGE_OWNER FOREIGN KEY (MESSAGE_OWNER) REFERENCES USER_ACCOUNT (ID)
+) PARTITION BY RANGE (MESSAGE_CREATION_TIME);
+
+-- Сообщения вне созданных секций
+CREATE TABLE USER_MESSAGE_DEFAULT PARTITION OF USER_MESSAGE DEFAULT;
+
+-- Создает недостающие месячные секции USER_MESSAGE_YYYY_MM с FIRST_MONTH по LAST_MONTH включительно.
+-- Вызывается миграцией и задачей по расписанию, которая создает секции на несколько месяцев вперед.
+-- Месяц, сообщения которого уже попали в секцию по умолчанию, пропускается с предупреждением.
+-- Создание секции ненадолго блокирует USER_MESSAGE, поэтому ожидание блокировки ограничено
+CREATE FUNCTION USER_MESSAGE_CREATE_PARTITIONS(FIRST_MONTH DATE, LAST_MONTH DATE) RETURNS INTEGER AS
+$$
+DECLARE
+    MONTH_START    DATE    := DATE_TRUNC('month', FIRST_MONTH);
+    PARTITION_NAME TEXT;
+    CREATED        INTEGER := 0;
+BEGIN
+    PERFORM SET_CONFIG('lock_timeout', '2s', TRUE);
+    WHILE MONTH_START <= LAST_MONTH
+        LOOP
+            PARTITION_NAME := 'user_message_' || TO_CHAR(MONTH_START, 'YYYY_MM');
+            IF TO_REGCLASS(PARTITION_NAME) IS NULL THEN
+                IF EXISTS(SELECT 1
+                          FROM USER_MESSAGE_DEFAULT
+                          WHERE MESSAGE_CREATION_TIME >= MONTH_START
+                            AND MESSAGE_CREATION_TIME < MONTH_START + INTERVAL '1 month') THEN
+                    RAISE WARNING 'Секция % не создана: сообщения месяца уже в USER_MESSAGE_DEFAULT', PARTITION_NAME;
+                ELSE
+                    EXECUTE FORMAT('CREATE TABLE %I PARTITION OF USER_MESSAGE FOR VALUES FROM (%L) TO (%L)',
+                                   PARTITION_NAME, MONTH_START, MONTH_START + INTERVAL '1 month');
+                    CREATED := CREATED + 1;
+                END IF;
+            END IF;
+            MONTH_START := MONTH_START + INTERVAL '1 month';
+        END LOOP;
+    RETURN CREATED;
+END
+$$ LANGUAGE plpgsql;
+
+-- Сообщения без времени создания получают время прочтения или время миграции
+SELECT USER_MESSAGE_CREATE_PARTITIONS(
+               COALESCE(MIN(COALESCE(MESSAGE_CREATION_TIME, MESSAGE_READ_TIME)), LOCALTIMESTAMP)::DATE,
+               (LOCALTIMESTAMP + INTERVAL '3 months')::DATE)
+FROM USER_MESSAGE_LEGACY;
+
+INSERT INTO USER_MESSAGE (ID, MESSAGE, STATUS, MESSAGE_OWNER, MESSAGE_CREATION_TIME, MESSAGE_READ_TIME)
+SELECT ID,
+       MESSAGE,
+       STATUS,
+       MESSAGE_OWNER,
+       COALESCE(MESSAGE_CREATION_TIME, MESSAGE_READ_TIME, LOCALTIMESTAMP),
+       MESSAGE_READ_TIME
+FROM USER_MESSAGE_LEGACY;
+
+SELECT SETVAL(PG_GET_SERIAL_SEQUENCE('user_message', 'id'), COALESCE(MAX(ID), 0) + 1, FALSE)
+FROM USER_MESSAGE;
+
+DROP TABLE USER_MESSAGE_LEGACY;
+
+-- Индексы секционированной таблицы создаются в каждой секции, в том числе в будущих
+CREATE INDEX IDX_USER_MESSAGE_OWNER_TIME ON USER_MESSAGE (MESSAGE_OWNER, MESSAGE_CREATION_TIME);
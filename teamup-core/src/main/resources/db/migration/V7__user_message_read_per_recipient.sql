@@ -0,0 +1,10 @@
+-- Сообщение может получить несколько пользователей, поэтому время прочтения хранится
+-- у каждого получателя, а не в общей строке USER_MESSAGE.
+-- Прочитанные ранее сообщения остаются прочитанными у всех получателей
+ALTER TABLE USER_ACCOUNT_MESSAGES ADD COLUMN READ_TIME TIMESTAMP;
+
+UPDATE USER_ACCOUNT_MESSAGES r
+SET READ_TIME = m.MESSAGE_READ_TIME
+FROM USER_MESSAGE m
+WHERE m.ID = r.MESSAGE_ID
+  AND m.MESSAGE_READ_TIME IS NOT NULL;
@@ -0,0 +1,35 @@
+-- По мероприятию может быть только одна открытая задача модерации.
+-- Лишние открытые задачи, созданные до ограничения, закрываются без решения,
+-- их жалобы переносятся в оставшуюся задачу
+UPDATE MODERATION_TASK t
+SET REPORTER_COUNT = d.REPORTER_COUNT,
+    PRIORITY       = d.PRIORITY
+FROM (SELECT MIN(ID) AS ID, SUM(REPORTER_COUNT) AS REPORTER_COUNT, MIN(PRIORITY) AS PRIORITY
+      FROM MODERATION_TASK
+      WHERE STATE <> 'DONE'
+      GROUP BY EVENT_ID
+      HAVING COUNT(*) > 1) d
+WHERE t.ID = d.ID;
+
+UPDATE MODERATION_TASK t
+SET STATE       = 'DONE',
+    CLOSED_TIME = NOW(),
+    LEASE_UNTIL = NULL
+WHERE t.STATE <> 'DONE'
+  AND EXISTS(SELECT 1
+             FROM MODERATION_TASK o
+             WHERE o.EVENT_ID = t.EVENT_ID
+               AND o.STATE <> 'DONE'
+               AND o.ID < t.ID);
+
+CREATE UNIQUE INDEX UK_MODERATION_TASK_OPEN_EVENT ON MODERATION_TASK (EVENT_ID) WHERE STATE <> 'DONE';
+
+-- Жалобы пользователей: каждый пользователь учитывается в задаче мероприятия один раз
+CREATE TABLE MODERATION_REPORT
+(
+    EVENT_ID    BIGINT       NOT NULL,
+    REPORTER    VARCHAR(128) NOT NULL,
+    REPORT_TIME TIMESTAMP    NOT NULL,
+    PRIMARY KEY (EVENT_ID, REPORTER),
+    CONSTRAINT FK_MODERATION_REPORT_EVENT FOREIGN KEY (EVENT_ID) REFERENCES EVENT (ID) ON DELETE CASCADE
+);
@@ -0,0 +1,93 @@
+-- Отзывы ссылаются на мероприятие в EVENT или в EVENT_ARCHIVE. Внешний ключ не может ссылаться
+-- на две таблицы, поэтому вместо FK_EVENT_REVIEW_EVENT ссылку проверяют триггеры.
+-- Триггеры AFTER выполняются в конце запроса, как и проверки внешних ключей, поэтому перенос
+-- мероприятия в архив одним запросом ссылку не нарушает
+DELETE FROM EVENT_REVIEW r
+WHERE NOT EXISTS(SELECT 1 FROM EVENT e WHERE e.ID = r.EVENT_ID)
+  AND NOT EXISTS(SELECT 1 FROM EVENT_ARCHIVE a WHERE a.ID = r.EVENT_ID);
+
+-- Отзыв можно добавить только к существующему мероприятию. Строка мероприятия блокируется
+-- как при проверке внешнего ключа, поэтому параллельное удаление дождется вставки отзыва
+CREATE FUNCTION EVENT_REVIEW_CHECK_EVENT() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM 1 FROM EVENT WHERE ID = NEW.EVENT_ID FOR KEY SHARE;
+    IF NOT FOUND THEN
+        PERFORM 1 FROM EVENT_ARCHIVE WHERE ID = NEW.EVENT_ID FOR KEY SHARE;
+        IF NOT FOUND THEN
+            RAISE foreign_key_violation USING
+                MESSAGE = FORMAT('Мероприятие %s отзыва не найдено ни в EVENT, ни в EVENT_ARCHIVE', NEW.EVENT_ID);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TR_EVENT_REVIEW_CHECK_EVENT
+    AFTER INSERT OR UPDATE OF EVENT_ID
+    ON EVENT_REVIEW
+    FOR EACH ROW
+EXECUTE FUNCTION EVENT_REVIEW_CHECK_EVENT();
+
+-- Мероприятие с отзывами можно удалить только вместе с переносом в архив и обратно
+CREATE FUNCTION EVENT_REVIEW_CHECK_EVENT_DELETE() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF EXISTS(SELECT 1 FROM EVENT_REVIEW WHERE EVENT_ID = OLD.ID)
+        AND NOT EXISTS(SELECT 1 FROM EVENT WHERE ID = OLD.ID)
+        AND NOT EXISTS(SELECT 1 FROM EVENT_ARCHIVE WHERE ID = OLD.ID) THEN
+        RAISE foreign_key_violation USING
+            MESSAGE = FORMAT('На мероприятие %s ссылаются отзывы EVENT_REVIEW', OLD.ID);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TR_EVENT_CHECK_REVIEWS
+    AFTER DELETE
+    ON EVENT
+    FOR EACH ROW
+EXECUTE FUNCTION EVENT_REVIEW_CHECK_EVENT_DELETE();
+
+CREATE TRIGGER TR_EVENT_ARCHIVE_CHECK_REVIEWS
+    AFTER DELETE
+    ON EVENT_ARCHIVE
+    FOR EACH ROW
+EXECUTE FUNCTION EVENT_REVIEW_CHECK_EVENT_DELETE();
+
+-- Задачи модерации архивных мероприятий закрываются без решения: архив не модерируется
+UPDATE MODERATION_TASK t
+SET STATE       = 'DONE',
+    CLOSED_TIME = LOCALTIMESTAMP,
+    LEASE_UNTIL = NULL
+WHERE t.STATE <> 'DONE'
+  AND EXISTS(SELECT 1 FROM EVENT_ARCHIVE a WHERE a.ID = t.EVENT_ID);
+
+-- Получатель хранит время создания сообщения, и внешний ключ ссылается на первичный ключ
+-- секционированной USER_MESSAGE (ID, MESSAGE_CREATION_TIME). Строки получателей без сообщения,
+-- оставшиеся без внешнего ключа, удаляются вместе с их вкладом в счетчик непрочитанных.
+-- Секцию USER_MESSAGE можно отсоединить только после удаления получателей ее сообщений
+WITH ORPHANS AS (
+    DELETE FROM USER_ACCOUNT_MESSAGES r
+        WHERE NOT EXISTS(SELECT 1 FROM USER_MESSAGE m WHERE m.ID = r.MESSAGE_ID)
+        RETURNING USER_ID, READ_TIME)
+UPDATE USER_ACCOUNT u
+SET UNREAD_MESSAGES = GREATEST(COALESCE(u.UNREAD_MESSAGES, 0) - o.UNREAD, 0)
+FROM (SELECT USER_ID, COUNT(*) AS UNREAD FROM ORPHANS WHERE READ_TIME IS NULL GROUP BY USER_ID) o
+WHERE u.ID = o.USER_ID;
+
+ALTER TABLE USER_ACCOUNT_MESSAGES ADD COLUMN MESSAGE_CREATION_TIME TIMESTAMP;
+
+UPDATE USER_ACCOUNT_MESSAGES r
+SET MESSAGE_CREATION_TIME = m.MESSAGE_CREATION_TIME
+FROM USER_MESSAGE m
+WHERE m.ID = r.MESSAGE_ID;
+
+ALTER TABLE USER_ACCOUNT_MESSAGES ALTER COLUMN MESSAGE_CREATION_TIME SET NOT NULL;
+
+ALTER TABLE USER_ACCOUNT_MESSAGES
+    ADD CONSTRAINT FK_USER_ACCOUNT_MESSAGES_MESSAGE FOREIGN KEY (MESSAGE_ID, MESSAGE_CREATION_TIME)
+        REFERENCES USER_MESSAGE (ID, MESSAGE_CREATION_TIME);
+
+-- Входящие пользователя, от новых к старым, без обращения к USER_MESSAGE за порядком
+CREATE INDEX IDX_USER_ACCOUNT_MESSAGES_USER_TIME ON USER_ACCOUNT_MESSAGES (USER_ID, MESSAGE_CREATION_TIME, MESSAGE_ID);
@@ -0,0 +1,282 @@
+package ru.team.up.core.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Выбор пула для транзакций. Основная БД, реплика и пул фоновых задач заменены заглушками DataSource,
+ * отставание реплики задается результатом запроса {@link ReplicaLagMonitor#LAG_QUERY}
+ */
+class PoolRoutingDataSourceTest {
+    private static final long MAX_LAG_MS = 5000;
+    private static final long STICKINESS_MS = 3000;
+
+    private DataSource primary;
+    private DataSource replica;
+    private ResultSet lagResult;
+    private Clock clock;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker readYourWrites;
+    private DataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSource(mock(ResultSet.class));
+        lagResult = mock(ResultSet.class);
+        replica = dataSource(lagResult);
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1_000_000L);
+
+        lagMonitor = new ReplicaLagMonitor(replica, MAX_LAG_MS);
+        readYourWrites = new ReadYourWritesTracker(STICKINESS_MS, clock);
+        dataSource = new RoutingDataSource(new PoolRoutingDataSource(primary, replica, null, lagMonitor,
+                readYourWrites));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws SQLException {
+        replicaLag(100);
+
+        executeQuery(true);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() throws SQLException {
+        replicaLag(0);
+
+        executeQuery(false);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void queryWithoutTransactionUsesPrimary() throws SQLException {
+        replicaLag(0);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        replicaLag(MAX_LAG_MS + 1);
+
+        executeQuery(true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+        assertEquals(MAX_LAG_MS + 1, lagMonitor.getLagMs());
+    }
+
+    @Test
+    void failedLagCheckFallsBackToPrimary() throws SQLException {
+        replicaLag(0);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        lagMonitor.check();
+        clearInvocations(primary, replica);
+
+        executeQuery(true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+        assertFalse(lagMonitor.isAvailable());
+    }
+
+    @Test
+    void unknownLagFallsBackToPrimary() throws SQLException {
+        when(lagResult.wasNull()).thenReturn(true);
+        lagMonitor.check();
+        clearInvocations(primary, replica);
+
+        executeQuery(true);
+
+        verify(primary).getConnection();
+        assertFalse(lagMonitor.isAvailable());
+    }
+
+    @Test
+    void sessionReadsFromPrimaryAfterWrite() throws SQLException {
+        replicaLag(0);
+        AtomicLong primaryUntil = new AtomicLong();
+        readYourWrites.begin(primaryUntil);
+        try {
+            executeQuery(false);
+            assertEquals(1_000_000L + STICKINESS_MS, primaryUntil.get());
+            clearInvocations(primary, replica);
+
+            when(clock.millis()).thenReturn(1_000_000L + STICKINESS_MS - 1);
+            executeQuery(true);
+            verify(primary).getConnection();
+            verify(replica, never()).getConnection();
+            clearInvocations(primary, replica);
+
+            when(clock.millis()).thenReturn(1_000_000L + STICKINESS_MS);
+            executeQuery(true);
+            verify(replica).getConnection();
+            verify(primary, never()).getConnection();
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinSession() throws SQLException {
+        replicaLag(0);
+        AtomicLong primaryUntil = new AtomicLong();
+        readYourWrites.begin(primaryUntil);
+        try {
+            transactionTemplate.execute(status -> {
+                createStatement();
+                status.setRollbackOnly();
+                return null;
+            });
+
+            assertEquals(0, primaryUntil.get());
+            assertFalse(readYourWrites.isPrimaryRequired());
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    @Test
+    void writeWithoutSessionDoesNotPinThread() throws SQLException {
+        replicaLag(0);
+
+        executeQuery(false);
+        clearInvocations(primary, replica);
+        executeQuery(true);
+
+        verify(replica).getConnection();
+        assertFalse(readYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void replicaBecomesAvailableAfterCatchingUp() throws SQLException {
+        replicaLag(MAX_LAG_MS * 2);
+        assertFalse(lagMonitor.isAvailable());
+
+        replicaLag(MAX_LAG_MS);
+        assertTrue(lagMonitor.isAvailable());
+    }
+
+    @Test
+    void backgroundThreadUsesJobsPool() throws SQLException {
+        DataSource jobs = dataSource(mock(ResultSet.class));
+        useJobsPool(jobs);
+        replicaLag(0);
+
+        executeQuery(false);
+        executeQuery(true);
+
+        verify(jobs, times(2)).getConnection();
+        verify(primary, never()).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void httpRequestDoesNotUseJobsPool() throws SQLException {
+        DataSource jobs = dataSource(mock(ResultSet.class));
+        useJobsPool(jobs);
+        replicaLag(0);
+
+        RequestContextHolder.setRequestAttributes(mock(RequestAttributes.class));
+        try {
+            executeQuery(false);
+            executeQuery(true);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        verify(primary).getConnection();
+        verify(replica).getConnection();
+        verify(jobs, never()).getConnection();
+    }
+
+    @Test
+    void primaryWithoutReplicaServesReadOnlyTransactions() throws SQLException {
+        dataSource = new RoutingDataSource(new PoolRoutingDataSource(primary, null, null, null, null));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        clearInvocations(primary);
+
+        executeQuery(true);
+
+        verify(primary).getConnection();
+    }
+
+    private void useJobsPool(DataSource jobs) {
+        dataSource = new RoutingDataSource(new PoolRoutingDataSource(primary, replica, jobs, lagMonitor,
+                readYourWrites));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        clearInvocations(jobs);
+    }
+
+    /**
+     * Выполняет проверку отставания реплики с заданным результатом и сбрасывает учет вызовов заглушек
+     */
+    private void replicaLag(long lagMs) throws SQLException {
+        when(lagResult.getLong(1)).thenReturn(lagMs);
+        lagMonitor.check();
+        clearInvocations(primary, replica);
+    }
+
+    private void executeQuery(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.execute(status -> {
+            createStatement();
+            return null;
+        });
+    }
+
+    private void createStatement() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource(ResultSet resultSet) throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
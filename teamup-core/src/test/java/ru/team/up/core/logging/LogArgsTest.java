@@ -0,0 +1,68 @@
+package ru.team.up.core.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тест аргументов журнала
+ */
+class LogArgsTest {
+
+    @Test
+    void entitiesAreLoggedByTypeAndId() {
+        assertEquals("Event#5", LogArgs.entity(Event.builder().id(5L).build()).toString());
+        assertEquals("User#7", LogArgs.entity(User.builder().id(7L).build()).toString());
+        assertEquals("null", LogArgs.entity(null).toString());
+    }
+
+    @Test
+    void collectionsAreLoggedBySizeAndFirstIds() {
+        List<Event> events = new ArrayList<>();
+        for (long i = 1; i <= 12; i++) {
+            events.add(Event.builder().id(i).build());
+        }
+
+        String logged = LogArgs.entities(events).toString();
+
+        assertTrue(logged.startsWith("12 шт. [Event#1, Event#2"));
+        assertTrue(logged.endsWith("Event#10, ...]"));
+    }
+
+    @Test
+    void responseIsLoggedByStatusAndBody() {
+        assertEquals("200 OK 1 шт. [Event#3]",
+                LogArgs.response(ResponseEntity.ok(Collections.singletonList(Event.builder().id(3L).build())))
+                        .toString());
+    }
+
+    @Test
+    void lazyArgumentIsComputedOnlyWhenLogged() {
+        AtomicInteger calls = new AtomicInteger();
+        Object argument = LogArgs.lazy(calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        assertEquals("1", argument.toString());
+    }
+
+    @Test
+    void samplerPassesOneOfRate() {
+        LogSampler sampler = new LogSampler(3);
+        int passed = 0;
+        for (int i = 0; i < 9; i++) {
+            if (sampler.sample()) {
+                passed++;
+            }
+        }
+        assertEquals(3, passed);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.team.up.core.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.team.up.core.entity.Admin;
+import ru.team.up.core.exception.UserNotFoundException;
+import ru.team.up.core.service.AdminService;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест метрик вызовов сервисов: таймер и размер результата, теги ошибки,
+ * один таймер на сочетание тегов без процентилей на стороне клиента
+ */
+class MetricsAspectTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdminService adminService;
+
+    private AdminService target;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+
+        target = Mockito.mock(AdminService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(AdminService.class);
+        factory.addAspect(new MetricsAspect(provider));
+        adminService = factory.getProxy();
+    }
+
+    @Test
+    void successfulCallIsTimedWithResultSize() {
+        List<Admin> admins = Arrays.asList(new Admin(), new Admin());
+        when(target.getAllAdmins()).thenReturn(admins);
+
+        adminService.getAllAdmins();
+
+        Timer timer = registry.get(MetricsAspect.SERVICE_METRIC)
+                .tag("operation", "getAllAdmins")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(2, registry.get(MetricsAspect.SERVICE_METRIC + MetricsAspect.RESULT_SIZE_SUFFIX)
+                .tag("operation", "getAllAdmins")
+                .summary()
+                .totalAmount());
+    }
+
+    @Test
+    void repeatedCallsShareOneTimerWithoutClientPercentiles() {
+        when(target.getAllAdmins()).thenReturn(Arrays.asList(new Admin()));
+
+        adminService.getAllAdmins();
+        adminService.getAllAdmins();
+
+        Timer timer = registry.get(MetricsAspect.SERVICE_METRIC).tag("operation", "getAllAdmins").timer();
+        assertEquals(1, registry.get(MetricsAspect.SERVICE_METRIC).tag("operation", "getAllAdmins").timers().size());
+        assertEquals(2, timer.count());
+        assertEquals(0, timer.takeSnapshot().percentileValues().length);
+        assertEquals(0, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void failedCallIsTaggedWithOutcome() {
+        when(target.getOneAdmin(1L)).thenThrow(new UserNotFoundException(1L));
+
+        assertThrows(UserNotFoundException.class, () -> adminService.getOneAdmin(1L));
+
+        assertEquals(1, registry.get(MetricsAspect.SERVICE_METRIC)
+                .tag("operation", "getOneAdmin")
+                .tag("outcome", "client_error")
+                .tag("exception", "UserNotFoundException")
+                .timer()
+                .count());
+    }
+}
@@ -0,0 +1,108 @@
+package ru.team.up.core.monitoring;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.team.up.core.exception.SqlBudgetExceededException;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тест учета SQL-запросов по HTTP-обработчикам
+ */
+class SqlStatisticsTest {
+    private static final String ENDPOINT = "GET:/api/public/event/{id}";
+
+    private final SqlMonitoringProperties properties = new SqlMonitoringProperties();
+    private SqlStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        properties.getBudget().getEndpoints().put(ENDPOINT, 2);
+        statistics = new SqlStatistics(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.end();
+    }
+
+    @Test
+    void queriesAreAttributedToEndpoint() {
+        statistics.begin(() -> ENDPOINT);
+        statistics.record("select 1", 3, false);
+        statistics.record("select 2", 300, true);
+        SqlRequestContext context = statistics.end();
+
+        assertEquals(2, context.getQueries());
+        assertEquals(303, context.getElapsedMillis());
+        assertFalse(context.isBudgetExceeded());
+
+        SqlStatistics.EndpointSummary summary = statistics.summary().getEndpoints().get(ENDPOINT);
+        assertEquals(1, summary.getRequests());
+        assertEquals(2, summary.getQueries());
+        assertEquals(1, summary.getSlowQueries());
+        assertEquals(2, summary.getBudget());
+        assertEquals("select 2", statistics.summary().getTopStatements().get(0).getSql());
+    }
+
+    @Test
+    void queriesBeforeHandlerMappingAreUnmappedUntilEndpointIsKnown() {
+        String[] endpoint = {null};
+        statistics.begin(() -> endpoint[0]);
+        statistics.record("select 1", 1, false);
+        statistics.record("select 1", 1, false);
+        statistics.record("select 1", 1, false);
+        endpoint[0] = ENDPOINT;
+        statistics.record("select 1", 1, false);
+
+        assertTrue(statistics.end().isBudgetExceeded());
+        assertEquals(1, statistics.summary().getEndpoints().get(ENDPOINT).getBudgetExceeded());
+    }
+
+    @Test
+    void budgetFailModeThrows() {
+        properties.getBudget().setMode(SqlMonitoringProperties.BudgetMode.FAIL);
+        statistics.begin(() -> ENDPOINT);
+        statistics.record("select 1", 1, false);
+        statistics.record("select 1", 1, false);
+
+        assertThrows(SqlBudgetExceededException.class, () -> statistics.record("select 1", 1, false));
+    }
+
+    @Test
+    void queriesOutsideRequestAreCountedByStatementOnly() {
+        properties.setMaxTrackedStatements(1);
+
+        statistics.record("select 1", 1, false);
+        statistics.record("select 2", 1, false);
+
+        assertTrue(statistics.summary().getEndpoints().isEmpty());
+        assertEquals(1, statistics.summary().getTopStatements().size());
+        assertEquals(1, statistics.summary().getUntrackedStatements());
+    }
+
+    @Test
+    void parameterShapesDoNotContainValues() throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo("select * from event where id = ? and event_name = ? and status_id = ?");
+        queryInfo.setParametersList(Collections.singletonList(Arrays.asList(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[]{1, 42L}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{2, "secret"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[]{3, Types.BIGINT}))));
+
+        assertEquals("[1:Long, 2:String(6), 3:null]", SqlQueryListener.parameterShapes(queryInfo));
+    }
+}
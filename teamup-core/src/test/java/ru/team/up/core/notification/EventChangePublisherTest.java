@@ -0,0 +1,70 @@
+package ru.team.up.core.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.notification.EventChangeNotification.ChangeType;
+import ru.team.up.core.repositories.UserRepository;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест уведомлений об изменении мероприятия: получатели - участники и автор
+ */
+@ExtendWith(MockitoExtension.class)
+class EventChangePublisherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EventChangePublisher eventChangePublisher;
+
+    @Test
+    void statusChangeIsSentToParticipantsAndAuthor() {
+        when(userRepository.findParticipantIds(1L)).thenReturn(Set.of(3L, 4L));
+        Event event = Event.builder().id(1L).authorId(User.builder().id(2L).build())
+                .status(Status.builder().status(Status.TO_REVIEW).build()).build();
+
+        eventChangePublisher.publishStatusChange(event, Status.PUBLISHED);
+
+        EventChangeNotification notification = published();
+        assertEquals(ChangeType.STATUS_CHANGED, notification.getChangeType());
+        assertEquals(Status.PUBLISHED, notification.getStatus());
+        assertNull(notification.getUserId());
+        assertEquals(Set.of(2L, 3L, 4L), notification.getRecipientIds());
+    }
+
+    @Test
+    void participantChangeIsSentToTheParticipant() {
+        when(userRepository.findParticipantIds(1L)).thenReturn(Set.of());
+        Event event = Event.builder().id(1L).status(Status.builder().status(Status.PUBLISHED).build()).build();
+
+        eventChangePublisher.publish(event, ChangeType.PARTICIPANT_LEFT, 5L);
+
+        EventChangeNotification notification = published();
+        assertEquals(Status.PUBLISHED, notification.getStatus());
+        assertEquals(Set.of(5L), notification.getRecipientIds());
+    }
+
+    private EventChangeNotification published() {
+        ArgumentCaptor<EventChangeNotification> captor = ArgumentCaptor.forClass(EventChangeNotification.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.team.up.core.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Перенос мероприятий в архив сохраняет ссылки на них: отзывы ссылаются на мероприятие в EVENT
+ * или в EVENT_ARCHIVE, открытые задачи модерации архивных мероприятий закрываются тем же запросом.
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventArchiveIntegrityTest {
+    private static final long USER_ID = 1L;
+    private static final long PAST_ID = 1L;
+    private static final long FUTURE_ID = 2L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void pastAndFutureEvents() {
+        jdbcTemplate.update("INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, LOGIN, EMAIL, PASSWORD, " +
+                "ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, AGE, UNREAD_MESSAGES) " +
+                "VALUES (?, 'Имя', 'Фамилия', 'user', 'user@mail.ru', 'password', CURRENT_DATE, NOW(), 30, 0)",
+                USER_ID);
+        jdbcTemplate.update("INSERT INTO EVENT_TYPE (ID, TYPE) VALUES (1, 'Конференция')");
+        insertEvent(PAST_ID, NOW.minusDays(1));
+        insertEvent(FUTURE_ID, NOW.plusDays(1));
+        insertReview(PAST_ID);
+        jdbcTemplate.update("INSERT INTO MODERATION_TASK (EVENT_ID, STATE, PRIORITY, REPORTER_COUNT, " +
+                "EVENT_START_TIME, CREATED_TIME) VALUES (?, 'NEW', 0, 1, ?, ?)", PAST_ID, NOW.minusDays(1), NOW);
+    }
+
+    @Test
+    void archivedEventKeepsReviewsAndClosesTasks() {
+        assertEquals(1, eventRepository.archiveEventsBefore(NOW, 10));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM EVENT_ARCHIVE WHERE ID = " + PAST_ID));
+        assertEquals(1, count("SELECT COUNT(*) FROM EVENT_REVIEW WHERE EVENT_ID = " + PAST_ID));
+        assertEquals(0, count("SELECT COUNT(*) FROM MODERATION_TASK WHERE STATE <> 'DONE'"));
+
+        insertReview(PAST_ID);
+        assertEquals(2, count("SELECT COUNT(*) FROM EVENT_REVIEW WHERE EVENT_ID = " + PAST_ID));
+    }
+
+    @Test
+    void reviewOfMissingEventIsRejected() {
+        assertThrows(DataIntegrityViolationException.class, () -> insertReview(100L));
+    }
+
+    @Test
+    void reviewCannotBeMovedToMissingEvent() {
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("UPDATE EVENT_REVIEW SET EVENT_ID = 100"));
+    }
+
+    @Test
+    void eventWithReviewsCannotBeDeleted() {
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("DELETE FROM EVENT WHERE ID = ?", PAST_ID));
+    }
+
+    @Test
+    void archivedEventWithReviewsCannotBeDeleted() {
+        eventRepository.archiveEventsBefore(NOW, 10);
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("DELETE FROM EVENT_ARCHIVE WHERE ID = ?", PAST_ID));
+    }
+
+    private void insertEvent(long id, LocalDateTime time) {
+        jdbcTemplate.update("INSERT INTO EVENT (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, " +
+                "USER_ID, EVENT_TYPE_ID) VALUES (?, 'JOKER', 'Описание', 'Москва', ?, ?, 1)", id, time, USER_ID);
+    }
+
+    private void insertReview(long eventId) {
+        jdbcTemplate.update("INSERT INTO EVENT_REVIEW (EVENT_ID, USER_ID, REVIEW_MESSAGE, EVENT_GRADE, REVIEW_TIME) " +
+                "VALUES (?, ?, 'Отлично', 5, ?)", eventId, USER_ID, NOW);
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
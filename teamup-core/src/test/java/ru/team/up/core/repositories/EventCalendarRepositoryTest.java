@@ -0,0 +1,185 @@
+package ru.team.up.core.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Запросы календаря на PostgreSQL: keyset-пагинация по (TIME_EVENT, ID) не теряет и не повторяет
+ * мероприятия с одинаковым временем на границе страниц, в том числе при объединении с архивом,
+ * и подсчет по дням, неделям и месяцам (DATE_TRUNC).
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventCalendarRepositoryTest {
+    private static final long USER_ID = 1L;
+    private static final long ARCHIVED_ID = 8L;
+    private static final int PAGE_SIZE = 2;
+
+    /**
+     * Понедельник: три мероприятия в одно время и одно позже в тот же день
+     */
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private static final EventCalendarFilter JANUARY_AND_FEBRUARY = EventCalendarFilter.builder()
+            .from(LocalDateTime.of(2030, 1, 1, 0, 0))
+            .to(LocalDateTime.of(2030, 3, 1, 0, 0))
+            .build();
+
+    private static final EventCalendarFilter WITH_ARCHIVE = EventCalendarFilter.builder()
+            .from(JANUARY_AND_FEBRUARY.getFrom())
+            .to(JANUARY_AND_FEBRUARY.getTo())
+            .includeArchived(true)
+            .build();
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void calendar() {
+        jdbcTemplate.update("INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, LOGIN, EMAIL, PASSWORD, " +
+                "ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, AGE, UNREAD_MESSAGES) " +
+                "VALUES (?, 'Имя', 'Фамилия', 'user', 'user@mail.ru', 'password', CURRENT_DATE, NOW(), 30, 0)",
+                USER_ID);
+        jdbcTemplate.update("INSERT INTO EVENT_TYPE (ID, TYPE) VALUES (1, 'Конференция')");
+
+        insertEvent("EVENT", 1L, MONDAY);
+        insertEvent("EVENT", 2L, MONDAY);
+        insertEvent("EVENT", 3L, MONDAY);
+        insertEvent("EVENT", 4L, MONDAY.plusHours(2));
+        insertEvent("EVENT", 5L, MONDAY.plusDays(2));
+        insertEvent("EVENT", 6L, MONDAY.plusWeeks(1));
+        insertEvent("EVENT", 7L, LocalDateTime.of(2030, 2, 1, 10, 0));
+        insertEvent("EVENT", 9L, LocalDateTime.of(2030, 3, 1, 0, 0));
+        insertEvent("EVENT_ARCHIVE", ARCHIVED_ID, MONDAY);
+    }
+
+    @Test
+    void keysetPagesSplitEqualTimestamps() {
+        List<List<Long>> pages = pages(JANUARY_AND_FEBRUARY);
+
+        assertEquals(Arrays.asList(Arrays.asList(1L, 2L), Arrays.asList(3L, 4L), Arrays.asList(5L, 6L),
+                Arrays.asList(7L)), pages);
+    }
+
+    @Test
+    void keysetPagesMergeArchiveWithEqualTimestamps() {
+        List<List<Long>> pages = pages(WITH_ARCHIVE);
+
+        assertEquals(Arrays.asList(Arrays.asList(1L, 2L), Arrays.asList(3L, ARCHIVED_ID), Arrays.asList(4L, 5L),
+                Arrays.asList(6L, 7L)), pages);
+    }
+
+    @Test
+    void countsByDay() {
+        assertEquals(Arrays.asList(
+                bucket(2030, 1, 7, 4),
+                bucket(2030, 1, 9, 1),
+                bucket(2030, 1, 14, 1),
+                bucket(2030, 2, 1, 1)),
+                eventRepository.countCalendarBuckets(JANUARY_AND_FEBRUARY, CalendarUnit.DAY));
+    }
+
+    @Test
+    void countsByWeekFromMonday() {
+        assertEquals(Arrays.asList(
+                bucket(2030, 1, 7, 5),
+                bucket(2030, 1, 14, 1),
+                bucket(2030, 1, 28, 1)),
+                eventRepository.countCalendarBuckets(JANUARY_AND_FEBRUARY, CalendarUnit.WEEK));
+    }
+
+    @Test
+    void countsByMonth() {
+        assertEquals(Arrays.asList(
+                bucket(2030, 1, 1, 6),
+                bucket(2030, 2, 1, 1)),
+                eventRepository.countCalendarBuckets(JANUARY_AND_FEBRUARY, CalendarUnit.MONTH));
+        assertEquals(Arrays.asList(
+                bucket(2030, 1, 1, 7),
+                bucket(2030, 2, 1, 1)),
+                eventRepository.countCalendarBuckets(WITH_ARCHIVE, CalendarUnit.MONTH));
+    }
+
+    /**
+     * Читает календарь страницами, передавая время и идентификатор последнего мероприятия страницы
+     */
+    private List<List<Long>> pages(EventCalendarFilter filter) {
+        List<List<Long>> pages = new ArrayList<>();
+        LocalDateTime afterTime = null;
+        Long afterId = null;
+        while (true) {
+            List<EventCalendarCard> cards = eventRepository.findCalendarCards(filter, afterTime, afterId, PAGE_SIZE);
+            if (cards.isEmpty()) {
+                return pages;
+            }
+            assertTrue(cards.size() <= PAGE_SIZE);
+            List<Long> page = new ArrayList<>();
+            for (EventCalendarCard card : cards) {
+                page.add(card.getId());
+            }
+            pages.add(page);
+            EventCalendarCard last = cards.get(cards.size() - 1);
+            afterTime = last.getTimeEvent();
+            afterId = last.getId();
+        }
+    }
+
+    private void insertEvent(String table, long id, LocalDateTime time) {
+        jdbcTemplate.update("INSERT INTO " + table + " (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, " +
+                "USER_ID, EVENT_TYPE_ID, VERSION) VALUES (?, 'JOKER', 'Описание', 'Москва', ?, ?, 1, 0)",
+                id, time, USER_ID);
+    }
+
+    private static EventCalendarBucket bucket(int year, int month, int day, long events) {
+        return new EventCalendarBucket(LocalDateTime.of(year, month, day, 0, 0), events);
+    }
+}
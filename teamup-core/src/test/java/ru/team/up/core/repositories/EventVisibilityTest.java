@@ -0,0 +1,149 @@
+package ru.team.up.core.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+import ru.team.up.core.service.EventViewer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Мероприятия на проверке (pending, to-review) не возвращаются запросами чтения другим пользователям
+ * и не попадают в календарь, автор и модераторы их видят.
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventVisibilityTest {
+    private static final long AUTHOR_ID = 1L;
+    private static final long OTHER_ID = 2L;
+    private static final long PUBLISHED_ID = 1L;
+    private static final long PENDING_ID = 2L;
+    private static final long TO_REVIEW_ID = 3L;
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private static final EventViewer OTHER = new EventViewer(false, OTHER_ID);
+    private static final EventViewer AUTHOR = new EventViewer(false, AUTHOR_ID);
+    private static final EventViewer MODERATOR = new EventViewer(true, null);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void publishedAndHiddenEvents() {
+        for (long id : new long[]{AUTHOR_ID, OTHER_ID}) {
+            jdbcTemplate.update("INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, LOGIN, EMAIL, PASSWORD, " +
+                    "ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, AGE, UNREAD_MESSAGES) " +
+                    "VALUES (?, 'Имя', 'Фамилия', ?, ?, 'password', CURRENT_DATE, NOW(), 30, 0)",
+                    id, "user" + id, "user" + id + "@mail.ru");
+        }
+        jdbcTemplate.update("INSERT INTO EVENT_TYPE (ID, TYPE) VALUES (1, 'Конференция')");
+        jdbcTemplate.update("INSERT INTO STATUS (ID, STATUS) VALUES (1, ?), (2, ?), (3, ?)",
+                Status.PUBLISHED, Status.PENDING, Status.TO_REVIEW);
+        for (long id : new long[]{PUBLISHED_ID, PENDING_ID, TO_REVIEW_ID}) {
+            jdbcTemplate.update("INSERT INTO EVENT (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, " +
+                    "USER_ID, EVENT_TYPE_ID, STATUS_ID) VALUES (?, ?, 'Описание', 'Москва', ?, ?, 1, ?)",
+                    id, "JOKER " + id, TIME, AUTHOR_ID, id);
+        }
+    }
+
+    @Test
+    void pendingEventIsNotReturnedToOtherUsers() {
+        assertFalse(eventRepository.findVisibleById(PENDING_ID, OTHER).isPresent());
+        assertFalse(eventRepository.findVisibleById(TO_REVIEW_ID, OTHER).isPresent());
+        assertTrue(eventRepository.findVisibleById(PUBLISHED_ID, OTHER).isPresent());
+
+        assertEquals(Collections.singletonList(PUBLISHED_ID), ids(eventRepository.findAllVisible(OTHER)));
+        assertEquals(Collections.singletonList(PUBLISHED_ID),
+                ids(eventRepository.findByEventNameContaining("JOKER", OTHER)));
+        assertEquals(Collections.singletonList(PUBLISHED_ID),
+                ids(eventRepository.findAllByAuthorId(eventRepository.getOne(PUBLISHED_ID).getAuthorId(), OTHER)));
+    }
+
+    @Test
+    void versionOfPendingEventIsNotReturnedToOtherUsers() {
+        assertFalse(eventRepository.findVisibleVersionById(PENDING_ID, OTHER).isPresent());
+        assertFalse(eventRepository.findVisibleVersionById(TO_REVIEW_ID, OTHER).isPresent());
+        assertTrue(eventRepository.findVisibleVersionById(PUBLISHED_ID, OTHER).isPresent());
+        assertTrue(eventRepository.findVisibleVersionById(PENDING_ID, AUTHOR).isPresent());
+        assertTrue(eventRepository.findVisibleVersionById(TO_REVIEW_ID, MODERATOR).isPresent());
+    }
+
+    @Test
+    void authorAndModeratorSeePendingEvents() {
+        List<Long> all = Arrays.asList(PUBLISHED_ID, PENDING_ID, TO_REVIEW_ID);
+
+        assertTrue(eventRepository.findVisibleById(PENDING_ID, AUTHOR).isPresent());
+        assertEquals(all, ids(eventRepository.findAllVisible(AUTHOR)));
+        assertEquals(all, ids(eventRepository.findAllVisible(MODERATOR)));
+    }
+
+    @Test
+    void calendarSkipsPendingEvents() {
+        EventCalendarFilter filter = EventCalendarFilter.builder()
+                .from(TIME.minusDays(1))
+                .to(TIME.plusDays(1))
+                .build();
+
+        List<EventCalendarCard> cards = eventRepository.findCalendarCards(filter, null, null, 10);
+        assertEquals(Collections.singletonList(PUBLISHED_ID),
+                cards.stream().map(EventCalendarCard::getId).collect(Collectors.toList()));
+
+        List<EventCalendarBucket> buckets = eventRepository.countCalendarBuckets(filter, CalendarUnit.DAY);
+        assertEquals(1, buckets.size());
+        assertEquals(1L, buckets.get(0).getEvents());
+    }
+
+    private static List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).sorted().collect(Collectors.toList());
+    }
+}
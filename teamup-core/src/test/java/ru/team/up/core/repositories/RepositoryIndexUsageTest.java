@@ -0,0 +1,305 @@
+package ru.team.up.core.repositories;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.entity.EventType;
+import ru.team.up.core.entity.ModerationState;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.service.EventViewer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Проверка, что запросы репозиториев выполняются по индексам из миграций Flyway.
+ * Каждый запрос перехватывается вместе с параметрами и повторяется через EXPLAIN с enable_seqscan = off:
+ * если подходящего индекса нет, PostgreSQL все равно выбирает Seq Scan, и тест падает.
+ * Схема создается миграциями, Hibernate только сверяет ее с сущностями (ddl-auto=validate).
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+    private static final String SEQ_SCAN = "Seq Scan";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    private static final CapturingListener CAPTURED = new CapturingListener();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create((DataSource) bean).listener(CAPTURED).build();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventReviewRepository eventReviewRepository;
+
+    @Autowired
+    private ModerationTaskRepository moderationTaskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private ModeratorRepository moderatorRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserMessageRepository userMessageRepository;
+
+    @Test
+    void eventQueriesUseIndexes() throws SQLException {
+        User author = entityManager.getEntityManager().getReference(User.class, 1L);
+        EventType eventType = entityManager.getEntityManager().getReference(EventType.class, 1L);
+        Status status = entityManager.getEntityManager().getReference(Status.class, 1L);
+
+        EventViewer viewer = new EventViewer(false, 1L);
+        assertIndexUsed(() -> eventRepository.findAllByAuthorId(author, viewer));
+        assertIndexUsed(() -> eventRepository.findAllByEventType(eventType, viewer));
+        assertIndexUsed(() -> eventRepository.findByEventNameContaining("Football", viewer));
+        assertIndexUsed(() -> eventRepository.findVisibleById(1L, viewer));
+        assertIndexUsed(() -> eventRepository.findVisibleVersionById(1L, viewer));
+        assertIndexUsed(() -> eventRepository.updateStatusIfVersion(1L, 0L, status));
+        assertIndexUsed(() -> eventRepository.findPendingAfter(0L, PageRequest.of(0, 100)));
+    }
+
+    @Test
+    void eventCalendarQueriesUseIndexes() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2021, 11, 1, 0, 0);
+        EventCalendarFilter period = EventCalendarFilter.builder().from(from).to(from.plusMonths(1)).build();
+        EventCalendarFilter filtered = EventCalendarFilter.builder().from(from).to(from.plusMonths(1))
+                .eventTypeId(1L).statusId(1L).interestIds(Collections.singleton(1L)).build();
+
+        assertIndexUsed(() -> eventRepository.findCalendarCards(period, null, null, 20));
+        assertIndexUsed(() -> eventRepository.findCalendarCards(period, from.plusDays(3), 10L, 20));
+        assertIndexUsed(() -> eventRepository.findCalendarCards(filtered, null, null, 20));
+        assertIndexUsed(() -> eventRepository.countCalendarBuckets(period, CalendarUnit.DAY));
+        assertIndexUsed(() -> eventRepository.countCalendarBuckets(filtered, CalendarUnit.WEEK));
+    }
+
+    @Test
+    void eventArchiveQueriesUseIndexes() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2021, 11, 1, 0, 0);
+        EventCalendarFilter archived = EventCalendarFilter.builder().from(from).to(from.plusMonths(1))
+                .interestIds(Collections.singleton(1L)).includeArchived(true).build();
+
+        assertIndexUsed(() -> eventRepository.archiveEventsBefore(LocalDateTime.now().minusDays(180), 500));
+        assertIndexUsed(() -> eventRepository.findArchivedById(1L));
+        assertIndexUsed(() -> eventRepository.findCalendarCards(archived, from.plusDays(3), 10L, 20));
+        assertIndexUsed(() -> eventRepository.countCalendarBuckets(archived, CalendarUnit.MONTH));
+    }
+
+    @Test
+    void eventReviewQueriesUseIndexes() throws SQLException {
+        assertIndexUsed(() -> eventReviewRepository.findReviewCards(1L, PageRequest.of(0, 20)));
+        assertIndexUsed(() -> eventReviewRepository.findReviewCardsBefore(1L, LocalDateTime.now(), 10L,
+                PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void moderationTaskQueriesUseIndexes() throws SQLException {
+        assertIndexUsed(() -> moderationTaskRepository.insertIfAbsent(1L, LocalDateTime.now(), 1L, "Причина",
+                LocalDateTime.now()));
+        assertIndexUsed(() -> moderationTaskRepository.findAllByModeratorIdAndState(1L, ModerationState.LEASED));
+        assertIndexUsed(() -> moderationTaskRepository.lockAvailable(LocalDateTime.now(), 10));
+        assertIndexUsed(() -> moderationTaskRepository.addReport(1L, LocalDateTime.now(), 1L, 1L, "Причина",
+                LocalDateTime.now()));
+        assertIndexUsed(() -> moderationTaskRepository.complete(1L, 1L, true, LocalDateTime.now(),
+                ModerationState.LEASED, ModerationState.DONE));
+    }
+
+    @Test
+    void accountQueriesUseIndexes() throws SQLException {
+        assertIndexUsed(() -> adminRepository.findByEmail("admin@mail.ru"));
+        assertIndexUsed(() -> moderatorRepository.findByEmail("moderator@mail.ru"));
+        assertIndexUsed(() -> moderatorRepository.incrementCheckedEvents(1L, 1L));
+        assertIndexUsed(() -> userRepository.getUserByEmail("user@mail.ru"));
+        assertIndexUsed(() -> userRepository.getUserById(1L));
+        assertIndexUsed(() -> userRepository.findByLogin("user"));
+        assertIndexUsed(() -> userRepository.findByEmail("user@mail.ru"));
+        assertIndexUsed(() -> userRepository.countUnreadMessages(1L));
+        assertIndexUsed(() -> userRepository.findParticipantIds(1L));
+        assertIndexUsed(() -> userRepository.incrementUnreadMessages(Arrays.asList(1L, 2L)));
+        assertIndexUsed(() -> userRepository.decrementUnreadMessages(1L, 2));
+        assertIndexUsed(() -> statusRepository.findFirstByStatus("Опубликовано"));
+    }
+
+    @Test
+    void userMessageQueriesUseIndexes() throws SQLException {
+        User owner = entityManager.getEntityManager().getReference(User.class, 1L);
+
+        assertIndexUsed(() -> userMessageRepository.findAllByMessageOwner(owner));
+        assertIndexUsed(() -> userMessageRepository.findInbox(1L, PageRequest.of(0, 20)));
+        assertIndexUsed(() -> userMessageRepository.findInboxBefore(1L, LocalDateTime.now(), 10L,
+                PageRequest.of(0, 20)));
+        assertIndexUsed(() -> userMessageRepository.markAsRead(1L, Arrays.asList(1L, 2L), LocalDateTime.now()));
+    }
+
+    /**
+     * Выполняет вызов репозитория и проверяет планы всех выполненных им запросов
+     */
+    private void assertIndexUsed(Runnable call) throws SQLException {
+        List<CapturedQuery> queries;
+        CAPTURED.start();
+        try {
+            call.run();
+            entityManager.flush();
+        } finally {
+            queries = CAPTURED.stop();
+        }
+        assertFalse(queries.isEmpty(), "Вызов репозитория не выполнил ни одного запроса");
+
+        for (CapturedQuery query : queries) {
+            String plan = explain(query);
+            assertFalse(plan.contains(SEQ_SCAN), () -> "Запрос выполняется без индекса:\n" + query.sql + "\n" + plan);
+        }
+    }
+
+    private String explain(CapturedQuery query) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql)) {
+                for (ParameterSetOperation operation : query.parameters) {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Не удалось передать параметры запроса " + query.sql, e);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        }
+    }
+
+    /**
+     * Запрос, выполненный через DataSource, с параметрами первого набора
+     */
+    private static final class CapturedQuery {
+        final String sql;
+        final List<ParameterSetOperation> parameters;
+
+        CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Запоминает запросы, выполненные между start() и stop()
+     */
+    private static final class CapturingListener implements QueryExecutionListener {
+        private final List<CapturedQuery> queries = new ArrayList<>();
+        private volatile boolean capturing;
+
+        synchronized void start() {
+            queries.clear();
+            capturing = true;
+        }
+
+        synchronized List<CapturedQuery> stop() {
+            capturing = false;
+            return new ArrayList<>(queries);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!capturing) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? new ArrayList<>() : new ArrayList<>(queryInfo.getParametersList().get(0));
+                queries.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+}
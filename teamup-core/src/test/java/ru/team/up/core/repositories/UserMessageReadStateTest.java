@@ -0,0 +1,187 @@
+package ru.team.up.core.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.team.up.core.entity.UserMessage;
+import ru.team.up.core.projection.UserMessageView;
+import ru.team.up.core.service.UserMessageService;
+import ru.team.up.core.service.UserMessageServiceImpl;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Прочтение сообщения, полученного несколькими пользователями: сообщение становится прочитанным
+ * и счетчик непрочитанных уменьшается только у прочитавшего получателя.
+ * Счетчик непрочитанных не входит в версию пользователя, поэтому сообщения не меняют ETag пользователя.
+ * Получатель ссылается на сообщение вместе с временем его создания (ключом секции USER_MESSAGE).
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserMessageServiceImpl.class)
+class UserMessageReadStateTest {
+    private static final long READER_ID = 1L;
+    private static final long OTHER_ID = 2L;
+    private static final long MESSAGE_ID = 1000L;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserMessageService userMessageService;
+
+    @Autowired
+    private UserMessageRepository userMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void twoRecipients() {
+        for (long id : new long[]{READER_ID, OTHER_ID}) {
+            jdbcTemplate.update("INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, LOGIN, EMAIL, PASSWORD, " +
+                    "ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, AGE, UNREAD_MESSAGES, VERSION) " +
+                    "VALUES (?, 'Имя', 'Фамилия', ?, ?, 'password', CURRENT_DATE, NOW(), 30, 1, 0)",
+                    id, "user" + id, "user" + id + "@mail.ru");
+        }
+        jdbcTemplate.update("INSERT INTO USER_MESSAGE (ID, MESSAGE, STATUS, MESSAGE_OWNER, MESSAGE_CREATION_TIME) " +
+                "VALUES (?, 'Мероприятие перенесено', ?, ?, NOW())", MESSAGE_ID, UserMessage.STATUS_NEW, READER_ID);
+        for (long id : new long[]{READER_ID, OTHER_ID}) {
+            jdbcTemplate.update("INSERT INTO USER_ACCOUNT_MESSAGES (USER_ID, MESSAGE_ID, MESSAGE_CREATION_TIME) " +
+                    "SELECT ?, ID, MESSAGE_CREATION_TIME FROM USER_MESSAGE WHERE ID = ?", id, MESSAGE_ID);
+        }
+    }
+
+    @Test
+    void readByOneRecipientStaysUnreadForOthers() {
+        assertEquals(1, userMessageService.markAsRead(READER_ID, Collections.singleton(MESSAGE_ID)));
+        entityManager.clear();
+
+        assertEquals(0L, userRepository.countUnreadMessages(READER_ID));
+        assertEquals(1L, userRepository.countUnreadMessages(OTHER_ID));
+
+        UserMessageView read = inbox(READER_ID);
+        assertEquals(UserMessage.STATUS_READ, read.getStatus());
+        assertNotNull(read.getMessageReadTime());
+
+        UserMessageView unread = inbox(OTHER_ID);
+        assertEquals(UserMessage.STATUS_NEW, unread.getStatus());
+        assertNull(unread.getMessageReadTime());
+    }
+
+    @Test
+    void incomingMessageDoesNotChangeUserVersion() {
+        Long version = version(OTHER_ID);
+
+        userMessageService.notifyUser(OTHER_ID, "Мероприятие отменено");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2L, userRepository.countUnreadMessages(OTHER_ID));
+        assertEquals(version, version(OTHER_ID));
+    }
+
+    @Test
+    void readDoesNotChangeUserVersion() {
+        Long version = version(READER_ID);
+
+        userMessageService.markAsRead(READER_ID, Collections.singleton(MESSAGE_ID));
+        entityManager.clear();
+
+        assertEquals(0L, userRepository.countUnreadMessages(READER_ID));
+        assertEquals(version, version(READER_ID));
+    }
+
+    @Test
+    void repeatedReadDoesNotDecrementAgain() {
+        userMessageService.markAsRead(READER_ID, Collections.singleton(MESSAGE_ID));
+
+        assertEquals(0, userMessageService.markAsRead(READER_ID, Collections.singleton(MESSAGE_ID)));
+        entityManager.clear();
+
+        assertEquals(0L, userRepository.countUnreadMessages(READER_ID));
+        assertEquals(1L, userRepository.countUnreadMessages(OTHER_ID));
+    }
+
+    @Test
+    void recipientReferencesMessageWithCreationTime() {
+        userMessageService.notifyUser(OTHER_ID, "Мероприятие отменено");
+        entityManager.flush();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM USER_ACCOUNT_MESSAGES r WHERE NOT EXISTS(SELECT 1 " +
+                "FROM USER_MESSAGE m WHERE m.ID = r.MESSAGE_ID AND m.MESSAGE_CREATION_TIME = r.MESSAGE_CREATION_TIME)"));
+        assertEquals(2, inbox(OTHER_ID, 2).size());
+    }
+
+    @Test
+    void recipientWithoutMessageIsRejected() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO USER_ACCOUNT_MESSAGES (USER_ID, MESSAGE_ID, MESSAGE_CREATION_TIME) " +
+                        "VALUES (?, ?, NOW() - INTERVAL '1 day')", READER_ID, MESSAGE_ID + 1));
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private Long version(long userId) {
+        return userRepository.findVersionById(userId).orElseThrow(AssertionError::new).getVersion();
+    }
+
+    private UserMessageView inbox(long userId) {
+        return inbox(userId, 1).get(0);
+    }
+
+    private List<UserMessageView> inbox(long userId, int expected) {
+        List<UserMessageView> inbox = userMessageRepository.findInbox(userId, PageRequest.of(0, 20));
+        assertEquals(expected, inbox.size());
+        return inbox;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.UserMessageRepository;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест переноса мероприятий в архив пачками
+ */
+@ExtendWith(MockitoExtension.class)
+class ArchiveJobTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserMessageRepository userMessageRepository;
+
+    private ArchiveJob archiveJob(int maxBatches) {
+        return new ArchiveJob(eventRepository, userMessageRepository, 180, 100, maxBatches, 3);
+    }
+
+    @Test
+    void stopsAfterIncompleteBatch() {
+        when(eventRepository.archiveEventsBefore(any(), eq(100))).thenReturn(100, 100, 40);
+
+        Assertions.assertEquals(240, archiveJob(10).archiveEvents());
+        verify(eventRepository, times(3)).archiveEventsBefore(any(), eq(100));
+    }
+
+    @Test
+    void movesAtMostMaxBatchesPerRun() {
+        when(eventRepository.archiveEventsBefore(any(), eq(100))).thenReturn(100);
+
+        Assertions.assertEquals(500, archiveJob(5).archiveEvents());
+        verify(eventRepository, times(5)).archiveEventsBefore(any(), eq(100));
+    }
+
+    @Test
+    void failedBatchKeepsPreviousBatches() {
+        when(eventRepository.archiveEventsBefore(any(), eq(100)))
+                .thenReturn(100)
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        Assertions.assertEquals(100, archiveJob(10).archiveEvents());
+    }
+
+    @Test
+    void createsPartitionsAhead() {
+        archiveJob(10).createMessagePartitions();
+
+        LocalDate today = LocalDate.now();
+        verify(userMessageRepository).createPartitions(today, today.plusMonths(3));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.exception.InvalidCalendarRangeException;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.repositories.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест проверки периода и размера страницы календаря мероприятий
+ */
+@ExtendWith(MockitoExtension.class)
+class EventCalendarServiceImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventCalendarServiceImpl eventCalendarService;
+
+    private final LocalDateTime from = LocalDateTime.of(2021, 11, 1, 0, 0);
+
+    @Test
+    void pageSizeIsLimited() {
+        EventCalendarFilter filter = EventCalendarFilter.builder().from(from).to(from.plusMonths(1)).build();
+        when(eventRepository.findCalendarCards(filter, from.plusDays(1), 10L, EventCalendarServiceImpl.MAX_PAGE_SIZE))
+                .thenReturn(Collections.emptyList());
+
+        Assertions.assertTrue(eventCalendarService.getEventsPage(filter, from.plusDays(1), 10L, 10_000).isEmpty());
+    }
+
+    @Test
+    void emptyPeriodIsRejected() {
+        EventCalendarFilter filter = EventCalendarFilter.builder().from(from).to(from).build();
+
+        Assertions.assertThrows(InvalidCalendarRangeException.class,
+                () -> eventCalendarService.getEventsPage(filter, null, null, 20));
+        verify(eventRepository, never()).findCalendarCards(any(), any(), any(), any(Integer.class));
+    }
+
+    @Test
+    void tooManyBucketsAreRejected() {
+        EventCalendarFilter year = EventCalendarFilter.builder().from(from).to(from.plusYears(1)).build();
+        EventCalendarFilter twoYears = EventCalendarFilter.builder().from(from).to(from.plusYears(2)).build();
+        when(eventRepository.countCalendarBuckets(year, CalendarUnit.DAY))
+                .thenReturn(Collections.singletonList(new EventCalendarBucket(from, 3)));
+
+        Assertions.assertEquals(1, eventCalendarService.countEvents(year, CalendarUnit.DAY).size());
+        Assertions.assertThrows(InvalidCalendarRangeException.class,
+                () -> eventCalendarService.countEvents(twoYears, CalendarUnit.DAY));
+        Assertions.assertTrue(eventCalendarService.countEvents(twoYears, CalendarUnit.MONTH).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.team.up.core.projection.EventReviewCard;
+import ru.team.up.core.repositories.EventReviewRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест keyset-пагинации отзывов мероприятия
+ */
+@ExtendWith(MockitoExtension.class)
+class EventReviewServiceImplTest {
+
+    @Mock
+    private EventReviewRepository eventReviewRepository;
+
+    @InjectMocks
+    private EventReviewServiceImpl eventReviewService;
+
+    private final EventReviewCard card = new EventReviewCard(10L, 1L, "Aleksey", "Tkachenko",
+            "Отличное мероприятие", 10, LocalDateTime.of(2021, 11, 10, 21, 0));
+
+    @Test
+    void firstPageWithoutCursor() {
+        when(eventReviewRepository.findReviewCards(1L, PageRequest.of(0, 20)))
+                .thenReturn(Collections.singletonList(card));
+
+        List<EventReviewCard> reviews = eventReviewService.getReviewsPage(1L, null, null, 20);
+
+        Assertions.assertEquals(1, reviews.size());
+        verify(eventReviewRepository, never()).findReviewCardsBefore(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void nextPageUsesCursorAndLimitsPageSize() {
+        LocalDateTime reviewTime = card.getReviewTime();
+        when(eventReviewRepository.findReviewCardsBefore(1L, reviewTime, 10L,
+                PageRequest.of(0, EventReviewServiceImpl.MAX_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        Assertions.assertTrue(eventReviewService.getReviewsPage(1L, reviewTime, 10L, 10_000).isEmpty());
+    }
+}
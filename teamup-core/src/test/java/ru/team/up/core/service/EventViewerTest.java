@@ -0,0 +1,63 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Moderator;
+import ru.team.up.core.entity.Role;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.entity.User;
+
+/**
+ * Тест видимости мероприятий на проверке: их видят только автор и модераторы
+ */
+class EventViewerTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pendingEventIsHiddenFromOtherUsers() {
+        Event pending = event(Status.PENDING, 1L);
+
+        Assertions.assertFalse(new EventViewer(false, 2L).canSee(pending));
+        Assertions.assertFalse(new EventViewer(false, null).canSee(event(Status.TO_REVIEW, 1L)));
+        Assertions.assertTrue(new EventViewer(false, 1L).canSee(pending));
+        Assertions.assertTrue(new EventViewer(true, null).canSee(pending));
+    }
+
+    @Test
+    void publishedEventIsVisibleToEveryone() {
+        Assertions.assertTrue(new EventViewer(false, null).canSee(event(Status.PUBLISHED, 1L)));
+        Assertions.assertTrue(new EventViewer(false, null).canSee(Event.builder().id(1L).build()));
+    }
+
+    @Test
+    void currentViewerIsTakenFromAuthentication() {
+        Assertions.assertEquals(new EventViewer(false, null), EventViewer.current());
+
+        authenticate(User.builder().id(5L).role(Role.ROLE_USER).build());
+        Assertions.assertEquals(new EventViewer(false, 5L), EventViewer.current());
+
+        authenticate(Moderator.builder().id(7L).role(Role.ROLE_MODERATOR).build());
+        Assertions.assertEquals(new EventViewer(true, null), EventViewer.current());
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null));
+    }
+
+    private static Event event(String status, Long authorId) {
+        return Event.builder()
+                .id(1L)
+                .status(Status.builder().status(status).build())
+                .authorId(User.builder().id(authorId).build())
+                .build();
+    }
+}
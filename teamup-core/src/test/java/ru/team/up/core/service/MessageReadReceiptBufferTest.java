@@ -0,0 +1,57 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тест объединения подтверждений прочтения сообщений
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageReadReceiptBufferTest {
+
+    @Mock
+    private UserMessageService userMessageService;
+
+    @Test
+    void acknowledgementsAreCoalescedUntilFlush() {
+        MessageReadReceiptBuffer buffer = new MessageReadReceiptBuffer(userMessageService, 100);
+
+        buffer.acknowledge(1L, Arrays.asList(1L, 2L));
+        buffer.acknowledge(1L, Arrays.asList(2L, 3L));
+        buffer.acknowledge(2L, Collections.singletonList(4L));
+        verify(userMessageService, never()).markAsRead(anyLong(), anyCollection());
+
+        buffer.flushAll();
+
+        verify(userMessageService).markAsRead(eq(1L), argThat((Collection<Long> ids) ->
+                new HashSet<>(ids).equals(new HashSet<>(Arrays.asList(1L, 2L, 3L)))));
+        verify(userMessageService).markAsRead(eq(2L), argThat((Collection<Long> ids) -> ids.size() == 1));
+
+        buffer.flushAll();
+        verify(userMessageService, times(2)).markAsRead(anyLong(), anyCollection());
+    }
+
+    @Test
+    void fullBatchIsFlushedImmediately() {
+        MessageReadReceiptBuffer buffer = new MessageReadReceiptBuffer(userMessageService, 2);
+
+        buffer.acknowledge(1L, Arrays.asList(1L, 2L, 3L));
+
+        verify(userMessageService, times(2)).markAsRead(eq(1L), anyCollection());
+    }
+}
@@ -0,0 +1,232 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.ModerationState;
+import ru.team.up.core.entity.ModerationTask;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.exception.ModerationTaskNotFoundException;
+import ru.team.up.core.exception.NoContentException;
+import ru.team.up.core.notification.EventChangePublisher;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.EventReviewRepository;
+import ru.team.up.core.repositories.ModerationTaskRepository;
+import ru.team.up.core.repositories.ModeratorRepository;
+import ru.team.up.core.repositories.StatusRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест очереди модерации мероприятий
+ */
+@ExtendWith(MockitoExtension.class)
+class ModerationQueueServiceImplTest {
+
+    @Mock
+    private ModerationTaskRepository moderationTaskRepository;
+
+    @Mock
+    private ModeratorRepository moderatorRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventReviewRepository eventReviewRepository;
+
+    @Mock
+    private StatusRepository statusRepository;
+
+    @Mock
+    private EventChangePublisher eventChangePublisher;
+
+    private ModerationQueueServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ModerationQueueServiceImpl(moderationTaskRepository, moderatorRepository, eventRepository,
+                eventReviewRepository, statusRepository, eventChangePublisher, 15, 3600);
+    }
+
+    @Test
+    void reportCreatesOrRaisesTaskPriority() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(Event.builder().id(1L).timeEvent(start).build()));
+        when(moderationTaskRepository.addReporter(eq(1L), eq("account:USER:5"), any())).thenReturn(1);
+
+        service.report(1L, "account:USER:5");
+
+        verify(moderationTaskRepository).addReport(eq(1L), eq(start), eq(start.toEpochSecond(ZoneOffset.UTC) - 3600),
+                eq(3600L), eq(ModerationQueueServiceImpl.REPORT_REASON), any());
+    }
+
+    @Test
+    void repeatedReportOfSameReporterIsIgnored() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(Event.builder().id(1L).timeEvent(start).build()));
+        when(moderationTaskRepository.addReporter(eq(1L), eq("account:USER:5"), any())).thenReturn(0);
+
+        service.report(1L, "account:USER:5");
+
+        verify(moderationTaskRepository, never()).addReport(anyLong(), any(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void reportOfMissingEventFails() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NoContentException.class, () -> service.report(1L, "account:USER:5"));
+        verify(moderationTaskRepository, never()).addReporter(anyLong(), any(), any());
+    }
+
+    @Test
+    void enqueueInsertsTaskOnlyWithoutOpenTask() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        service.enqueue(Event.builder().id(1L).timeEvent(start).build(), "Причина");
+
+        verify(moderationTaskRepository).insertIfAbsent(eq(1L), eq(start), eq(start.toEpochSecond(ZoneOffset.UTC)),
+                eq("Причина"), any());
+        verify(moderationTaskRepository, never()).save(any());
+    }
+
+    @Test
+    void markForReviewSetsReviewStatus() {
+        Status review = Status.builder().id(2L).status(Status.TO_REVIEW).build();
+        when(statusRepository.findFirstByStatus(Status.TO_REVIEW)).thenReturn(Optional.of(review));
+        Event event = Event.builder().id(1L).build();
+
+        service.markForReview(event);
+
+        assertEquals(review, event.getStatus());
+    }
+
+    @Test
+    void approvePublishesEventUnderReview() {
+        Status published = Status.builder().id(3L).status(Status.PUBLISHED).build();
+        when(moderationTaskRepository.complete(eq(3L), eq(7L), eq(true), any(),
+                eq(ModerationState.LEASED), eq(ModerationState.DONE))).thenReturn(1);
+        when(moderationTaskRepository.getOne(3L)).thenReturn(ModerationTask.builder().id(3L).eventId(1L).build());
+        when(statusRepository.findFirstByStatus(Status.PUBLISHED)).thenReturn(Optional.of(published));
+        when(eventRepository.updateStatus(1L, Status.TO_REVIEW, published)).thenReturn(1);
+        Event event = Event.builder().id(1L).status(published).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        service.complete(3L, 7L, true);
+
+        verify(eventChangePublisher).publishStatusChange(event, Status.PUBLISHED);
+        verify(eventRepository, never()).delete(any());
+        verify(moderatorRepository).incrementCheckedEvents(7L, 0);
+    }
+
+    @Test
+    void approveOfPublishedEventDoesNotNotify() {
+        Status published = Status.builder().id(3L).status(Status.PUBLISHED).build();
+        when(moderationTaskRepository.complete(eq(3L), eq(7L), eq(true), any(),
+                eq(ModerationState.LEASED), eq(ModerationState.DONE))).thenReturn(1);
+        when(moderationTaskRepository.getOne(3L)).thenReturn(ModerationTask.builder().id(3L).eventId(1L).build());
+        when(statusRepository.findFirstByStatus(Status.PUBLISHED)).thenReturn(Optional.of(published));
+
+        service.complete(3L, 7L, true);
+
+        verify(eventRepository).updateStatus(1L, Status.TO_REVIEW, published);
+        verify(eventChangePublisher, never()).publishStatusChange(any(), any());
+    }
+
+    @Test
+    void leaseAssignsTasksToModerator() {
+        List<ModerationTask> tasks = Arrays.asList(
+                ModerationTask.builder().id(1L).state(ModerationState.NEW).build(),
+                ModerationTask.builder().id(2L).state(ModerationState.LEASED).moderatorId(5L).build());
+        when(moderationTaskRepository.lockAvailable(any(), eq(2))).thenReturn(tasks);
+
+        service.lease(7L, 2);
+
+        tasks.forEach(task -> {
+            assertEquals(ModerationState.LEASED, task.getState());
+            assertEquals(7L, task.getModeratorId());
+        });
+    }
+
+    @Test
+    void rejectDeletesParticipantsThenEventAndUpdatesCounters() {
+        Event event = rejectedTask();
+
+        service.complete(3L, 7L, false);
+
+        InOrder order = inOrder(eventChangePublisher, eventRepository);
+        order.verify(eventChangePublisher).publishStatusChange(event, Status.REJECTED);
+        order.verify(eventRepository).deleteParticipants(1L);
+        order.verify(eventRepository).delete(event);
+        verify(moderatorRepository).incrementCheckedEvents(7L, 1);
+    }
+
+    @Test
+    void rejectOfReviewedEventMarksItRejected() {
+        Event event = rejectedTask();
+        Status rejected = Status.builder().id(4L).status(Status.REJECTED).build();
+        when(eventReviewRepository.existsByEventId(1L)).thenReturn(true);
+        when(statusRepository.findFirstByStatus(Status.REJECTED)).thenReturn(Optional.of(rejected));
+
+        service.complete(3L, 7L, false);
+
+        assertEquals(rejected, event.getStatus());
+        verify(eventRepository, never()).deleteParticipants(anyLong());
+        verify(eventRepository, never()).delete(any());
+        verify(moderatorRepository).incrementCheckedEvents(7L, 1);
+    }
+
+    @Test
+    void rejectOfArchivedEventCompletesTask() {
+        when(moderationTaskRepository.complete(eq(3L), eq(7L), eq(false), any(),
+                eq(ModerationState.LEASED), eq(ModerationState.DONE))).thenReturn(1);
+        when(moderationTaskRepository.getOne(3L)).thenReturn(ModerationTask.builder().id(3L).eventId(1L).build());
+        when(eventRepository.findById(1L)).thenReturn(Optional.empty());
+
+        service.complete(3L, 7L, false);
+
+        verify(eventRepository, never()).delete(any());
+        verify(eventChangePublisher, never()).publishStatusChange(any(), any());
+        verify(moderatorRepository).incrementCheckedEvents(7L, 1);
+    }
+
+    @Test
+    void completeOfForeignTaskFails() {
+        when(moderationTaskRepository.complete(eq(3L), eq(7L), eq(true), any(),
+                eq(ModerationState.LEASED), eq(ModerationState.DONE))).thenReturn(0);
+
+        assertThrows(ModerationTaskNotFoundException.class, () -> service.complete(3L, 7L, true));
+        verify(moderatorRepository, never()).incrementCheckedEvents(anyLong(), anyLong());
+    }
+
+    /**
+     * Задача с id 3 по мероприятию с id 1, которую модератор с id 7 завершает отказом
+     */
+    private Event rejectedTask() {
+        when(moderationTaskRepository.complete(eq(3L), eq(7L), eq(false), any(),
+                eq(ModerationState.LEASED), eq(ModerationState.DONE))).thenReturn(1);
+        when(moderationTaskRepository.getOne(3L)).thenReturn(ModerationTask.builder().id(3L).eventId(1L).build());
+        Event event = Event.builder().id(1L).status(Status.builder().id(2L).status(Status.TO_REVIEW).build()).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        return event;
+    }
+}
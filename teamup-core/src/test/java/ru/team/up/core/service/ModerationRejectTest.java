@@ -0,0 +1,136 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.notification.EventChangePublisher;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Отказ модератора на PostgreSQL: мероприятие с участниками удаляется вместе с записями участников,
+ * мероприятие с отзывами получает статус rejected, отказ по уже удаленному мероприятию только закрывает задачу
+ * (задачи мероприятий, перенесенных в архив, закрывает перенос).
+ * Нужен Docker, без него тест пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ModerationQueueServiceImpl.class, EventChangePublisher.class})
+class ModerationRejectTest {
+    private static final long AUTHOR_ID = 1L;
+    private static final long PARTICIPANT_ID = 2L;
+    private static final long MODERATOR_ID = 7L;
+    private static final long EVENT_ID = 10L;
+    private static final long TASK_ID = 20L;
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.team.up.core.entity")
+    @EnableJpaRepositories("ru.team.up.core.repositories")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ModerationQueueService moderationQueueService;
+
+    @BeforeEach
+    void eventUnderReviewWithParticipant() {
+        insertUser(AUTHOR_ID, "author");
+        insertUser(PARTICIPANT_ID, "participant");
+        jdbcTemplate.update("INSERT INTO EVENT_TYPE (ID, TYPE) VALUES (1, 'Конференция')");
+        jdbcTemplate.update("INSERT INTO STATUS (STATUS) VALUES (?)", Status.TO_REVIEW);
+        jdbcTemplate.update("INSERT INTO EVENT (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, TIME_EVENT, " +
+                "USER_ID, EVENT_TYPE_ID, STATUS_ID) VALUES (?, 'JOKER', 'Описание', 'Москва', ?, ?, 1, " +
+                "(SELECT ID FROM STATUS WHERE STATUS = ?))", EVENT_ID, TIME, AUTHOR_ID, Status.TO_REVIEW);
+        jdbcTemplate.update("INSERT INTO USER_ACCOUNT_EVENT (USER_ID, EVENT_ID) VALUES (?, ?)",
+                PARTICIPANT_ID, EVENT_ID);
+        jdbcTemplate.update("INSERT INTO MODERATION_TASK (ID, EVENT_ID, STATE, PRIORITY, REPORTER_COUNT, " +
+                "EVENT_START_TIME, CREATED_TIME, MODERATOR_ID, LEASE_UNTIL) " +
+                "VALUES (?, ?, 'LEASED', 0, 0, ?, ?, ?, ?)",
+                TASK_ID, EVENT_ID, TIME, TIME, MODERATOR_ID, LocalDateTime.now().plusMinutes(15));
+    }
+
+    @Test
+    void rejectedEventIsDeletedWithParticipants() {
+        moderationQueueService.complete(TASK_ID, MODERATOR_ID, false);
+        entityManager.flush();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM EVENT WHERE ID = " + EVENT_ID));
+        assertEquals(0, count("SELECT COUNT(*) FROM USER_ACCOUNT_EVENT WHERE EVENT_ID = " + EVENT_ID));
+        assertEquals(1, count("SELECT COUNT(*) FROM USER_ACCOUNT WHERE ID = " + PARTICIPANT_ID));
+        assertEquals(1, count("SELECT COUNT(*) FROM MODERATION_TASK WHERE STATE = 'DONE' AND NOT APPROVED"));
+    }
+
+    @Test
+    void rejectedEventWithReviewsIsMarkedRejected() {
+        jdbcTemplate.update("INSERT INTO EVENT_REVIEW (EVENT_ID, USER_ID, REVIEW_MESSAGE, EVENT_GRADE, REVIEW_TIME) " +
+                "VALUES (?, ?, 'Отлично', 5, ?)", EVENT_ID, PARTICIPANT_ID, TIME);
+
+        moderationQueueService.complete(TASK_ID, MODERATOR_ID, false);
+        entityManager.flush();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM EVENT E JOIN STATUS S ON S.ID = E.STATUS_ID " +
+                "WHERE E.ID = " + EVENT_ID + " AND S.STATUS = '" + Status.REJECTED + "'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM EVENT_REVIEW WHERE EVENT_ID = " + EVENT_ID));
+    }
+
+    @Test
+    void rejectOfDeletedEventClosesTask() {
+        jdbcTemplate.update("DELETE FROM USER_ACCOUNT_EVENT");
+        jdbcTemplate.update("DELETE FROM EVENT WHERE ID = ?", EVENT_ID);
+
+        moderationQueueService.complete(TASK_ID, MODERATOR_ID, false);
+        entityManager.flush();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM MODERATION_TASK WHERE STATE = 'DONE'"));
+    }
+
+    private void insertUser(long id, String login) {
+        jdbcTemplate.update("INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, LOGIN, EMAIL, PASSWORD, " +
+                "ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, AGE, UNREAD_MESSAGES) " +
+                "VALUES (?, 'Имя', 'Фамилия', ?, ?, 'password', CURRENT_DATE, NOW(), 30, 0)",
+                id, login, login + "@mail.ru");
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
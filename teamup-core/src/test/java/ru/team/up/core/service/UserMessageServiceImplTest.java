@@ -0,0 +1,67 @@
+package ru.team.up.core.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.team.up.core.repositories.UserMessageRepository;
+import ru.team.up.core.repositories.UserRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест прочтения сообщений: счетчик уменьшается только у прочитавшего пользователя
+ * и только на число действительно отмеченных сообщений
+ */
+@ExtendWith(MockitoExtension.class)
+class UserMessageServiceImplTest {
+
+    @Mock
+    private UserMessageRepository userMessageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserMessageServiceImpl userMessageService;
+
+    @Test
+    void decrementsOnlyReaderByChangedRows() {
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        when(userMessageRepository.markAsRead(eq(1L), eq(ids), any())).thenReturn(2);
+
+        Assertions.assertEquals(2, userMessageService.markAsRead(1L, ids));
+        verify(userRepository).decrementUnreadMessages(1L, 2);
+    }
+
+    @Test
+    void alreadyReadMessagesKeepCounter() {
+        List<Long> ids = Collections.singletonList(1L);
+        when(userMessageRepository.markAsRead(eq(1L), eq(ids), any())).thenReturn(0);
+
+        Assertions.assertEquals(0, userMessageService.markAsRead(1L, ids));
+        verify(userRepository, never()).decrementUnreadMessages(anyLong(), anyLong());
+    }
+
+    @Test
+    void emptyRequestRunsNoQueries() {
+        Assertions.assertEquals(0, userMessageService.markAsRead(1L, Collections.emptyList()));
+        verifyNoInteractions(userMessageRepository, userRepository);
+    }
+}
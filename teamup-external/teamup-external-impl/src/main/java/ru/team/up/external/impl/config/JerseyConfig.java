@@ -1,13 +1,18 @@
 package ru.team.up.external.impl.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import ru.team.up.core.concurrent.VirtualThreads;
 import ru.team.up.external.impl.controller.GoogleMapApi;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.springframework.stereotype.Component;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
+import java.util.concurrent.Executor;
 
+@Slf4j
 @Component
 public class JerseyConfig extends ResourceConfig {
 
@@ -16,7 +21,25 @@ public class JerseyConfig extends ResourceConfig {
     }
 
     @Bean
-    Client getClient(){
+    Client getClient() {
         return ClientBuilder.newClient();
     }
+
+    /**
+     * Исполнитель запросов геокодирования {@link GoogleMapApi}. При teamup.threads.virtual=true на JDK 21+
+     * синхронные вызовы клиента в GeoService.getGeocode и GeoService.getAddress выполняются в виртуальных потоках,
+     * поток Jersey освобождается до ответа Google. Иначе запрос выполняется в потоке Jersey, как без исполнителя.
+     * Другие вызовы GeoService остаются в потоке вызывающего
+     */
+    @Bean
+    Executor geocodingExecutor(@Value("${teamup.threads.virtual:false}") boolean virtualThreads) {
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            return VirtualThreads.newThreadPerTaskExecutor("geocoding-");
+        }
+        if (virtualThreads) {
+            log.warn("teamup.threads.virtual=true, но JDK {} не поддерживает виртуальные потоки, " +
+                    "используются обычные потоки", System.getProperty("java.version"));
+        }
+        return Runnable::run;
+    }
 }
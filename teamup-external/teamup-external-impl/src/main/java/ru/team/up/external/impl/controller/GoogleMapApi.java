@@ -4,16 +4,25 @@ import ru.team.up.external.impl.model.MapEntity;
 import ru.team.up.external.impl.service.GeoService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /*
 * Контроллер отвечающий за взаимодействие с Google api
+* Запрос к Google выполняется исполнителем geocodingExecutor (JerseyConfig): в виртуальном потоке
+* при teamup.threads.virtual=true, иначе в потоке Jersey
 * */
 
 @Path("/api/external")
@@ -23,12 +32,15 @@ public class GoogleMapApi {
 
     private GeoService geoService;
 
+    private Executor geocodingExecutor;
+
     public GoogleMapApi() {
     }
 
     @Autowired
-    public GoogleMapApi(GeoService geoService) {
+    public GoogleMapApi(GeoService geoService, @Qualifier("geocodingExecutor") Executor geocodingExecutor) {
         this.geoService = geoService;
+        this.geocodingExecutor = geocodingExecutor;
     }
 
     /*
@@ -44,8 +56,8 @@ public class GoogleMapApi {
     @GET
     @Path("/code/{address}")
     @Produces(MediaType.APPLICATION_JSON)
-    public MapEntity getGeoCode(@PathParam("address") String address) {
-        return geoService.getGeocode(address);
+    public void getGeoCode(@PathParam("address") String address, @Suspended AsyncResponse response) {
+        resume(response, () -> geoService.getGeocode(address));
     }
 
     /*
@@ -58,7 +70,20 @@ public class GoogleMapApi {
     @GET
     @Path("/decode/{geo}")
     @Produces(MediaType.APPLICATION_JSON)
-    public MapEntity getAddress(@PathParam("geo") String geo) {
-        return geoService.getAddress(geo);
+    public void getAddress(@PathParam("geo") String geo, @Suspended AsyncResponse response) {
+        resume(response, () -> geoService.getAddress(geo));
+    }
+
+    /*
+    * Выполняет запрос к Google в geocodingExecutor и передает клиенту результат или исключение
+    * */
+    private void resume(AsyncResponse response, Supplier<MapEntity> request) {
+        CompletableFuture.supplyAsync(request, geocodingExecutor).whenComplete((mapEntity, e) -> {
+            if (e == null) {
+                response.resume(mapEntity);
+            } else {
+                response.resume(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
     }
 }
\ No newline at end of file
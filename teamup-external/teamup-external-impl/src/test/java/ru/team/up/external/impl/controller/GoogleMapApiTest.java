@@ -0,0 +1,70 @@
+package ru.team.up.external.impl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.team.up.external.impl.model.MapEntity;
+import ru.team.up.external.impl.service.GeoService;
+
+import javax.ws.rs.container.AsyncResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест контроллера геокодирования: запрос к Google выполняется в исполнителе geocodingExecutor,
+ * клиент получает результат или исключение GeoService
+ */
+@ExtendWith(MockitoExtension.class)
+class GoogleMapApiTest {
+    private static final String THREAD_NAME = "geocoding-test";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, THREAD_NAME));
+
+    @Mock
+    private GeoService geoService;
+
+    @Mock
+    private AsyncResponse response;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void geocodeRunsInExecutor() {
+        MapEntity mapEntity = new MapEntity();
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(geoService.getGeocode("Москва")).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return mapEntity;
+        });
+
+        new GoogleMapApi(geoService, executor).getGeoCode("Москва", response);
+
+        verify(response, timeout(5_000)).resume(mapEntity);
+        assertEquals(THREAD_NAME, thread.get());
+    }
+
+    @Test
+    void errorIsPassedToClient() {
+        RuntimeException error = new RuntimeException("Failed : HTTP error code : 400");
+        when(geoService.getAddress("40.714224,-73.961452")).thenThrow(error);
+
+        new GoogleMapApi(geoService, executor).getAddress("40.714224,-73.961452", response);
+
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(response, timeout(5_000)).resume(captor.capture());
+        assertSame(error, captor.getValue());
+    }
+}
@@ -0,0 +1,164 @@
+package ru.team.up.input.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.team.up.core.logging.LogSampler;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает число одновременно обрабатываемых HTTP-запросов, чтобы потоки Tomcat не накапливались
+ * в ожидании соединения с БД. Без явного teamup.admission.max-concurrent-requests ограничение равно
+ * размеру пула соединений HTTP-запросов, умноженному на requests-per-connection: так оно действует
+ * и на виртуальных потоках, где число потоков Tomcat не ограничено.
+ * Запрос получает ответ 503 с заголовком Retry-After, если за queueTimeoutMs
+ * не освободилось место среди maxConcurrentRequests или пул соединений HTTP-запросов уже перегружен:
+ * соединения ждут больше maxPendingConnections потоков (метрика hikaricp.connections.pending).
+ * Запросы к /actuator не ограничиваются
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(prefix = "teamup.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    static final String REJECTED_METRIC = "teamup.admission.rejected";
+    static final String IN_FLIGHT_METRIC = "teamup.admission.in-flight";
+    private static final String PENDING_CONNECTIONS_METRIC = "hikaricp.connections.pending";
+    private static final String ACTUATOR_PATH = "/actuator/";
+    private static final LogSampler LOG_SAMPLER = new LogSampler(100);
+
+    private final int maxConcurrentRequests;
+    private final long queueTimeoutMs;
+    private final int maxPendingConnections;
+    private final String poolName;
+    private final String retryAfterSeconds;
+    private final Semaphore permits;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile Counter concurrencyRejected;
+    private volatile Counter poolRejected;
+    private volatile Gauge pendingConnections;
+
+    @Autowired
+    public AdmissionControlFilter(@Value("${teamup.admission.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                  @Value("${teamup.admission.requests-per-connection:2}") int requestsPerConnection,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${teamup.admission.queue-timeout-ms:100}") long queueTimeoutMs,
+                                  @Value("${teamup.admission.max-pending-connections:0}") int maxPendingConnections,
+                                  @Value("${spring.datasource.hikari.pool-name:teamup-primary}") String poolName,
+                                  @Value("${teamup.admission.retry-after-seconds:1}") int retryAfterSeconds,
+                                  ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests
+                : poolSize * requestsPerConnection;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.maxPendingConnections = maxPendingConnections;
+        this.poolName = poolName;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.permits = new Semaphore(this.maxConcurrentRequests, true);
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isPoolSaturated()) {
+            reject(request, response, poolRejected, "пул соединений перегружен");
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(request, response, concurrencyRejected, "превышено число одновременных запросов");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected void initFilterBean() {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        concurrencyRejected = Counter.builder(REJECTED_METRIC)
+                .description("Запросы, отклоненные с ответом 503")
+                .tag("reason", "concurrency")
+                .register(registry);
+        poolRejected = Counter.builder(REJECTED_METRIC)
+                .description("Запросы, отклоненные с ответом 503")
+                .tag("reason", "pool")
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_METRIC, this, filter -> filter.maxConcurrentRequests - filter.permits.availablePermits())
+                .description("Запросы, обрабатываемые в данный момент")
+                .register(registry);
+    }
+
+    /**
+     * @return true, если соединения пула HTTP-запросов ждут больше maxPendingConnections потоков
+     */
+    private boolean isPoolSaturated() {
+        if (maxPendingConnections <= 0) {
+            return false;
+        }
+        Gauge gauge = pendingConnections;
+        if (gauge == null) {
+            MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+            gauge = registry == null ? null : registry.find(PENDING_CONNECTIONS_METRIC).tag("pool", poolName).gauge();
+            if (gauge == null) {
+                return false;
+            }
+            pendingConnections = gauge;
+        }
+        return gauge.value() > maxPendingConnections;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Counter counter, String reason)
+            throws IOException {
+        if (counter != null) {
+            counter.increment();
+        }
+        if (LOG_SAMPLER.sample()) {
+            log.warn("Запрос {} {} отклонен (1 из 100): {}", request.getMethod(), request.getRequestURI(), reason);
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Сервис перегружен, повторите запрос позже");
+    }
+}
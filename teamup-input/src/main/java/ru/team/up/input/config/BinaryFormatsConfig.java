@@ -0,0 +1,47 @@
+package ru.team.up.input.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Бинарные форматы ответов: Smile (Accept: application/x-jackson-smile) и CBOR (Accept: application/cbor),
+ * по умолчанию ответ в JSON. Конвертеры строятся тем же Jackson2ObjectMapperBuilder, что и JSON, поэтому
+ * поля и модули (даты, игнорируемые свойства) совпадают, меняется только кодирование.
+ * Подключаются, если в classpath есть jackson-dataformat-smile / jackson-dataformat-cbor (зависимости teamup-app),
+ * в список конвертеров Spring MVC их ставит {@link HttpMessageConvertersConfig}.
+ * teamup.binary-formats.enabled=false оставляет только JSON
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "teamup.binary-formats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BinaryFormatsConfig {
+    static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    @Bean
+    @ConditionalOnClass(name = SMILE_FACTORY)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory(SMILE_FACTORY)).build());
+    }
+
+    @Bean
+    @ConditionalOnClass(name = CBOR_FACTORY)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(factory(CBOR_FACTORY)).build());
+    }
+
+    /**
+     * Модуль собирается без зависимостей форматов, поэтому фабрика создается по имени класса
+     */
+    private static JsonFactory factory(String className) {
+        return (JsonFactory) BeanUtils.instantiateClass(
+                ClassUtils.resolveClassName(className, BinaryFormatsConfig.class.getClassLoader()));
+    }
+}
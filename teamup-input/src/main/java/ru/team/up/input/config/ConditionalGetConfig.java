@@ -0,0 +1,53 @@
+package ru.team.up.input.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.team.up.input.etag.CollectionEtagFilter;
+import ru.team.up.input.etag.ConditionalGetInterceptor;
+import ru.team.up.input.service.ResourceVersionService;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Условные GET-запросы: строгий ETag по версии для мероприятий и пользователей ({@link ConditionalGetInterceptor})
+ * и слабый ETag по телу ответа для списков ({@link CollectionEtagFilter})
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+    private static final List<String> COLLECTION_PATHS = Arrays.asList(
+            "/api/public/event",
+            "/api/public/event/name/*",
+            "/api/public/event/author",
+            "/api/public/event/type",
+            "/api/public/event/*/review",
+            "/api/public/event/calendar",
+            "/api/public/event/calendar/count",
+            "/api/public/account/",
+            "/private/event",
+            "/private/account/user",
+            "/private/account/user/*/message",
+            "/private/account/user/*/message/unread");
+
+    private final ResourceVersionService resourceVersionService;
+
+    @Autowired
+    public ConditionalGetConfig(ResourceVersionService resourceVersionService) {
+        this.resourceVersionService = resourceVersionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersionService, Clock.systemDefaultZone()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<CollectionEtagFilter> collectionEtagFilter() {
+        return new FilterRegistrationBean<>(new CollectionEtagFilter(COLLECTION_PATHS));
+    }
+}
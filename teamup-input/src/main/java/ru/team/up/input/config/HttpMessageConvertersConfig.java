@@ -0,0 +1,73 @@
+package ru.team.up.input.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.team.up.input.json.CachedWriterHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Конвертеры Spring MVC. Приложение включено с @EnableWebMvc, поэтому список конвертеров составляет
+ * WebMvcConfigurationSupport со своим ObjectMapper, а бины конвертеров в него не попадают.
+ * JSON-конвертер по умолчанию заменяется на {@link CachedWriterHttpMessageConverter} с общим ObjectMapper,
+ * конвертеры Smile и CBOR - конвертерами {@link BinaryFormatsConfig} с теми же настройками ObjectMapper.
+ * При teamup.binary-formats.enabled=false конвертеры Smile и CBOR, которые WebMvcConfigurationSupport
+ * добавляет сам при наличии jackson-dataformat-smile / jackson-dataformat-cbor, удаляются из списка
+ */
+@Configuration
+public class HttpMessageConvertersConfig implements WebMvcConfigurer {
+    private final MappingJackson2HttpMessageConverter jsonConverter;
+    private final ObjectProvider<MappingJackson2SmileHttpMessageConverter> smileConverter;
+    private final ObjectProvider<MappingJackson2CborHttpMessageConverter> cborConverter;
+    private final boolean binaryFormatsEnabled;
+
+    @Autowired
+    public HttpMessageConvertersConfig(MappingJackson2HttpMessageConverter jsonConverter,
+                                       ObjectProvider<MappingJackson2SmileHttpMessageConverter> smileConverter,
+                                       ObjectProvider<MappingJackson2CborHttpMessageConverter> cborConverter,
+                                       @Value("${teamup.binary-formats.enabled:true}") boolean binaryFormatsEnabled) {
+        this.jsonConverter = jsonConverter;
+        this.smileConverter = smileConverter;
+        this.cborConverter = cborConverter;
+        this.binaryFormatsEnabled = binaryFormatsEnabled;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replace(converters, MappingJackson2HttpMessageConverter.class, jsonConverter);
+        if (!binaryFormatsEnabled) {
+            converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                    || converter instanceof MappingJackson2CborHttpMessageConverter);
+            return;
+        }
+        smileConverter.ifAvailable(converter ->
+                replace(converters, MappingJackson2SmileHttpMessageConverter.class, converter));
+        cborConverter.ifAvailable(converter ->
+                replace(converters, MappingJackson2CborHttpMessageConverter.class, converter));
+    }
+
+    /**
+     * Ставит конвертер на место конвертера по умолчанию того же формата или в конец списка.
+     * Без @EnableWebMvc Spring Boot сам добавляет бины конвертеров, и список не меняется
+     */
+    static void replace(List<HttpMessageConverter<?>> converters, Class<?> defaultType,
+                        HttpMessageConverter<?> converter) {
+        if (converters.contains(converter)) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == defaultType) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.team.up.input.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+import ru.team.up.core.projection.EventReviewCard;
+import ru.team.up.core.projection.UserMessageView;
+import ru.team.up.input.json.CachedWriterHttpMessageConverter;
+import ru.team.up.input.json.JacksonTuning;
+import ru.team.up.input.json.ObjectWriters;
+
+import java.util.List;
+
+/**
+ * Общий ObjectMapper приложения: настройки {@link JacksonTuning}, модуль Blackbird или Afterburner
+ * при наличии в classpath и JSON-конвертер с заранее созданными ObjectWriter для основных типов ответов
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer teamupJacksonCustomizer() {
+        return JacksonTuning::tune;
+    }
+
+    @Bean
+    @ConditionalOnClass(name = JacksonTuning.BLACKBIRD_MODULE)
+    public Module blackbirdModule() {
+        return JacksonTuning.bytecodeModule();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = JacksonTuning.AFTERBURNER_MODULE)
+    @ConditionalOnMissingClass(JacksonTuning.BLACKBIRD_MODULE)
+    public Module afterburnerModule() {
+        return JacksonTuning.bytecodeModule();
+    }
+
+    @Bean
+    public ObjectWriters objectWriters(ObjectMapper objectMapper) {
+        return new ObjectWriters(objectMapper,
+                Event.class,
+                User.class,
+                new TypeReference<List<Event>>() {
+                }.getType(),
+                new TypeReference<List<User>>() {
+                }.getType(),
+                new TypeReference<List<UserMessageView>>() {
+                }.getType(),
+                new TypeReference<List<EventReviewCard>>() {
+                }.getType(),
+                new TypeReference<List<EventCalendarCard>>() {
+                }.getType(),
+                new TypeReference<List<EventCalendarBucket>>() {
+                }.getType());
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ObjectWriters objectWriters) {
+        return new CachedWriterHttpMessageConverter(objectMapper, objectWriters);
+    }
+}
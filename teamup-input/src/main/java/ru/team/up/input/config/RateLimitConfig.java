@@ -0,0 +1,48 @@
+package ru.team.up.input.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.team.up.core.repositories.RateLimitBucketRepository;
+import ru.team.up.input.ratelimit.InMemoryRateLimitStore;
+import ru.team.up.input.ratelimit.PostgresRateLimitStore;
+import ru.team.up.input.ratelimit.RateLimitFilter;
+import ru.team.up.input.ratelimit.RateLimitProperties;
+import ru.team.up.input.ratelimit.RateLimitStore;
+
+/**
+ * Ограничение частоты запросов (teamup.rate-limit.enabled=true): корзины в памяти узла
+ * или в БД (teamup.rate-limit.store=postgres) и фильтр, который выполняется сразу после Spring Security
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "teamup.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "teamup.rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(RateLimitProperties properties) {
+        return new InMemoryRateLimitStore(properties.getMaxBuckets());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "teamup.rate-limit", name = "store", havingValue = "postgres")
+    public RateLimitStore postgresRateLimitStore(RateLimitBucketRepository rateLimitBucketRepository) {
+        return new PostgresRateLimitStore(rateLimitBucketRepository);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   RateLimitStore store,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, store, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
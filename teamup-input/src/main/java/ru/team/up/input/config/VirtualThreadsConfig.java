@@ -0,0 +1,66 @@
+package ru.team.up.input.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import ru.team.up.core.concurrent.VirtualThreads;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Режим виртуальных потоков (teamup.threads.virtual=true, JDK 21+): HTTP-запросы Tomcat, асинхронные задачи
+ * Spring (@Async, асинхронные обработчики MVC) и проверка мероприятий выполняются в виртуальных потоках.
+ * Число потоков Tomcat больше не ограничивает обработку запросов, поэтому нагрузку на БД ограничивает
+ * teamup.admission.* по размеру пула соединений. На JDK без виртуальных потоков используются обычные потоки
+ */
+@Configuration
+@Conditional(VirtualThreadsConfig.OnVirtualThreads.class)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<AbstractProtocol<?>> virtualThreadsProtocolHandlerCustomizer() {
+        return protocol -> protocol.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-virtual-"));
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-virtual-"));
+    }
+
+    /**
+     * Включен teamup.threads.virtual и JDK поддерживает виртуальные потоки
+     */
+    @Slf4j
+    static class OnVirtualThreads extends SpringBootCondition {
+        static final String PROPERTY = "teamup.threads.virtual";
+        // Условие проверяется на нескольких этапах разбора конфигурации, предупреждение выводится один раз
+        private static final AtomicBoolean WARNED = new AtomicBoolean();
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty(PROPERTY, Boolean.class, false)) {
+                return ConditionOutcome.noMatch(PROPERTY + " не включен");
+            }
+            if (!VirtualThreads.isSupported()) {
+                if (WARNED.compareAndSet(false, true)) {
+                    log.warn("{}=true, но JDK {} не поддерживает виртуальные потоки, используются обычные потоки",
+                            PROPERTY, System.getProperty("java.version"));
+                }
+                return ConditionOutcome.noMatch("JDK не поддерживает виртуальные потоки");
+            }
+            return ConditionOutcome.match("виртуальные потоки включены");
+        }
+    }
+}
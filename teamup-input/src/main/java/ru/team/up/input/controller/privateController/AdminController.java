@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.team.up.core.entity.Admin;
 import ru.team.up.core.service.AdminService;
+import ru.team.up.core.logging.LogArgs;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -35,7 +36,7 @@ public class AdminController {
         log.debug("Старт метода ResponseEntity<List<Admin>> getAllAdmins()");
 
         ResponseEntity<List<Admin>> responseEntity = ResponseEntity.ok(adminService.getAllAdmins());
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -50,7 +51,7 @@ public class AdminController {
         log.debug("Старт метода ResponseEntity<Admin> getOneAdmin(@PathVariable Long id) с параметром {}", id);
 
         ResponseEntity<Admin> responseEntity = ResponseEntity.ok(adminService.getOneAdmin(id));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -62,10 +63,10 @@ public class AdminController {
      */
     @PostMapping
     public ResponseEntity<Admin> createAdmin(@RequestParam String admin, @RequestBody @NotNull Admin adminCreate) {
-        log.debug("Старт метода ResponseEntity<Admin> createAdmin(@RequestBody @NotNull Admin admin) с параметром {}", adminCreate);
+        log.debug("Старт метода ResponseEntity<Admin> createAdmin(@RequestBody @NotNull Admin admin) с параметром {}", LogArgs.entity(adminCreate));
 
         ResponseEntity<Admin> responseEntity = new ResponseEntity<>(adminService.saveAdmin(adminCreate), HttpStatus.CREATED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -77,10 +78,10 @@ public class AdminController {
      */
     @PatchMapping
     public ResponseEntity<Admin> updateAdmin(@RequestBody @NotNull Admin admin) {
-        log.debug("Старт метода ResponseEntity<Admin> updateAdmin(@RequestBody @NotNull Admin admin) с параметром {}", admin);
+        log.debug("Старт метода ResponseEntity<Admin> updateAdmin(@RequestBody @NotNull Admin admin) с параметром {}", LogArgs.entity(admin));
 
         ResponseEntity<Admin> responseEntity = ResponseEntity.ok(adminService.saveAdmin(admin));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -96,7 +97,7 @@ public class AdminController {
         adminService.deleteAdmin(id);
 
         ResponseEntity<Admin> responseEntity = new ResponseEntity<>(HttpStatus.OK);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
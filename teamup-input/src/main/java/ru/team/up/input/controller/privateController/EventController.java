@@ -8,6 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.team.up.core.entity.Event;
 import ru.team.up.core.service.EventService;
+import ru.team.up.core.logging.LogArgs;
+import ru.team.up.input.etag.VersionedResource;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -36,7 +38,7 @@ public class EventController {
         log.debug("Старт метода ResponseEntity<List<Event>> getAllEvents()");
 
         ResponseEntity<List<Event>> responseEntity = ResponseEntity.ok(eventService.getAllEvents());
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -47,11 +49,12 @@ public class EventController {
      * в теле ResponseEntity
      */
     @GetMapping("/{id}")
+    @VersionedResource(VersionedResource.Kind.EVENT)
     public ResponseEntity<Event> getOneEvent(@PathVariable Long id) {
         log.debug("Старт метода ResponseEntity<Event> getOneEvent(@PathVariable Long id) с параметром {}", id);
 
         ResponseEntity<Event> responseEntity = ResponseEntity.ok(eventService.getOneEvent(id));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -63,10 +66,10 @@ public class EventController {
      */
     @PostMapping
     public ResponseEntity<Event> createEvent(@RequestParam String event, @RequestBody @NotNull Event eventCreate) {
-        log.debug("Старт метода ResponseEntity<Event> createEvent(@RequestBody @NotNull Event event) с параметром {}", eventCreate);
+        log.debug("Старт метода ResponseEntity<Event> createEvent(@RequestBody @NotNull Event event) с параметром {}", LogArgs.entity(eventCreate));
 
         ResponseEntity<Event> responseEntity = new ResponseEntity<>(eventService.saveEvent(eventCreate), HttpStatus.CREATED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -78,10 +81,10 @@ public class EventController {
      */
     @PatchMapping
     public ResponseEntity<Event> updateEvent(@RequestBody @NotNull Event event) {
-        log.debug("Старт метода ResponseEntity<Event> updateEvent(@RequestBody @NotNull Event event) с параметром {}", event);
+        log.debug("Старт метода ResponseEntity<Event> updateEvent(@RequestBody @NotNull Event event) с параметром {}", LogArgs.entity(event));
 
         ResponseEntity<Event> responseEntity = ResponseEntity.ok(eventService.saveEvent(event));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -97,7 +100,7 @@ public class EventController {
         eventService.deleteEvent(id);
 
         ResponseEntity<Event> responseEntity = new ResponseEntity<>(HttpStatus.ACCEPTED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
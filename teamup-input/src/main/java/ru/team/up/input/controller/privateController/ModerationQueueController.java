@@ -0,0 +1,78 @@
+package ru.team.up.input.controller.privateController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.team.up.core.entity.ModerationTask;
+import ru.team.up.core.service.ModerationQueueService;
+
+import java.util.List;
+
+/**
+ * Контроллер очереди модерации мероприятий
+ *
+ * @link localhost:8080/swagger-ui.html
+ * Документация API
+ */
+
+@Slf4j
+@Tag(name = "Moderation Queue Private Controller", description = "Moderation queue API")
+@RestController
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+@RequestMapping("/private/account/moderator/{id}/queue")
+public class ModerationQueueController {
+    private ModerationQueueService moderationQueueService;
+
+    /**
+     * @param id Значение ID модератора
+     * @return Задачи, закрепленные за модератором, в теле ResponseEntity
+     */
+    @Operation(summary = "Получение задач, закрепленных за модератором")
+    @GetMapping
+    public ResponseEntity<List<ModerationTask>> getLeased(@PathVariable Long id) {
+        log.debug("Старт метода ResponseEntity<List<ModerationTask>> getLeased(Long id) с параметром {}", id);
+
+        return ResponseEntity.ok(moderationQueueService.getLeased(id));
+    }
+
+    /**
+     * @param id   Значение ID модератора
+     * @param size Максимальное количество задач
+     * @return Новые задачи с наибольшим приоритетом, закрепленные за модератором, в теле ResponseEntity
+     */
+    @Operation(summary = "Получение задач из очереди модерации")
+    @PostMapping("/lease")
+    public ResponseEntity<List<ModerationTask>> lease(@PathVariable Long id,
+                                                      @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.debug("Старт метода ResponseEntity<List<ModerationTask>> lease(Long id, int size) с параметрами {}, {}",
+                id, size);
+
+        List<ModerationTask> tasks = moderationQueueService.lease(id, size);
+        log.debug("Получили {} задач", tasks.size());
+
+        return ResponseEntity.ok(tasks);
+    }
+
+    /**
+     * @param id       Значение ID модератора
+     * @param taskId   Значение ID задачи
+     * @param approved Решение модератора: true - одобрить мероприятие, false - удалить
+     * @return Объект ResponseEntity со статусом OK
+     */
+    @Operation(summary = "Завершение проверки мероприятия")
+    @PostMapping("/{taskId}/complete")
+    public ResponseEntity<Void> complete(@PathVariable Long id,
+                                         @PathVariable Long taskId,
+                                         @RequestParam("approved") boolean approved) {
+        log.debug("Старт метода ResponseEntity<Void> complete(Long id, Long taskId, boolean approved) с параметрами {}, {}, {}",
+                id, taskId, approved);
+
+        moderationQueueService.complete(taskId, id, approved);
+
+        return ResponseEntity.ok().build();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.team.up.core.entity.Moderator;
 import ru.team.up.core.service.ModeratorService;
+import ru.team.up.core.logging.LogArgs;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -40,7 +41,7 @@ public class ModeratorController {
         log.debug("Старт метода ResponseEntity<List<Moderator>> getAllModerators()");
 
         ResponseEntity<List<Moderator>> responseEntity = ResponseEntity.ok(moderatorService.getAllModerators());
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -56,7 +57,7 @@ public class ModeratorController {
         log.debug("Старт метода ResponseEntity<Moderator> getOneModerator(@PathVariable Long id) с параметром {}", id);
 
         ResponseEntity<Moderator> responseEntity = ResponseEntity.ok(moderatorService.getOneModerator(id));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -68,10 +69,10 @@ public class ModeratorController {
     @Operation(summary ="Создание нового модератора")
     @PostMapping
     public ResponseEntity<Moderator> createModerator(@RequestBody @NotNull Moderator moderatorCreate) {
-        log.debug("Старт метода ResponseEntity<Moderator> createModerator(@RequestBody @NotNull Moderator moderator) с параметром {}", moderatorCreate);
+        log.debug("Старт метода ResponseEntity<Moderator> createModerator(@RequestBody @NotNull Moderator moderator) с параметром {}", LogArgs.entity(moderatorCreate));
         ResponseEntity<Moderator> responseEntity
                 = new ResponseEntity<>(moderatorService.saveModerator(moderatorCreate), HttpStatus.CREATED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -85,12 +86,12 @@ public class ModeratorController {
     @Operation(summary ="Обновление данных модератора")
     @PatchMapping("/{id}")
     public ResponseEntity<Moderator> updateModerator(@RequestBody @NotNull Moderator moderator,@PathVariable("id") Long moderatorId) {
-        log.debug("Старт метода ResponseEntity<Moderator> updateModerator(@RequestBody @NotNull Moderator moderator) с параметром {}", moderator);
+        log.debug("Старт метода ResponseEntity<Moderator> updateModerator(@RequestBody @NotNull Moderator moderator) с параметром {}", LogArgs.entity(moderator));
         ResponseEntity<Moderator> responseEntity;
         if(moderatorService.moderatorIsExistsById (moderatorId)){
             moderator.setId (moderatorId);
             responseEntity = ResponseEntity.ok(moderatorService.saveModerator (moderator));
-            log.debug("Модератор обновлён {}", responseEntity);
+            log.debug("Модератор обновлён {}", LogArgs.response(responseEntity));
         }else{
             responseEntity = new ResponseEntity<> (HttpStatus.NOT_FOUND);
         }
@@ -109,7 +110,7 @@ public class ModeratorController {
         moderatorService.deleteModerator(id);
 
         ResponseEntity<Moderator> responseEntity = new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
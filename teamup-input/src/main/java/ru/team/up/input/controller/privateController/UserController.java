@@ -9,6 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.team.up.core.entity.User;
 import ru.team.up.core.service.UserService;
+import ru.team.up.core.logging.LogArgs;
+import ru.team.up.input.etag.VersionedResource;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -37,7 +39,7 @@ public class UserController {
         log.debug("Старт метода ResponseEntity<List<User>> getAllUsers()");
 
         ResponseEntity<List<User>> responseEntity = ResponseEntity.ok(userService.getAllUsers());
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -48,11 +50,12 @@ public class UserController {
      * в теле ResponseEntity
      */
     @GetMapping("/{id}")
+    @VersionedResource(VersionedResource.Kind.USER)
     public ResponseEntity<User> getOneUser(@PathVariable Long id) {
         log.debug("Старт метода ResponseEntity<User> getOneUser(@PathVariable Long id) с параметром {}", id);
 
         ResponseEntity<User> responseEntity = ResponseEntity.ok(userService.getOneUser(id));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -64,10 +67,10 @@ public class UserController {
      */
     @PostMapping
     public ResponseEntity<User> createUser(@RequestParam String user, @RequestBody @NotNull User userCreate) {
-        log.debug("Старт метода ResponseEntity<User> createUser(@RequestBody @NotNull User user) с параметром {}", userCreate);
+        log.debug("Старт метода ResponseEntity<User> createUser(@RequestBody @NotNull User user) с параметром {}", LogArgs.entity(userCreate));
 
         ResponseEntity<User> responseEntity = new ResponseEntity<>(userService.saveUser(userCreate), HttpStatus.CREATED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -79,10 +82,10 @@ public class UserController {
      */
     @PatchMapping
     public ResponseEntity<User> updateUser(@RequestBody @NotNull User user) {
-        log.debug("Старт метода ResponseEntity<User> updateUser(@RequestBody @NotNull User user) с параметром {}", user);
+        log.debug("Старт метода ResponseEntity<User> updateUser(@RequestBody @NotNull User user) с параметром {}", LogArgs.entity(user));
 
         ResponseEntity<User> responseEntity = ResponseEntity.ok(userService.saveUser(user));
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
@@ -98,7 +101,7 @@ public class UserController {
         userService.deleteUser(id);
 
         ResponseEntity<User> responseEntity = new ResponseEntity<>(HttpStatus.ACCEPTED);
-        log.debug("Получили ответ {}", responseEntity);
+        log.debug("Получили ответ {}", LogArgs.response(responseEntity));
 
         return responseEntity;
     }
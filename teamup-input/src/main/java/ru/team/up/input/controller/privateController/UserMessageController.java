@@ -0,0 +1,88 @@
+package ru.team.up.input.controller.privateController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.team.up.core.projection.UserMessageView;
+import ru.team.up.core.service.MessageReadReceiptBuffer;
+import ru.team.up.core.service.UserMessageService;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Контроллер входящих сообщений пользователя
+ *
+ * @link localhost:8080/swagger-ui.html
+ * Документация API
+ */
+
+@Slf4j
+@Tag(name = "User Message Private Controller", description = "User inbox API")
+@RestController
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+@RequestMapping("/private/account/user/{id}/message")
+public class UserMessageController {
+    private UserMessageService userMessageService;
+    private MessageReadReceiptBuffer messageReadReceiptBuffer;
+
+    /**
+     * @param id           Значение ID пользователя
+     * @param creationTime Время создания последнего полученного сообщения
+     * @param messageId    ID последнего полученного сообщения
+     * @param size         Размер страницы
+     * @return Страница входящих сообщений, от новых к старым, в теле ResponseEntity
+     */
+    @Operation(summary = "Получение страницы входящих сообщений пользователя")
+    @GetMapping
+    public ResponseEntity<List<UserMessageView>> getInbox(
+            @PathVariable Long id,
+            @RequestParam(value = "creationTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime creationTime,
+            @RequestParam(value = "messageId", required = false) Long messageId,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        log.debug("Старт метода ResponseEntity<List<UserMessageView>> getInbox(Long id, ...) с параметром {}", id);
+
+        List<UserMessageView> messages = userMessageService.getInbox(id, creationTime, messageId, size);
+        log.debug("Получили {} сообщений", messages.size());
+
+        return ResponseEntity.ok(messages);
+    }
+
+    /**
+     * @param id Значение ID пользователя
+     * @return Количество непрочитанных сообщений пользователя в теле ResponseEntity
+     */
+    @Operation(summary = "Получение количества непрочитанных сообщений пользователя")
+    @GetMapping("/unread")
+    public ResponseEntity<Long> getUnreadCount(@PathVariable Long id) {
+        log.debug("Старт метода ResponseEntity<Long> getUnreadCount(@PathVariable Long id) с параметром {}", id);
+
+        return ResponseEntity.ok(userMessageService.getUnreadCount(id));
+    }
+
+    /**
+     * Подтверждения прочтения накапливаются и записываются в БД пачками
+     *
+     * @param id         Значение ID пользователя
+     * @param messageIds ID прочитанных сообщений
+     * @return Объект ResponseEntity со статусом ACCEPTED
+     */
+    @Operation(summary = "Отметка сообщений пользователя прочитанными")
+    @PatchMapping("/read")
+    public ResponseEntity<Void> markAsRead(@PathVariable Long id, @RequestBody @NotNull List<Long> messageIds) {
+        log.debug("Старт метода ResponseEntity<Void> markAsRead(Long id, List<Long> messageIds) с параметрами {}, {}",
+                id, messageIds.size());
+
+        messageReadReceiptBuffer.acknowledge(id, messageIds);
+
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.team.up.input.controller.privateController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.team.up.input.sse.SseSubscriptionRegistry;
+
+/**
+ * Контроллер потока уведомлений пользователя (Server-Sent Events)
+ *
+ * @link localhost:8080/swagger-ui.html
+ * Документация API
+ */
+
+@Slf4j
+@Tag(name = "User Stream Private Controller", description = "User notification stream API")
+@RestController
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+@RequestMapping("/private/account/user/{id}/stream")
+public class UserStreamController {
+    private SseSubscriptionRegistry sseSubscriptionRegistry;
+
+    /**
+     * Поток уведомлений о новых сообщениях и изменениях мероприятий пользователя.
+     * При переподключении клиент передает заголовок Last-Event-ID и получает пропущенные уведомления
+     *
+     * @param id          Значение ID пользователя
+     * @param lastEventId ID последнего полученного уведомления
+     * @return Поток уведомлений
+     */
+    @Operation(summary = "Подписка на уведомления пользователя")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long id,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Старт метода SseEmitter subscribe(Long id, String lastEventId) с параметрами {}, {}", id, lastEventId);
+
+        return sseSubscriptionRegistry.subscribe(id, lastEventId);
+    }
+}
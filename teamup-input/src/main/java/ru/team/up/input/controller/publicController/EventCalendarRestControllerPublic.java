@@ -0,0 +1,139 @@
+package ru.team.up.input.controller.publicController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.team.up.core.calendar.CalendarUnit;
+import ru.team.up.core.calendar.EventCalendarFilter;
+import ru.team.up.core.projection.EventCalendarBucket;
+import ru.team.up.core.projection.EventCalendarCard;
+import ru.team.up.core.service.EventCalendarService;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * REST-контроллер для календаря мероприятий: мероприятия периода и число мероприятий по дням, неделям и месяцам
+ */
+
+@Tag(name = "Event Calendar Public Controller", description = "REST-контроллер для календаря мероприятий")
+@Slf4j
+@RestController
+@RequestMapping(value = "api/public/event/calendar")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventCalendarRestControllerPublic {
+    private final EventCalendarService eventCalendarService;
+
+    /**
+     * Метод получения страницы мероприятий периода в порядке проведения.
+     * Для получения следующей страницы передаются время и идентификатор последнего мероприятия текущей страницы
+     *
+     * @param from            Начало периода, включительно
+     * @param to              Конец периода, не включительно
+     * @param eventTypeId     Идентификатор типа мероприятия
+     * @param statusId        Идентификатор статуса мероприятия
+     * @param interestIds     Идентификаторы интересов, подходит мероприятие хотя бы с одним из них
+     * @param timeEvent       Время последнего полученного мероприятия
+     * @param id              Идентификатор последнего полученного мероприятия
+     * @param size            Размер страницы
+     * @param includeArchived Включить мероприятия, перенесенные в архив
+     * @return Страница мероприятий и статус ответа
+     */
+    @Operation(summary = "Получение мероприятий периода", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Мероприятия получены."),
+            @ApiResponse(responseCode = "204", description = "NO CONTENT. Мероприятий больше нет."),
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. Некорректный период.")
+    })
+    @GetMapping
+    public ResponseEntity<List<EventCalendarCard>> getEvents(
+            @Parameter(name = "from", example = "2021-11-01T00:00:00", description = "Начало периода")
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", example = "2021-12-01T00:00:00", description = "Конец периода, не включительно")
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(name = "eventTypeId", description = "ID типа мероприятия")
+            @RequestParam(value = "eventTypeId", required = false) Long eventTypeId,
+            @Parameter(name = "statusId", description = "ID статуса мероприятия")
+            @RequestParam(value = "statusId", required = false) Long statusId,
+            @Parameter(name = "interestId", description = "ID интересов, можно указать несколько")
+            @RequestParam(value = "interestId", required = false) List<Long> interestIds,
+            @Parameter(name = "timeEvent", description = "Время последнего полученного мероприятия")
+            @RequestParam(value = "timeEvent", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timeEvent,
+            @Parameter(name = "id", description = "ID последнего полученного мероприятия")
+            @RequestParam(value = "id", required = false) Long id,
+            @Parameter(name = "size", example = "20", description = "Размер страницы")
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(name = "includeArchived", description = "Включить мероприятия из архива")
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        log.debug("Получен запрос на мероприятия с {} по {} после мероприятия {} ({})", from, to, id, timeEvent);
+        List<EventCalendarCard> events = eventCalendarService.getEventsPage(
+                filter(from, to, eventTypeId, statusId, interestIds, includeArchived), timeEvent, id, size);
+
+        if (events.isEmpty()) {
+            log.debug("Мероприятия с {} по {} не найдены", from, to);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        log.debug("Получено {} мероприятий с {} по {}", events.size(), from, to);
+        return new ResponseEntity<>(events, HttpStatus.OK);
+    }
+
+    /**
+     * Метод получения числа мероприятий периода по дням, неделям или месяцам
+     *
+     * @param unit            Интервал: DAY, WEEK (с понедельника) или MONTH
+     * @param includeArchived Включить мероприятия, перенесенные в архив
+     * @return Интервалы с мероприятиями в порядке возрастания и статус ответа
+     */
+    @Operation(summary = "Получение числа мероприятий по дням, неделям или месяцам", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Число мероприятий получено."),
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. Некорректный период.")
+    })
+    @GetMapping("/count")
+    public ResponseEntity<List<EventCalendarBucket>> countEvents(
+            @Parameter(name = "from", example = "2021-11-01T00:00:00", description = "Начало периода")
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", example = "2022-11-01T00:00:00", description = "Конец периода, не включительно")
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(name = "unit", example = "DAY", description = "Интервал: DAY, WEEK или MONTH")
+            @RequestParam(value = "unit", defaultValue = "DAY") CalendarUnit unit,
+            @Parameter(name = "eventTypeId", description = "ID типа мероприятия")
+            @RequestParam(value = "eventTypeId", required = false) Long eventTypeId,
+            @Parameter(name = "statusId", description = "ID статуса мероприятия")
+            @RequestParam(value = "statusId", required = false) Long statusId,
+            @Parameter(name = "interestId", description = "ID интересов, можно указать несколько")
+            @RequestParam(value = "interestId", required = false) List<Long> interestIds,
+            @Parameter(name = "includeArchived", description = "Включить мероприятия из архива")
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        log.debug("Получен запрос на число мероприятий с {} по {} по интервалам {}", from, to, unit);
+        List<EventCalendarBucket> buckets = eventCalendarService.countEvents(
+                filter(from, to, eventTypeId, statusId, interestIds, includeArchived), unit);
+
+        log.debug("Получено {} интервалов с мероприятиями с {} по {}", buckets.size(), from, to);
+        return new ResponseEntity<>(buckets, HttpStatus.OK);
+    }
+
+    private static EventCalendarFilter filter(LocalDateTime from, LocalDateTime to, Long eventTypeId, Long statusId,
+                                              List<Long> interestIds, boolean includeArchived) {
+        return EventCalendarFilter.builder()
+                .from(from)
+                .to(to)
+                .eventTypeId(eventTypeId)
+                .statusId(statusId)
+                .interestIds(interestIds == null ? null : new HashSet<>(interestIds))
+                .includeArchived(includeArchived)
+                .build();
+    }
+}
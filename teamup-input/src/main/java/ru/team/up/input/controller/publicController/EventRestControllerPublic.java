@@ -1,5 +1,6 @@
 package ru.team.up.input.controller.publicController;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -7,23 +8,32 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.team.up.core.entity.Event;
 import ru.team.up.core.entity.EventType;
-import ru.team.up.input.exception.EventCheckException;
+import ru.team.up.core.service.ModerationQueueService;
+import ru.team.up.input.etag.VersionTags;
+import ru.team.up.input.etag.VersionedResource;
 import ru.team.up.input.exception.EventCreateRequestException;
 import ru.team.up.input.payload.request.EventRequest;
 import ru.team.up.input.payload.request.JoinRequest;
 import ru.team.up.input.payload.request.UserRequest;
+import ru.team.up.input.ratelimit.ClientKeys;
+import ru.team.up.input.service.EventScreeningService;
 import ru.team.up.input.service.EventServiceRest;
 import ru.team.up.input.wordmatcher.WordMatcher;
+import ru.team.up.core.logging.LogArgs;
 
+import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * REST-контроллер для мероприятий
@@ -37,8 +47,13 @@ import java.util.Optional;
 @RequestMapping(value = "api/public/event")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class EventRestControllerPublic {
+    private static final String REVIEW_REASON = "Имя или описание мероприятия содержит слова, требующие проверки";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final EventServiceRest eventServiceRest;
     private final WordMatcher wordMatcher;
+    private final ModerationQueueService moderationQueueService;
+    private final EventScreeningService eventScreeningService;
 
 
     /**
@@ -68,7 +83,8 @@ public class EventRestControllerPublic {
     /**
      * Метод получения мероприятия по идентификатору
      *
-     * @param eventId Идентификатор мероприятия
+     * @param eventId         Идентификатор мероприятия
+     * @param includeArchived Искать мероприятие также в архиве
      * @return Ответ запроса и статус проверки
      */
     @Operation(summary = "Получение мероприятия по идентификатору", method = "GET", responses = {
@@ -77,10 +93,16 @@ public class EventRestControllerPublic {
             @ApiResponse(responseCode = "404", description = "NOT FOUND")
     })
     @GetMapping(value = "/{id}")
+    @VersionedResource(VersionedResource.Kind.EVENT)
     public ResponseEntity<Event> findEventById(@Parameter(name = "ID", example = "1", description = "ID мероприятия")
-                                               @PathVariable("id") Long eventId) {
+                                               @PathVariable("id") Long eventId,
+                                               @Parameter(name = "includeArchived", description = "Искать также в архиве")
+                                               @RequestParam(value = "includeArchived", defaultValue = "false")
+                                               boolean includeArchived) {
         log.debug("Получен запрос на поиск мероприятия по id: {}", eventId);
-        Optional<Event> eventOptional = Optional.ofNullable(eventServiceRest.getEventById(eventId));
+        Optional<Event> eventOptional = Optional.ofNullable(includeArchived
+                ? eventServiceRest.getEventByIdIncludingArchive(eventId)
+                : eventServiceRest.getEventById(eventId));
 
         return eventOptional
                 .map(event -> {
@@ -174,47 +196,137 @@ public class EventRestControllerPublic {
      */
     @Operation(summary = "Создание мероприятия", method = "POST", responses = {
             @ApiResponse(responseCode = "201", description = "ОК. Мероприятие создано."),
+            @ApiResponse(responseCode = "202", description = "ACCEPTED. Мероприятие создано и отправлено на проверку."),
             @ApiResponse(responseCode = "404", description = "NOT FOUND")
     })
     @PostMapping(value = "/")
     public ResponseEntity<Event> createEvent(@Parameter(name = "eventRequest", description = "Сущность EventRequest")
                                              @RequestBody EventRequest event) {
-        log.debug("Получен запрос на создание мероприятия:\n {}", event);
+        log.debug("Получен запрос на создание мероприятия:\n {}", LogArgs.entity(event));
 
-        checkEvent(event);
+        if (eventScreeningService.isAsync()) {
+            checkBannedWords(event);
+            checkEventTime(event);
+            eventScreeningService.markPending(event.getEvent());
+            Event pendingEvent = eventServiceRest.saveEvent(event.getEvent());
+            eventScreeningService.submit(pendingEvent);
+
+            log.debug("Мероприятие создано и ожидает проверки");
+            return new ResponseEntity<>(pendingEvent, HttpStatus.ACCEPTED);
+        }
+
+        String reviewReason = checkEvent(event);
 
         log.debug("Мероприятие создано");
-        Event upcomingEvent = eventServiceRest.saveEvent(event.getEvent());
+        Event upcomingEvent = eventServiceRest.saveEvent(event.getEvent(), reviewReason);
+
+        if (reviewReason != null) {
+            return new ResponseEntity<>(upcomingEvent, HttpStatus.ACCEPTED);
+        }
 
         return new ResponseEntity<>(upcomingEvent, HttpStatus.CREATED);
     }
 
     /**
-     * Метод обновления мероприятия
+     * Метод обновления мероприятия. Мероприятие заменяется, только если не изменилось с версии
+     * из If-Match (или поля version в теле): без версии ответ 428, с устаревшей версией 409
      *
      * @param event   Данные мероприятия
      * @param eventId Идентификатор мероприятия
+     * @param ifMatch ETag версии мероприятия, которую изменяет клиент
      * @return Ответ запроса и статус проверки
      */
     @Operation(summary = "Обновление мероприятия", method = "PUT", responses = {
             @ApiResponse(responseCode = "200", description = "ОК. Мероприятие обновлено."),
-            @ApiResponse(responseCode = "204", description = "NO CONTENT. Мероприятие не найдено."),
-            @ApiResponse(responseCode = "404", description = "NOT FOUND")
+            @ApiResponse(responseCode = "202", description = "ACCEPTED. Мероприятие обновлено и отправлено на проверку."),
+            @ApiResponse(responseCode = "404", description = "NOT FOUND. Мероприятие не найдено."),
+            @ApiResponse(responseCode = "409", description = "CONFLICT. Мероприятие изменено другим запросом."),
+            @ApiResponse(responseCode = "428", description = "PRECONDITION REQUIRED. Не передана версия мероприятия.")
     })
     @PutMapping(value = "/{id}")
     public ResponseEntity<Event> updateEvent(@RequestBody EventRequest event,
                                              @Parameter(name = "ID", example = "1", description = "ID мероприятия")
-                                             @PathVariable("id") Long eventId) {
-        log.debug("Получен запрос на обновление мероприятия {}", event);
+                                             @PathVariable("id") Long eventId,
+                                             @Parameter(name = "If-Match", example = "\"3\"", description = "ETag версии мероприятия")
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Получен запрос на обновление мероприятия {}", LogArgs.entity(event));
+        Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+
+        if (eventScreeningService.isAsync()) {
+            checkBannedWords(event);
+            checkEventTime(event);
+            eventScreeningService.markPending(event.getEvent());
+            Event pendingEvent = eventServiceRest.updateEvent(eventId, event.getEvent(), expectedVersion);
+            eventScreeningService.submit(pendingEvent);
+
+            log.debug("Мероприятие {} обновлено и ожидает проверки", LogArgs.entity(event));
+            return new ResponseEntity<>(pendingEvent, HttpStatus.ACCEPTED);
+        }
+
+        String reviewReason = checkEvent(event);
 
-        checkEvent(event);
+        log.debug("Мероприятие {} обновлено", LogArgs.entity(event));
+        Event newEvent = eventServiceRest.updateEvent(eventId, event.getEvent(), expectedVersion, reviewReason);
 
-        log.debug("Мероприятие {} обновлено", event);
-        Event newEvent = eventServiceRest.updateEvent(eventId, event.getEvent());
+        if (reviewReason != null) {
+            return new ResponseEntity<>(newEvent, HttpStatus.ACCEPTED);
+        }
 
         return new ResponseEntity<>(newEvent, HttpStatus.OK);
     }
 
+    /**
+     * Метод частичного обновления мероприятия: изменяются только переданные поля.
+     * Изменение выполняется, только если мероприятие не изменилось с версии из If-Match
+     * (или поля version в теле), иначе ответ 409
+     *
+     * @param changes Изменяемые поля мероприятия
+     * @param eventId Идентификатор мероприятия
+     * @param ifMatch ETag версии мероприятия, которую изменяет клиент
+     * @return Ответ запроса и статус проверки
+     */
+    @Operation(summary = "Частичное обновление мероприятия", method = "PATCH", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Мероприятие обновлено."),
+            @ApiResponse(responseCode = "202", description = "ACCEPTED. Мероприятие обновлено и отправлено на проверку."),
+            @ApiResponse(responseCode = "404", description = "NOT FOUND. Мероприятие не найдено."),
+            @ApiResponse(responseCode = "409", description = "CONFLICT. Мероприятие изменено другим запросом.")
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Event> patchEvent(@Parameter(name = "changes", description = "Изменяемые поля мероприятия")
+                                            @RequestBody ObjectNode changes,
+                                            @Parameter(name = "ID", example = "1", description = "ID мероприятия")
+                                            @PathVariable("id") Long eventId,
+                                            @Parameter(name = "If-Match", example = "\"3\"", description = "ETag версии мероприятия")
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Получен запрос на частичное обновление мероприятия с id: {}", eventId);
+        boolean async = eventScreeningService.isAsync();
+        AtomicBoolean needsReview = new AtomicBoolean();
+
+        Event event = eventServiceRest.patchEvent(eventId, changes, VersionTags.expectedVersion(ifMatch), patched -> {
+            EventRequest request = new EventRequest(patched);
+            if (async) {
+                checkBannedWords(request);
+                checkEventTime(request);
+                eventScreeningService.markPending(patched);
+                return null;
+            }
+            String reviewReason = checkEvent(request);
+            needsReview.set(reviewReason != null);
+            return reviewReason;
+        });
+
+        HttpStatus status = HttpStatus.OK;
+        if (async) {
+            eventScreeningService.submit(event);
+            status = HttpStatus.ACCEPTED;
+        } else if (needsReview.get()) {
+            status = HttpStatus.ACCEPTED;
+        }
+
+        log.debug("Мероприятие с id: {} обновлено, версия {}", eventId, event.getVersion());
+        return ResponseEntity.status(status).eTag(VersionTags.of(event.getVersion())).body(event);
+    }
+
     /**
      * Метод удаления мероприятия по идентификатору
      *
@@ -285,27 +397,70 @@ public class EventRestControllerPublic {
         return new ResponseEntity<>(event, HttpStatus.OK);
     }
 
+    /**
+     * Метод жалобы на мероприятие. Повторная жалоба того же пользователя не учитывается
+     *
+     * @param eventId Идентификатор мероприятия
+     * @param request Запрос, по которому определяется пользователь
+     * @return Статус ответа
+     */
+    @Operation(summary = "Жалоба на мероприятие", method = "POST", responses = {
+            @ApiResponse(responseCode = "202", description = "ACCEPTED. Жалоба принята."),
+            @ApiResponse(responseCode = "204", description = "NO CONTENT. Мероприятие не найдено.")
+    })
+    @PostMapping(value = "/{id}/report")
+    public ResponseEntity<Void> reportEvent(@Parameter(name = "ID", example = "1", description = "ID мероприятия")
+                                            @PathVariable("id") Long eventId,
+                                            HttpServletRequest request) {
+        log.debug("Получена жалоба на мероприятие с id: {}", eventId);
+        moderationQueueService.report(eventId, ClientKeys.of(request));
+
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
     /**
      * Метод проверки мероприятия
      *
      * @param event Данные мероприятия
+     * @return Причина отправки на проверку модератору или null, если проверка не нужна
      */
-    private void checkEvent(EventRequest event) {
+    private String checkEvent(EventRequest event) {
+        checkBannedWords(event);
+        checkEventTime(event);
+
+        if (wordMatcher.detectUnnecessaryWords(event.getEvent().getEventName()) ||
+                wordMatcher.detectUnnecessaryWords(event.getEvent().getDescriptionEvent())) {
+            log.debug("Мероприятие отправлено на проверку:\n {}", LogArgs.entity(event));
+            return REVIEW_REASON;
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод проверки мероприятия на запрещенные слова.
+     * Выполняется до сохранения и при асинхронной проверке, чтобы такое мероприятие отклонялось
+     * одинаково в обоих режимах
+     *
+     * @param event Данные мероприятия
+     */
+    private void checkBannedWords(EventRequest event) {
         if (wordMatcher.detectBadWords(event.getEvent().getEventName()) ||
                 wordMatcher.detectBadWords(event.getEvent().getDescriptionEvent())) {
-            log.error("Имя или описание мероприятия содержит запрещенные слова:\n {}", event);
+            log.error("Имя или описание мероприятия содержит запрещенные слова:\n {}", LogArgs.entity(event));
             throw new EventCreateRequestException("Имя или описание мероприятия содержит запрещенные слова");
         }
+    }
 
+    /**
+     * Метод проверки даты мероприятия
+     *
+     * @param event Данные мероприятия
+     */
+    private void checkEventTime(EventRequest event) {
         if (ChronoUnit.YEARS.between(event.getEvent().getTimeEvent(), LocalDateTime.now()) >= 1) {
-            log.error("Дата создания мероприятия более 1 года:\n {}", event);
+            log.error("Дата создания мероприятия более 1 года:\n {}", LogArgs.entity(event));
             throw new EventCreateRequestException("Дата создания мероприятия более 1 года");
         }
-
-        if (wordMatcher.detectUnnecessaryWords(event.getEvent().getEventName()) ||
-                wordMatcher.detectUnnecessaryWords(event.getEvent().getDescriptionEvent())) {
-            log.debug("Мероприятие отправлено на проверку:\n {}", event);
-            throw new EventCheckException("Мероприятие отправлено на проверку");
-        }
     }
 }
@@ -0,0 +1,72 @@
+package ru.team.up.input.controller.publicController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.team.up.core.projection.EventReviewCard;
+import ru.team.up.core.service.EventReviewService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST-контроллер для ленты отзывов мероприятия
+ */
+
+@Tag(name = "Event Review Public Controller", description = "REST-контроллер для отзывов мероприятий")
+@Slf4j
+@RestController
+@RequestMapping(value = "api/public/event/{id}/review")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventReviewRestControllerPublic {
+    private final EventReviewService eventReviewService;
+
+    /**
+     * Метод получения страницы отзывов мероприятия, от новых к старым.
+     * Для получения следующей страницы передаются время и идентификатор последнего отзыва текущей страницы
+     *
+     * @param eventId    Идентификатор мероприятия
+     * @param reviewTime Время последнего полученного отзыва
+     * @param reviewId   Идентификатор последнего полученного отзыва
+     * @param size       Размер страницы
+     * @return Страница отзывов и статус ответа
+     */
+    @Operation(summary = "Получение страницы отзывов мероприятия", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Отзывы получены."),
+            @ApiResponse(responseCode = "204", description = "NO CONTENT. Отзывов больше нет.")
+    })
+    @GetMapping
+    public ResponseEntity<List<EventReviewCard>> getReviews(
+            @Parameter(name = "ID", example = "1", description = "ID мероприятия")
+            @PathVariable("id") Long eventId,
+            @Parameter(name = "reviewTime", description = "Время последнего полученного отзыва")
+            @RequestParam(value = "reviewTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime reviewTime,
+            @Parameter(name = "reviewId", description = "ID последнего полученного отзыва")
+            @RequestParam(value = "reviewId", required = false) Long reviewId,
+            @Parameter(name = "size", example = "20", description = "Размер страницы")
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        log.debug("Получен запрос на отзывы мероприятия с id: {} после отзыва {} ({})", eventId, reviewId, reviewTime);
+        List<EventReviewCard> reviews = eventReviewService.getReviewsPage(eventId, reviewTime, reviewId, size);
+
+        if (reviews.isEmpty()) {
+            log.debug("Отзывы мероприятия с id: {} не найдены", eventId);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        log.debug("Получено {} отзывов мероприятия с id: {}", reviews.size(), eventId);
+        return new ResponseEntity<>(reviews, HttpStatus.OK);
+    }
+}
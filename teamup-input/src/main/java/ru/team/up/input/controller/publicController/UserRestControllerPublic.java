@@ -1,21 +1,27 @@
 package ru.team.up.input.controller.publicController;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.team.up.core.entity.User;
+import ru.team.up.input.etag.VersionTags;
+import ru.team.up.input.etag.VersionedResource;
 import ru.team.up.input.payload.request.UserRequest;
 import ru.team.up.input.service.UserServiceRest;
 
@@ -44,6 +50,7 @@ public class UserRestControllerPublic {
      */
     @Operation(summary = "Получение пользователя по id")
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @VersionedResource(VersionedResource.Kind.USER)
     public ResponseEntity<User> getUserById(@PathVariable("id") Long userId) {
         log.debug("Запрос на поиск пользователя с id = {}", userId);
         Optional<User> userOptional = Optional.ofNullable(userServiceRest.getUserById(userId));
@@ -103,15 +110,18 @@ public class UserRestControllerPublic {
     }
 
     /**
-     * Метод обновления пользователя
+     * Метод обновления пользователя. Пользователь заменяется, только если не изменился с версии
+     * из If-Match (или поля version в теле): без версии ответ 428, с устаревшей версией 409
      *
-     * @param user   Данные пользователя для изменения
-     * @param userId идентификатор пользователя
+     * @param user    Данные пользователя для изменения
+     * @param userId  идентификатор пользователя
+     * @param ifMatch ETag версии пользователя, которую изменяет клиент
      * @return Ответ обновления и статус проверки
      */
     @Operation(summary = "Изменение пользователя")
     @PutMapping(value = "/update/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<User> updateUser(@RequestBody UserRequest user, @PathVariable("id") Long userId) {
+    public ResponseEntity<User> updateUser(@RequestBody UserRequest user, @PathVariable("id") Long userId,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Получен запрос на обновление пользователя");
         User existUser = userServiceRest.getUserById(userId);
 
@@ -120,9 +130,31 @@ public class UserRestControllerPublic {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        userServiceRest.updateUser(user, existUser.getId());
-        log.debug("Пользователь обновлен");
-        return new ResponseEntity<>(existUser, HttpStatus.OK);
+        User updatedUser = userServiceRest.updateUser(user, existUser.getId(), VersionTags.expectedVersion(ifMatch));
+        log.debug("Пользователь обновлен, версия {}", updatedUser.getVersion());
+        return ResponseEntity.ok().eTag(VersionTags.of(updatedUser.getVersion())).body(updatedUser);
+    }
+
+    /**
+     * Метод частичного обновления пользователя: изменяются только переданные поля.
+     * Изменение выполняется, только если пользователь не изменился с версии из If-Match
+     * (или поля version в теле), иначе ответ 409
+     *
+     * @param changes изменяемые поля пользователя
+     * @param userId  идентификатор пользователя
+     * @param ifMatch ETag версии пользователя, которую изменяет клиент
+     * @return Ответ обновления и статус проверки
+     */
+    @Operation(summary = "Частичное изменение пользователя")
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<User> patchUser(@RequestBody ObjectNode changes, @PathVariable("id") Long userId,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Получен запрос на частичное обновление пользователя с id = {}", userId);
+        User user = userServiceRest.patchUser(userId, changes, VersionTags.expectedVersion(ifMatch));
+
+        log.debug("Пользователь с id = {} обновлен, версия {}", userId, user.getVersion());
+        return ResponseEntity.ok().eTag(VersionTags.of(user.getVersion())).body(user);
     }
 
     /**
@@ -0,0 +1,58 @@
+package ru.team.up.input.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.team.up.core.datasource.ReadYourWritesTracker;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Привязывает HTTP-запрос к сессии пользователя для {@link ReadYourWritesTracker}:
+ * после записи в сессии ее запросы читают с основной БД, пока реплика не догонит.
+ * Время привязки хранится в атрибуте сессии, новая сессия ради него не создается
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "teamup.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String PRIMARY_UNTIL_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".PRIMARY_UNTIL";
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    public ReadYourWritesFilter(ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicLong primaryUntil = primaryUntil(request.getSession(false));
+        long before = primaryUntil.get();
+        readYourWrites.begin(primaryUntil);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+            HttpSession session = request.getSession(false);
+            if (session != null && primaryUntil.get() != before) {
+                session.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, primaryUntil);
+            }
+        }
+    }
+
+    private static AtomicLong primaryUntil(HttpSession session) {
+        Object value = session == null ? null : session.getAttribute(PRIMARY_UNTIL_ATTRIBUTE);
+        return value instanceof AtomicLong ? (AtomicLong) value : new AtomicLong();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.team.up.input.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Слабый ETag для списков: хэш тела ответа. Список все равно читается из БД, но клиент с актуальной
+ * копией получает 304 без тела
+ */
+public class CollectionEtagFilter extends ShallowEtagHeaderFilter {
+    private final List<String> paths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * @param paths Шаблоны путей списков, например /api/public/event/{@literal *}/review
+     */
+    public CollectionEtagFilter(List<String> paths) {
+        this.paths = paths;
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Заголовок no-store по умолчанию отключает ETag, поэтому задается до Spring Security
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalGetInterceptor.CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        super.doFilterInternal(request, response, filterChain);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.team.up.input.etag;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.team.up.core.projection.EntityVersion;
+import ru.team.up.input.service.ResourceVersionService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Условные GET-запросы к методам с {@link VersionedResource}: ETag - версия сущности, Last-Modified -
+ * конец дня последнего обновления (у мероприятий). Версия читается одним запросом без загрузки сущности,
+ * и при совпадении клиент получает 304 без вызова метода контроллера.
+ * Last-Modified передается, только если день обновления закончился: дата обновления хранится без времени,
+ * и изменение в тот же день не изменило бы заголовок
+ */
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    /**
+     * Клиент может хранить ответ, но перед использованием проверяет его запросом с If-None-Match
+     */
+    static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final ResourceVersionService resourceVersionService;
+    private final Clock clock;
+
+    public ConditionalGetInterceptor(ResourceVersionService resourceVersionService, Clock clock) {
+        this.resourceVersionService = resourceVersionService;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || !isGetOrHead(request)) {
+            return true;
+        }
+        VersionedResource resource = ((HandlerMethod) handler).getMethodAnnotation(VersionedResource.class);
+        if (resource == null) {
+            return true;
+        }
+        Long id = resourceId(request, resource.idVariable());
+        if (id == null) {
+            return true;
+        }
+
+        Optional<EntityVersion> version = resource.value() == VersionedResource.Kind.EVENT
+                ? resourceVersionService.getEventVersion(id)
+                : resourceVersionService.getUserVersion(id);
+        if (!version.isPresent()) {
+            // Сущности нет: ответ 404 формирует контроллер
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // ETag версии общий для JSON, Smile и CBOR: кэш хранит ответы разных форматов отдельно
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (new ServletWebRequest(request, response).checkNotModified(etag(version.get()),
+                lastModified(version.get()))) {
+            log.debug("{} с id {} не изменилось, ответ 304", resource.value(), id);
+            return false;
+        }
+        return true;
+    }
+
+    static String etag(EntityVersion version) {
+        return VersionTags.of(version.getVersion());
+    }
+
+    /**
+     * @return Начало дня, следующего за днем обновления, или -1, если день обновления еще не закончился
+     */
+    long lastModified(EntityVersion version) {
+        LocalDate date = version.getLastModifiedDate();
+        if (date == null || !date.isBefore(LocalDate.now(clock))) {
+            return -1;
+        }
+        return date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long resourceId(HttpServletRequest request, String variable) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables == null ? null : variables.get(variable);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // Ошибку преобразования вернет контроллер
+            return null;
+        }
+    }
+}
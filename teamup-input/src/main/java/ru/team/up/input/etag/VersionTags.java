@@ -0,0 +1,45 @@
+package ru.team.up.input.etag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Строгий ETag сущности - номер ее версии в кавычках: "3"
+ */
+public final class VersionTags {
+    private static final String ANY = "*";
+
+    private VersionTags() {
+    }
+
+    /**
+     * @param version Версия сущности
+     * @return ETag версии
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Версия, которую клиент ожидает изменить (условное изменение с If-Match)
+     *
+     * @param ifMatch Значение заголовка If-Match
+     * @return Версия из ETag или null, если заголовка нет или он равен *
+     * @throws ResponseStatusException 400, если в заголовке не строгий ETag версии
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Ниже ответ 400
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "If-Match должен содержать один ETag версии, полученный с ответом: " + ifMatch);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.team.up.input.etag;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод контроллера возвращает одну сущность с версией: {@link ConditionalGetInterceptor} добавляет к ответу
+ * ETag по версии и отвечает 304 на If-None-Match/If-Modified-Since без вызова метода
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResource {
+
+    /**
+     * Вид сущности
+     */
+    Kind value();
+
+    /**
+     * Переменная пути с идентификатором сущности
+     */
+    String idVariable() default "id";
+
+    enum Kind {
+        EVENT,
+        USER
+    }
+}
@@ -1,10 +0,0 @@
-package ru.team.up.input.exception;
-
-/**
- * @author Pavel Kondrashov on 23.10.2021
- */
-public class EventCheckException extends RuntimeException {
-    public EventCheckException(String message) {
-        super(message);
-    }
-}
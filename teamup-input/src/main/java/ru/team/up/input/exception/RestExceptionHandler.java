@@ -0,0 +1,46 @@
+package ru.team.up.input.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Ответы на исключения, общие для REST-контроллеров
+ */
+@Slf4j
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    /**
+     * UPDATE с условием по версии не изменил строку: сущность изменена другим запросом после чтения
+     *
+     * @return Ответ 409, клиент получает актуальную версию и повторяет изменение
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.debug("Конфликт версий при изменении: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Данные изменены другим запросом, получите актуальную версию и повторите изменение");
+    }
+
+    /**
+     * @return Ответ 404
+     */
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEntityNotFound(EntityNotFoundException e) {
+        log.debug("Сущность не найдена: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(ErrorResponse.builder()
+                        .message(message)
+                        .status(status.name())
+                        .build());
+    }
+}
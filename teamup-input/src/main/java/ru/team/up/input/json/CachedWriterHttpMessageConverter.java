@@ -0,0 +1,53 @@
+package ru.team.up.input.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * JSON-конвертер Spring MVC, который записывает основные типы ответов заранее созданными
+ * {@link ObjectWriters}. Остальные типы, ответы с JSON view и кодировкой не UTF-8 записываются как обычно
+ */
+public class CachedWriterHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final ObjectWriters objectWriters;
+
+    public CachedWriterHttpMessageConverter(ObjectMapper objectMapper, ObjectWriters objectWriters) {
+        super(objectMapper);
+        this.objectWriters = objectWriters;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        // Тело может не соответствовать типу из сигнатуры, например строка в ResponseEntity<List<Event>>
+        Optional<ObjectWriter> writer = type == null || object instanceof MappingJacksonValue
+                || !TypeUtils.isAssignable(type, object.getClass()) ? Optional.empty() : objectWriters.find(type);
+        if (!writer.isPresent()
+                || getJsonEncoding(outputMessage.getHeaders().getContentType()) != JsonEncoding.UTF8) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        try {
+            writer.get().writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.team.up.input.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Общие настройки ObjectMapper приложения и бенчмарков. Формат JSON не меняется, отключаются только
+ * функции, которые приложению не нужны:
+ * <ul>
+ *     <li>USE_GETTERS_AS_SETTERS - коллекции без сеттера (authorities аккаунта) при чтении пропускаются,
+ *     а не заполняются через геттер;</li>
+ *     <li>FLUSH_AFTER_WRITE_VALUE - конвертер Spring сбрасывает поток сам после записи ответа;</li>
+ *     <li>INTERN_FIELD_NAMES - имена полей тел запросов не добавляются в пул строк JVM.</li>
+ * </ul>
+ * Модуль генерации байткода ({@link #bytecodeModule()}) регистрируется отдельно: modulesToInstall
+ * построителя заменил бы модули, которые добавляет Spring Boot
+ */
+@Slf4j
+public final class JacksonTuning {
+    public static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    public static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private JacksonTuning() {
+    }
+
+    /**
+     * @param builder Построитель ObjectMapper
+     * @return Тот же построитель с настройками приложения
+     */
+    public static Jackson2ObjectMapperBuilder tune(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToDisable(MapperFeature.USE_GETTERS_AS_SETTERS,
+                        SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .postConfigurer(objectMapper -> objectMapper.getFactory()
+                        .configure(JsonFactory.Feature.INTERN_FIELD_NAMES, false));
+    }
+
+    /**
+     * Модуль, с которым геттеры и сеттеры вызываются сгенерированным кодом вместо reflection:
+     * Blackbird (Jackson 2.12+) или Afterburner, если он есть в classpath (профиль сборки fast-json)
+     *
+     * @return Модуль или null, если модулей нет в classpath
+     */
+    public static Module bytecodeModule() {
+        ClassLoader classLoader = JacksonTuning.class.getClassLoader();
+        for (String className : new String[]{BLACKBIRD_MODULE, AFTERBURNER_MODULE}) {
+            if (ClassUtils.isPresent(className, classLoader)) {
+                log.debug("ObjectMapper использует модуль {}", className);
+                return (Module) BeanUtils.instantiateClass(ClassUtils.resolveClassName(className, classLoader));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.team.up.input.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ObjectWriter для основных типов ответов. Writer создается один раз при старте и уже содержит сериализатор
+ * корневого типа, поэтому ответ не ищет сериализатор по типу и не создает writer на каждый запрос
+ */
+public class ObjectWriters {
+    private final ObjectMapper objectMapper;
+    private final Map<JavaType, ObjectWriter> writers;
+    /**
+     * Writer по типу значения из сигнатуры метода контроллера. Типов столько же, сколько типов ответов
+     * в контроллерах, поэтому кэш не растет неограниченно
+     */
+    private final Map<Type, Optional<ObjectWriter>> writersByType = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper ObjectMapper приложения
+     * @param types        Типы ответов, например Event.class или new TypeReference&lt;List&lt;Event&gt;&gt;() {}.getType()
+     */
+    public ObjectWriters(ObjectMapper objectMapper, Type... types) {
+        this.objectMapper = objectMapper;
+        this.writers = Stream.of(types)
+                .map(objectMapper::constructType)
+                .collect(Collectors.toMap(Function.identity(), objectMapper::writerFor));
+    }
+
+    /**
+     * @param type Тип значения
+     * @return Writer, если тип зарегистрирован
+     */
+    public Optional<ObjectWriter> find(Type type) {
+        return writersByType.computeIfAbsent(type,
+                key -> Optional.ofNullable(writers.get(objectMapper.constructType(key))));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.team.up.input.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.team.up.core.monitoring.SqlRequestContext;
+import ru.team.up.core.monitoring.SqlStatistics;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса, включая запросы фильтров безопасности,
+ * и относит их к обработчику (метод и шаблон пути)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlRequestFilter extends OncePerRequestFilter {
+    private final SqlStatistics sqlStatistics;
+
+    @Autowired
+    public SqlRequestFilter(SqlStatistics sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatistics.begin(() -> endpoint(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext context = sqlStatistics.end();
+            if (context != null && context.isBudgetExceeded()) {
+                log.warn("Превышен бюджет SQL-запросов для {}: {} запросов при бюджете {}",
+                        context.getEndpoint(), context.getQueries(), context.getExceededBudget());
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? null : request.getMethod() + ":" + pattern;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.team.up.input.ratelimit;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.team.up.core.entity.Account;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Ключ клиента, отправившего запрос: аккаунт, имя аутентифицированного пользователя или IP-адрес
+ */
+public final class ClientKeys {
+
+    private ClientKeys() {
+    }
+
+    /**
+     * Идентификаторы аккаунтов уникальны только в пределах роли, поэтому ключ содержит роль
+     *
+     * @param request Запрос
+     * @return Ключ клиента
+     */
+    public static String of(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        if (authentication.getPrincipal() instanceof Account) {
+            Account account = (Account) authentication.getPrincipal();
+            return "account:" + account.getRole() + ":" + account.getId();
+        }
+        return "principal:" + authentication.getName();
+    }
+}
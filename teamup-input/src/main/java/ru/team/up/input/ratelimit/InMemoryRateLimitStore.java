@@ -0,0 +1,83 @@
+package ru.team.up.input.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Корзины в памяти узла. Число корзин ограничено maxBuckets: когда карта заполнена, новая корзина
+ * сначала освобождает место удалением заполненных корзин (удаление такой корзины не меняет ограничение
+ * клиента), а если их не хватило - корзин, которые заполнятся раньше остальных
+ */
+@Slf4j
+public class InMemoryRateLimitStore implements RateLimitStore {
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxBuckets;
+    private final LongSupplier nanoTime;
+
+    public InMemoryRateLimitStore(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(int maxBuckets, LongSupplier nanoTime) {
+        this.maxBuckets = maxBuckets;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitRule rule) {
+        long now = nanoTime.getAsLong();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+        return bucket.tryConsume(now, rule);
+    }
+
+    /**
+     * @return Число корзин в памяти
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Освобождает десятую часть карты. Освобождает один поток, остальные в это время добавляют корзины
+     * без ожидания: карта может ненадолго превысить maxBuckets на число одновременных запросов
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxBuckets - Math.max(1, maxBuckets / 10);
+            buckets.entrySet().removeIf(entry -> entry.getValue().nanosUntilFull(now) == 0);
+            int overflow = buckets.size() - target;
+            if (overflow > 0) {
+                // Время до заполнения запоминается до сортировки: корзины меняются во время сортировки
+                List<Map.Entry<String, Long>> candidates = new ArrayList<>(buckets.size());
+                buckets.forEach((key, bucket) ->
+                        candidates.add(new AbstractMap.SimpleImmutableEntry<>(key, bucket.nanosUntilFull(now))));
+                candidates.sort(Map.Entry.comparingByValue());
+                candidates.stream()
+                        .limit(overflow)
+                        .forEach(candidate -> buckets.remove(candidate.getKey()));
+                log.warn("Корзин ограничения частоты запросов больше {}, удалено {} незаполненных корзин",
+                        maxBuckets, overflow);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.team.up.input.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.team.up.core.repositories.RateLimitBucketRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Корзины в таблице RATE_LIMIT_BUCKET, общие для всех узлов. Списание токена - один INSERT ... ON CONFLICT,
+ * второй запрос нужен только для заголовков отклоненного запроса. Заполненные корзины удаляются пачками
+ * по расписанию
+ */
+@Slf4j
+public class PostgresRateLimitStore implements RateLimitStore {
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+
+    public PostgresRateLimitStore(RateLimitBucketRepository rateLimitBucketRepository) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitRule rule) {
+        long intervalUs = Math.max(1, TimeUnit.NANOSECONDS.toMicros(rule.getIntervalNanos()));
+        Long microsUntilFull = rateLimitBucketRepository.tryAcquire(key, intervalUs, intervalUs * rule.getCapacity());
+        if (microsUntilFull != null) {
+            return RateLimitDecision.allowed(rule, TimeUnit.MICROSECONDS.toNanos(microsUntilFull));
+        }
+
+        Long current = rateLimitBucketRepository.findMicrosUntilFull(key);
+        return RateLimitDecision.rejected(rule,
+                current == null ? rule.getBurstNanos() : TimeUnit.MICROSECONDS.toNanos(current));
+    }
+
+    /**
+     * Удаляет заполненные корзины
+     */
+    @Scheduled(fixedDelayString = "${teamup.rate-limit.cleanup-interval-ms:60000}")
+    public void deleteFullBuckets() {
+        int deleted;
+        int total = 0;
+        do {
+            deleted = rateLimitBucketRepository.deleteFull(CLEANUP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH_SIZE);
+        log.debug("Удалено заполненных корзин ограничения частоты запросов: {}", total);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.team.up.input.ratelimit;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Результат списания токена и значения заголовков RateLimit-*
+ */
+@Getter
+public class RateLimitDecision {
+    private final boolean allowed;
+    private final int limit;
+    private final int remaining;
+    /**
+     * Через сколько секунд корзина полностью пополнится (RateLimit-Reset)
+     */
+    private final long resetSeconds;
+    /**
+     * Через сколько секунд появится токен (Retry-After), 0 для разрешенного запроса
+     */
+    private final long retryAfterSeconds;
+
+    private RateLimitDecision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetSeconds = resetSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @param rule           Ограничение
+     * @param nanosUntilFull Время до заполнения корзины после списания токена
+     */
+    public static RateLimitDecision allowed(RateLimitRule rule, long nanosUntilFull) {
+        long spent = ceilDiv(nanosUntilFull, rule.getIntervalNanos());
+        return new RateLimitDecision(true, rule.getCapacity(), (int) Math.max(0, rule.getCapacity() - spent),
+                toSeconds(nanosUntilFull), 0);
+    }
+
+    /**
+     * @param rule           Ограничение
+     * @param nanosUntilFull Время до заполнения корзины, в которой не хватило токена
+     */
+    public static RateLimitDecision rejected(RateLimitRule rule, long nanosUntilFull) {
+        long nanosUntilToken = nanosUntilFull + rule.getIntervalNanos() - rule.getBurstNanos();
+        return new RateLimitDecision(false, rule.getCapacity(), 0, toSeconds(nanosUntilFull),
+                Math.max(1, toSeconds(nanosUntilToken)));
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : ceilDiv(nanos, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return dividend <= 0 ? 0 : (dividend + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,131 @@
+package ru.team.up.input.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import ru.team.up.core.logging.LogSampler;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Ограничивает частоту запросов клиента корзинами токенов. Клиент - аутентифицированный аккаунт
+ * (роль и идентификатор), для анонимных запросов - IP-адрес. Фильтр выполняется после фильтров
+ * Spring Security, поэтому аккаунт уже известен.
+ * Ответ содержит заголовки RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset и RateLimit-Policy,
+ * запрос сверх ограничения получает ответ 429 с заголовком Retry-After.
+ * Если хранилище корзин в БД недоступно, запрос пропускается без ограничения
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String REJECTED_METRIC = "teamup.rate-limit.rejected";
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String POLICY_HEADER = "RateLimit-Policy";
+    private static final LogSampler LOG_SAMPLER = new LogSampler(100);
+
+    private final RateLimitStore store;
+    private final List<String> paths;
+    private final List<EndpointRule> endpointRules;
+    private final RateLimitRule defaultRule;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore store,
+                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.store = store;
+        this.paths = properties.getPaths();
+        this.endpointRules = properties.getEndpoints().stream()
+                .map(EndpointRule::new)
+                .collect(Collectors.toList());
+        this.defaultRule = new RateLimitRule("default", properties.getDefaultLimit().getCapacity(),
+                properties.getDefaultLimit().getPeriod());
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitRule rule = rule(request);
+        RateLimitDecision decision;
+        try {
+            decision = store.tryAcquire(rule.getName() + "|" + ClientKeys.of(request), rule);
+        } catch (DataAccessException e) {
+            if (LOG_SAMPLER.sample()) {
+                log.warn("Ограничение частоты запросов не проверено (1 из 100): {}", e.getMessage());
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.getLimit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.getRemaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.getResetSeconds()));
+        response.setHeader(POLICY_HEADER, rule.getPolicy());
+        if (decision.isAllowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (registry != null) {
+            registry.counter(REJECTED_METRIC, "limit", rule.getName()).increment();
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Слишком много запросов, повторите запрос позже");
+    }
+
+    private RateLimitRule rule(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (EndpointRule endpointRule : endpointRules) {
+            if (endpointRule.matches(request.getMethod(), path)) {
+                return endpointRule.rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private class EndpointRule {
+        private final String method;
+        private final String pattern;
+        private final RateLimitRule rule;
+
+        EndpointRule(RateLimitProperties.EndpointLimit endpointLimit) {
+            this.method = endpointLimit.getMethod();
+            this.pattern = endpointLimit.getPattern();
+            this.rule = new RateLimitRule(StringUtils.hasText(endpointLimit.getName())
+                    ? endpointLimit.getName() : pattern, endpointLimit.getCapacity(), endpointLimit.getPeriod());
+        }
+
+        boolean matches(String requestMethod, String path) {
+            return (!StringUtils.hasText(method) || method.equalsIgnoreCase(requestMethod))
+                    && pathMatcher.match(pattern, path);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.team.up.input.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Настройки ограничения частоты запросов (teamup.rate-limit.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "teamup.rate-limit")
+public class RateLimitProperties {
+    /**
+     * Ограничивать частоту запросов
+     */
+    private boolean enabled = false;
+
+    private Store store = Store.MEMORY;
+
+    /**
+     * Ограничиваемые пути (шаблоны Ant). Остальные запросы фильтр пропускает
+     */
+    private List<String> paths = new ArrayList<>(Collections.singletonList("/api/public/**"));
+
+    /**
+     * Ограничение для путей из paths, не указанных в endpoints. Одна корзина на клиента для всех таких путей
+     */
+    private Limit defaultLimit = new Limit(120, Duration.ofMinutes(1));
+
+    /**
+     * Ограничения отдельных обработчиков. Применяется первое подходящее, у каждого своя корзина на клиента
+     */
+    private List<EndpointLimit> endpoints = new ArrayList<>();
+
+    /**
+     * Сколько корзин хранить в памяти (store=memory). При переполнении сначала удаляются заполненные корзины,
+     * затем корзины, которые заполнятся раньше остальных
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Период удаления заполненных корзин из БД (store=postgres)
+     */
+    private long cleanupIntervalMs = 60_000;
+
+    public enum Store {
+        /**
+         * Корзины в памяти узла: ограничение действует на каждом узле отдельно
+         */
+        MEMORY,
+        /**
+         * Корзины в таблице RATE_LIMIT_BUCKET: ограничение общее для всех узлов, каждый запрос - один UPSERT
+         */
+        POSTGRES
+    }
+
+    /**
+     * Корзина на capacity запросов, которая полностью пополняется за period
+     */
+    @Data
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+    }
+
+    @Data
+    public static class EndpointLimit {
+        /**
+         * Имя ограничения в ключе корзины и метриках, по умолчанию шаблон пути
+         */
+        private String name;
+
+        /**
+         * HTTP-метод, пусто - любой
+         */
+        private String method;
+
+        /**
+         * Шаблон пути (Ant), например /api/public/event/name/**
+         */
+        private String pattern;
+
+        private int capacity;
+
+        private Duration period;
+    }
+}
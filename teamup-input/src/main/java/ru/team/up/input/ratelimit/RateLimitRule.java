@@ -0,0 +1,32 @@
+package ru.team.up.input.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Ограничение из настроек: корзина на capacity запросов, один токен пополняется за intervalNanos
+ */
+@Getter
+public class RateLimitRule {
+    private final String name;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    /**
+     * Значение заголовка RateLimit-Policy, например 120;w=60
+     */
+    private final String policy;
+
+    public RateLimitRule(String name, int capacity, Duration period) {
+        if (capacity <= 0 || period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Некорректное ограничение частоты запросов " + name
+                    + ": capacity = " + capacity + ", period = " + period);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.policy = capacity + ";w=" + Math.max(1, period.getSeconds());
+    }
+}
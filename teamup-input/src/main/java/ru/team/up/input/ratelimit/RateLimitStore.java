@@ -0,0 +1,16 @@
+package ru.team.up.input.ratelimit;
+
+/**
+ * Хранилище корзин токенов
+ */
+public interface RateLimitStore {
+
+    /**
+     * Списывает токен из корзины, создавая заполненную корзину при первом запросе
+     *
+     * @param key  Ключ корзины: ограничение и клиент
+     * @param rule Ограничение
+     * @return Разрешен ли запрос и значения заголовков RateLimit-*
+     */
+    RateLimitDecision tryAcquire(String key, RateLimitRule rule);
+}
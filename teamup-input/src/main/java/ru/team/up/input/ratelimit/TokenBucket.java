@@ -0,0 +1,45 @@
+package ru.team.up.input.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок. Вместо числа токенов и времени последнего пополнения хранится одно число -
+ * момент (System.nanoTime), когда корзина снова заполнится, поэтому списание токена - один compareAndSet.
+ * Токенов в корзине capacity - ceil((fullAt - now) / intervalNanos)
+ */
+public class TokenBucket {
+    private final AtomicLong fullAt;
+
+    /**
+     * @param now Текущее время, корзина создается заполненной
+     */
+    public TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @param now  Текущее время
+     * @param rule Ограничение корзины
+     * @return Разрешен ли запрос и значения заголовков RateLimit-*
+     */
+    public RateLimitDecision tryConsume(long now, RateLimitRule rule) {
+        while (true) {
+            long current = fullAt.get();
+            long from = current - now > 0 ? current : now;
+            long next = from + rule.getIntervalNanos();
+            if (next - now > rule.getBurstNanos()) {
+                return RateLimitDecision.rejected(rule, from - now);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed(rule, next - now);
+            }
+        }
+    }
+
+    /**
+     * @return Время до заполнения корзины, 0 - корзина заполнена
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(0, fullAt.get() - now);
+    }
+}
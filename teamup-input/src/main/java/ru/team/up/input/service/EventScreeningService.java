@@ -0,0 +1,29 @@
+package ru.team.up.input.service;
+
+import ru.team.up.core.entity.Event;
+
+/**
+ * Асинхронная проверка содержимого мероприятий
+ */
+public interface EventScreeningService {
+
+    /**
+     * @return true, если мероприятия проверяются после сохранения пулом обработчиков
+     */
+    boolean isAsync();
+
+    /**
+     * Устанавливает мероприятию статус ожидания проверки перед сохранением
+     *
+     * @param event Мероприятие
+     */
+    void markPending(Event event);
+
+    /**
+     * Ставит сохраненное мероприятие в очередь проверки. По результату проверки мероприятие публикуется
+     * или отправляется модератору, автор получает сообщение
+     *
+     * @param event Сохраненное мероприятие
+     */
+    void submit(Event event);
+}
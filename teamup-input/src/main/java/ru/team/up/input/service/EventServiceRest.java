@@ -1,13 +1,16 @@
 package ru.team.up.input.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import ru.team.up.core.entity.Event;
 import ru.team.up.core.entity.EventType;
 import ru.team.up.core.entity.User;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
- * Сервис для поиска, создания, обновления, удаления мероприятий
+ * Сервис для поиска, создания, обновления, удаления мероприятий.
+ * Мероприятия на проверке (pending, to-review) и отклоненные (rejected) находят только их автор и модераторы
  *
  * @author Pavel Kondrashov on 23.10.2021
  */
@@ -17,10 +20,18 @@ public interface EventServiceRest {
      * Метод для поиска мероприятия по идентификатору
      *
      * @param id Идентификатор мероприятия
-     * @return Мероприятие по заданному идентификатору
+     * @return Мероприятие по заданному идентификатору или null, если мероприятия нет
      */
     Event getEventById(Long id);
 
+    /**
+     * Метод для поиска мероприятия по идентификатору среди актуальных и перенесенных в архив мероприятий
+     *
+     * @param id Идентификатор мероприятия
+     * @return Мероприятие по заданному идентификатору или null, если мероприятия нет
+     */
+    Event getEventByIdIncludingArchive(Long id);
+
     /**
      * Метод для получния мероприятия по названию
      *
@@ -61,13 +72,55 @@ public interface EventServiceRest {
     Event saveEvent(Event event);
 
     /**
-     * Метод обновления мероприятия
+     * Метод сохранения мероприятия. Если задана причина проверки, мероприятие сохраняется скрытым
+     * со статусом проверки модератором и в той же транзакции ставится в очередь модерации
+     *
+     * @param event        Мероприятие
+     * @param reviewReason Причина отправки на проверку или null
+     * @return Сохранненное мероприятие
+     */
+    Event saveEvent(Event event, String reviewReason);
+
+    /**
+     * Метод обновления мероприятия. Мероприятие заменяется, только если не изменилось
+     * с версии из If-Match (или поля version мероприятия)
+     *
+     * @param id              Идентификатор мероприятия
+     * @param event           Мероприятие для изменений
+     * @param expectedVersion Ожидаемая версия из If-Match или null
+     * @return Обновленное мероприятие
+     * @throws javax.persistence.EntityNotFoundException если мероприятие не найдено
+     * @throws ru.team.up.core.exception.VersionRequiredException если версия не передана
+     * @throws ru.team.up.core.exception.VersionConflictException если мероприятие изменено другим запросом
+     */
+    Event updateEvent(Long id, Event event, Long expectedVersion);
+
+    /**
+     * Метод обновления мероприятия с отправкой на проверку. Если задана причина проверки, мероприятие
+     * скрывается до решения модератора и в той же транзакции ставится в очередь модерации
+     *
+     * @param id              Идентификатор мероприятия
+     * @param event           Мероприятие для изменений
+     * @param expectedVersion Ожидаемая версия из If-Match или null
+     * @param reviewReason    Причина отправки на проверку или null
+     * @return Обновленное мероприятие
+     * @see #updateEvent(Long, Event, Long)
+     */
+    Event updateEvent(Long id, Event event, Long expectedVersion, String reviewReason);
+
+    /**
+     * Метод частичного обновления мероприятия: изменяются только переданные поля
      *
-     * @param id    Идентификатор мероприятия
-     * @param event Мероприятие для изменений
+     * @param id              Идентификатор мероприятия
+     * @param changes         Изменяемые поля (JSON Merge Patch), может содержать ожидаемую версию в поле version
+     * @param expectedVersion Ожидаемая версия из If-Match или null
+     * @param beforeUpdate    Проверка мероприятия с примененными изменениями до записи в БД, возвращает причину
+     *                        отправки на проверку или null. Мероприятие на проверке скрывается до решения модератора
+     *                        и в той же транзакции ставится в очередь модерации
      * @return Обновленное мероприятие
+     * @throws ru.team.up.core.exception.VersionConflictException если мероприятие изменено другим запросом
      */
-    Event updateEvent(Long id, Event event);
+    Event patchEvent(Long id, ObjectNode changes, Long expectedVersion, Function<Event, String> beforeUpdate);
 
     /**
      * Метод для удаления мероприятия по идентификатору
@@ -0,0 +1,24 @@
+package ru.team.up.input.service;
+
+import ru.team.up.core.projection.EntityVersion;
+
+import java.util.Optional;
+
+/**
+ * Версии сущностей для условных GET-запросов
+ */
+public interface ResourceVersionService {
+
+    /**
+     * @param id Идентификатор мероприятия
+     * @return Версия и дата обновления мероприятия или пустой Optional, если мероприятия нет
+     * или оно не видно текущему пользователю
+     */
+    Optional<EntityVersion> getEventVersion(Long id);
+
+    /**
+     * @param id Идентификатор пользователя
+     * @return Версия пользователя или пустой Optional, если пользователя нет
+     */
+    Optional<EntityVersion> getUserVersion(Long id);
+}
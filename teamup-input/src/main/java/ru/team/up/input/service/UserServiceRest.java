@@ -1,5 +1,6 @@
 package ru.team.up.input.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import ru.team.up.core.entity.User;
 import ru.team.up.input.payload.request.UserRequest;
 
@@ -37,11 +38,28 @@ public interface UserServiceRest {
     List<User> getAllUsers();
 
     /**
-     * Метод обновления пользователя
+     * Метод обновления пользователя. Пользователь заменяется, только если не изменился
+     * с версии из If-Match (или поля version пользователя)
      *
-     * @param user Пользователь для обновления
+     * @param user            Пользователь для обновления
+     * @param id              идентификатор пользователя
+     * @param expectedVersion ожидаемая версия из If-Match или null
+     * @return Обновленный пользователь
+     * @throws ru.team.up.core.exception.VersionRequiredException если версия не передана
+     * @throws ru.team.up.core.exception.VersionConflictException если пользователь изменен другим запросом
      */
-    User updateUser(UserRequest user, Long id);
+    User updateUser(UserRequest user, Long id, Long expectedVersion);
+
+    /**
+     * Метод частичного обновления пользователя: изменяются только переданные поля
+     *
+     * @param id              идентификатор пользователя
+     * @param changes         изменяемые поля (JSON Merge Patch), может содержать ожидаемую версию в поле version
+     * @param expectedVersion ожидаемая версия из If-Match или null
+     * @return Обновленный пользователь
+     * @throws ru.team.up.core.exception.VersionConflictException если пользователь изменен другим запросом
+     */
+    User patchUser(Long id, ObjectNode changes, Long expectedVersion);
 
     /**
      * Метод для удаления пользователя
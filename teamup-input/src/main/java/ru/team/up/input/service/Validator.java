@@ -1,6 +1,17 @@
 package ru.team.up.input.service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public interface Validator {
     boolean validate(String value);
     String uniformFormat(String value);
+
+    default List<Boolean> validate(List<String> values) {
+        return values.stream().map(this::validate).collect(Collectors.toList());
+    }
+
+    default List<String> uniformFormat(List<String> values) {
+        return values.stream().map(this::uniformFormat).collect(Collectors.toList());
+    }
 }
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired()))
@@ -16,6 +18,10 @@ public class ValidatorService {
         return emailValidator.validate(email);
     }
 
+    public List<Boolean> validateEmails(List<String> emails) {
+        return emailValidator.validate(emails);
+    }
+
     public boolean validateNumber(String number) {
         return phoneNumberValidator.validate(number);
     }
@@ -24,7 +30,11 @@ public class ValidatorService {
         return phoneNumberValidator.uniformFormat(email);
     }
 
-    public String uniformFormatEmail(String number) {
-        return phoneNumberValidator.uniformFormat(number);
+    public List<String> uniformFormatNumbers(List<String> numbers) {
+        return phoneNumberValidator.uniformFormat(numbers);
+    }
+
+    public String uniformFormatEmail(String email) {
+        return emailValidator.uniformFormat(email);
     }
 }
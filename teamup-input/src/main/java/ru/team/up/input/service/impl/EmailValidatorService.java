@@ -1,31 +1,192 @@
 package ru.team.up.input.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ru.team.up.core.logging.LogSampler;
 import ru.team.up.input.service.Validator;
 
 import javax.mail.internet.AddressException;
 import javax.mail.internet.InternetAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+/**
+ * Проверка адреса электронной почты.
+ * Адрес сначала разбирается простым автоматом без исключений: явно некорректные адреса отклоняются сразу.
+ * Строгая проверка InternetAddress выполняется для остальных адресов, кроме адресов из обычных символов
+ * с доменом, который недавно уже прошел строгую проверку
+ */
 @Service("emailValidator")
 @Slf4j
 public class EmailValidatorService implements Validator {
+    private static final int DEFAULT_DOMAIN_CACHE_SIZE = 1024;
+    private static final int MAX_LENGTH = 254;
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final String LOCAL_SPECIALS = "!#$%&'*+/=?^_`{|}~-";
+    private static final int LOG_SAMPLE_RATE = 100;
+    private static final LogSampler LOG_SAMPLER = new LogSampler(LOG_SAMPLE_RATE);
+
+    /**
+     * Результат предварительной проверки адреса
+     */
+    enum Precheck {
+        /**
+         * Адрес заведомо некорректен
+         */
+        INVALID,
+        /**
+         * Адрес состоит из обычных символов и синтаксически корректен
+         */
+        SIMPLE,
+        /**
+         * Адрес использует кавычки, IP-адрес домена или не-ASCII символы, нужна строгая проверка
+         */
+        COMPLEX
+    }
+
+    private final Map<String, Boolean> validDomains;
+
+    public EmailValidatorService() {
+        this(DEFAULT_DOMAIN_CACHE_SIZE);
+    }
+
+    @Autowired
+    public EmailValidatorService(@Value("${teamup.validation.email.domain-cache-size:1024}") int domainCacheSize) {
+        this.validDomains = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > domainCacheSize;
+            }
+        };
+    }
+
     @Override
     public boolean validate(String email) {
+        if (log.isDebugEnabled() && LOG_SAMPLER.sample()) {
+            log.debug("Validate email (1 из {}): {}", LOG_SAMPLE_RATE, email);
+        }
+        Precheck precheck = precheck(email);
+        if (precheck == Precheck.INVALID) {
+            log.debug("Email:{} is not valid", email);
+            return false;
+        }
+
+        String domain = null;
+        if (precheck == Precheck.SIMPLE) {
+            domain = email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+            if (isCachedDomain(domain)) {
+                return true;
+            }
+        }
+
         try {
-            log.debug("Validate email: {}", email);
-            InternetAddress emailAddr = new InternetAddress(email);
-            emailAddr.validate();
+            new InternetAddress(email).validate();
         } catch (AddressException ex) {
-            log.error("Email:{} is not valid", email);
+            log.debug("Email:{} is not valid: {}", email, ex.getMessage());
             return false;
         }
+
+        if (domain != null) {
+            cacheDomain(domain);
+        }
         return true;
     }
 
+    /**
+     * Проверяет адреса при импорте, выводя в журнал только итог проверки
+     *
+     * @param emails Адреса электронной почты
+     * @return Результаты проверки в том же порядке
+     */
+    @Override
+    public List<Boolean> validate(List<String> emails) {
+        List<Boolean> result = new ArrayList<>(emails.size());
+        int invalid = 0;
+        for (String email : emails) {
+            boolean valid = validate(email);
+            if (!valid) {
+                invalid++;
+            }
+            result.add(valid);
+        }
+        log.debug("Проверено {} адресов, некорректных {}", emails.size(), invalid);
+        return result;
+    }
+
     @Override
     public String uniformFormat(String value) {
         validate(value);
         return value.toLowerCase();
     }
+
+    /**
+     * Разбирает адрес вида local@domain за один проход.
+     * Локальная часть - точки между символами atext, домен - метки из букв, цифр и дефисов, разделенные точками
+     */
+    static Precheck precheck(String email) {
+        if (email == null || email.isEmpty() || email.length() > MAX_LENGTH) {
+            return Precheck.INVALID;
+        }
+
+        int at = -1;
+        char previous = 0;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c > 127 || c == '"' || c == '[' || c == '\\') {
+                return Precheck.COMPLEX;
+            }
+
+            if (c == '@') {
+                if (at >= 0 || i == 0 || i > MAX_LOCAL_LENGTH || previous == '.') {
+                    return Precheck.INVALID;
+                }
+                at = i;
+            } else if (at < 0) {
+                if (c == '.' ? i == 0 || previous == '.' : !isAtext(c)) {
+                    return Precheck.INVALID;
+                }
+            } else if (c == '.') {
+                if (previous == '@' || previous == '.' || previous == '-') {
+                    return Precheck.INVALID;
+                }
+            } else if (c == '-') {
+                if (previous == '@' || previous == '.') {
+                    return Precheck.INVALID;
+                }
+            } else if (!isLetterOrDigit(c)) {
+                return Precheck.INVALID;
+            }
+            previous = c;
+        }
+
+        if (at < 0 || previous == '@' || previous == '.' || previous == '-') {
+            return Precheck.INVALID;
+        }
+        return Precheck.SIMPLE;
+    }
+
+    private boolean isCachedDomain(String domain) {
+        synchronized (validDomains) {
+            return validDomains.get(domain) != null;
+        }
+    }
+
+    private void cacheDomain(String domain) {
+        synchronized (validDomains) {
+            validDomains.put(domain, Boolean.TRUE);
+        }
+    }
+
+    private static boolean isAtext(char c) {
+        return isLetterOrDigit(c) || LOCAL_SPECIALS.indexOf(c) >= 0;
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
 }
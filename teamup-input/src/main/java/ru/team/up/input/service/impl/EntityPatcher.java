@@ -0,0 +1,107 @@
+package ru.team.up.input.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.team.up.core.exception.VersionConflictException;
+import ru.team.up.core.exception.VersionRequiredException;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Частичное изменение сущности по JSON Merge Patch (RFC 7386): в загруженную сущность записываются только
+ * переданные поля, null удаляет значение. С @DynamicUpdate UPDATE содержит только измененные колонки,
+ * а условие по версии в UPDATE не дает перезаписать изменения другого запроса
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EntityPatcher {
+    static final String VERSION_FIELD = "version";
+    private static final String ID_FIELD = "id";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Проверяет, что клиент изменяет текущую версию сущности
+     *
+     * @param entityName      Название сущности для сообщения об ошибке
+     * @param id              Идентификатор сущности
+     * @param expectedVersion Версия из If-Match или null
+     * @param changes         Изменения, версия может быть передана в поле version
+     * @param currentVersion  Текущая версия сущности
+     * @throws VersionConflictException если версии не совпадают
+     */
+    public void checkVersion(String entityName, Long id, Long expectedVersion, ObjectNode changes,
+                             Long currentVersion) {
+        Long expected = expectedVersion != null ? expectedVersion : bodyVersion(changes);
+        if (expected != null && !Objects.equals(expected, currentVersion)) {
+            throw new VersionConflictException(entityName, id, expected, currentVersion);
+        }
+    }
+
+    /**
+     * Проверяет версию при полной замене сущности. Без версии замена перезаписала бы изменения
+     * других запросов, поэтому версия обязательна
+     *
+     * @param entityName      Название сущности для сообщения об ошибке
+     * @param id              Идентификатор сущности
+     * @param expectedVersion Версия из If-Match или null
+     * @param bodyVersion     Версия из тела запроса или null
+     * @param currentVersion  Текущая версия сущности
+     * @return Версия, с которой сохраняется сущность
+     * @throws VersionRequiredException если версия не передана
+     * @throws VersionConflictException если версии не совпадают
+     */
+    public Long requireVersion(String entityName, Long id, Long expectedVersion, Long bodyVersion,
+                               Long currentVersion) {
+        Long expected = expectedVersion != null ? expectedVersion : bodyVersion;
+        if (expected == null) {
+            throw new VersionRequiredException(entityName, id);
+        }
+        if (!Objects.equals(expected, currentVersion)) {
+            throw new VersionConflictException(entityName, id, expected, currentVersion);
+        }
+        return expected;
+    }
+
+    /**
+     * Записывает изменения в сущность
+     *
+     * @param entity         Загруженная сущность
+     * @param changes        Изменяемые поля
+     * @param readOnlyFields Поля, которые нельзя изменить частичным обновлением
+     * @throws ResponseStatusException 400, если изменения затрагивают идентификатор или поля readOnlyFields
+     *                                 или не соответствуют типам полей
+     */
+    public <T> T apply(T entity, ObjectNode changes, Set<String> readOnlyFields) {
+        ObjectNode fields = changes.deepCopy();
+        fields.remove(VERSION_FIELD);
+        if (fields.has(ID_FIELD) || readOnlyFields.stream().anyMatch(fields::has)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Частичное обновление не изменяет поля " + ID_FIELD + ", " + String.join(", ", readOnlyFields));
+        }
+        try {
+            return objectMapper.readerForUpdating(entity).readValue(fields);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректные изменения: " + e.getMessage(), e);
+        }
+    }
+
+    private static Long bodyVersion(ObjectNode changes) {
+        JsonNode version = changes.get(VERSION_FIELD);
+        if (version == null || version.isNull()) {
+            return null;
+        }
+        if (!version.canConvertToLong()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Поле version должно быть числом");
+        }
+        return version.asLong();
+    }
+}
@@ -0,0 +1,363 @@
+package ru.team.up.input.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.team.up.core.concurrent.VirtualThreads;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.notification.EventChangePublisher;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.StatusRepository;
+import ru.team.up.core.service.ModerationQueueService;
+import ru.team.up.core.service.UserMessageService;
+import ru.team.up.input.service.EventScreeningService;
+import ru.team.up.input.wordmatcher.WordMatcher;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Проверка содержимого мероприятий пулом обработчиков.
+ * Очередь пула ограничена: если она заполнена, проверка выполняется в потоке запроса,
+ * что замедляет поступление новых мероприятий вместо неограниченного роста очереди.
+ * Время ожидания в очереди и каждого этапа проверки публикуется в метрике teamup.screening.stage.
+ * <p>
+ * Статус записывается, только если мероприятие не изменилось с проверенной версии: результат проверки
+ * устаревшей версии отбрасывается. Мероприятия, оставшиеся в статусе PENDING из-за ошибки проверки,
+ * остановки пула или перезапуска приложения, периодически отправляются на проверку повторно,
+ * после ошибки - с экспоненциально растущей задержкой
+ */
+@Slf4j
+@Service
+public class EventScreeningServiceImpl implements EventScreeningService {
+    private static final String BAD_WORDS_REASON = "Имя или описание мероприятия содержит запрещенные слова";
+    private static final String UNNECESSARY_WORDS_REASON =
+            "Имя или описание мероприятия содержит слова, требующие проверки";
+
+    private final WordMatcher wordMatcher;
+    private final EventRepository eventRepository;
+    private final StatusRepository statusRepository;
+    private final ModerationQueueService moderationQueueService;
+    private final UserMessageService userMessageService;
+    private final EventChangePublisher eventChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean async;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Status> statuses = new ConcurrentHashMap<>();
+    private final long retryDelayMillis;
+    private final long maxRetryDelayMillis;
+    private final int sweepBatchSize;
+
+    /**
+     * Версии мероприятий, поставленные в очередь и еще не проверенные
+     */
+    private final Set<ScreenedVersion> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Повторные проверки мероприятий после ошибки по идентификатору мероприятия
+     */
+    private final Map<Long, Retry> retries = new ConcurrentHashMap<>();
+
+    private final Timer queueTimer;
+    private final Timer screenTimer;
+    private final Timer updateTimer;
+    private final Timer notifyTimer;
+    private final Counter publishedCounter;
+    private final Counter reviewCounter;
+    private final Counter callerRunsCounter;
+    private final Counter staleCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public EventScreeningServiceImpl(WordMatcher wordMatcher,
+                                     EventRepository eventRepository,
+                                     StatusRepository statusRepository,
+                                     ModerationQueueService moderationQueueService,
+                                     UserMessageService userMessageService,
+                                     EventChangePublisher eventChangePublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     @Value("${teamup.screening.async:false}") boolean async,
+                                     @Value("${teamup.screening.threads:2}") int threads,
+                                     @Value("${teamup.screening.queue-capacity:500}") int queueCapacity,
+                                     @Value("${teamup.threads.virtual:false}") boolean virtualThreads,
+                                     @Value("${teamup.screening.retry-delay-ms:60000}") long retryDelayMillis,
+                                     @Value("${teamup.screening.max-retry-delay-ms:3600000}") long maxRetryDelayMillis,
+                                     @Value("${teamup.screening.sweep-batch-size:100}") int sweepBatchSize) {
+        this.wordMatcher = wordMatcher;
+        this.eventRepository = eventRepository;
+        this.statusRepository = statusRepository;
+        this.moderationQueueService = moderationQueueService;
+        this.userMessageService = userMessageService;
+        this.eventChangePublisher = eventChangePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.async = async;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxRetryDelayMillis = maxRetryDelayMillis;
+        this.sweepBatchSize = sweepBatchSize;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.queueTimer = stageTimer(registry, "queue");
+        this.screenTimer = stageTimer(registry, "screen");
+        this.updateTimer = stageTimer(registry, "update");
+        this.notifyTimer = stageTimer(registry, "notify");
+        this.publishedCounter = registry.counter("teamup.screening.outcome", "outcome", Status.PUBLISHED);
+        this.reviewCounter = registry.counter("teamup.screening.outcome", "outcome", Status.TO_REVIEW);
+        this.callerRunsCounter = registry.counter("teamup.screening.caller.runs");
+        this.staleCounter = registry.counter("teamup.screening.stale");
+        this.failedCounter = registry.counter("teamup.screening.failed");
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(virtualThreads),
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        // Мероприятие останется в статусе PENDING и будет проверено повторно после перезапуска
+                        inFlight.remove(((ScreeningTask) runnable).version);
+                        return;
+                    }
+                    callerRunsCounter.increment();
+                    runnable.run();
+                });
+        registry.gauge("teamup.screening.queue.size", executor, pool -> pool.getQueue().size());
+        registry.gauge("teamup.screening.in.flight", inFlight, Set::size);
+    }
+
+    /**
+     * Число обработчиков ограничено teamup.screening.threads и на виртуальных потоках,
+     * так как каждый из них занимает соединение с БД
+     */
+    private static ThreadFactory threadFactory(boolean virtualThreads) {
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            return VirtualThreads.threadFactory("event-screening-");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "event-screening-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public boolean isAsync() {
+        return async;
+    }
+
+    @Override
+    public void markPending(Event event) {
+        event.setStatus(status(Status.PENDING));
+    }
+
+    @Override
+    public void submit(Event event) {
+        ScreenedVersion version = new ScreenedVersion(event.getId(), event.getVersion());
+        if (!inFlight.add(version)) {
+            log.debug("Мероприятие с id {} версии {} уже ожидает проверки", event.getId(), event.getVersion());
+            return;
+        }
+
+        log.debug("Мероприятие с id {} поставлено в очередь проверки", event.getId());
+        executor.execute(new ScreeningTask(event, version, System.nanoTime()));
+    }
+
+    /**
+     * Повторно отправляет на проверку мероприятия в статусе PENDING, которые не ожидают проверки
+     * в этом экземпляре приложения и для которых истекла задержка после ошибки.
+     * Если очередь проверки заполнена, обход откладывается до следующего запуска,
+     * чтобы проверка не выполнялась в потоке планировщика
+     */
+    @Scheduled(initialDelayString = "${teamup.screening.retry-delay-ms:60000}",
+            fixedDelayString = "${teamup.screening.retry-delay-ms:60000}")
+    public void resubmitPending() {
+        long now = System.currentTimeMillis();
+        long afterId = 0L;
+        int resubmitted = 0;
+        List<Event> pending;
+        do {
+            pending = eventRepository.findPendingAfter(afterId, PageRequest.of(0, sweepBatchSize));
+            for (Event event : pending) {
+                if (executor.isShutdown() || executor.getQueue().remainingCapacity() == 0) {
+                    log.debug("Очередь проверки занята, повторная проверка отложена");
+                    return;
+                }
+                Retry retry = retries.get(event.getId());
+                boolean waiting = retry != null && retry.notBefore > now;
+                if (!waiting && !inFlight.contains(new ScreenedVersion(event.getId(), event.getVersion()))) {
+                    submit(event);
+                    resubmitted++;
+                }
+                afterId = event.getId();
+            }
+        } while (pending.size() == sweepBatchSize);
+
+        if (resubmitted > 0) {
+            log.info("Повторно отправлено на проверку мероприятий: {}", resubmitted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Не дождались завершения проверки {} мероприятий", executor.getQueue().size());
+        }
+    }
+
+    private void screen(Event event, long submitted) {
+        long started = System.nanoTime();
+        queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+
+        String reason;
+        String status;
+        boolean applied;
+        try {
+            reason = screenTimer.record(() -> findReviewReason(event));
+            status = reason == null ? Status.PUBLISHED : Status.TO_REVIEW;
+
+            applied = updateTimer.record(() -> Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                if (eventRepository.updateStatusIfVersion(event.getId(), event.getVersion(), status(status)) == 0) {
+                    return false;
+                }
+                if (reason != null) {
+                    moderationQueueService.enqueue(event, reason);
+                }
+                eventChangePublisher.publishStatusChange(event, status);
+                return true;
+            })));
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            long delay = scheduleRetry(event.getId());
+            log.error("Ошибка проверки мероприятия с id {}, повторная проверка не ранее чем через {} мс",
+                    event.getId(), delay, e);
+            return;
+        }
+        retries.remove(event.getId());
+
+        if (!applied) {
+            staleCounter.increment();
+            log.debug("Мероприятие с id {} изменено после версии {} или уже проверено, результат проверки отброшен",
+                    event.getId(), event.getVersion());
+            return;
+        }
+
+        (reason == null ? publishedCounter : reviewCounter).increment();
+        log.debug("Проверка мероприятия с id {} завершена со статусом {}", event.getId(), status);
+
+        if (event.getAuthorId() != null) {
+            try {
+                notifyTimer.record(() -> userMessageService.notifyUser(event.getAuthorId().getId(),
+                        reason == null
+                                ? "Мероприятие " + event.getEventName() + " опубликовано"
+                                : "Мероприятие " + event.getEventName() + " отправлено на проверку модератору"));
+            } catch (RuntimeException e) {
+                log.error("Ошибка уведомления автора мероприятия с id {} о результате проверки", event.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Запоминает очередную неудачную попытку проверки: задержка удваивается с каждой попыткой
+     * от teamup.screening.retry-delay-ms до teamup.screening.max-retry-delay-ms
+     *
+     * @return Задержка до следующей попытки в миллисекундах
+     */
+    private long scheduleRetry(Long eventId) {
+        Retry retry = retries.compute(eventId, (id, previous) -> {
+            int attempts = previous == null ? 1 : previous.attempts + 1;
+            long delay = Math.min(retryDelayMillis << Math.min(attempts - 1, 20), maxRetryDelayMillis);
+            return new Retry(attempts, System.currentTimeMillis() + delay, delay);
+        });
+        return retry.delay;
+    }
+
+    private String findReviewReason(Event event) {
+        // Запрещенные слова отклоняются до постановки в очередь, здесь они находятся,
+        // только если список слов изменился, пока мероприятие ожидало проверки
+        if (wordMatcher.detectBadWords(event.getEventName()) ||
+                wordMatcher.detectBadWords(event.getDescriptionEvent())) {
+            return BAD_WORDS_REASON;
+        }
+
+        if (wordMatcher.detectUnnecessaryWords(event.getEventName()) ||
+                wordMatcher.detectUnnecessaryWords(event.getDescriptionEvent())) {
+            return UNNECESSARY_WORDS_REASON;
+        }
+
+        return null;
+    }
+
+    /**
+     * Возвращает статус по названию, создавая его при первом обращении
+     */
+    private Status status(String name) {
+        return statuses.computeIfAbsent(name, key -> transactionTemplate.execute(tx ->
+                statusRepository.findFirstByStatus(key)
+                        .orElseGet(() -> statusRepository.save(Status.builder().status(key).build()))));
+    }
+
+    /**
+     * Проверка одной версии мероприятия
+     */
+    private class ScreeningTask implements Runnable {
+        private final Event event;
+        private final ScreenedVersion version;
+        private final long submitted;
+
+        private ScreeningTask(Event event, ScreenedVersion version, long submitted) {
+            this.event = event;
+            this.version = version;
+            this.submitted = submitted;
+        }
+
+        @Override
+        public void run() {
+            try {
+                screen(event, submitted);
+            } finally {
+                inFlight.remove(version);
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class ScreenedVersion {
+        private final Long eventId;
+        private final Long version;
+    }
+
+    @AllArgsConstructor
+    private static class Retry {
+        private final int attempts;
+        private final long notBefore;
+        private final long delay;
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("teamup.screening.stage")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
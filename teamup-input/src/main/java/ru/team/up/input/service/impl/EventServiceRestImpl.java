@@ -1,5 +1,6 @@
 package ru.team.up.input.service.impl;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -7,11 +8,22 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.team.up.core.entity.Event;
 import ru.team.up.core.entity.EventType;
 import ru.team.up.core.entity.User;
+import ru.team.up.core.notification.EventChangeNotification.ChangeType;
+import ru.team.up.core.notification.EventChangePublisher;
 import ru.team.up.core.repositories.EventRepository;
 import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.core.service.EventViewer;
+import ru.team.up.core.service.ModerationQueueService;
 import ru.team.up.input.service.EventServiceRest;
 
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * @author Pavel Kondrashov
@@ -21,32 +33,54 @@ import java.util.List;
 @Transactional
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class EventServiceRestImpl implements EventServiceRest {
+    /**
+     * Поля, которые изменяются только своими методами: автор, участники, статус проверки и дата обновления
+     */
+    private static final Set<String> PATCH_READ_ONLY_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("authorId", "participantsEvent", "status", "eventUpdateDate")));
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final EventChangePublisher eventChangePublisher;
+    private final EntityPatcher entityPatcher;
+    private final ModerationQueueService moderationQueueService;
 
     @Override
+    @Transactional(readOnly = true)
     public Event getEventById(Long id) {
-        return eventRepository.getOne(id);
+        return eventRepository.findVisibleById(id, EventViewer.current()).orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Event getEventByIdIncludingArchive(Long id) {
+        EventViewer viewer = EventViewer.current();
+        return eventRepository.findVisibleById(id, viewer)
+                .orElseGet(() -> eventRepository.findArchivedById(id).filter(viewer::canSee).orElse(null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Event> getEventByName(String eventName) {
-        return eventRepository.findByEventNameContaining(eventName);
+        return eventRepository.findByEventNameContaining(eventName, EventViewer.current());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+        return eventRepository.findAllVisible(EventViewer.current());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getAllEventsByAuthor(User author) {
-        return eventRepository.findAllByAuthorId(author);
+        return eventRepository.findAllByAuthorId(author, EventViewer.current());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getAllEventsByEventType(EventType eventType) {
-        return eventRepository.findAllByEventType(eventType);
+        return eventRepository.findAllByEventType(eventType, EventViewer.current());
     }
 
     @Override
@@ -55,8 +89,61 @@ public class EventServiceRestImpl implements EventServiceRest {
     }
 
     @Override
-    public Event updateEvent(Long id, Event event) {
-        return eventRepository.saveAndFlush(event);
+    public Event saveEvent(Event event, String reviewReason) {
+        if (reviewReason != null) {
+            moderationQueueService.markForReview(event);
+        }
+        Event saved = eventRepository.save(event);
+        if (reviewReason != null) {
+            moderationQueueService.enqueue(saved, reviewReason);
+        }
+        return saved;
+    }
+
+    @Override
+    public Event updateEvent(Long id, Event event, Long expectedVersion) {
+        return updateEvent(id, event, expectedVersion, null);
+    }
+
+    @Override
+    public Event updateEvent(Long id, Event event, Long expectedVersion, String reviewReason) {
+        Long currentVersion = eventRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Мероприятие с id " + id + " не найдено"))
+                .getVersion();
+        event.setId(id);
+        event.setVersion(entityPatcher.requireVersion("Мероприятие", id, expectedVersion, event.getVersion(),
+                currentVersion));
+        if (reviewReason != null) {
+            moderationQueueService.markForReview(event);
+        }
+
+        // UPDATE с условием VERSION = версия клиента
+        Event updated = eventRepository.saveAndFlush(event);
+        if (reviewReason != null) {
+            moderationQueueService.enqueue(updated, reviewReason);
+        }
+        eventChangePublisher.publish(updated, ChangeType.UPDATED, null);
+        return updated;
+    }
+
+    @Override
+    public Event patchEvent(Long id, ObjectNode changes, Long expectedVersion, Function<Event, String> beforeUpdate) {
+        Event event = eventRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Мероприятие с id " + id + " не найдено"));
+        entityPatcher.checkVersion("Мероприятие", id, expectedVersion, changes, event.getVersion());
+        entityPatcher.apply(event, changes, PATCH_READ_ONLY_FIELDS);
+        String reviewReason = beforeUpdate.apply(event);
+        if (reviewReason != null) {
+            moderationQueueService.markForReview(event);
+        }
+
+        // UPDATE только измененных колонок с условием VERSION = версия при чтении
+        eventRepository.flush();
+        if (reviewReason != null) {
+            moderationQueueService.enqueue(event, reviewReason);
+        }
+        eventChangePublisher.publish(event, ChangeType.UPDATED, null);
+        return event;
     }
 
     @Override
@@ -66,21 +153,40 @@ public class EventServiceRestImpl implements EventServiceRest {
 
     @Override
     public Event addParticipant(Long eventId, Long userId) {
-        Event event = getEventById(eventId);
+        Event event = getEventForParticipantChange(eventId);
         User participant = userRepository.getOne(userId);
-//        List<User> participants = event.getParticipantsEvent();
-//        participants.add(participant);
-//        event.setParticipantsEvent(participants);
-        return updateEvent(eventId, event);
+        if (participant.getUserEvent() == null) {
+            participant.setUserEvent(new HashSet<>());
+        }
+        participant.getUserEvent().add(event);
+        userRepository.saveAndFlush(participant);
+        eventChangePublisher.publish(event, ChangeType.PARTICIPANT_JOINED, userId);
+        return event;
     }
 
     @Override
     public Event deleteParticipant(Long eventId, Long userId) {
-        Event event = getEventById(eventId);
+        Event event = getEventForParticipantChange(eventId);
         User participant = userRepository.getOne(userId);
-//        List<User> participants = event.getParticipantsEvent();
-//        participants.remove(participant);
-//        event.setParticipantsEvent(participants);
-        return updateEvent(eventId, event);
+        if (participant.getUserEvent() != null) {
+            participant.getUserEvent().remove(event);
+        }
+        userRepository.saveAndFlush(participant);
+        eventChangePublisher.publish(event, ChangeType.PARTICIPANT_LEFT, userId);
+        return event;
+    }
+
+    /**
+     * Участники хранятся на стороне пользователя, поэтому версия и дата обновления мероприятия
+     * изменяются явно: по ним клиенты узнают, что список участников изменился
+     *
+     * @param eventId Идентификатор мероприятия
+     * @return Мероприятие, версия которого увеличится при фиксации транзакции
+     */
+    private Event getEventForParticipantChange(Long eventId) {
+        Event event = eventRepository.findForVersionIncrementById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Мероприятие с id " + eventId + " не найдено"));
+        event.setEventUpdateDate(LocalDate.now());
+        return event;
     }
 }
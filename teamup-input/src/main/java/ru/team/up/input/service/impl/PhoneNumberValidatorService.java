@@ -2,9 +2,11 @@ package ru.team.up.input.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.team.up.core.logging.LogSampler;
 import ru.team.up.input.service.Validator;
 
-import javax.swing.text.MaskFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -14,6 +16,22 @@ public class PhoneNumberValidatorService implements Validator {
     private final Pattern pattern;
     private static final String RU_NUMBER_PATTERN = "^((8|\\+7)[\\- ]?)?(\\(?\\d{3}\\)?[\\- ]?)?[\\d\\- ]{7,10}$";
 
+    /**
+     * Длина номера в формате +7(XXX)XXX-XX-XX
+     */
+    static final int FORMATTED_LENGTH = 16;
+
+    /**
+     * Позиции десяти цифр национального номера в формате +7(XXX)XXX-XX-XX
+     */
+    private static final int[] DIGIT_POSITIONS = {3, 4, 5, 7, 8, 9, 11, 12, 14, 15};
+    private static final char[] MOSCOW_CODE = {'4', '9', '5'};
+    private static final int MAX_DIGITS = 11;
+    private static final int LOG_SAMPLE_RATE = 100;
+    private static final LogSampler LOG_SAMPLER = new LogSampler(LOG_SAMPLE_RATE);
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[FORMATTED_LENGTH]);
+
     public PhoneNumberValidatorService() {
         pattern = Pattern.compile(RU_NUMBER_PATTERN);
     }
@@ -21,7 +39,9 @@ public class PhoneNumberValidatorService implements Validator {
     @Override
     public boolean validate(String hex) {
         Matcher matcher = pattern.matcher(hex);
-        log.debug("Validate:{}", hex);
+        if (log.isDebugEnabled() && LOG_SAMPLER.sample()) {
+            log.debug("Validate (1 из {}):{}", LOG_SAMPLE_RATE, hex);
+        }
         if (matcher.matches()) {
             return true;
         }
@@ -29,28 +49,94 @@ public class PhoneNumberValidatorService implements Validator {
         return false;
     }
 
+    /**
+     * Приводит номер к формату +7(XXX)XXX-XX-XX за один проход по строке без промежуточных строк.
+     * Семизначный номер считается московским (код 495)
+     *
+     * @param number Номер телефона
+     * @return Номер в едином формате или переданное значение, если это не российский номер
+     */
     @Override
     public String uniformFormat(String number) {
-        validate(number);
-        String codeMoscow = "495";
-        number = number.replaceAll("[^0-9]", "");
-        Character firstChar = number.charAt(0);
-        if (number.length() < 8) {
-            number = codeMoscow + number;
+        char[] buffer = BUFFER.get();
+        return format(number, buffer) ? new String(buffer) : rejected(number);
+    }
+
+    /**
+     * Приводит номера к формату +7(XXX)XXX-XX-XX, используя для всех номеров один буфер
+     *
+     * @param numbers Номера телефонов
+     * @return Номера в едином формате в том же порядке
+     */
+    @Override
+    public List<String> uniformFormat(List<String> numbers) {
+        char[] buffer = new char[FORMATTED_LENGTH];
+        List<String> result = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            result.add(format(number, buffer) ? new String(buffer) : rejected(number));
         }
-        if (firstChar.equals('8')) {
-            number = number.replaceFirst("[8]", "7");
+        return result;
+    }
+
+    /**
+     * Записывает номер в формате +7(XXX)XXX-XX-XX в buffer.
+     * Сначала цифры номера собираются в начало буфера, затем переносятся на свои позиции с конца,
+     * поэтому еще не перенесенные цифры не затираются
+     *
+     * @param number Номер телефона
+     * @param buffer Буфер длиной не менее {@link #FORMATTED_LENGTH}
+     * @return false, если номер не удалось привести к формату
+     */
+    static boolean format(CharSequence number, char[] buffer) {
+        if (number == null) {
+            return false;
         }
-        if (!firstChar.equals('8') && !firstChar.equals('7')) {
-            number = "7" + number;
+
+        int digits = 0;
+        boolean plus = false;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == MAX_DIGITS || (plus && digits == 0 && c != '7')) {
+                    return false;
+                }
+                buffer[digits++] = c;
+            } else if (c == '+') {
+                if (plus || digits > 0) {
+                    return false;
+                }
+                plus = true;
+            } else if (c != ' ' && c != '-' && c != '(' && c != ')') {
+                return false;
+            }
         }
-        try {
-            MaskFormatter format = new MaskFormatter("+#(###)###-##-##");
-            format.setValueContainsLiteralCharacters(false);
-            number = format.valueToString(number);
-        } catch (java.text.ParseException e) {
-            e.printStackTrace();
+
+        int offset;
+        if (digits == MAX_DIGITS && (buffer[0] == '7' || buffer[0] == '8')) {
+            offset = 1;
+        } else if (digits == 10 && !plus) {
+            offset = 0;
+        } else if (digits == 7 && !plus) {
+            offset = -MOSCOW_CODE.length;
+        } else {
+            return false;
         }
+
+        for (int i = DIGIT_POSITIONS.length - 1; i >= 0; i--) {
+            int source = offset + i;
+            buffer[DIGIT_POSITIONS[i]] = source < 0 ? MOSCOW_CODE[i] : buffer[source];
+        }
+        buffer[0] = '+';
+        buffer[1] = '7';
+        buffer[2] = '(';
+        buffer[6] = ')';
+        buffer[10] = '-';
+        buffer[13] = '-';
+        return true;
+    }
+
+    private static String rejected(String number) {
+        log.debug("Number:{} can not be formatted", number);
         return number;
     }
 }
@@ -0,0 +1,31 @@
+package ru.team.up.input.service.impl;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.team.up.core.projection.EntityVersion;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.core.service.EventViewer;
+import ru.team.up.input.service.ResourceVersionService;
+
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public Optional<EntityVersion> getEventVersion(Long id) {
+        return eventRepository.findVisibleVersionById(id, EventViewer.current());
+    }
+
+    @Override
+    public Optional<EntityVersion> getUserVersion(Long id) {
+        return userRepository.findVersionById(id);
+    }
+}
@@ -1,15 +1,21 @@
 package ru.team.up.input.service.impl;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.team.up.core.entity.User;
+import ru.team.up.core.exception.UserNotFoundException;
 import ru.team.up.core.repositories.UserRepository;
 import ru.team.up.input.payload.request.UserRequest;
 import ru.team.up.input.service.UserServiceRest;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Сервис для работы с пользователями
@@ -20,34 +26,58 @@ import java.util.List;
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class UserServiceRestImpl implements UserServiceRest {
+    /**
+     * Поля, которые изменяются только своими методами: учетные данные, роль, участие в мероприятиях и сообщения
+     */
+    private static final Set<String> PATCH_READ_ONLY_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("password", "role", "accountCreatedTime", "lastAccountActivity", "userEvent",
+                    "userMessages", "unreadMessages")));
+
     private final UserRepository userRepository;
+    private final EntityPatcher entityPatcher;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.getUserById(id);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.getUserByEmail(email);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
     @Transactional
-    public User updateUser(UserRequest user, Long id) {
+    public User updateUser(UserRequest user, Long id, Long expectedVersion) {
         User oldUser = getUserById(id);
         user.getUser().setId(oldUser.getId());
+        user.getUser().setVersion(entityPatcher.requireVersion("Пользователь", id, expectedVersion,
+                user.getUser().getVersion(), oldUser.getVersion()));
+
+        // UPDATE с условием VERSION = версия клиента
         return userRepository.saveAndFlush(user.getUser());
     }
 
+    @Override
+    @Transactional
+    public User patchUser(Long id, ObjectNode changes, Long expectedVersion) {
+        User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        entityPatcher.checkVersion("Пользователь", id, expectedVersion, changes, user.getVersion());
+        entityPatcher.apply(user, changes, PATCH_READ_ONLY_FIELDS);
+
+        // UPDATE только измененных колонок с условием VERSION = версия при чтении
+        userRepository.flush();
+        return user;
+    }
+
     @Override
     @Transactional
     public void deleteUserById(Long id) {
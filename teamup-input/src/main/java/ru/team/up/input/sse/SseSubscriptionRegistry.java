@@ -0,0 +1,323 @@
+package ru.team.up.input.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.team.up.core.notification.EventChangeNotification;
+import ru.team.up.core.notification.MessageNotification;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Реестр SSE-подписок пользователей.
+ * Подписка не занимает поток: SseEmitter держит асинхронный запрос, а отправка уведомлений и heartbeat
+ * выполняются небольшим пулом потоков. Последние уведомления каждого пользователя хранятся ограниченное время,
+ * чтобы клиент мог продолжить поток с заголовком Last-Event-ID после переподключения.
+ * <p>
+ * У каждой подписки своя ограниченная очередь уведомлений, которую в каждый момент отправляет не больше
+ * одной задачи пула, поэтому клиент получает уведомления в порядке их идентификаторов. Поток, опубликовавший
+ * уведомление, только ставит его в очередь и не пишет в сокет. Если клиент не успевает читать и очередь
+ * заполнена, подписка закрывается: клиент переподключится и получит пропущенное по Last-Event-ID
+ */
+@Slf4j
+@Component
+public class SseSubscriptionRegistry {
+    static final String MESSAGE_EVENT = "message";
+    static final String EVENT_CHANGE_EVENT = "event-change";
+
+    private final long emitterTimeout;
+    private final int replaySize;
+    private final long replayRetentionMillis;
+    private final int emitterBuffer;
+    private final int heartbeatBatch;
+
+    /**
+     * Идентификаторы уведомлений монотонно растут и между перезапусками узла
+     */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Deque<Notification>> replay = new ConcurrentHashMap<>();
+
+    /**
+     * Очередь пула не ограничена, но в ней не больше одной задачи на подписку
+     * и одной задачи heartbeat на teamup.sse.heartbeat-batch подписок
+     */
+    private final ThreadPoolExecutor dispatcher;
+
+    public SseSubscriptionRegistry(@Value("${teamup.sse.emitter-timeout-ms:1800000}") long emitterTimeout,
+                                   @Value("${teamup.sse.replay-size:50}") int replaySize,
+                                   @Value("${teamup.sse.replay-retention-ms:300000}") long replayRetentionMillis,
+                                   @Value("${teamup.sse.dispatcher-threads:2}") int dispatcherThreads,
+                                   @Value("${teamup.sse.emitter-buffer:100}") int emitterBuffer,
+                                   @Value("${teamup.sse.heartbeat-batch:500}") int heartbeatBatch) {
+        this.emitterTimeout = emitterTimeout;
+        this.replaySize = replaySize;
+        this.replayRetentionMillis = replayRetentionMillis;
+        this.emitterBuffer = emitterBuffer;
+        this.heartbeatBatch = heartbeatBatch;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-dispatcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Задачи отклоняются только после остановки пула, подписки к этому времени закрыты
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Создает подписку пользователя и отправляет ему пропущенные уведомления
+     *
+     * @param userId      Идентификатор пользователя
+     * @param lastEventId Идентификатор последнего полученного клиентом уведомления или null
+     * @return SseEmitter подписки
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        Subscription subscription = new Subscription(userId, newEmitter(), emitterBuffer);
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> removeSubscription(subscription));
+        emitter.onTimeout(() -> removeSubscription(subscription));
+        emitter.onError(e -> removeSubscription(subscription));
+        log.debug("Пользователь с id {} подписался на уведомления, Last-Event-ID: {}", userId, lastEventId);
+
+        // Подписка регистрируется под той же блокировкой, под которой публикуются уведомления пользователя:
+        // каждое уведомление попадает в очередь подписки ровно один раз, из истории или при публикации
+        long lastId = parseEventId(lastEventId);
+        AtomicBoolean overflow = new AtomicBoolean();
+        replay.compute(userId, (id, deque) -> {
+            subscriptions.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+            if (deque != null && lastId > 0) {
+                deque.stream()
+                        .filter(notification -> notification.getId() > lastId)
+                        .filter(notification -> !subscription.offer(notification))
+                        .findFirst()
+                        .ifPresent(notification -> overflow.set(true));
+            }
+            return deque;
+        });
+
+        if (overflow.get()) {
+            close(subscription);
+        } else {
+            scheduleSending(subscription);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessage(MessageNotification notification) {
+        publish(notification.getRecipientIds(), MESSAGE_EVENT, notification);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChangeNotification notification) {
+        publish(notification.getRecipientIds(), EVENT_CHANGE_EVENT, notification);
+    }
+
+    /**
+     * Отправляет heartbeat всем подпискам одной задачей пула на teamup.sse.heartbeat-batch подписок
+     * и удаляет устаревшие уведомления для повторной отправки
+     */
+    @Scheduled(fixedDelayString = "${teamup.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        List<Subscription> all = new ArrayList<>();
+        subscriptions.values().forEach(all::addAll);
+        for (int from = 0; from < all.size(); from += heartbeatBatch) {
+            List<Subscription> batch = all.subList(from, Math.min(from + heartbeatBatch, all.size()));
+            dispatcher.execute(() -> batch.forEach(this::sendHeartbeat));
+        }
+
+        long expired = System.currentTimeMillis() - replayRetentionMillis;
+        replay.forEach((userId, notifications) -> replay.computeIfPresent(userId, (id, deque) -> {
+            while (!deque.isEmpty() && deque.peekFirst().getCreatedAt() < expired) {
+                deque.pollFirst();
+            }
+            return deque.isEmpty() ? null : deque;
+        }));
+    }
+
+    /**
+     * @return Количество пользователей с открытыми подписками
+     */
+    public int subscribedUsers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return SseEmitter новой подписки с таймаутом teamup.sse.emitter-timeout-ms
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeout);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        subscriptions.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    private void publish(Collection<Long> recipientIds, String name, Object data) {
+        if (recipientIds == null || recipientIds.isEmpty()) {
+            return;
+        }
+
+        Notification notification = new Notification(sequence.incrementAndGet(), name, data, System.currentTimeMillis());
+        for (Long userId : recipientIds) {
+            List<Subscription> overflowed = new ArrayList<>();
+            List<Subscription> queued = new ArrayList<>();
+            replay.compute(userId, (id, deque) -> {
+                Deque<Notification> result = deque == null ? new ArrayDeque<>() : deque;
+                result.addLast(notification);
+                if (result.size() > replaySize) {
+                    result.pollFirst();
+                }
+
+                Set<Subscription> userSubscriptions = subscriptions.get(userId);
+                if (userSubscriptions != null) {
+                    userSubscriptions.forEach(subscription ->
+                            (subscription.offer(notification) ? queued : overflowed).add(subscription));
+                }
+                return result;
+            });
+
+            queued.forEach(this::scheduleSending);
+            overflowed.forEach(subscription -> {
+                log.debug("Пользователь с id {} не успевает получать уведомления, подписка закрыта", userId);
+                close(subscription);
+            });
+        }
+    }
+
+    /**
+     * Ставит в пул задачу отправки очереди подписки, если она еще не отправляется
+     */
+    private void scheduleSending(Subscription subscription) {
+        if (!subscription.pending.isEmpty() && subscription.sending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> sendPending(subscription));
+        }
+    }
+
+    private void sendPending(Subscription subscription) {
+        do {
+            Notification notification;
+            while ((notification = subscription.pending.poll()) != null) {
+                if (!write(subscription, SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name(notification.getName())
+                        .data(notification.getData()))) {
+                    return;
+                }
+            }
+            subscription.sending.set(false);
+        } while (!subscription.pending.isEmpty() && subscription.sending.compareAndSet(false, true));
+    }
+
+    /**
+     * Heartbeat не нужен подписке, которая сейчас получает уведомления
+     */
+    private void sendHeartbeat(Subscription subscription) {
+        if (!subscription.sending.compareAndSet(false, true)) {
+            return;
+        }
+        if (write(subscription, SseEmitter.event().comment("heartbeat"))) {
+            subscription.sending.set(false);
+            scheduleSending(subscription);
+        }
+    }
+
+    /**
+     * @return false, если отправка не удалась и подписка удалена
+     */
+    private boolean write(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Не удалось отправить уведомление пользователю с id {}: {}", subscription.userId, e.getMessage());
+            removeSubscription(subscription);
+            return false;
+        }
+    }
+
+    private void close(Subscription subscription) {
+        removeSubscription(subscription);
+        subscription.emitter.complete();
+    }
+
+    private void removeSubscription(Subscription subscription) {
+        subscription.pending.clear();
+        subscriptions.computeIfPresent(subscription.userId, (id, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    private static long parseEventId(String eventId) {
+        if (eventId == null || eventId.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(eventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Подписка: SseEmitter и очередь еще не отправленных ему уведомлений
+     */
+    private static class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Notification> pending;
+
+        /**
+         * Очередь отправляется задачей пула, флаг установлен, пока такая задача запланирована или выполняется
+         */
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new LinkedBlockingQueue<>(capacity);
+        }
+
+        private boolean offer(Notification notification) {
+            return pending.offer(notification);
+        }
+    }
+
+    /**
+     * Уведомление, отправленное пользователю
+     */
+    @lombok.Value
+    static class Notification {
+        long id;
+        String name;
+        Object data;
+        long createdAt;
+    }
+}
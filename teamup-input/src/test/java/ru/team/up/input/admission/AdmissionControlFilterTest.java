@@ -0,0 +1,132 @@
+package ru.team.up.input.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест ограничения одновременных запросов: отказ с ответом 503 и Retry-After
+ * и освобождение места после запроса, завершившегося исключением
+ */
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlFilterTest {
+    private static final int RETRY_AFTER_SECONDS = 3;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+    }
+
+    @Test
+    void requestOverLimitIsRejectedWithRetryAfter() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(0);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+
+        // Единственное место занято внешним запросом, пока выполняется вложенный
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("/public/event"), outer, (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(request("/public/event"), inner, new MockFilterChain());
+            rejected.set(inner);
+        });
+
+        assertEquals(HttpStatus.OK.value(), outer.getStatus());
+        assertRejected(rejected.get());
+        assertEquals(1.0, rejectedCount("concurrency"));
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void permitIsReleasedWhenChainThrows() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(0);
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("Ошибка обработки запроса");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(request("/public/event"), new MockHttpServletResponse(), failing));
+        assertEquals(0.0, inFlight());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/public/event"), response, new MockFilterChain());
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(0.0, rejectedCount("concurrency"));
+    }
+
+    @Test
+    void requestIsRejectedWhenPoolIsSaturated() throws ServletException, IOException {
+        Gauge.builder("hikaricp.connections.pending", () -> 5).tag("pool", "teamup-primary").register(meterRegistry);
+        AdmissionControlFilter filter = filter(2);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/public/event"), response, new MockFilterChain());
+
+        assertRejected(response);
+        assertEquals(1.0, rejectedCount("pool"));
+    }
+
+    @Test
+    void actuatorIsNotLimited() throws ServletException, IOException {
+        Gauge.builder("hikaricp.connections.pending", () -> 5).tag("pool", "teamup-primary").register(meterRegistry);
+        AdmissionControlFilter filter = filter(2);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    /**
+     * Фильтр с одним местом для запросов и коротким ожиданием в очереди
+     */
+    private AdmissionControlFilter filter(int maxPendingConnections) throws ServletException {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 2, 10, 10, maxPendingConnections,
+                "teamup-primary", RETRY_AFTER_SECONDS, meterRegistryProvider);
+        filter.afterPropertiesSet();
+        return filter;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static void assertRejected(MockHttpServletResponse response) {
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals(String.valueOf(RETRY_AFTER_SECONDS), response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private double rejectedCount(String reason) {
+        return meterRegistry.get(AdmissionControlFilter.REJECTED_METRIC).tag("reason", reason).counter().count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get(AdmissionControlFilter.IN_FLIGHT_METRIC).gauge().value();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.team.up.input.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import ru.team.up.core.projection.EventCalendarCard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тест ответов в Smile и CBOR через контекст Spring MVC с @EnableWebMvc: в списке конвертеров
+ * конвертеры {@link BinaryFormatsConfig} с настройками ObjectMapper приложения
+ */
+@SpringJUnitWebConfig(BinaryFormatsConfigTest.Config.class)
+class BinaryFormatsConfigTest {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void binaryConvertersAreTunedBeans() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+
+        Assertions.assertEquals(1, converters.stream()
+                .filter(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter).count());
+        Assertions.assertEquals(1, converters.stream()
+                .filter(converter -> converter instanceof MappingJackson2CborHttpMessageConverter).count());
+        Assertions.assertTrue(converters.contains(smileConverter));
+        Assertions.assertTrue(converters.contains(cborConverter));
+        Assertions.assertFalse(smileConverter.getObjectMapper().isEnabled(MapperFeature.USE_GETTERS_AS_SETTERS));
+        Assertions.assertFalse(cborConverter.getObjectMapper().isEnabled(MapperFeature.USE_GETTERS_AS_SETTERS));
+    }
+
+    @Test
+    void smileResponse() throws Exception {
+        assertCard(new ObjectMapper(new SmileFactory()).readTree(request(SMILE)));
+    }
+
+    @Test
+    void cborResponse() throws Exception {
+        assertCard(new ObjectMapper(new CBORFactory()).readTree(request(CBOR)));
+    }
+
+    @Test
+    void jsonIsDefault() throws Exception {
+        mockMvc.perform(get("/event"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] request(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/event").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static void assertCard(JsonNode card) {
+        Assertions.assertEquals(1L, card.get("id").asLong());
+        Assertions.assertEquals("Конференция", card.get("eventName").asText());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @ImportAutoConfiguration(JacksonAutoConfiguration.class)
+    @Import({JacksonConfig.class, BinaryFormatsConfig.class, HttpMessageConvertersConfig.class,
+            EventController.class})
+    static class Config {
+    }
+
+    @RestController
+    static class EventController {
+
+        @GetMapping("/event")
+        EventCalendarCard event() {
+            return new EventCalendarCard(1L, "Конференция", "Москва", LocalDateTime.of(2021, 11, 1, 10, 0),
+                    1L, "Тип", null);
+        }
+    }
+}
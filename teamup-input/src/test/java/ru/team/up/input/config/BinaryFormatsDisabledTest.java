@@ -0,0 +1,82 @@
+package ru.team.up.input.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тест отключения бинарных форматов свойством teamup.binary-formats.enabled=false: jackson-dataformat-smile
+ * и jackson-dataformat-cbor в classpath, но в списке конвертеров нет ни бинов, ни конвертеров по умолчанию
+ */
+@SpringJUnitWebConfig(BinaryFormatsDisabledTest.Config.class)
+@TestPropertySource(properties = "teamup.binary-formats.enabled=false")
+class BinaryFormatsDisabledTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void binaryConvertersAreRemoved() {
+        Assertions.assertTrue(context.getBeansOfType(MappingJackson2SmileHttpMessageConverter.class).isEmpty());
+        Assertions.assertTrue(handlerAdapter.getMessageConverters().stream()
+                .noneMatch(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                        || converter instanceof MappingJackson2CborHttpMessageConverter));
+    }
+
+    @Test
+    void binaryFormatIsNotAcceptable() throws Exception {
+        mockMvc.perform(get("/event").accept(MediaType.valueOf("application/x-jackson-smile")))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/event").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @ImportAutoConfiguration(JacksonAutoConfiguration.class)
+    @Import({JacksonConfig.class, BinaryFormatsConfig.class, HttpMessageConvertersConfig.class,
+            EventController.class})
+    static class Config {
+    }
+
+    @RestController
+    static class EventController {
+
+        @GetMapping("/event")
+        Map<String, Long> event() {
+            return Map.of("id", 1L);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.team.up.input.config;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import ru.team.up.core.projection.EventCalendarCard;
+import ru.team.up.input.json.CachedWriterHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тест конвертеров контекста Spring MVC с @EnableWebMvc, как в приложении: ответы пишет
+ * {@link CachedWriterHttpMessageConverter} с общим ObjectMapper Spring Boot
+ */
+@SpringJUnitWebConfig(HttpMessageConvertersConfigTest.Config.class)
+class HttpMessageConvertersConfigTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void jsonConverterUsesApplicationObjectMapper() {
+        List<MappingJackson2HttpMessageConverter> jsonConverters = jsonConverters(handlerAdapter.getMessageConverters());
+
+        Assertions.assertEquals(1, jsonConverters.size());
+        Assertions.assertTrue(jsonConverters.get(0) instanceof CachedWriterHttpMessageConverter);
+        Assertions.assertSame(objectMapper, jsonConverters.get(0).getObjectMapper());
+        Assertions.assertFalse(objectMapper.isEnabled(MapperFeature.USE_GETTERS_AS_SETTERS));
+    }
+
+    @Test
+    void responseIsWrittenByCachedWriter() throws Exception {
+        mockMvc.perform(get("/calendar").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[{\"id\":1,\"eventName\":\"Конференция\"}]"));
+    }
+
+    private static List<MappingJackson2HttpMessageConverter> jsonConverters(List<HttpMessageConverter<?>> converters) {
+        return converters.stream()
+                .filter(converter -> converter instanceof MappingJackson2HttpMessageConverter)
+                .map(converter -> (MappingJackson2HttpMessageConverter) converter)
+                .collect(Collectors.toList());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @ImportAutoConfiguration(JacksonAutoConfiguration.class)
+    @Import({JacksonConfig.class, HttpMessageConvertersConfig.class, CalendarController.class})
+    static class Config {
+    }
+
+    @RestController
+    static class CalendarController {
+
+        @GetMapping("/calendar")
+        List<EventCalendarCard> calendar() {
+            return Collections.singletonList(new EventCalendarCard(1L, "Конференция", "Москва",
+                    LocalDateTime.of(2021, 11, 1, 10, 0), 1L, "Тип", null));
+        }
+    }
+}
@@ -130,7 +130,7 @@ public class TeamupInputEventPublicControllerTest {
     public void testCreate() {
         when(wordMatcher.detectBadWords(eventRequest2.getEvent().getEventName())).thenReturn(false);
         when(wordMatcher.detectBadWords(eventRequest2.getEvent().getDescriptionEvent())).thenReturn(false);
-        when(eventService.saveEvent(eventRequest2.getEvent())).thenReturn(event2);
+        when(eventService.saveEvent(eventRequest2.getEvent(), null)).thenReturn(event2);
         Assert.assertEquals(201, eventRestControllerPublic.createEvent(eventRequest2).getStatusCodeValue());
     }
 
@@ -144,7 +144,14 @@ public class TeamupInputEventPublicControllerTest {
     @Test
     public void testGetById() {
         when(eventService.getEventById(1L)).thenReturn(event2);
-        Assert.assertEquals(200, eventRestControllerPublic.findEventById(1L).getStatusCodeValue());
+        Assert.assertEquals(200, eventRestControllerPublic.findEventById(1L, false).getStatusCodeValue());
+    }
+
+    @Test
+    public void testGetArchivedById() {
+        when(eventService.getEventByIdIncludingArchive(1L)).thenReturn(event2);
+        Assert.assertEquals(200, eventRestControllerPublic.findEventById(1L, true).getStatusCodeValue());
+        Assert.assertEquals(404, eventRestControllerPublic.findEventById(2L, true).getStatusCodeValue());
     }
 
     @Test
@@ -170,8 +177,8 @@ public class TeamupInputEventPublicControllerTest {
 
     @Test
     public void testUpdate() {
-        when(eventService.updateEvent(event2.getId(), eventRequest2.getEvent())).thenReturn(event2);
-        Assert.assertEquals(200, eventRestControllerPublic.updateEvent(eventRequest2, 1L).getStatusCodeValue());
+        when(eventService.updateEvent(1L, eventRequest2.getEvent(), null, null)).thenReturn(event2);
+        Assert.assertEquals(200, eventRestControllerPublic.updateEvent(eventRequest2, 1L, null).getStatusCodeValue());
     }
 
     @Test
@@ -0,0 +1,88 @@
+package ru.team.up.input.controllerPublicTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.input.controller.publicController.UserRestControllerPublic;
+import ru.team.up.input.service.impl.EntityPatcher;
+import ru.team.up.input.service.impl.UserServiceRestImpl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тест полной замены пользователя через REST: без версии ответ 428, с устаревшей версией 409
+ */
+@ExtendWith(MockitoExtension.class)
+class UserUpdateVersionTest {
+    private static final String URL = "/api/public/account/update/1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        UserServiceRestImpl userServiceRest = new UserServiceRestImpl(userRepository, new EntityPatcher(objectMapper));
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserRestControllerPublic(userServiceRest)).build();
+
+        when(userRepository.getUserById(1L)).thenReturn(User.builder().id(1L).name("Иван").version(3L).build());
+    }
+
+    @Test
+    void updateWithoutVersionIsPreconditionRequired() throws Exception {
+        mockMvc.perform(put(URL).contentType(MediaType.APPLICATION_JSON).content(body(null)))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateWithStaleIfMatchConflicts() throws Exception {
+        mockMvc.perform(put(URL).header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(null)))
+                .andExpect(status().isConflict());
+
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateWithStaleBodyVersionConflicts() throws Exception {
+        mockMvc.perform(put(URL).contentType(MediaType.APPLICATION_JSON).content(body(2L)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateWithCurrentVersion() throws Exception {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setVersion(user.getVersion() + 1);
+            return user;
+        });
+
+        mockMvc.perform(put(URL).header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(null)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    private static String body(Long version) {
+        return "{\"user\":{\"name\":\"Петр\"" + (version == null ? "" : ",\"version\":" + version) + "}}";
+    }
+}
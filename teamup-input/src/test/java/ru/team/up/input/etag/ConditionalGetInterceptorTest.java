@@ -0,0 +1,132 @@
+package ru.team.up.input.etag;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.team.up.core.projection.EntityVersion;
+import ru.team.up.input.service.ResourceVersionService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест ответов 304 по версии сущности
+ */
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+    private static final LocalDate TODAY = LocalDate.of(2021, 12, 10);
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    private ConditionalGetInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2021-12-10T12:00:00Z"), ZoneOffset.UTC);
+        interceptor = new ConditionalGetInterceptor(resourceVersionService, clock);
+        request = new MockHttpServletRequest("GET", "/api/public/event/1");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.singletonMap("id", "1"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        when(resourceVersionService.getEventVersion(1L)).thenReturn(Optional.of(new EntityVersion(3L, TODAY)));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+
+        Assertions.assertFalse(interceptor.preHandle(request, response, handler("event")));
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals("\"3\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void changedVersionIsHandledByController() throws Exception {
+        when(resourceVersionService.getEventVersion(1L)).thenReturn(Optional.of(new EntityVersion(4L, TODAY)));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+
+        Assertions.assertTrue(interceptor.preHandle(request, response, handler("event")));
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals("\"4\"", response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals(ConditionalGetInterceptor.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void lastModifiedOnlyAfterUpdateDayIsOver() throws Exception {
+        when(resourceVersionService.getEventVersion(1L))
+                .thenReturn(Optional.of(new EntityVersion(3L, TODAY.minusDays(2))));
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 09 Dec 2021 00:00:00 GMT");
+
+        Assertions.assertFalse(interceptor.preHandle(request, response, handler("event")));
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals("Thu, 09 Dec 2021 00:00:00 GMT", response.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        when(resourceVersionService.getEventVersion(1L)).thenReturn(Optional.of(new EntityVersion(4L, TODAY)));
+        MockHttpServletResponse updatedToday = new MockHttpServletResponse();
+
+        Assertions.assertTrue(interceptor.preHandle(request, updatedToday, handler("event")));
+        Assertions.assertNull(updatedToday.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void userVersionWithoutLastModified() throws Exception {
+        when(resourceVersionService.getUserVersion(1L)).thenReturn(Optional.of(new EntityVersion(7L)));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"7\"");
+
+        Assertions.assertFalse(interceptor.preHandle(request, response, handler("user")));
+        Assertions.assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void missingEntityIsHandledByController() throws Exception {
+        when(resourceVersionService.getEventVersion(1L)).thenReturn(Optional.empty());
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+
+        Assertions.assertTrue(interceptor.preHandle(request, response, handler("event")));
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void handlerWithoutAnnotationIsSkipped() throws Exception {
+        Assertions.assertTrue(interceptor.preHandle(request, response, handler("list")));
+
+        verify(resourceVersionService, never()).getEventVersion(anyLong());
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new TestController(), TestController.class.getMethod(method));
+    }
+
+    static class TestController {
+        @VersionedResource(VersionedResource.Kind.EVENT)
+        public void event() {
+        }
+
+        @VersionedResource(VersionedResource.Kind.USER)
+        public void user() {
+        }
+
+        public void list() {
+        }
+    }
+}
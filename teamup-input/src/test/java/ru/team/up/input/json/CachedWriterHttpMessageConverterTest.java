@@ -0,0 +1,67 @@
+package ru.team.up.input.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import ru.team.up.core.entity.Event;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Тест записи ответов заранее созданными ObjectWriter
+ */
+class CachedWriterHttpMessageConverterTest {
+    private static final Type EVENT_LIST = new TypeReference<List<Event>>() {
+    }.getType();
+
+    private ObjectMapper objectMapper;
+    private ObjectWriters objectWriters;
+    private CachedWriterHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = JacksonTuning.tune(Jackson2ObjectMapperBuilder.json()).build();
+        objectWriters = new ObjectWriters(objectMapper, Event.class, EVENT_LIST);
+        converter = new CachedWriterHttpMessageConverter(objectMapper, objectWriters);
+    }
+
+    @Test
+    void findsOnlyRegisteredTypes() {
+        Assertions.assertTrue(objectWriters.find(EVENT_LIST).isPresent());
+        Assertions.assertTrue(objectWriters.find(Event.class).isPresent());
+        Assertions.assertFalse(objectWriters.find(String.class).isPresent());
+    }
+
+    @Test
+    void writesSameJsonAsObjectMapper() throws Exception {
+        List<Event> events = Collections.singletonList(Event.builder()
+                .id(1L)
+                .eventName("JOKER-2021")
+                .placeEvent("Online")
+                .version(3L)
+                .build());
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(events, EVENT_LIST, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals(objectMapper.writeValueAsString(events),
+                outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesBodyOfOtherTypeWithoutCachedWriter() throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write("Мероприятия не найдены", EVENT_LIST, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals("\"Мероприятия не найдены\"", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.team.up.input.ratelimit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Тест корзины токенов и хранилища корзин в памяти
+ */
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // 10 запросов, один токен в 6 секунд
+    private final RateLimitRule rule = new RateLimitRule("test", 10, Duration.ofMinutes(1));
+
+    @Test
+    void allowsCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 1; i <= 10; i++) {
+            RateLimitDecision decision = bucket.tryConsume(0, rule);
+            Assertions.assertTrue(decision.isAllowed());
+            Assertions.assertEquals(10 - i, decision.getRemaining());
+            Assertions.assertEquals(6L * i, decision.getResetSeconds());
+        }
+
+        RateLimitDecision rejected = bucket.tryConsume(0, rule);
+        Assertions.assertFalse(rejected.isAllowed());
+        Assertions.assertEquals(0, rejected.getRemaining());
+        Assertions.assertEquals(60, rejected.getResetSeconds());
+        Assertions.assertEquals(6, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(0);
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(0, rule);
+        }
+
+        Assertions.assertFalse(bucket.tryConsume(5 * SECOND, rule).isAllowed());
+        RateLimitDecision decision = bucket.tryConsume(6 * SECOND, rule);
+        Assertions.assertTrue(decision.isAllowed());
+        Assertions.assertEquals(0, decision.getRemaining());
+        Assertions.assertFalse(bucket.tryConsume(6 * SECOND, rule).isAllowed());
+    }
+
+    @Test
+    void idleBucketIsFullAndDoesNotAccumulateExtraTokens() {
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryConsume(0, rule);
+
+        Assertions.assertEquals(0, bucket.nanosUntilFull(3600 * SECOND));
+        RateLimitDecision decision = bucket.tryConsume(3600 * SECOND, rule);
+        Assertions.assertEquals(9, decision.getRemaining());
+    }
+
+    @Test
+    void concurrentRequestsConsumeExactlyCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (bucket.tryConsume(0, rule).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(10, allowed.get());
+    }
+
+    @Test
+    void storeEvictsFullBucketsFirst() {
+        AtomicLong now = new AtomicLong();
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10, now::get);
+        for (int i = 0; i < 10; i++) {
+            store.tryAcquire("client-" + i, rule);
+        }
+        // Заполнилась только корзина client-0, остальные клиенты отправили еще по запросу
+        now.set(6 * SECOND);
+        for (int i = 1; i < 10; i++) {
+            store.tryAcquire("client-" + i, rule);
+        }
+
+        store.tryAcquire("client-10", rule);
+
+        Assertions.assertEquals(10, store.size());
+        Assertions.assertEquals(8, store.tryAcquire("client-1", rule).getRemaining());
+        // Корзина client-0 была удалена и создается заново заполненной
+        Assertions.assertEquals(9, store.tryAcquire("client-0", rule).getRemaining());
+    }
+}
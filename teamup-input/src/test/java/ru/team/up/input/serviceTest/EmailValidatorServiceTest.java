@@ -0,0 +1,58 @@
+package ru.team.up.input.serviceTest;
+
+import org.junit.jupiter.api.Test;
+import ru.team.up.input.service.impl.EmailValidatorService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тест проверки адресов электронной почты
+ */
+class EmailValidatorServiceTest {
+
+    private final EmailValidatorService validator = new EmailValidatorService(2);
+
+    private final List<String> validEmails = Arrays.asList("journaldev@yahoo.com", "journaldev-100@yahoo.com",
+            "journaldev.100@yahoo.com", "journaldev111@journaldev.com", "journaldev-100@journaldev.net",
+            "journaldev.100@journaldev.com.au", "journaldev@1.com", "journaldev@gmail.com.com",
+            "journaldev+100@gmail.com", "journaldev-100@yahoo-test.com", "journaldev_100@yahoo-test.ABC.CoM",
+            "\"quoted user\"@example.com", "user@[127.0.0.1]");
+
+    private final List<String> invalidEmails = Arrays.asList("journaldev", "journaldev@.com.my",
+            "journaldev123@.com", "journaldev123@.com.com", "journaldev()*@gmail.com", "journaldev@%*.com",
+            "journaldev@journaldev@gmail.com", "", ".user@mail.ru", "user.@mail.ru", "us..er@mail.ru",
+            "user@mail..ru", "user@mail.ru.", "user@-mail.ru", "user@mail-.ru", "user@", "@mail.ru",
+            "\"unterminated@mail.ru");
+
+    @Test
+    void addressesAreValidated() {
+        validEmails.forEach(email -> assertTrue(validator.validate(email), email));
+        invalidEmails.forEach(email -> assertFalse(validator.validate(email), email));
+    }
+
+    @Test
+    void cachedDomainDoesNotAcceptMalformedAddress() {
+        assertTrue(validator.validate("user@mail.ru"));
+
+        assertTrue(validator.validate("other.user@MAIL.RU"));
+        assertFalse(validator.validate("other..user@mail.ru"));
+        assertFalse(validator.validate("other user@mail.ru"));
+    }
+
+    @Test
+    void addressesAreValidatedInBulk() {
+        List<String> emails = new ArrayList<>(validEmails);
+        emails.addAll(invalidEmails);
+        List<Boolean> expected = new ArrayList<>(Collections.nCopies(validEmails.size(), Boolean.TRUE));
+        expected.addAll(Collections.nCopies(invalidEmails.size(), Boolean.FALSE));
+
+        assertEquals(expected, validator.validate(emails));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.team.up.input.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.exception.VersionConflictException;
+import ru.team.up.core.exception.VersionRequiredException;
+import ru.team.up.input.service.impl.EntityPatcher;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Тест частичного обновления сущности и проверки версии
+ */
+class EntityPatcherTest {
+    private static final Set<String> READ_ONLY = Collections.singleton("status");
+
+    private ObjectMapper objectMapper;
+    private EntityPatcher entityPatcher;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        entityPatcher = new EntityPatcher(objectMapper);
+        event = Event.builder()
+                .id(1L)
+                .eventName("JOKER-2021")
+                .descriptionEvent("Конференция JAVA-разработчиков")
+                .placeEvent("Online")
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void applyChangesOnlyGivenFields() {
+        ObjectNode changes = objectMapper.createObjectNode()
+                .put("placeEvent", "Санкт-Петербург")
+                .putNull("descriptionEvent")
+                .put("version", 3L);
+
+        entityPatcher.apply(event, changes, READ_ONLY);
+
+        Assertions.assertEquals("Санкт-Петербург", event.getPlaceEvent());
+        Assertions.assertNull(event.getDescriptionEvent());
+        Assertions.assertEquals("JOKER-2021", event.getEventName());
+        Assertions.assertEquals(Long.valueOf(3L), event.getVersion());
+    }
+
+    @Test
+    void rejectIdAndReadOnlyFields() {
+        ResponseStatusException idChange = Assertions.assertThrows(ResponseStatusException.class,
+                () -> entityPatcher.apply(event, objectMapper.createObjectNode().put("id", 2L), READ_ONLY));
+        ResponseStatusException statusChange = Assertions.assertThrows(ResponseStatusException.class,
+                () -> entityPatcher.apply(event, objectMapper.createObjectNode().putNull("status"), READ_ONLY));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, idChange.getStatus());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, statusChange.getStatus());
+        Assertions.assertEquals(Long.valueOf(1L), event.getId());
+    }
+
+    @Test
+    void conflictWhenBodyVersionIsStale() {
+        ObjectNode changes = objectMapper.createObjectNode().put("version", 2L);
+
+        VersionConflictException e = Assertions.assertThrows(VersionConflictException.class,
+                () -> entityPatcher.checkVersion("Мероприятие", 1L, null, changes, event.getVersion()));
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+
+    @Test
+    void ifMatchVersionTakesPrecedenceOverBody() {
+        ObjectNode changes = objectMapper.createObjectNode().put("version", 2L);
+
+        Assertions.assertDoesNotThrow(() -> entityPatcher.checkVersion("Мероприятие", 1L, 3L, changes, 3L));
+        Assertions.assertThrows(VersionConflictException.class,
+                () -> entityPatcher.checkVersion("Мероприятие", 1L, 2L, objectMapper.createObjectNode(), 3L));
+    }
+
+    @Test
+    void unconditionalWithoutVersion() {
+        Assertions.assertDoesNotThrow(
+                () -> entityPatcher.checkVersion("Мероприятие", 1L, null, objectMapper.createObjectNode(), 3L));
+    }
+
+    @Test
+    void replaceRequiresVersion() {
+        VersionRequiredException e = Assertions.assertThrows(VersionRequiredException.class,
+                () -> entityPatcher.requireVersion("Мероприятие", 1L, null, null, 3L));
+
+        Assertions.assertEquals(HttpStatus.PRECONDITION_REQUIRED, e.getStatus());
+    }
+
+    @Test
+    void replaceWithStaleVersionConflicts() {
+        Assertions.assertThrows(VersionConflictException.class,
+                () -> entityPatcher.requireVersion("Мероприятие", 1L, null, 2L, 3L));
+        Assertions.assertThrows(VersionConflictException.class,
+                () -> entityPatcher.requireVersion("Мероприятие", 1L, 2L, 3L, 3L));
+        Assertions.assertEquals(Long.valueOf(3L), entityPatcher.requireVersion("Мероприятие", 1L, 3L, null, 3L));
+    }
+}
@@ -0,0 +1,200 @@
+package ru.team.up.input.serviceTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.entity.Status;
+import ru.team.up.core.entity.User;
+import ru.team.up.core.notification.EventChangePublisher;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.StatusRepository;
+import ru.team.up.core.service.ModerationQueueService;
+import ru.team.up.core.service.UserMessageService;
+import ru.team.up.input.service.impl.EventScreeningServiceImpl;
+import ru.team.up.input.wordmatcher.WordMatcher;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест асинхронной проверки мероприятий: запись результата только для проверенной версии
+ * и повторная проверка мероприятий, оставшихся в статусе PENDING
+ */
+@ExtendWith(MockitoExtension.class)
+class EventScreeningServiceImplTest {
+
+    @Mock
+    private WordMatcher wordMatcher;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private StatusRepository statusRepository;
+
+    @Mock
+    private ModerationQueueService moderationQueueService;
+
+    @Mock
+    private UserMessageService userMessageService;
+
+    @Mock
+    private EventChangePublisher eventChangePublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EventScreeningServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        lenient().when(statusRepository.findFirstByStatus(anyString())).thenAnswer(invocation ->
+                Optional.of(Status.builder().status(invocation.getArgument(0)).build()));
+        service = service(60_000);
+    }
+
+    @Test
+    void cleanEventIsPublished() throws InterruptedException {
+        Event event = event();
+
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any())).thenReturn(1);
+
+        service.submit(event);
+        service.shutdown();
+
+        verify(eventRepository).updateStatusIfVersion(eq(1L), eq(0L),
+                argThat(status -> Status.PUBLISHED.equals(status.getStatus())));
+        verify(moderationQueueService, never()).enqueue(any(), any());
+        verify(eventChangePublisher).publishStatusChange(event, Status.PUBLISHED);
+        verify(userMessageService).notifyUser(eq(2L), anyString());
+        assertEquals(1, meterRegistry.get("teamup.screening.stage").tag("stage", "screen").timer().count());
+    }
+
+    @Test
+    void suspiciousEventIsSentToReview() throws InterruptedException {
+        Event event = event();
+        when(wordMatcher.detectUnnecessaryWords("name")).thenReturn(true);
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any())).thenReturn(1);
+
+        service.submit(event);
+        service.shutdown();
+
+        verify(eventRepository).updateStatusIfVersion(eq(1L), eq(0L),
+                argThat(status -> Status.TO_REVIEW.equals(status.getStatus())));
+        verify(moderationQueueService).enqueue(eq(event), anyString());
+        verify(eventChangePublisher).publishStatusChange(event, Status.TO_REVIEW);
+        verify(userMessageService).notifyUser(eq(2L), anyString());
+    }
+
+    @Test
+    void verdictForStaleVersionIsDropped() throws InterruptedException {
+        Event event = event();
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any())).thenReturn(0);
+
+        service.submit(event);
+        service.shutdown();
+
+        verify(moderationQueueService, never()).enqueue(any(), any());
+        verify(eventChangePublisher, never()).publishStatusChange(any(), any());
+        verify(userMessageService, never()).notifyUser(anyLong(), anyString());
+        assertEquals(1, meterRegistry.get("teamup.screening.stale").counter().count());
+    }
+
+    @Test
+    void pendingEventIsResubmitted() throws InterruptedException {
+        Event event = event();
+        when(eventRepository.findPendingAfter(eq(0L), any())).thenReturn(Collections.singletonList(event));
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any())).thenReturn(1);
+
+        service.resubmitPending();
+        service.shutdown();
+
+        verify(eventChangePublisher).publishStatusChange(event, Status.PUBLISHED);
+    }
+
+    @Test
+    void failedEventIsNotResubmittedBeforeRetryDelay() throws InterruptedException {
+        Event event = event();
+        when(eventRepository.findPendingAfter(eq(0L), any())).thenReturn(Collections.singletonList(event));
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any()))
+                .thenThrow(new IllegalStateException("Нет соединения с БД"));
+
+        service.submit(event);
+        awaitScreened();
+        service.resubmitPending();
+        service.shutdown();
+
+        verify(eventRepository, times(1)).updateStatusIfVersion(eq(1L), eq(0L), any());
+        assertEquals(1, meterRegistry.get("teamup.screening.failed").counter().count());
+    }
+
+    @Test
+    void failedEventIsResubmittedAfterRetryDelay() throws InterruptedException {
+        service.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        service = service(0);
+        Event event = event();
+        when(eventRepository.findPendingAfter(eq(0L), any())).thenReturn(Collections.singletonList(event));
+        when(eventRepository.updateStatusIfVersion(eq(1L), eq(0L), any()))
+                .thenThrow(new IllegalStateException("Нет соединения с БД"))
+                .thenReturn(1);
+
+        service.submit(event);
+        awaitScreened();
+        service.resubmitPending();
+        service.shutdown();
+
+        verify(eventRepository, atLeast(2)).updateStatusIfVersion(eq(1L), eq(0L), any());
+        verify(eventChangePublisher).publishStatusChange(event, Status.PUBLISHED);
+    }
+
+    /**
+     * Ждет, пока поставленные в очередь мероприятия будут проверены
+     */
+    private void awaitScreened() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("teamup.screening.in.flight").gauge().value() > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0.0, meterRegistry.get("teamup.screening.in.flight").gauge().value());
+    }
+
+    private EventScreeningServiceImpl service(long retryDelayMillis) {
+        return new EventScreeningServiceImpl(wordMatcher, eventRepository, statusRepository,
+                moderationQueueService, userMessageService, eventChangePublisher, transactionManager, meterRegistryProvider,
+                true, 2, 10, false, retryDelayMillis, 3_600_000, 100);
+    }
+
+    private static Event event() {
+        return Event.builder().id(1L).version(0L).eventName("name").descriptionEvent("description")
+                .authorId(User.builder().id(2L).build()).build();
+    }
+}
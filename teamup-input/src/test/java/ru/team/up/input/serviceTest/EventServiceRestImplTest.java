@@ -0,0 +1,141 @@
+package ru.team.up.input.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import ru.team.up.core.entity.Event;
+import ru.team.up.core.exception.VersionConflictException;
+import ru.team.up.core.exception.VersionRequiredException;
+import ru.team.up.core.notification.EventChangePublisher;
+import ru.team.up.core.projection.EntityVersion;
+import ru.team.up.core.repositories.EventRepository;
+import ru.team.up.core.repositories.UserRepository;
+import ru.team.up.core.service.ModerationQueueService;
+import ru.team.up.input.service.impl.EntityPatcher;
+import ru.team.up.input.service.impl.EventServiceRestImpl;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест полной замены мероприятия: замена без версии и с устаревшей версией отклоняется.
+ * Мероприятие на проверке сохраняется скрытым и ставится в очередь модерации тем же методом сервиса
+ */
+@ExtendWith(MockitoExtension.class)
+class EventServiceRestImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventChangePublisher eventChangePublisher;
+
+    @Mock
+    private ModerationQueueService moderationQueueService;
+
+    private EventServiceRestImpl eventServiceRest;
+
+    @BeforeEach
+    void setUp() {
+        eventServiceRest = new EventServiceRestImpl(eventRepository, userRepository, eventChangePublisher,
+                new EntityPatcher(new ObjectMapper()), moderationQueueService);
+    }
+
+    @Test
+    void updateWithoutVersionIsRejected() {
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.of(new EntityVersion(3L)));
+
+        VersionRequiredException e = Assertions.assertThrows(VersionRequiredException.class,
+                () -> eventServiceRest.updateEvent(1L, event(null), null));
+
+        Assertions.assertEquals(HttpStatus.PRECONDITION_REQUIRED, e.getStatus());
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateWithStaleVersionConflicts() {
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.of(new EntityVersion(3L)));
+
+        VersionConflictException e = Assertions.assertThrows(VersionConflictException.class,
+                () -> eventServiceRest.updateEvent(1L, event(2L), null));
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateWithIfMatchSavesClientVersion() {
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.of(new EntityVersion(3L)));
+        when(eventRepository.saveAndFlush(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventServiceRest.updateEvent(1L, event(null), 3L);
+
+        verify(eventRepository).saveAndFlush(argThat(event ->
+                event.getId() == 1L && Long.valueOf(3L).equals(event.getVersion())));
+    }
+
+    @Test
+    void updateOfMissingEventIsNotFound() {
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(EntityNotFoundException.class, () -> eventServiceRest.updateEvent(1L, event(3L), 3L));
+    }
+
+    @Test
+    void saveForReviewHidesEventAndEnqueuesIt() {
+        Event event = event(null);
+        when(eventRepository.save(event)).thenReturn(event);
+
+        eventServiceRest.saveEvent(event, "Причина");
+
+        InOrder order = inOrder(moderationQueueService, eventRepository);
+        order.verify(moderationQueueService).markForReview(event);
+        order.verify(eventRepository).save(event);
+        order.verify(moderationQueueService).enqueue(event, "Причина");
+    }
+
+    @Test
+    void saveWithoutReviewReasonDoesNotEnqueue() {
+        Event event = event(null);
+        when(eventRepository.save(event)).thenReturn(event);
+
+        eventServiceRest.saveEvent(event, null);
+
+        verify(moderationQueueService, never()).markForReview(any());
+        verify(moderationQueueService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void updateForReviewHidesEventAndEnqueuesIt() {
+        Event event = event(null);
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.of(new EntityVersion(3L)));
+        when(eventRepository.saveAndFlush(event)).thenReturn(event);
+
+        eventServiceRest.updateEvent(1L, event, 3L, "Причина");
+
+        InOrder order = inOrder(moderationQueueService, eventRepository);
+        order.verify(moderationQueueService).markForReview(event);
+        order.verify(eventRepository).saveAndFlush(event);
+        order.verify(moderationQueueService).enqueue(event, "Причина");
+    }
+
+    private static Event event(Long version) {
+        return Event.builder().eventName("JOKER-2021").version(version).build();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.team.up.input.serviceTest;
+
+import org.junit.jupiter.api.Test;
+import ru.team.up.input.service.impl.PhoneNumberValidatorService;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тест приведения номеров телефонов к единому формату
+ */
+class PhoneNumberValidatorServiceTest {
+
+    private final PhoneNumberValidatorService validator = new PhoneNumberValidatorService();
+
+    private final List<String> numbers = Arrays.asList("+79261234567", "89261234567", "+7 926 123 45 67",
+            "8(926)123-45-67", "123-45-67", "9261234567", "(495) 123 45 67", "8 927 1234 234", "8 927 12 555 12");
+
+    private final List<String> formatted = Arrays.asList("+7(926)123-45-67", "+7(926)123-45-67", "+7(926)123-45-67",
+            "+7(926)123-45-67", "+7(495)123-45-67", "+7(926)123-45-67", "+7(495)123-45-67", "+7(927)123-42-34",
+            "+7(927)125-55-12");
+
+    @Test
+    void numbersAreFormatted() {
+        for (int i = 0; i < numbers.size(); i++) {
+            assertEquals(formatted.get(i), validator.uniformFormat(numbers.get(i)));
+        }
+    }
+
+    @Test
+    void numbersAreFormattedInBulk() {
+        assertEquals(formatted, validator.uniformFormat(numbers));
+    }
+
+    @Test
+    void notRussianNumbersAreReturnedAsIs() {
+        List<String> invalid = Arrays.asList("+89033271243", "+3456002938", "qwerty", "12345", "", "+7 926 123 45 67 8");
+
+        assertEquals(invalid, validator.uniformFormat(invalid));
+    }
+}
@@ -0,0 +1,278 @@
+package ru.team.up.input.sse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.team.up.core.notification.EventChangeNotification;
+import ru.team.up.core.notification.EventChangeNotification.ChangeType;
+import ru.team.up.core.notification.MessageNotification;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тест реестра SSE-подписок: отправка уведомлений подписчикам по порядку, повторная отправка пропущенных
+ * по Last-Event-ID, закрытие подписки медленного клиента, heartbeat и удаление подписки при завершении,
+ * таймауте и ошибке отправки
+ */
+class SseSubscriptionRegistryTest {
+    private static final long USER_ID = 1L;
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:([\\w-]+)\\n");
+
+    private final List<RecordingEmitter> created = new ArrayList<>();
+    private SseSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = registry(1, 100, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void notificationIsSentToSubscriber() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null);
+
+        registry.onMessage(message(USER_ID));
+        registry.onEventChange(new EventChangeNotification(10L, ChangeType.STATUS_CHANGED, null, "published",
+                LocalDateTime.now(), Set.of(USER_ID)));
+
+        assertEquals(SseSubscriptionRegistry.MESSAGE_EVENT, emitter.next().name);
+        assertEquals(SseSubscriptionRegistry.EVENT_CHANGE_EVENT, emitter.next().name);
+        assertEquals(1, registry.subscribedUsers());
+    }
+
+    @Test
+    void notificationIsNotSentToOtherUsers() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null);
+
+        registry.onMessage(message(2L));
+
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void missedNotificationsAreReplayedAfterLastEventId() throws InterruptedException {
+        RecordingEmitter first = subscribe(null);
+        registry.onMessage(message(USER_ID));
+        registry.onMessage(message(USER_ID));
+        Sent received = first.next();
+        Sent missed = first.next();
+
+        RecordingEmitter second = subscribe(String.valueOf(received.id));
+
+        assertEquals(missed.id, second.next().id);
+        assertNull(second.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void completedSubscriptionIsRemoved() {
+        subscribe(null).completion.run();
+
+        assertEquals(0, registry.subscribedUsers());
+    }
+
+    @Test
+    void timedOutSubscriptionIsRemoved() {
+        RecordingEmitter emitter = subscribe(null);
+        RecordingEmitter other = subscribe(null);
+
+        emitter.timeout.run();
+        assertEquals(1, registry.subscribedUsers());
+
+        other.timeout.run();
+        assertEquals(0, registry.subscribedUsers());
+    }
+
+    @Test
+    void subscriptionWithErrorIsRemoved() {
+        subscribe(null).error.accept(new IOException("Соединение закрыто"));
+
+        assertEquals(0, registry.subscribedUsers());
+    }
+
+    @Test
+    void failedSendRemovesSubscription() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null);
+        emitter.broken = true;
+
+        registry.onMessage(message(USER_ID));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (registry.subscribedUsers() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, registry.subscribedUsers());
+    }
+
+    @Test
+    void notificationsArriveInOrder() throws InterruptedException {
+        registry.shutdown();
+        registry = registry(4, 1_000, 100);
+        RecordingEmitter emitter = subscribe(null);
+
+        for (int i = 0; i < 200; i++) {
+            registry.onMessage(message(USER_ID));
+        }
+
+        long previous = 0;
+        for (int i = 0; i < 200; i++) {
+            long id = emitter.next().id;
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void slowSubscriberIsClosedWhenBufferIsFull() throws InterruptedException {
+        registry.shutdown();
+        registry = registry(1, 2, 100);
+        RecordingEmitter slow = subscribe(null);
+        slow.gate = new CountDownLatch(1);
+
+        // Отправка не больше одного уведомления ждет клиента, очередь подписки вмещает еще два
+        for (int i = 0; i < 4; i++) {
+            registry.onMessage(message(USER_ID));
+        }
+
+        assertTrue(slow.completed);
+        assertEquals(0, registry.subscribedUsers());
+        slow.gate.countDown();
+    }
+
+    @Test
+    void heartbeatIsSentToEverySubscriber() throws InterruptedException {
+        registry.shutdown();
+        registry = registry(1, 100, 2);
+        List<RecordingEmitter> subscribers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            subscribers.add(subscribe(null));
+        }
+
+        registry.heartbeat();
+
+        for (RecordingEmitter subscriber : subscribers) {
+            assertNotNull(subscriber.heartbeats.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private SseSubscriptionRegistry registry(int threads, int emitterBuffer, int heartbeatBatch) {
+        return new SseSubscriptionRegistry(60_000, 10, 60_000, threads, emitterBuffer, heartbeatBatch) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                created.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = registry.subscribe(USER_ID, lastEventId);
+        RecordingEmitter recording = created.get(created.size() - 1);
+        assertEquals(recording, emitter);
+        return recording;
+    }
+
+    private static MessageNotification message(long recipientId) {
+        return new MessageNotification(1L, 2L, "Мероприятие перенесено", LocalDateTime.now(), Set.of(recipientId));
+    }
+
+    /**
+     * Отправленное уведомление: идентификатор и имя события SSE
+     */
+    private static class Sent {
+        private final long id;
+        private final String name;
+
+        private Sent(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * SseEmitter без HTTP-ответа: запоминает отправленные события и обработчики завершения
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        private final BlockingQueue<String> heartbeats = new LinkedBlockingQueue<>();
+        private volatile boolean broken;
+        private volatile boolean completed;
+        private volatile CountDownLatch gate;
+        private Runnable completion;
+        private Runnable timeout;
+        private Consumer<Throwable> error;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Соединение закрыто");
+            }
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String) {
+                    text.append(part.getData());
+                }
+            });
+            Matcher matcher = EVENT.matcher(text);
+            if (matcher.find()) {
+                sent.add(new Sent(Long.parseLong(matcher.group(1)), matcher.group(2)));
+            } else if (text.indexOf(":heartbeat") >= 0) {
+                heartbeats.add(text.toString());
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            timeout = callback;
+        }
+
+        @Override
+        public synchronized void onError(Consumer<Throwable> callback) {
+            error = callback;
+        }
+
+        private Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next);
+            return next;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.team.up.loadtest;
+
+/**
+ * Размеры и правила именования синтетического набора данных.
+ * Идентификаторы всех сущностей начинаются со смещения, чтобы не пересекаться с данными приложения
+ */
+final class Dataset {
+    final long idOffset;
+    final int users;
+    final int events;
+    final int interests;
+    final int eventTypes;
+    final String password;
+
+    Dataset(long idOffset, int users, int events, int interests, int eventTypes, String password) {
+        this.idOffset = idOffset;
+        this.users = users;
+        this.events = events;
+        this.interests = interests;
+        this.eventTypes = eventTypes;
+        this.password = password;
+    }
+
+    long userId(int index) {
+        return idOffset + index;
+    }
+
+    long eventId(int index) {
+        return idOffset + index;
+    }
+
+    long interestsId(int index) {
+        return idOffset + index;
+    }
+
+    long eventTypeId(int index) {
+        return idOffset + index;
+    }
+
+    static String email(int index) {
+        return "loadtest" + index + "@teamup.local";
+    }
+
+    static String login(int index) {
+        return "loadtest" + index;
+    }
+
+    static String eventName(int index) {
+        return "Load test event " + index;
+    }
+}
@@ -0,0 +1,298 @@
+package ru.team.up.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Заполняет БД приложения синтетическим набором данных пакетными вставками.
+ * Перед заполнением удаляет данные предыдущего запуска (идентификаторы от dataset.id-offset),
+ * генератор случайных чисел инициализируется dataset.seed, поэтому набор воспроизводим
+ */
+final class DatasetSeeder {
+    private static final String[] CITIES = {"Москва", "Санкт-Петербург", "Казань", "Новосибирск", "Екатеринбург"};
+
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+    private final Random random;
+    private final int batchSize;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    DatasetSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.dataset = config.dataset();
+        this.random = new Random(config.getLong("dataset.seed"));
+        this.batchSize = config.getInt("dataset.batch-size");
+    }
+
+    void seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.get("db.url"), config.get("db.user"),
+                config.get("db.password"))) {
+            connection.setAutoCommit(false);
+
+            step("Удаление данных предыдущего запуска", () -> clean(connection));
+            step("Интересы и типы мероприятий", () -> seedDictionaries(connection));
+            step("Пользователи", () -> seedUsers(connection));
+            step("Интересы и подписчики пользователей", () -> seedUserGraph(connection));
+            step("Мероприятия", () -> seedEvents(connection));
+            step("Участники и интересы мероприятий", () -> seedEventGraph(connection));
+            step("Отзывы", () -> seedReviews(connection));
+            step("Сообщения", () -> seedMessages(connection));
+            step("Последовательности идентификаторов", () -> resetSequences(connection));
+        }
+    }
+
+    private void clean(Connection connection) throws SQLException {
+        long offset = dataset.idOffset;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM USER_ACCOUNT_MESSAGES WHERE MESSAGE_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM USER_MESSAGE WHERE ID >= " + offset);
+            statement.executeUpdate("DELETE FROM EVENT_REVIEW WHERE REVIEW_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM USER_ACCOUNT_EVENT WHERE EVENT_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM INTERESTS_EVENT WHERE EVENT_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM EVENT WHERE ID >= " + offset);
+            statement.executeUpdate("DELETE FROM USER_ACCOUNT_SUBSCRIBERS WHERE USER_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM USER_ACCOUNT_INTERESTS WHERE USER_ID >= " + offset);
+            statement.executeUpdate("DELETE FROM USER_ACCOUNT WHERE ID >= " + offset);
+            statement.executeUpdate("DELETE FROM EVENT_TYPE WHERE ID >= " + offset);
+            statement.executeUpdate("DELETE FROM INTERESTS WHERE ID >= " + offset);
+        }
+        connection.commit();
+    }
+
+    private void seedDictionaries(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO INTERESTS (ID, TITLE, SHORT_DESCRIPTION) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < dataset.interests; i++) {
+                batch.add(dataset.interestsId(i), "Интерес " + i, "Описание интереса " + i);
+            }
+        }
+        try (Batch batch = new Batch(connection, "INSERT INTO EVENT_TYPE (ID, TYPE) VALUES (?, ?)")) {
+            for (int i = 0; i < dataset.eventTypes; i++) {
+                batch.add(dataset.eventTypeId(i), "Тип " + i);
+            }
+        }
+        connection.commit();
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(dataset.password);
+        try (Batch batch = new Batch(connection, "INSERT INTO USER_ACCOUNT (ID, NAME, LAST_NAME, MIDDLE_NAME, LOGIN, " +
+                "ROLE, EMAIL, PASSWORD, ACCOUNT_CREATED_TIME, LAST_ACCOUNT_ACTIVITY, CITY, AGE, ABOUT_USER, " +
+                "UNREAD_MESSAGES) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.users; i++) {
+                batch.add(dataset.userId(i), "Имя" + i, "Фамилия" + i, "Отчество" + i, Dataset.login(i),
+                        0, Dataset.email(i), password,
+                        Date.valueOf(LocalDate.now().minusDays(random.nextInt(1000))),
+                        Timestamp.valueOf(now.minusMinutes(random.nextInt(100_000))),
+                        CITIES[random.nextInt(CITIES.length)], 18 + random.nextInt(50),
+                        "Пользователь нагрузочного теста " + i, 0L);
+            }
+        }
+        connection.commit();
+    }
+
+    private void seedUserGraph(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO USER_ACCOUNT_INTERESTS (USER_ID, INTERESTS_ID) VALUES (?, ?)")) {
+            int perUser = Math.min(config.getInt("dataset.interests-per-user"), dataset.interests);
+            for (int i = 0; i < dataset.users; i++) {
+                for (int interest : distinct(perUser, dataset.interests, -1)) {
+                    batch.add(dataset.userId(i), dataset.interestsId(interest));
+                }
+            }
+        }
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO USER_ACCOUNT_SUBSCRIBERS (USER_ID, SUBSCRIBER_ID) VALUES (?, ?)")) {
+            int perUser = Math.min(config.getInt("dataset.subscribers-per-user"), dataset.users - 1);
+            for (int i = 0; i < dataset.users; i++) {
+                for (int subscriber : distinct(perUser, dataset.users, i)) {
+                    batch.add(dataset.userId(i), dataset.userId(subscriber));
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void seedEvents(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO EVENT (ID, EVENT_NAME, DESCRIPTION_EVENT, PLACE_EVENT, " +
+                "TIME_EVENT, EVENT_UPDATE_DATE, EVENT_TYPE_ID, USER_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.events; i++) {
+                LocalDateTime time = now.plusHours(random.nextInt(24 * 360) - 24 * 180);
+                batch.add(dataset.eventId(i), Dataset.eventName(i),
+                        "Описание мероприятия нагрузочного теста " + i, CITIES[random.nextInt(CITIES.length)],
+                        Timestamp.valueOf(time), Date.valueOf(time.toLocalDate().minusDays(random.nextInt(30))),
+                        dataset.eventTypeId(random.nextInt(dataset.eventTypes)),
+                        dataset.userId(random.nextInt(dataset.users)));
+            }
+        }
+        connection.commit();
+    }
+
+    private void seedEventGraph(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO USER_ACCOUNT_EVENT (USER_ID, EVENT_ID) VALUES (?, ?)")) {
+            int perEvent = Math.min(config.getInt("dataset.participants-per-event"), dataset.users);
+            for (int i = 0; i < dataset.events; i++) {
+                for (int participant : distinct(perEvent, dataset.users, -1)) {
+                    batch.add(dataset.userId(participant), dataset.eventId(i));
+                }
+            }
+        }
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO INTERESTS_EVENT (EVENT_ID, INTERESTS_ID) VALUES (?, ?)")) {
+            for (int i = 0; i < dataset.events; i++) {
+                for (int interest : distinct(1 + random.nextInt(3), dataset.interests, -1)) {
+                    batch.add(dataset.eventId(i), dataset.interestsId(interest));
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void seedReviews(Connection connection) throws SQLException {
+        int perEvent = config.getInt("dataset.reviews-per-event");
+        long id = dataset.idOffset;
+        try (Batch batch = new Batch(connection, "INSERT INTO EVENT_REVIEW (REVIEW_ID, USER_ID, REVIEW_MESSAGE, " +
+                "EVENT_ID, REVIEW_TIME, EVENT_GRADE) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.events; i++) {
+                for (int j = 0; j < perEvent; j++) {
+                    batch.add(id++, dataset.userId(random.nextInt(dataset.users)), "Отзыв " + j,
+                            dataset.eventId(i), Timestamp.valueOf(now.minusMinutes(random.nextInt(500_000))),
+                            1 + random.nextInt(5));
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Сообщения и их получатели. Строки получателей ссылаются на сообщения по идентификатору и времени
+     * создания (FK_USER_ACCOUNT_MESSAGES_MESSAGE), поэтому пачка получателей отправляется только после пачки сообщений
+     */
+    void seedMessages(Connection connection) throws SQLException {
+        int messages = config.getInt("dataset.messages");
+        int perMessage = Math.min(config.getInt("dataset.recipients-per-message"), dataset.users);
+        long[] unread = new long[dataset.users];
+
+        try (Batch messageBatch = new Batch(connection, "INSERT INTO USER_MESSAGE (ID, MESSAGE_OWNER, MESSAGE, " +
+                "STATUS, MESSAGE_CREATION_TIME) VALUES (?, ?, ?, ?, ?)");
+             Batch recipientBatch = new Batch(connection,
+                     "INSERT INTO USER_ACCOUNT_MESSAGES (USER_ID, MESSAGE_ID, MESSAGE_CREATION_TIME) VALUES (?, ?, ?)",
+                     messageBatch)) {
+            for (int i = 0; i < messages; i++) {
+                long messageId = dataset.idOffset + i;
+                Timestamp creationTime = Timestamp.valueOf(now.minusSeconds(random.nextInt(10_000_000)));
+                messageBatch.add(messageId, dataset.userId(random.nextInt(dataset.users)), "Сообщение " + i, "new",
+                        creationTime);
+                for (int recipient : distinct(perMessage, dataset.users, -1)) {
+                    recipientBatch.add(dataset.userId(recipient), messageId, creationTime);
+                    unread[recipient]++;
+                }
+            }
+        }
+
+        try (Batch batch = new Batch(connection, "UPDATE USER_ACCOUNT SET UNREAD_MESSAGES = ? WHERE ID = ?")) {
+            for (int i = 0; i < dataset.users; i++) {
+                batch.add(unread[i], dataset.userId(i));
+            }
+        }
+        connection.commit();
+    }
+
+    private void resetSequences(Connection connection) throws SQLException {
+        String[][] sequences = {{"INTERESTS", "ID"}, {"EVENT_TYPE", "ID"}, {"USER_ACCOUNT", "ID"}, {"EVENT", "ID"},
+                {"EVENT_REVIEW", "REVIEW_ID"}, {"USER_MESSAGE", "ID"}};
+        try (Statement statement = connection.createStatement()) {
+            for (String[] sequence : sequences) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + sequence[0].toLowerCase() + "', '" +
+                        sequence[1].toLowerCase() + "'), (SELECT MAX(" + sequence[1] + ") FROM " + sequence[0] + "))");
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * @return count различных случайных индексов из [0, bound), кроме exclude
+     */
+    private Set<Integer> distinct(int count, int bound, int exclude) {
+        Set<Integer> result = new LinkedHashSet<>();
+        while (result.size() < count) {
+            int value = random.nextInt(bound);
+            if (value != exclude) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private static void step(String name, SqlAction action) throws SQLException {
+        long started = System.nanoTime();
+        action.run();
+        System.out.printf("%-40s %8d мс%n", name, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Пакетная вставка: строки отправляются в БД пачками по dataset.batch-size.
+     * Если строки ссылаются на строки другой пакетной вставки (parent), перед каждой пачкой
+     * отправляются накопленные строки parent
+     */
+    private final class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        private final Batch parent;
+        private int size;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this(connection, sql, null);
+        }
+
+        Batch(Connection connection, String sql, Batch parent) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+            this.parent = parent;
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++size == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (size > 0) {
+                if (parent != null) {
+                    parent.flush();
+                }
+                statement.executeBatch();
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
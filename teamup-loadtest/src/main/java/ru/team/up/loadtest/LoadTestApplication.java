@@ -0,0 +1,34 @@
+package ru.team.up.loadtest;
+
+/**
+ * Нагрузочный тест teamup.
+ * <p>
+ * java -jar loadtest.jar seed [scenario.properties] - заполняет БД синтетическим набором данных
+ * <p>
+ * java -jar loadtest.jar run [scenario.properties] - подает нагрузку на запущенное приложение
+ * и сохраняет HDR-гистограммы задержек по каждому запросу
+ * <p>
+ * Параметры описаны в loadtest.properties и переопределяются файлом сценария или -Dloadtest.&lt;параметр&gt;
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Использование: java -jar loadtest.jar seed|run [scenario.properties]");
+            System.exit(2);
+        }
+
+        LoadTestConfig config = LoadTestConfig.load(args.length > 1 ? args[1] : null);
+        switch (args[0]) {
+            case "seed":
+                new DatasetSeeder(config).seed();
+                break;
+            case "run":
+                new TrafficRunner(config).run();
+                break;
+            default:
+                System.err.println("Неизвестная команда " + args[0]);
+                System.exit(2);
+        }
+    }
+}
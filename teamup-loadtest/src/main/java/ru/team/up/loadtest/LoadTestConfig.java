@@ -0,0 +1,95 @@
+package ru.team.up.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Настройки нагрузочного теста.
+ * Значения по умолчанию берутся из loadtest.properties, затем из файла, переданного в командной строке,
+ * затем из системных свойств с префиксом loadtest. Если файл задает хотя бы один request.*,
+ * он полностью заменяет смесь запросов по умолчанию
+ */
+final class LoadTestConfig {
+    private static final String SYSTEM_PREFIX = "loadtest.";
+    private static final String REQUEST_PREFIX = "request.";
+
+    private final Properties properties;
+
+    LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestConfig load(String path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            properties.load(new InputStreamReader(defaults, StandardCharsets.UTF_8));
+        }
+
+        if (path != null) {
+            Properties scenario = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+                scenario.load(reader);
+            }
+            if (scenario.stringPropertyNames().stream().anyMatch(name -> name.startsWith(REQUEST_PREFIX))) {
+                properties.stringPropertyNames().stream()
+                        .filter(name -> name.startsWith(REQUEST_PREFIX))
+                        .forEach(properties::remove);
+            }
+            properties.putAll(scenario);
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(SYSTEM_PREFIX)) {
+                properties.setProperty(name.substring(SYSTEM_PREFIX.length()), System.getProperty(name));
+            }
+        }
+
+        return new LoadTestConfig(properties);
+    }
+
+    String get(String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Не задан параметр " + name);
+        }
+        return value.trim();
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+
+    long getLong(String name) {
+        return Long.parseLong(get(name));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(get(name));
+    }
+
+    Dataset dataset() {
+        return new Dataset(getLong("dataset.id-offset"), getInt("dataset.users"), getInt("dataset.events"),
+                getInt("dataset.interests"), getInt("dataset.event-types"), get("dataset.password"));
+    }
+
+    List<RequestTemplate> requests() {
+        List<RequestTemplate> requests = new ArrayList<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(REQUEST_PREFIX))
+                .sorted()
+                .forEach(name -> requests.add(RequestTemplate.parse(name.substring(REQUEST_PREFIX.length()),
+                        get(name))));
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Не задано ни одного запроса request.*");
+        }
+        return requests;
+    }
+}
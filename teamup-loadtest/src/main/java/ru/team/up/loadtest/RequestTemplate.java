@@ -0,0 +1,55 @@
+package ru.team.up.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Запрос из смеси нагрузки: вес, метод и шаблон пути с подстановками
+ * {userId}, {eventId}, {email}, {eventName}
+ */
+final class RequestTemplate {
+    final String name;
+    final int weight;
+    final String method;
+    final String path;
+
+    private RequestTemplate(String name, int weight, String method, String path) {
+        this.name = name;
+        this.weight = weight;
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * @param value Строка вида "30 GET /api/public/event/{eventId}"
+     */
+    static RequestTemplate parse(String name, String value) {
+        String[] parts = value.trim().split("\\s+", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Ожидается '<вес> <метод> <путь>' для request." + name);
+        }
+        return new RequestTemplate(name, Integer.parseInt(parts[0]), parts[1].toUpperCase(), parts[2]);
+    }
+
+    String resolve(Dataset dataset, Random random) {
+        String result = path;
+        if (result.contains("{userId}")) {
+            result = result.replace("{userId}", String.valueOf(dataset.userId(random.nextInt(dataset.users))));
+        }
+        if (result.contains("{eventId}")) {
+            result = result.replace("{eventId}", String.valueOf(dataset.eventId(random.nextInt(dataset.events))));
+        }
+        if (result.contains("{email}")) {
+            result = result.replace("{email}", encode(Dataset.email(random.nextInt(dataset.users))));
+        }
+        if (result.contains("{eventName}")) {
+            result = result.replace("{eventName}", encode(Dataset.eventName(random.nextInt(dataset.events))));
+        }
+        return result;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,217 @@
+package ru.team.up.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Подает нагрузку по открытой модели: запросы отправляются с интервалами экспоненциального распределения
+ * со средней частотой traffic.rate независимо от того, успел ли ответить сервер. Задержка отсчитывается
+ * от запланированного момента отправки, поэтому очередь на стороне клиента или сервера попадает в гистограмму
+ * (без coordinated omission). Все запросы выполняются в сессиях пользователей набора данных,
+ * так как API приложения доступно только после входа
+ */
+final class TrafficRunner {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+    private final URI target;
+    private final Duration timeout;
+    private final List<RequestTemplate> requests;
+    private final int totalWeight;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    TrafficRunner(LoadTestConfig config) {
+        this.config = config;
+        this.dataset = config.dataset();
+        this.target = URI.create(config.get("target.url"));
+        this.timeout = Duration.ofMillis(config.getLong("traffic.timeout-ms"));
+        this.requests = config.requests();
+        this.totalWeight = requests.stream().mapToInt(request -> request.weight).sum();
+        requests.forEach(request -> endpoints.put(request.name, new Endpoint()));
+    }
+
+    void run() throws IOException, InterruptedException {
+        List<HttpClient> sessions = login(config.getInt("traffic.sessions"));
+
+        double rate = config.getDouble("traffic.rate");
+        long warmup = TimeUnit.SECONDS.toNanos(config.getLong("traffic.warmup-seconds"));
+        long duration = TimeUnit.SECONDS.toNanos(config.getLong("traffic.duration-seconds"));
+        int maxInFlight = config.getInt("traffic.max-in-flight");
+        Random random = new Random(config.getLong("dataset.seed"));
+
+        System.out.printf("Нагрузка %.1f запр/с: прогрев %d с, замер %d с%n", rate,
+                TimeUnit.NANOSECONDS.toSeconds(warmup), TimeUnit.NANOSECONDS.toSeconds(duration));
+
+        long started = System.nanoTime();
+        long measureFrom = started + warmup;
+        long finish = measureFrom + duration;
+        boolean measuring = warmup == 0;
+        long intended = started;
+
+        while (intended < finish) {
+            intended += (long) (-Math.log(1.0 - random.nextDouble()) / rate * 1_000_000_000L);
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            if (!measuring && intended >= measureFrom) {
+                endpoints.values().forEach(Endpoint::reset);
+                measuring = true;
+            }
+
+            RequestTemplate request = choose(random);
+            Endpoint endpoint = endpoints.get(request.name);
+            if (inFlight.get() >= maxInFlight) {
+                endpoint.dropped.increment();
+                continue;
+            }
+            send(sessions.get(random.nextInt(sessions.size())), request, request.resolve(dataset, random),
+                    endpoint, intended);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        report(duration);
+    }
+
+    private void send(HttpClient client, RequestTemplate template, String path, Endpoint endpoint, long intended) {
+        HttpRequest request = HttpRequest.newBuilder(target.resolve(path))
+                .method(template.method, HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .build();
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    endpoint.latency.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+                    if (error != null || response.statusCode() >= 400) {
+                        endpoint.errors.increment();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private RequestTemplate choose(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (RequestTemplate request : requests) {
+            value -= request.weight;
+            if (value < 0) {
+                return request;
+            }
+        }
+        return requests.get(requests.size() - 1);
+    }
+
+    /**
+     * Открывает сессии пользователей набора данных через форму входа
+     */
+    private List<HttpClient> login(int count) throws IOException, InterruptedException {
+        List<HttpClient> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(timeout)
+                    .build();
+
+            int user = i % dataset.users;
+            String form = "auth_email=" + URLEncoder.encode(Dataset.email(user), StandardCharsets.UTF_8) +
+                    "&auth_password=" + URLEncoder.encode(dataset.password, StandardCharsets.UTF_8);
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(target.resolve("/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .timeout(timeout)
+                    .build(), HttpResponse.BodyHandlers.discarding());
+
+            String location = response.headers().firstValue("Location").orElse("");
+            if (response.statusCode() != 302 || location.contains("error")) {
+                throw new IllegalStateException("Не удалось войти пользователем " + Dataset.email(user) +
+                        ": статус " + response.statusCode() + ", Location " + location +
+                        ". Заполнен ли набор данных командой seed?");
+            }
+            sessions.add(client);
+        }
+        return sessions;
+    }
+
+    private void report(long duration) throws IOException {
+        Path output = Paths.get(config.get("traffic.output"));
+        Files.createDirectories(output);
+        double seconds = duration / 1_000_000_000.0;
+
+        String header = String.format("%-16s %9s %8s %8s %9s %9s %9s %9s %9s",
+                "request", "count", "errors", "dropped", "rps", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        System.out.println(header);
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(output.resolve("summary.csv")))) {
+            summary.println("request,count,errors,dropped,rps,p50_ms,p99_ms,p999_ms,max_ms");
+            for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+                Endpoint endpoint = entry.getValue();
+                Histogram histogram = endpoint.latency.getIntervalHistogram();
+                long count = histogram.getTotalCount();
+                Object[] row = {entry.getKey(), count, endpoint.errors.sum(), endpoint.dropped.sum(), count / seconds,
+                        millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())};
+
+                System.out.println(String.format("%-16s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f", row));
+                summary.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f", row));
+
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve(entry.getKey() + ".hgrm")),
+                        false, StandardCharsets.UTF_8.name())) {
+                    histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+                }
+            }
+        }
+        System.out.println("Результаты сохранены в " + output.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Статистика одного запроса из смеси нагрузки
+     */
+    private static final class Endpoint {
+        final Recorder latency = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            dropped.reset();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.team.up.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тест заполнения сообщений на таблицах с внешними ключами базовой схемы:
+ * строки USER_ACCOUNT_MESSAGES вставляются только после сообщений, на которые ссылаются.
+ * Получателей больше, чем сообщений, поэтому их пачки заполняются раньше пачек сообщений
+ */
+class DatasetSeederTest {
+    private static final int USERS = 5;
+    private static final int MESSAGES = 7;
+    private static final int RECIPIENTS = 3;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE USER_ACCOUNT (ID BIGINT PRIMARY KEY, UNREAD_MESSAGES BIGINT)");
+            statement.execute("CREATE TABLE USER_MESSAGE (ID BIGINT NOT NULL, MESSAGE VARCHAR(255), " +
+                    "STATUS VARCHAR(255), MESSAGE_OWNER BIGINT, MESSAGE_CREATION_TIME TIMESTAMP NOT NULL, " +
+                    "MESSAGE_READ_TIME TIMESTAMP, PRIMARY KEY (ID, MESSAGE_CREATION_TIME), " +
+                    "CONSTRAINT FK_USER_MESSAGE_OWNER FOREIGN KEY (MESSAGE_OWNER) REFERENCES USER_ACCOUNT (ID))");
+            statement.execute("CREATE TABLE USER_ACCOUNT_MESSAGES (USER_ID BIGINT NOT NULL, MESSAGE_ID BIGINT NOT NULL, " +
+                    "MESSAGE_CREATION_TIME TIMESTAMP NOT NULL, PRIMARY KEY (USER_ID, MESSAGE_ID), " +
+                    "CONSTRAINT FK_USER_ACCOUNT_MESSAGES_USER FOREIGN KEY (USER_ID) REFERENCES USER_ACCOUNT (ID), " +
+                    "CONSTRAINT FK_USER_ACCOUNT_MESSAGES_MESSAGE FOREIGN KEY (MESSAGE_ID, MESSAGE_CREATION_TIME) " +
+                    "REFERENCES USER_MESSAGE (ID, MESSAGE_CREATION_TIME))");
+            for (int i = 0; i < USERS; i++) {
+                statement.execute("INSERT INTO USER_ACCOUNT (ID, UNREAD_MESSAGES) VALUES (" + (1000 + i) + ", 0)");
+            }
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void recipientsAreInsertedAfterTheirMessages() throws SQLException {
+        new DatasetSeeder(config()).seedMessages(connection);
+
+        assertEquals(MESSAGES, count("SELECT COUNT(*) FROM USER_MESSAGE"));
+        assertEquals(MESSAGES * RECIPIENTS, count("SELECT COUNT(*) FROM USER_ACCOUNT_MESSAGES"));
+        assertEquals(MESSAGES * RECIPIENTS, count("SELECT SUM(UNREAD_MESSAGES) FROM USER_ACCOUNT"));
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static LoadTestConfig config() {
+        Properties properties = new Properties();
+        properties.setProperty("dataset.seed", "42");
+        properties.setProperty("dataset.id-offset", "1000");
+        properties.setProperty("dataset.batch-size", "4");
+        properties.setProperty("dataset.password", "loadtest");
+        properties.setProperty("dataset.users", String.valueOf(USERS));
+        properties.setProperty("dataset.interests", "1");
+        properties.setProperty("dataset.event-types", "1");
+        properties.setProperty("dataset.events", "1");
+        properties.setProperty("dataset.messages", String.valueOf(MESSAGES));
+        properties.setProperty("dataset.recipients-per-message", String.valueOf(RECIPIENTS));
+        return new LoadTestConfig(properties);
+    }
+}
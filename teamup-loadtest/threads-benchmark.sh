@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# Сравнение пропускной способности и задержек teamup-app на обычных и виртуальных потоках под нагрузкой teamup-loadtest:
+#   platform - потоки Tomcat (server.tomcat.threads.max)
+#   virtual  - teamup.threads.virtual=true, нужна JDK 21+
+# Для каждого режима и каждой частоты запросов приложение запускается заново, затем выполняется loadtest run.
+#
+# Подготовка: БД из README, данные loadtest seed и сборка mvn -pl teamup-app -am package -Pcds -DskipTests,
+# mvn -pl teamup-loadtest -am install -DskipTests
+# Использование: teamup-loadtest/threads-benchmark.sh [частота запросов ...] (по умолчанию 200 400 800)
+# Режимы задаются через MODES, порт - через PORT, аргументы приложения - через APP_ARGS,
+# опции JVM приложения - через JAVA_OPTS, опции нагрузочного теста - через LOADTEST_OPTS
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+ROOT="$(pwd)"
+APP_TARGET="$ROOT/teamup-app/target"
+LOADTEST_JAR="$ROOT/teamup-loadtest/target/loadtest.jar"
+OUTPUT="$ROOT/teamup-loadtest/target/threads-benchmark"
+PORT="${PORT:-18080}"
+MODES=(${MODES:-platform virtual})
+RATES=("${@:-200 400 800}")
+RATES=(${RATES[*]})
+
+if [ ! -d "$APP_TARGET/lib" ]; then
+    echo "Нет $APP_TARGET/lib: соберите приложение командой mvn -pl teamup-app -am package -Pcds -DskipTests" >&2
+    exit 1
+fi
+[ -f "$LOADTEST_JAR" ] || { echo "Нет $LOADTEST_JAR: выполните mvn -pl teamup-loadtest -am install -DskipTests" >&2; exit 1; }
+
+JAR="$(ls "$APP_TARGET"/teamup-app-*.jar | grep -v -- '-sources' | head -1)"
+CLASSPATH="$JAR:$APP_TARGET/lib/*"
+mkdir -p "$OUTPUT"
+APP_PID=""
+
+stop_app() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2> /dev/null || true
+        wait "$APP_PID" 2> /dev/null || true
+        APP_PID=""
+    fi
+}
+trap stop_app EXIT
+
+start_app() {
+    local mode=$1 log=$2
+    local app=(--server.port="$PORT")
+    case "$mode" in
+        platform) ;;
+        virtual) app+=(--teamup.threads.virtual=true) ;;
+        *) echo "Неизвестный режим $mode" >&2; exit 1 ;;
+    esac
+
+    java ${JAVA_OPTS:-} -cp "$CLASSPATH" ru.team.up.app.TeamupAppApplication "${app[@]}" ${APP_ARGS:-} > "$log" 2>&1 &
+    APP_PID=$!
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; then
+            # На JDK без виртуальных потоков приложение работает на обычных, такой замер не сравнивает режимы
+            if [ "$mode" = virtual ] && grep -q "не поддерживает виртуальные потоки" "$log"; then
+                echo "JDK $(java -version 2>&1 | head -1) не поддерживает виртуальные потоки, журнал: $log" >&2
+                exit 1
+            fi
+            return
+        fi
+        kill -0 "$APP_PID" 2> /dev/null || break
+        sleep 1
+    done
+    echo "Приложение не стартовало, журнал: $log" >&2
+    exit 1
+}
+
+# summary.csv нагрузочного теста: request,count,errors,dropped,rps,p50_ms,p99_ms,p999_ms,max_ms
+echo "mode,rate,request,count,errors,dropped,rps,p50_ms,p99_ms,p999_ms,max_ms" > "$OUTPUT/threads.csv"
+for rate in "${RATES[@]}"; do
+    for mode in "${MODES[@]}"; do
+        echo "Режим $mode, $rate запросов/с"
+        start_app "$mode" "$OUTPUT/$mode-$rate.log"
+        java ${LOADTEST_OPTS:-} -Dloadtest.target.url="http://localhost:$PORT" -Dloadtest.traffic.rate="$rate" \
+            -Dloadtest.traffic.output="$OUTPUT/$mode-$rate" -jar "$LOADTEST_JAR" run
+        stop_app
+        tail -n +2 "$OUTPUT/$mode-$rate/summary.csv" | sed "s/^/$mode,$rate,/" >> "$OUTPUT/threads.csv"
+    done
+done
+
+printf "%-9s %6s %10s %8s %8s %9s %9s\n" "mode" "rate" "rps" "errors" "dropped" "p99 ms" "p99.9 ms"
+# Суммарные rps, ошибки и отброшенные запросы, худшие p99 и p99.9 по запросам
+awk -F, 'NR > 1 {
+        key = $1 "," $2
+        if (!(key in rps)) order[++n] = key
+        rps[key] += $7; errors[key] += $5; dropped[key] += $6
+        if ($9 > p99[key]) p99[key] = $9
+        if ($10 > p999[key]) p999[key] = $10
+    }
+    END { for (i = 1; i <= n; i++) { split(order[i], k, ",")
+        printf "%-9s %6s %10.1f %8d %8d %9.1f %9.1f\n", k[1], k[2], rps[order[i]], errors[order[i]], dropped[order[i]],
+            p99[order[i]], p999[order[i]] } }' "$OUTPUT/threads.csv"
+echo "Результаты и журналы запусков: $OUTPUT"
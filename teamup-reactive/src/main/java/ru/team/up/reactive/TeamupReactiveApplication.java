@@ -0,0 +1,23 @@
+package ru.team.up.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Неблокирующее API чтения мероприятий: WebFlux на Netty и R2DBC поверх схемы teamup-app
+ */
+@SpringBootApplication
+public class TeamupReactiveApplication {
+    /**
+     * Потоки ввода-вывода драйвера R2DBC (общие ресурсы reactor-netty), по умолчанию - по числу ядер
+     */
+    private static final String IO_WORKER_COUNT = "reactor.netty.ioWorkerCount";
+
+    public static void main(String[] args) {
+        // Драйвер создает свой цикл событий при первом соединении, поэтому размер задается до старта контекста
+        if (System.getProperty(IO_WORKER_COUNT) == null) {
+            System.setProperty(IO_WORKER_COUNT, "4");
+        }
+        SpringApplication.run(TeamupReactiveApplication.class, args);
+    }
+}
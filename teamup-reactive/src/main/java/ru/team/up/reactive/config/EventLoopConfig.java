@@ -0,0 +1,25 @@
+package ru.team.up.reactive.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * HTTP-сервер Netty работает на собственном цикле событий фиксированного размера
+ * (teamup.reactive.event-loop-threads) вместо общего, размер которого зависит от числа ядер
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class EventLoopConfig {
+
+    @Bean
+    public ReactorResourceFactory reactorServerResourceFactory(ReactiveProperties properties) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setLoopResourcesSupplier(() ->
+                LoopResources.create("teamup-http", properties.getEventLoopThreads(), true));
+        return factory;
+    }
+}
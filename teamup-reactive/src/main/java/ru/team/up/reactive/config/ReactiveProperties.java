@@ -0,0 +1,21 @@
+package ru.team.up.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки неблокирующего API (teamup.reactive.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "teamup.reactive")
+public class ReactiveProperties {
+    /**
+     * Потоки цикла событий HTTP-сервера. Обработчики не блокируются, поэтому потоков нужно не больше числа ядер
+     */
+    private int eventLoopThreads = 4;
+
+    /**
+     * Сколько строк драйвер запрашивает у БД за раз при потоковой выдаче результата
+     */
+    private int fetchSize = 100;
+}
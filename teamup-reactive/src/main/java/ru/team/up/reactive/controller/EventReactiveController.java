@@ -0,0 +1,114 @@
+package ru.team.up.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.team.up.reactive.model.EventTypeView;
+import ru.team.up.reactive.model.EventView;
+import ru.team.up.reactive.repository.EventViewRepository;
+
+/**
+ * Неблокирующие аналоги методов чтения EventRestControllerPublic.
+ * Списки с Accept: application/x-ndjson передаются потоком по одному мероприятию в строке
+ * с учетом скорости клиента, с Accept: application/json - одним JSON-массивом
+ */
+@Tag(name = "Event Reactive Controller", description = "Неблокирующее API чтения мероприятий")
+@Slf4j
+@RestController
+@RequestMapping(value = "api/public/event")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class EventReactiveController {
+    private final EventViewRepository eventViewRepository;
+
+    /**
+     * Метод получения списка всех мероприятий
+     *
+     * @return Поток мероприятий
+     */
+    @Operation(summary = "Получение списка мероприятий", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Список мероприятий получен.")
+    })
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EventView> getAllEvents() {
+        log.debug("Получен запрос на список мероприятий");
+        return eventViewRepository.findAll();
+    }
+
+    /**
+     * Метод получения мероприятия по идентификатору
+     *
+     * @param eventId Идентификатор мероприятия
+     * @return Мероприятие или статус 404
+     */
+    @Operation(summary = "Получение мероприятия по идентификатору", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Мероприятие найдено."),
+            @ApiResponse(responseCode = "404", description = "NOT FOUND. Мероприятие не найдено.")
+    })
+    @GetMapping(value = "/{id}")
+    public Mono<ResponseEntity<EventView>> findEventById(@Parameter(name = "ID", example = "1", description = "ID мероприятия")
+                                                         @PathVariable("id") Long eventId) {
+        log.debug("Получен запрос на поиск мероприятия по id: {}", eventId);
+        return eventViewRepository.findById(eventId)
+                .map(event -> {
+                    log.debug("Мероприятие с id: {} найдено", eventId);
+                    return new ResponseEntity<>(event, HttpStatus.OK);
+                })
+                .switchIfEmpty(Mono.<ResponseEntity<EventView>>fromSupplier(() -> {
+                    log.error("Мероприятие с id: {} не найдено", eventId);
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }));
+    }
+
+    /**
+     * Метод получения мероприятий по названию
+     *
+     * @param eventName Часть названия мероприятия
+     * @return Поток мероприятий
+     */
+    @Operation(summary = "Получение мероприятий по названию", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Поиск выполнен.")
+    })
+    @GetMapping(value = "/name/{eventName}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EventView> findEventsByName(@Parameter(name = "eventName", example = "JOKER 2021", description = "Название мероприятия")
+                                            @PathVariable("eventName") String eventName) {
+        log.debug("Получен запрос на поиск мероприятий по названию {}", eventName);
+        return eventViewRepository.findByEventNameContaining(eventName);
+    }
+
+    /**
+     * Метод поиска мероприятий по типу
+     *
+     * @param eventType Тип мероприятия, используется его идентификатор
+     * @return Поток мероприятий
+     */
+    @Operation(summary = "Получение мероприятий по типу", method = "GET", responses = {
+            @ApiResponse(responseCode = "200", description = "ОК. Поиск выполнен."),
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. Не указан идентификатор типа.")
+    })
+    @GetMapping(value = "/type", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EventView> findEventsByType(@Parameter(name = "eventType", description = "Тип мероприятия")
+                                            @RequestBody Mono<EventTypeView> eventType) {
+        return eventType
+                .doOnNext(type -> log.debug("Получен запрос на поиск мероприятий по типу: {}", type))
+                .filter(type -> type.getId() != null)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Не указан идентификатор типа мероприятия")))
+                .flatMapMany(type -> eventViewRepository.findByEventTypeId(type.getId()));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.team.up.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Тип мероприятия
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTypeView {
+    private Long id;
+
+    private String type;
+}
@@ -0,0 +1,40 @@
+package ru.team.up.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Мероприятие для чтения: поля таблицы EVENT, тип и статус. Участники и интересы не загружаются,
+ * автор передается идентификатором
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventView {
+    private Long id;
+
+    private String eventName;
+
+    private String descriptionEvent;
+
+    private String placeEvent;
+
+    private LocalDateTime timeEvent;
+
+    private LocalDate eventUpdateDate;
+
+    private EventTypeView eventType;
+
+    /**
+     * Идентификатор создателя мероприятия
+     */
+    private Long authorId;
+
+    private StatusView status;
+}
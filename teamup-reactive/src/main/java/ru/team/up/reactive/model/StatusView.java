@@ -0,0 +1,17 @@
+package ru.team.up.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статус мероприятия
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusView {
+    private Long id;
+
+    private String status;
+}
@@ -0,0 +1,91 @@
+package ru.team.up.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.team.up.reactive.config.ReactiveProperties;
+import ru.team.up.reactive.model.EventTypeView;
+import ru.team.up.reactive.model.EventView;
+import ru.team.up.reactive.model.StatusView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Чтение мероприятий через R2DBC. Тип и статус загружаются тем же запросом.
+ * Мероприятия на проверке (статусы pending и to-review) и отклоненные (rejected) не возвращаются,
+ * как и в API чтения teamup-app.
+ * Строки передаются подписчику по мере его запроса: драйвер читает из БД по fetchSize строк
+ * и не читает следующие, пока подписчик не обработал предыдущие
+ */
+@Repository
+public class EventViewRepository {
+    private static final String SELECT = "SELECT e.ID, e.EVENT_NAME, e.DESCRIPTION_EVENT, e.PLACE_EVENT, " +
+            "e.TIME_EVENT, e.EVENT_UPDATE_DATE, e.USER_ID, e.EVENT_TYPE_ID, t.TYPE, e.STATUS_ID, s.STATUS " +
+            "FROM EVENT e JOIN EVENT_TYPE t ON t.ID = e.EVENT_TYPE_ID LEFT JOIN STATUS s ON s.ID = e.STATUS_ID " +
+            "WHERE (s.STATUS IS NULL OR s.STATUS NOT IN ('pending', 'to-review', 'rejected'))";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    @Autowired
+    public EventViewRepository(DatabaseClient databaseClient, ReactiveProperties properties) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = properties.getFetchSize();
+    }
+
+    public Flux<EventView> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY e.ID")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> map(row))
+                .all();
+    }
+
+    public Mono<EventView> findById(Long id) {
+        return databaseClient.sql(SELECT + " AND e.ID = :id")
+                .bind("id", id)
+                .map((row, metadata) -> map(row))
+                .one();
+    }
+
+    /**
+     * Поиск по части названия, как EventRepository.findByEventNameContaining
+     */
+    public Flux<EventView> findByEventNameContaining(String eventName) {
+        return databaseClient.sql(SELECT + " AND e.EVENT_NAME LIKE :pattern ESCAPE '\\' ORDER BY e.ID")
+                .bind("pattern", "%" + escapeLike(eventName) + "%")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> map(row))
+                .all();
+    }
+
+    public Flux<EventView> findByEventTypeId(Long eventTypeId) {
+        return databaseClient.sql(SELECT + " AND e.EVENT_TYPE_ID = :typeId ORDER BY e.ID")
+                .bind("typeId", eventTypeId)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> map(row))
+                .all();
+    }
+
+    private static EventView map(Row row) {
+        Long statusId = row.get("STATUS_ID", Long.class);
+        return EventView.builder()
+                .id(row.get("ID", Long.class))
+                .eventName(row.get("EVENT_NAME", String.class))
+                .descriptionEvent(row.get("DESCRIPTION_EVENT", String.class))
+                .placeEvent(row.get("PLACE_EVENT", String.class))
+                .timeEvent(row.get("TIME_EVENT", LocalDateTime.class))
+                .eventUpdateDate(row.get("EVENT_UPDATE_DATE", LocalDate.class))
+                .eventType(new EventTypeView(row.get("EVENT_TYPE_ID", Long.class), row.get("TYPE", String.class)))
+                .authorId(row.get("USER_ID", Long.class))
+                .status(statusId == null ? null : new StatusView(statusId, row.get("STATUS", String.class)))
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
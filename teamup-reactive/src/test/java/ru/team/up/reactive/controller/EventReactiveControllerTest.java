@@ -0,0 +1,126 @@
+package ru.team.up.reactive.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.team.up.reactive.model.EventTypeView;
+import ru.team.up.reactive.model.EventView;
+import ru.team.up.reactive.repository.EventViewRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест неблокирующего API чтения мероприятий
+ */
+@ExtendWith(MockitoExtension.class)
+class EventReactiveControllerTest {
+
+    @Mock
+    private EventViewRepository eventViewRepository;
+
+    private WebTestClient client;
+
+    private final EventView joker = event(1L, "JOKER 2021");
+    private final EventView heisenbug = event(2L, "Heisenbug 2021");
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(new EventReactiveController(eventViewRepository)).build();
+    }
+
+    @Test
+    void allEventsAreStreamedAsNdjson() {
+        when(eventViewRepository.findAll()).thenReturn(Flux.just(joker, heisenbug));
+
+        Flux<EventView> events = client.get().uri("/api/public/event")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EventView.class)
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .expectNext(joker, heisenbug)
+                .verifyComplete();
+    }
+
+    @Test
+    void allEventsAsJsonArray() {
+        when(eventViewRepository.findAll()).thenReturn(Flux.just(joker, heisenbug));
+
+        client.get().uri("/api/public/event")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EventView.class).isEqualTo(Arrays.asList(joker, heisenbug));
+    }
+
+    @Test
+    void eventById() {
+        when(eventViewRepository.findById(1L)).thenReturn(Mono.just(joker));
+
+        client.get().uri("/api/public/event/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EventView.class).isEqualTo(joker);
+    }
+
+    @Test
+    void missingEventIsNotFound() {
+        when(eventViewRepository.findById(3L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/public/event/3")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void eventsByName() {
+        when(eventViewRepository.findByEventNameContaining("JOKER")).thenReturn(Flux.just(joker));
+
+        client.get().uri("/api/public/event/name/JOKER")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EventView.class).isEqualTo(Collections.singletonList(joker));
+    }
+
+    @Test
+    void eventTypeWithoutIdIsBadRequest() {
+        client.method(HttpMethod.GET).uri("/api/public/event/type")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EventTypeView(null, "Конференция"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(eventViewRepository, never()).findByEventTypeId(anyLong());
+    }
+
+    private static EventView event(Long id, String name) {
+        return EventView.builder()
+                .id(id)
+                .eventName(name)
+                .descriptionEvent("Конференция JAVA-разработчиков")
+                .placeEvent("Online")
+                .timeEvent(LocalDateTime.of(2021, 11, 28, 20, 0))
+                .eventType(new EventTypeView(1L, "Конференция"))
+                .authorId(1L)
+                .build();
+    }
+}
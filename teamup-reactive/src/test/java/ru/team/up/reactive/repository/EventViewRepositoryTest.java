@@ -0,0 +1,74 @@
+package ru.team.up.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import ru.team.up.reactive.config.ReactiveProperties;
+import ru.team.up.reactive.model.EventView;
+
+import java.util.UUID;
+
+/**
+ * Тест запросов чтения мероприятий: мероприятия на проверке не возвращаются.
+ * Запросы выполняются в H2 в памяти на таблицах EVENT, EVENT_TYPE и STATUS
+ */
+class EventViewRepositoryTest {
+    private static final long PUBLISHED = 1L;
+    private static final long PENDING = 2L;
+    private static final long TO_REVIEW = 3L;
+    private static final long WITHOUT_STATUS = 4L;
+
+    private EventViewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient client = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"));
+        Flux.just(
+                "CREATE TABLE EVENT_TYPE (ID BIGINT PRIMARY KEY, TYPE VARCHAR(255))",
+                "CREATE TABLE STATUS (ID BIGINT PRIMARY KEY, STATUS VARCHAR(255))",
+                "CREATE TABLE EVENT (ID BIGINT PRIMARY KEY, EVENT_NAME VARCHAR(255), DESCRIPTION_EVENT VARCHAR(255), " +
+                        "PLACE_EVENT VARCHAR(255), TIME_EVENT TIMESTAMP, EVENT_UPDATE_DATE DATE, USER_ID BIGINT, " +
+                        "EVENT_TYPE_ID BIGINT, STATUS_ID BIGINT)",
+                "INSERT INTO EVENT_TYPE VALUES (1, 'Конференция')",
+                "INSERT INTO STATUS VALUES (1, 'published'), (2, 'pending'), (3, 'to-review')",
+                "INSERT INTO EVENT VALUES " +
+                        "(1, 'JOKER 2021', 'Конференция', 'Online', TIMESTAMP '2021-11-28 20:00:00', NULL, 1, 1, 1), " +
+                        "(2, 'JOKER 2022', 'Конференция', 'Online', TIMESTAMP '2022-11-28 20:00:00', NULL, 1, 1, 2), " +
+                        "(3, 'JOKER 2023', 'Конференция', 'Online', TIMESTAMP '2023-11-28 20:00:00', NULL, 1, 1, 3), " +
+                        "(4, 'JOKER 2020', 'Конференция', 'Online', TIMESTAMP '2020-11-28 20:00:00', NULL, 1, 1, NULL)")
+                .concatMap(sql -> client.sql(sql).then())
+                .blockLast();
+
+        repository = new EventViewRepository(client, new ReactiveProperties());
+    }
+
+    @Test
+    void findAllSkipsEventsUnderReview() {
+        StepVerifier.create(repository.findAll().map(EventView::getId))
+                .expectNext(PUBLISHED, WITHOUT_STATUS)
+                .verifyComplete();
+    }
+
+    @Test
+    void pendingEventIsNotFoundById() {
+        StepVerifier.create(repository.findById(PENDING)).verifyComplete();
+        StepVerifier.create(repository.findById(TO_REVIEW)).verifyComplete();
+        StepVerifier.create(repository.findById(PUBLISHED).map(EventView::getId))
+                .expectNext(PUBLISHED)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchSkipsEventsUnderReview() {
+        StepVerifier.create(repository.findByEventNameContaining("JOKER").map(EventView::getId))
+                .expectNext(PUBLISHED, WITHOUT_STATUS)
+                .verifyComplete();
+        StepVerifier.create(repository.findByEventTypeId(1L).map(EventView::getId))
+                .expectNext(PUBLISHED, WITHOUT_STATUS)
+                .verifyComplete();
+    }
+}